@@ -0,0 +1,50 @@
+/**
+ * <h1>BallotDigestHandler</h1>
+ * BallotDigestHandler - is an ElectionFileHandler used by the benchmarks which only folds every candidate and
+ * ballot handed over by the ElectionFileLoader into a digest. This way loading an input file can be measured
+ * on its own, without the cost of storing or counting the ballots, and the work of the loader can not be
+ * removed by the JIT compiler as long as the digest is consumed.
+ *
+ * The class lives in the default package next to the ElectionFileHandler interface it implements, and is
+ * created by the benchmarks through the ElectionClasses facade.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class BallotDigestHandler implements ElectionFileHandler {
+    /**
+     * Holds the digest of all the candidates and ballots loaded so far.
+     */
+    private long digest;
+
+    /**
+     * Creates a new BallotDigestHandler object with an empty digest.
+     */
+    public BallotDigestHandler() {
+        this.digest = 0;
+    }
+
+    /**
+     * Returns the digest of all the candidates and ballots loaded so far.
+     * @return long - The digest.
+     */
+    public long getDigest() {
+        return this.digest;
+    }
+
+    @Override
+    public void loadCandidate(long candidateID, String candidateName) {
+        this.digest = 31 * this.digest + candidateID + candidateName.length();
+    }
+
+    @Override
+    public void loadBallot(int ballotSerialNo, int[] ballotRanks) {
+        long ballotDigest = ballotSerialNo;
+        for (int ballotRank : ballotRanks) {
+            ballotDigest = 31 * ballotDigest + ballotRank;
+        }
+        this.digest += ballotDigest;
+    }
+}
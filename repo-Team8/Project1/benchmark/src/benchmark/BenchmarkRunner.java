@@ -0,0 +1,48 @@
+package benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+/**
+ * <h1>BenchmarkRunner</h1>
+ * BenchmarkRunner - is the entry point of the benchmarks of the voting system. It accepts all the command line
+ * options of JMH and by default runs every benchmark in this package and writes the results as JSON to
+ * benchmark-results.json, so the results of different runs can be compared over time.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class BenchmarkRunner {
+    /**
+     * Holds the name of the file the results are written to unless -rff is given.
+     */
+    private static final String DEFAULT_RESULT_FILE_NAME = "benchmark-results.json";
+
+    /**
+     * Runs the benchmarks.
+     * @param args Command line options of JMH, e.g. a regular expression of the benchmarks to run
+     *             or -p numOfBallots=10000 to run with a single number of ballots.
+     * @throws CommandLineOptionException If the command line options are not valid.
+     * @throws RunnerException If a benchmark failed.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            options.include(BenchmarkRunner.class.getPackage().getName() + "\\.");
+        }
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE_NAME);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,271 @@
+package benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+/**
+ * <h1>ElectionClasses</h1>
+ * ElectionClasses - is a facade through which the benchmarks use the classes of the voting system.
+ *
+ * JMH only accepts benchmarks that are declared in a package, while all the classes of the voting system are
+ * declared in the default package, which can not be imported from a package. The classes are therefore looked up
+ * by name once and every constructor and method the benchmarks need is bound to a constant MethodHandle.
+ * The JIT compiler inlines calls through constant method handles, so the facade does not add to the
+ * measured time. The handles are adapted to use Object in place of the classes of the voting system.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+final class ElectionClasses {
+    /**
+     * Holds the constructor ElectionFileLoader(String).
+     */
+    private static final MethodHandle NEW_ELECTION_FILE_LOADER;
+
+    /**
+     * Holds the method ElectionFileLoader.loadElectionFromInputFile(ElectionFileHandler).
+     */
+    private static final MethodHandle LOAD_ELECTION_FROM_INPUT_FILE;
+
+    /**
+     * Holds the constructor BallotDigestHandler().
+     */
+    private static final MethodHandle NEW_BALLOT_DIGEST_HANDLER;
+
+    /**
+     * Holds the method BallotDigestHandler.getDigest().
+     */
+    private static final MethodHandle GET_DIGEST;
+
+    /**
+     * Holds the constructor STVVoteCounter(String, int, boolean, boolean).
+     */
+    private static final MethodHandle NEW_STV_VOTE_COUNTER;
+
+    /**
+     * Holds the method STVVoteCounter.loadCandidate(long, String).
+     */
+    private static final MethodHandle STV_LOAD_CANDIDATE;
+
+    /**
+     * Holds the method STVVoteCounter.loadBallot(int, int[]).
+     */
+    private static final MethodHandle STV_LOAD_BALLOT;
+
+    /**
+     * Holds the method STVVoteCounter.implementVoting().
+     */
+    private static final MethodHandle STV_IMPLEMENT_VOTING;
+
+    /**
+     * Holds the constructor PluralityVoteCounter(String, int, boolean, boolean).
+     */
+    private static final MethodHandle NEW_PLURALITY_VOTE_COUNTER;
+
+    /**
+     * Holds the method PluralityVoteCounter.implementVoting().
+     */
+    private static final MethodHandle PLURALITY_IMPLEMENT_VOTING;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> electionFileLoader = Class.forName("ElectionFileLoader");
+            Class<?> electionFileHandler = Class.forName("ElectionFileHandler");
+            Class<?> ballotDigestHandler = Class.forName("BallotDigestHandler");
+            Class<?> stvVoteCounter = Class.forName("STVVoteCounter");
+            Class<?> pluralityVoteCounter = Class.forName("PluralityVoteCounter");
+            MethodType counterConstructor = MethodType.methodType(void.class, String.class, int.class, boolean.class, boolean.class);
+
+            NEW_ELECTION_FILE_LOADER = generic(lookup.findConstructor(electionFileLoader, MethodType.methodType(void.class, String.class)));
+            LOAD_ELECTION_FROM_INPUT_FILE = generic(lookup.findVirtual(electionFileLoader, "loadElectionFromInputFile", MethodType.methodType(boolean.class, electionFileHandler)));
+            NEW_BALLOT_DIGEST_HANDLER = generic(lookup.findConstructor(ballotDigestHandler, MethodType.methodType(void.class)));
+            GET_DIGEST = generic(lookup.findVirtual(ballotDigestHandler, "getDigest", MethodType.methodType(long.class)));
+            NEW_STV_VOTE_COUNTER = generic(lookup.findConstructor(stvVoteCounter, counterConstructor));
+            STV_LOAD_CANDIDATE = generic(lookup.findVirtual(stvVoteCounter, "loadCandidate", MethodType.methodType(void.class, long.class, String.class)));
+            STV_LOAD_BALLOT = generic(lookup.findVirtual(stvVoteCounter, "loadBallot", MethodType.methodType(void.class, int.class, int[].class)));
+            STV_IMPLEMENT_VOTING = generic(lookup.findVirtual(stvVoteCounter, "implementVoting", MethodType.methodType(void.class)));
+            NEW_PLURALITY_VOTE_COUNTER = generic(lookup.findConstructor(pluralityVoteCounter, counterConstructor));
+            PLURALITY_IMPLEMENT_VOTING = generic(lookup.findVirtual(pluralityVoteCounter, "implementVoting", MethodType.methodType(void.class)));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Private constructor, the facade only has static methods.
+     */
+    private ElectionClasses() {
+    }
+
+    /**
+     * Creates a new ElectionFileLoader object.
+     * @param inputFileName Name of the input file (relative path).
+     * @return Object - The ElectionFileLoader.
+     */
+    static Object newElectionFileLoader(String inputFileName) {
+        try {
+            return (Object) NEW_ELECTION_FILE_LOADER.invokeExact(inputFileName);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Calls ElectionFileLoader.loadElectionFromInputFile(handler).
+     * @param electionFileLoader The ElectionFileLoader.
+     * @param handler The ElectionFileHandler which receives the candidates and the ballots.
+     * @return boolean - true if the file was read.
+     */
+    static boolean loadElectionFromInputFile(Object electionFileLoader, Object handler) {
+        try {
+            return (boolean) LOAD_ELECTION_FROM_INPUT_FILE.invokeExact(electionFileLoader, handler);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Creates a new BallotDigestHandler object.
+     * @return Object - The BallotDigestHandler.
+     */
+    static Object newBallotDigestHandler() {
+        try {
+            return (Object) NEW_BALLOT_DIGEST_HANDLER.invokeExact();
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Calls BallotDigestHandler.getDigest().
+     * @param ballotDigestHandler The BallotDigestHandler.
+     * @return long - The digest of everything the handler has received.
+     */
+    static long getDigest(Object ballotDigestHandler) {
+        try {
+            return (long) GET_DIGEST.invokeExact(ballotDigestHandler);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Creates a new STVVoteCounter object without a report and without shuffling the ballots.
+     * @param inputFileName Name of the input file (relative path).
+     * @param numOfSeatsToBeFilled Number of winners required from the election.
+     * @return Object - The STVVoteCounter.
+     */
+    static Object newSTVVoteCounter(String inputFileName, int numOfSeatsToBeFilled) {
+        try {
+            return (Object) NEW_STV_VOTE_COUNTER.invokeExact(inputFileName, numOfSeatsToBeFilled, false, false);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Calls STVVoteCounter.loadCandidate(candidateID, candidateName).
+     * @param stvVoteCounter The STVVoteCounter.
+     * @param candidateID Unique ID of the candidate.
+     * @param candidateName Name of the candidate.
+     */
+    static void loadSTVCandidate(Object stvVoteCounter, long candidateID, String candidateName) {
+        try {
+            STV_LOAD_CANDIDATE.invokeExact(stvVoteCounter, candidateID, candidateName);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Calls STVVoteCounter.loadBallot(ballotSerialNo, ballotRanks), which adds the candidate IDs of the
+     * ballot in order of preference to the store of ballots.
+     * @param stvVoteCounter The STVVoteCounter.
+     * @param ballotSerialNo Serial number of the ballot.
+     * @param ballotRanks Preference numbers of the ballot indexed by candidate ID.
+     */
+    static void loadSTVBallot(Object stvVoteCounter, int ballotSerialNo, int[] ballotRanks) {
+        try {
+            STV_LOAD_BALLOT.invokeExact(stvVoteCounter, ballotSerialNo, ballotRanks);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Calls STVVoteCounter.implementVoting().
+     * @param stvVoteCounter The STVVoteCounter.
+     */
+    static void implementSTVVoting(Object stvVoteCounter) {
+        try {
+            STV_IMPLEMENT_VOTING.invokeExact(stvVoteCounter);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Creates a new PluralityVoteCounter object.
+     * @param inputFileName Name of the input file (relative path).
+     * @param numberOfSeats Number of seats (winners) that need to be filled in the election.
+     * @param streamingCountFlag Whether the votes are tallied while the file is read.
+     * @param parallelCountFlag Whether the votes are tallied over shards of the file in parallel.
+     * @return Object - The PluralityVoteCounter.
+     */
+    static Object newPluralityVoteCounter(String inputFileName, int numberOfSeats, boolean streamingCountFlag, boolean parallelCountFlag) {
+        try {
+            return (Object) NEW_PLURALITY_VOTE_COUNTER.invokeExact(inputFileName, numberOfSeats, streamingCountFlag, parallelCountFlag);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Calls PluralityVoteCounter.implementVoting().
+     * @param pluralityVoteCounter The PluralityVoteCounter.
+     */
+    static void implementPluralityVoting(Object pluralityVoteCounter) {
+        try {
+            PLURALITY_IMPLEMENT_VOTING.invokeExact(pluralityVoteCounter);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Adapts a method handle to take and return Object in place of the classes of the voting system.
+     * @param methodHandle The method handle.
+     * @return MethodHandle - The adapted method handle.
+     */
+    private static MethodHandle generic(MethodHandle methodHandle) {
+        MethodType methodType = methodHandle.type();
+        for (int parameterIndex = 0; parameterIndex < methodType.parameterCount(); parameterIndex++) {
+            if (!methodType.parameterType(parameterIndex).isPrimitive() && methodType.parameterType(parameterIndex) != String.class
+                    && !methodType.parameterType(parameterIndex).isArray()) {
+                methodType = methodType.changeParameterType(parameterIndex, Object.class);
+            }
+        }
+        if (!methodType.returnType().isPrimitive()) {
+            methodType = methodType.changeReturnType(Object.class);
+        }
+        return methodHandle.asType(methodType);
+    }
+
+    /**
+     * Passes on an unchecked exception thrown by the voting system, or wraps a checked one.
+     * @param e The exception.
+     * @return RuntimeException - The exception to throw.
+     */
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new IllegalStateException(e);
+    }
+}
@@ -0,0 +1,204 @@
+package benchmark;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+/**
+ * <h1>ElectionFiles</h1>
+ * ElectionFiles - is a class that provides the input files of the benchmarks. An input file is either one of the
+ * files in testing/testingCSVFiles or a synthetic election written to a temporary file from a fixed seed, so
+ * every run of a benchmark reads exactly the same ballots.
+ *
+ * A synthetic STV ballot ranks a random selection of candidates, as many as the preference depth allows,
+ * and a synthetic Plurality ballot gives a "1" to a single random candidate.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+final class ElectionFiles {
+    /**
+     * Holds the seed of the random ballots of every synthetic election.
+     */
+    static final long SEED = 5801;
+
+    /**
+     * Holds the name of the system property with the directory of the testing CSV files.
+     */
+    private static final String FIXTURE_DIRECTORY_PROPERTY = "election.fixtures";
+
+    /**
+     * Holds the directory of the testing CSV files relative to the Project1/ directory.
+     */
+    private static final String DEFAULT_FIXTURE_DIRECTORY = "testing/testingCSVFiles";
+
+    /**
+     * Holds the standard output while it is silenced.
+     */
+    private static PrintStream standardOutput;
+
+    /**
+     * Private constructor, the class only has static methods.
+     */
+    private ElectionFiles() {
+    }
+
+    /**
+     * Returns the path of one of the testing CSV files. The directory of the files can be changed with
+     * the system property election.fixtures, by default the benchmarks are expected to run from Project1/.
+     * @param fileName Name of the file in testing/testingCSVFiles.
+     * @return String - Path of the file.
+     * @throws FileNotFoundException If the file does not exist.
+     */
+    static String fixture(String fileName) throws FileNotFoundException {
+        File fixtureFile = new File(System.getProperty(FIXTURE_DIRECTORY_PROPERTY, DEFAULT_FIXTURE_DIRECTORY), fileName);
+        if (!fixtureFile.isFile()) {
+            throw new FileNotFoundException("Testing CSV file " + fixtureFile + " not found, run the benchmarks from Project1/ or set -D" + FIXTURE_DIRECTORY_PROPERTY);
+        }
+        return fixtureFile.getPath();
+    }
+
+    /**
+     * Writes a synthetic STV election to a temporary file.
+     * @param numOfBallots Number of ballots in the election.
+     * @param numOfCandidates Number of candidates running in the election.
+     * @param preferenceDepth Highest number of candidates ranked by a ballot. Every ballot ranks between
+     *                        1 and preferenceDepth candidates.
+     * @return File - The temporary file, deleted when the JVM exits.
+     * @throws IOException If the file could not be written.
+     */
+    static File writeSTVElection(int numOfBallots, int numOfCandidates, int preferenceDepth) throws IOException {
+        int[][] ballots = createSTVBallots(numOfBallots, numOfCandidates, preferenceDepth);
+        File electionFile = createTemporaryFile("stv");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(electionFile), StandardCharsets.US_ASCII))) {
+            writeHeader(writer, numOfCandidates);
+            for (int[] ballotRanks : ballots) {
+                writeBallot(writer, ballotRanks);
+            }
+        }
+        return electionFile;
+    }
+
+    /**
+     * Writes a synthetic Plurality election to a temporary file.
+     * @param numOfBallots Number of ballots in the election.
+     * @param numOfCandidates Number of candidates running in the election.
+     * @return File - The temporary file, deleted when the JVM exits.
+     * @throws IOException If the file could not be written.
+     */
+    static File writePluralityElection(int numOfBallots, int numOfCandidates) throws IOException {
+        Random random = new Random(SEED);
+        int[] ballotRanks = new int[numOfCandidates];
+        File electionFile = createTemporaryFile("plurality");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(electionFile), StandardCharsets.US_ASCII))) {
+            writeHeader(writer, numOfCandidates);
+            for (int ballotNo = 0; ballotNo < numOfBallots; ballotNo++) {
+                int candidateID = random.nextInt(numOfCandidates);
+                ballotRanks[candidateID] = 1;
+                writeBallot(writer, ballotRanks);
+                ballotRanks[candidateID] = 0;
+            }
+        }
+        return electionFile;
+    }
+
+    /**
+     * Creates the preference numbers of the ballots of a synthetic STV election, the same ballots
+     * that writeSTVElection writes to the file.
+     * @param numOfBallots Number of ballots in the election.
+     * @param numOfCandidates Number of candidates running in the election.
+     * @param preferenceDepth Highest number of candidates ranked by a ballot.
+     * @return int[][] - Preference numbers of every ballot indexed by candidate ID (0 for no preference).
+     */
+    static int[][] createSTVBallots(int numOfBallots, int numOfCandidates, int preferenceDepth) {
+        Random random = new Random(SEED);
+        int maximumDepth = Math.min(preferenceDepth, numOfCandidates);
+        int[] candidateIDs = new int[numOfCandidates];
+        int[][] ballots = new int[numOfBallots][];
+        for (int ballotNo = 0; ballotNo < numOfBallots; ballotNo++) {
+            for (int candidateID = 0; candidateID < numOfCandidates; candidateID++) {
+                candidateIDs[candidateID] = candidateID;
+            }
+            int[] ballotRanks = new int[numOfCandidates];
+            int depth = 1 + random.nextInt(maximumDepth);
+            // partial Fisher-Yates shuffle, the first depth candidates get the preferences 1 to depth.
+            for (int preference = 0; preference < depth; preference++) {
+                int swapIndex = preference + random.nextInt(numOfCandidates - preference);
+                int candidateID = candidateIDs[swapIndex];
+                candidateIDs[swapIndex] = candidateIDs[preference];
+                candidateIDs[preference] = candidateID;
+                ballotRanks[candidateID] = preference + 1;
+            }
+            ballots[ballotNo] = ballotRanks;
+        }
+        return ballots;
+    }
+
+    /**
+     * Silences the standard output, on which the vote counters print the results of every election.
+     */
+    static synchronized void silenceStandardOutput() {
+        if (standardOutput == null) {
+            standardOutput = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+    }
+
+    /**
+     * Gives the standard output back after it was silenced.
+     */
+    static synchronized void restoreStandardOutput() {
+        if (standardOutput != null) {
+            System.setOut(standardOutput);
+            standardOutput = null;
+        }
+    }
+
+    /**
+     * Creates an empty temporary CSV file which is deleted when the JVM exits.
+     * @param prefix Prefix of the name of the file.
+     * @return File - The temporary file.
+     * @throws IOException If the file could not be created.
+     */
+    private static File createTemporaryFile(String prefix) throws IOException {
+        File electionFile = Files.createTempFile(prefix, ".csv").toFile();
+        electionFile.deleteOnExit();
+        return electionFile;
+    }
+
+    /**
+     * Writes the header of an election with candidates named Candidate1, Candidate2 and so on.
+     * @param writer Writer of the file.
+     * @param numOfCandidates Number of candidates running in the election.
+     * @throws IOException If the header could not be written.
+     */
+    private static void writeHeader(Writer writer, int numOfCandidates) throws IOException {
+        for (int candidateID = 0; candidateID < numOfCandidates; candidateID++) {
+            if (candidateID > 0) {
+                writer.write(',');
+            }
+            writer.write("Candidate" + (candidateID + 1));
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Writes a ballot as a row of the file, leaving the columns without a preference empty.
+     * @param writer Writer of the file.
+     * @param ballotRanks Preference numbers of the ballot indexed by candidate ID.
+     * @throws IOException If the ballot could not be written.
+     */
+    private static void writeBallot(Writer writer, int[] ballotRanks) throws IOException {
+        for (int candidateID = 0; candidateID < ballotRanks.length; candidateID++) {
+            if (candidateID > 0) {
+                writer.write(',');
+            }
+            if (ballotRanks[candidateID] != 0) {
+                writer.write(Integer.toString(ballotRanks[candidateID]));
+            }
+        }
+        writer.write('\n');
+    }
+}
@@ -0,0 +1,134 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.FileNotFoundException;
+import java.util.concurrent.TimeUnit;
+/**
+ * <h1>FixtureBenchmark</h1>
+ * FixtureBenchmark - is a JMH benchmark of loading and counting the elections in testing/testingCSVFiles,
+ * the same files that were used for the system testing of the voting system. The STV files are counted
+ * without shuffling the ballots and without a report.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixtureBenchmark {
+    /**
+     * <h1>STVFixture</h1>
+     * STVFixture - holds one of the STV testing CSV files.
+     */
+    @State(Scope.Benchmark)
+    public static class STVFixture {
+        /**
+         * Holds the name of the file in testing/testingCSVFiles.
+         */
+        @Param({"STV1000Votes10Candidates.csv", "STV1000Votes10CandidatesRandom.csv", "STV1000Votes4Candidates.csv",
+                "STV1000Votes4CandidatesRandom.csv", "STV200Votes10CandidatesRandom.csv", "STV50Votes4CandidatesRandom.csv",
+                "STVLessLarge.csv"})
+        public String stvFileName;
+
+        /**
+         * Holds the path of the file.
+         */
+        private String inputFileName;
+
+        /**
+         * Finds the file.
+         * @throws FileNotFoundException If the file does not exist.
+         */
+        @Setup(Level.Trial)
+        public void setUp() throws FileNotFoundException {
+            this.inputFileName = ElectionFiles.fixture(this.stvFileName);
+            ElectionFiles.silenceStandardOutput();
+        }
+
+        /**
+         * Gives the standard output back.
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            ElectionFiles.restoreStandardOutput();
+        }
+    }
+
+    /**
+     * <h1>PluralityFixture</h1>
+     * PluralityFixture - holds one of the Plurality testing CSV files.
+     */
+    @State(Scope.Benchmark)
+    public static class PluralityFixture {
+        /**
+         * Holds the name of the file in testing/testingCSVFiles.
+         */
+        @Param({"Plurality1000Votes10Candidates.csv", "Plurality1000Votes10CandidatesTie.csv", "Plurality1000Votes4Candidates.csv",
+                "Plurality200Votes10Candidates.csv", "Plurality50Votes4Candidates.csv"})
+        public String pluralityFileName;
+
+        /**
+         * Holds the path of the file.
+         */
+        private String inputFileName;
+
+        /**
+         * Finds the file.
+         * @throws FileNotFoundException If the file does not exist.
+         */
+        @Setup(Level.Trial)
+        public void setUp() throws FileNotFoundException {
+            this.inputFileName = ElectionFiles.fixture(this.pluralityFileName);
+            ElectionFiles.silenceStandardOutput();
+        }
+
+        /**
+         * Gives the standard output back.
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            ElectionFiles.restoreStandardOutput();
+        }
+    }
+
+    /**
+     * Parses every candidate and ballot of an STV testing file.
+     * @param fixture The testing file.
+     * @return long - Digest of the parsed ballots.
+     */
+    @Benchmark
+    public long loadSTVFixture(STVFixture fixture) {
+        Object handler = ElectionClasses.newBallotDigestHandler();
+        ElectionClasses.loadElectionFromInputFile(ElectionClasses.newElectionFileLoader(fixture.inputFileName), handler);
+        return ElectionClasses.getDigest(handler);
+    }
+
+    /**
+     * Counts an STV testing file with two seats to be filled.
+     * @param fixture The testing file.
+     * @return Object - The STVVoteCounter after the election was counted.
+     */
+    @Benchmark
+    public Object countSTVFixture(STVFixture fixture) {
+        Object stvVoteCounter = ElectionClasses.newSTVVoteCounter(fixture.inputFileName, 2);
+        ElectionClasses.implementSTVVoting(stvVoteCounter);
+        return stvVoteCounter;
+    }
+
+    /**
+     * Counts a Plurality testing file with one seat to be filled.
+     * @param fixture The testing file.
+     * @return Object - The PluralityVoteCounter after the election was counted.
+     */
+    @Benchmark
+    public Object countPluralityFixture(PluralityFixture fixture) {
+        Object pluralityVoteCounter = ElectionClasses.newPluralityVoteCounter(fixture.inputFileName, 1, false, false);
+        ElectionClasses.implementPluralityVoting(pluralityVoteCounter);
+        return pluralityVoteCounter;
+    }
+}
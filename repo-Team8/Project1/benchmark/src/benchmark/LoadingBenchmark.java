@@ -0,0 +1,105 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+/**
+ * <h1>LoadingBenchmark</h1>
+ * LoadingBenchmark - is a JMH benchmark of reading the ballots of an STV election, measured in two parts:
+ * <ul>
+ *     <li> loadCSV - the ElectionFileLoader parsing the whole input file, with a handler that only
+ *          digests the ballots. </li>
+ *     <li> addCandidateIDsInOrderOfPreference - the STVVoteCounter turning already parsed ballots into
+ *          candidate IDs in order of preference and adding them to its store of ballots. </li>
+ * </ul>
+ * The synthetic election is parameterized by the number of ballots, the number of candidates and the
+ * highest number of candidates ranked by a ballot (preference depth).
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoadingBenchmark {
+    /**
+     * Holds the number of ballots in the election.
+     */
+    @Param({"10000", "100000", "1000000"})
+    public int numOfBallots;
+
+    /**
+     * Holds the number of candidates running in the election.
+     */
+    @Param({"10", "100"})
+    public int numOfCandidates;
+
+    /**
+     * Holds the highest number of candidates ranked by a ballot.
+     */
+    @Param({"3", "10"})
+    public int preferenceDepth;
+
+    /**
+     * Holds the input file of the election.
+     */
+    private File electionFile;
+
+    /**
+     * Holds the preference numbers of every ballot of the election, indexed by candidate ID.
+     */
+    private int[][] electionBallots;
+
+    /**
+     * Writes the synthetic election and keeps its ballots in memory.
+     * @throws IOException If the input file could not be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.electionFile = ElectionFiles.writeSTVElection(this.numOfBallots, this.numOfCandidates, this.preferenceDepth);
+        this.electionBallots = ElectionFiles.createSTVBallots(this.numOfBallots, this.numOfCandidates, this.preferenceDepth);
+        ElectionFiles.silenceStandardOutput();
+    }
+
+    /**
+     * Gives the standard output back.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ElectionFiles.restoreStandardOutput();
+    }
+
+    /**
+     * Parses every candidate and ballot of the input file.
+     * @return long - Digest of the parsed ballots.
+     */
+    @Benchmark
+    public long loadCSV() {
+        Object handler = ElectionClasses.newBallotDigestHandler();
+        ElectionClasses.loadElectionFromInputFile(ElectionClasses.newElectionFileLoader(this.electionFile.getPath()), handler);
+        return ElectionClasses.getDigest(handler);
+    }
+
+    /**
+     * Adds every ballot of the election to the store of ballots of a new STVVoteCounter.
+     * @return Object - The STVVoteCounter holding the ballots.
+     */
+    @Benchmark
+    public Object addCandidateIDsInOrderOfPreference() {
+        Object stvVoteCounter = ElectionClasses.newSTVVoteCounter(this.electionFile.getPath(), 1);
+        for (int candidateID = 0; candidateID < this.numOfCandidates; candidateID++) {
+            ElectionClasses.loadSTVCandidate(stvVoteCounter, candidateID, "Candidate" + (candidateID + 1));
+        }
+        for (int ballotIndex = 0; ballotIndex < this.electionBallots.length; ballotIndex++) {
+            ElectionClasses.loadSTVBallot(stvVoteCounter, ballotIndex + 1, this.electionBallots[ballotIndex]);
+        }
+        return stvVoteCounter;
+    }
+}
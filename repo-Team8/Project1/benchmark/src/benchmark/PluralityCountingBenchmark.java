@@ -0,0 +1,82 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+/**
+ * <h1>PluralityCountingBenchmark</h1>
+ * PluralityCountingBenchmark - is a JMH benchmark of a full run of PluralityVoteCounter.implementVoting() on a
+ * synthetic election, in each of the three ways the counter can tally the votes:
+ * <ul>
+ *     <li> stored - every ballot is stored and then added to its candidate. </li>
+ *     <li> streaming - the votes are tallied while the file is read. </li>
+ *     <li> parallel - the votes are tallied over shards of the file in parallel. </li>
+ * </ul>
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PluralityCountingBenchmark {
+    /**
+     * Holds the number of ballots in the election.
+     */
+    @Param({"10000", "100000", "1000000"})
+    public int numOfBallots;
+
+    /**
+     * Holds the number of candidates running in the election.
+     */
+    @Param({"10", "100"})
+    public int numOfCandidates;
+
+    /**
+     * Holds the way the votes are tallied: stored, streaming or parallel.
+     */
+    @Param({"stored", "streaming", "parallel"})
+    public String countMode;
+
+    /**
+     * Holds the input file of the election.
+     */
+    private File electionFile;
+
+    /**
+     * Writes the synthetic election.
+     * @throws IOException If the input file could not be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.electionFile = ElectionFiles.writePluralityElection(this.numOfBallots, this.numOfCandidates);
+        ElectionFiles.silenceStandardOutput();
+    }
+
+    /**
+     * Gives the standard output back.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ElectionFiles.restoreStandardOutput();
+    }
+
+    /**
+     * Counts the election with a new PluralityVoteCounter.
+     * @return Object - The PluralityVoteCounter after the election was counted.
+     */
+    @Benchmark
+    public Object implementVoting() {
+        Object pluralityVoteCounter = ElectionClasses.newPluralityVoteCounter(this.electionFile.getPath(), 1,
+                "streaming".equals(this.countMode), "parallel".equals(this.countMode));
+        ElectionClasses.implementPluralityVoting(pluralityVoteCounter);
+        return pluralityVoteCounter;
+    }
+}
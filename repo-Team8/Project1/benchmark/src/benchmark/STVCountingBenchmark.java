@@ -0,0 +1,86 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+/**
+ * <h1>STVCountingBenchmark</h1>
+ * STVCountingBenchmark - is a JMH benchmark of a full run of STVVoteCounter.implementVoting() on a synthetic
+ * election, from loading the input file to the last dropped candidate. The ballots are not shuffled and no
+ * report is written, so every run counts the same election in the same order.
+ *
+ * The synthetic election is parameterized by the number of ballots, the number of candidates and the
+ * highest number of candidates ranked by a ballot (preference depth).
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class STVCountingBenchmark {
+    /**
+     * Holds the number of ballots in the election.
+     */
+    @Param({"10000", "100000", "1000000"})
+    public int numOfBallots;
+
+    /**
+     * Holds the number of candidates running in the election.
+     */
+    @Param({"10", "100"})
+    public int numOfCandidates;
+
+    /**
+     * Holds the highest number of candidates ranked by a ballot.
+     */
+    @Param({"3", "10"})
+    public int preferenceDepth;
+
+    /**
+     * Holds the number of seats to be filled in the election.
+     */
+    @Param({"3"})
+    public int numOfSeatsToBeFilled;
+
+    /**
+     * Holds the input file of the election.
+     */
+    private File electionFile;
+
+    /**
+     * Writes the synthetic election.
+     * @throws IOException If the input file could not be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.electionFile = ElectionFiles.writeSTVElection(this.numOfBallots, this.numOfCandidates, this.preferenceDepth);
+        ElectionFiles.silenceStandardOutput();
+    }
+
+    /**
+     * Gives the standard output back.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ElectionFiles.restoreStandardOutput();
+    }
+
+    /**
+     * Counts the election with a new STVVoteCounter.
+     * @return Object - The STVVoteCounter after the election was counted.
+     */
+    @Benchmark
+    public Object implementVoting() {
+        Object stvVoteCounter = ElectionClasses.newSTVVoteCounter(this.electionFile.getPath(), this.numOfSeatsToBeFilled);
+        ElectionClasses.implementSTVVoting(stvVoteCounter);
+        return stvVoteCounter;
+    }
+}
@@ -0,0 +1,108 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+/**
+ * <h1>AuditLogRenderer</h1>
+ * AuditLogRenderer - is a class that expands a binary audit log written by the AuditLogWriter into the
+ * text report of the election, the same report the STVVoteCounter writes when the binary audit log is off.
+ *
+ * The renderer can be run on its own after the election has been counted:
+ * <pre>
+ *     java AuditLogRenderer "Project 1 Waterfall Report.audit" "Project 1 Waterfall Report.txt"
+ * </pre>
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class AuditLogRenderer {
+    /**
+     * Holds the size of the buffer of bytes read from the file.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Expands an audit log into the text report of the election.
+     * @param args The name of the audit log file followed by the name of the report file.
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.out.println("Usage: java AuditLogRenderer <audit log file> <report file>");
+            return;
+        }
+        renderReport(args[0], args[1]);
+    }
+
+    /**
+     * Reads every record of an audit log and writes the text of the record to the report file.
+     * @param auditLogFileName Name of the audit log file (relative path).
+     * @param reportFileName Name of the report file (relative path). An existing file is replaced.
+     * @return boolean - true if the whole audit log was rendered.
+     */
+    public static boolean renderReport(String auditLogFileName, String reportFileName) {
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(auditLogFileName), BUFFER_SIZE);
+             ReportWriter reportWriter = new ReportWriter(reportFileName, false)) {
+            byte[] magic = new byte[AuditLogWriter.MAGIC.length];
+            if (inputStream.read(magic) != magic.length || !Arrays.equals(magic, AuditLogWriter.MAGIC) || inputStream.read() != AuditLogWriter.VERSION) {
+                System.out.println("File is not an audit log.");
+                return false;
+            }
+            String[] candidateNames = new String[(int) readVarint(inputStream)];
+            for (int candidateID = 0; candidateID < candidateNames.length; candidateID++) {
+                byte[] nameBytes = new byte[(int) readVarint(inputStream)];
+                if (inputStream.readNBytes(nameBytes, 0, nameBytes.length) != nameBytes.length) {
+                    throw new EOFException("Audit log ends inside the header");
+                }
+                candidateNames[candidateID] = new String(nameBytes, StandardCharsets.UTF_8);
+            }
+            int eventType = inputStream.read();
+            while (eventType != -1) {
+                // the round of the event is not part of the text report.
+                readVarint(inputStream);
+                if (eventType == AuditLogWriter.BALLOT_ASSIGNED) {
+                    int ballotSerialNo = (int) readVarint(inputStream);
+                    String candidateName = candidateNames[(int) readVarint(inputStream)];
+                    reportWriter.append("\nBallot No. ").append(ballotSerialNo).append(" is assigned to Candidate - ").append(candidateName);
+                } else if (eventType == AuditLogWriter.CANDIDATE_WON) {
+                    reportWriter.append("\nCandidate - ").append(candidateNames[(int) readVarint(inputStream)]).append(" is a winner!");
+                } else if (eventType == AuditLogWriter.CANDIDATE_DROPPED) {
+                    reportWriter.append("\nCandidate - ").append(candidateNames[(int) readVarint(inputStream)]).append(" has been dropped!");
+                } else {
+                    throw new IOException("Unknown event type " + eventType + " in audit log");
+                }
+                reportWriter.append("\n---------------");
+                eventType = inputStream.read();
+            }
+            return true;
+        } catch (FileNotFoundException e) {
+            System.out.println("File Not Found");
+            e.printStackTrace();
+        } catch (IOException e) {
+            System.out.println("IO Exception when reading from file");
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Reads a number written as a varint.
+     * @param inputStream Stream from which the number is read.
+     * @return long - The number.
+     * @throws IOException If the stream ends inside the number or could not be read.
+     */
+    private static long readVarint(InputStream inputStream) throws IOException {
+        long number = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int currentByte = inputStream.read();
+            if (currentByte == -1) {
+                throw new EOFException("Audit log ends inside a record");
+            }
+            number |= (long) (currentByte & 0x7F) << shift;
+            if ((currentByte & 0x80) == 0) {
+                return number;
+            }
+        }
+        throw new IOException("Malformed number in audit log");
+    }
+}
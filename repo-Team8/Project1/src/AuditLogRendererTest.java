@@ -0,0 +1,36 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class AuditLogRendererTest {
+
+    @org.junit.jupiter.api.Test
+    void renderReport() throws IOException {
+        File auditLogFile = File.createTempFile("audit", ".audit");
+        File reportFile = File.createTempFile("report", ".txt");
+        auditLogFile.deleteOnExit();
+        reportFile.deleteOnExit();
+        AuditLogWriter writer = new AuditLogWriter(auditLogFile.getPath(), new String[]{"A", "B"});
+        writer.writeBallotAssigned(0, 300, 1);
+        writer.writeCandidateEvent(AuditLogWriter.CANDIDATE_WON, 0, 1);
+        writer.writeCandidateEvent(AuditLogWriter.CANDIDATE_DROPPED, 1, 0);
+        writer.close();
+        assertTrue(AuditLogRenderer.renderReport(auditLogFile.getPath(), reportFile.getPath()));
+        String expectedReport = "\nBallot No. 300 is assigned to Candidate - B\n---------------"
+                + "\nCandidate - B is a winner!\n---------------"
+                + "\nCandidate - A has been dropped!\n---------------";
+        assertEquals(new String(Files.readAllBytes(reportFile.toPath()), Charset.defaultCharset()), expectedReport);
+    }
+
+    @org.junit.jupiter.api.Test
+    void renderReportFromOtherFile() throws IOException {
+        File reportFile = File.createTempFile("report", ".txt");
+        reportFile.deleteOnExit();
+        assertFalse(AuditLogRenderer.renderReport("../testing/testingCSVFiles/examplefile.csv", reportFile.getPath()));
+    }
+
+}
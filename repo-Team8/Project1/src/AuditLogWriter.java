@@ -0,0 +1,231 @@
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+/**
+ * <h1>AuditLogWriter</h1>
+ * AuditLogWriter - is a class that writes the events of a STV based election to a compact binary audit log.
+ *
+ * The audit log holds the same information as the text report of the election in a fraction of the size.
+ * The log starts with a header that holds the names of all the candidates, followed by one record per event.
+ * Every number is written as a varint (7 bits per byte, the high bit marks that more bytes follow), so a record
+ * of a ballot assignment usually takes about 6 bytes. The layout of the log is:
+ * <ul>
+ *     <li> Header - the bytes "STVA", a version byte, the number of candidates and then for every candidate
+ *          (in order of their IDs) the length of its UTF-8 encoded name followed by the name. </li>
+ *     <li> Record - an event type byte, the round in which the event happened and then, for a ballot assignment,
+ *          the serial number of the ballot followed by the ID of the candidate, or for a winner or dropped
+ *          candidate only the ID of the candidate. </li>
+ * </ul>
+ * The AuditLogRenderer expands an audit log into the text report. Like a ReportWriter, an audit log can be flushed
+ * and continued later from the size it had when it was flushed.
+ *
+ * Errors are reported once on the standard output and the rest of the log is dropped.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class AuditLogWriter implements Closeable {
+    /**
+     * Holds the bytes every audit log starts with.
+     */
+    public static final byte[] MAGIC = {'S', 'T', 'V', 'A'};
+
+    /**
+     * Holds the version of the layout of the audit log.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Holds the event type of a ballot that was assigned to a candidate.
+     */
+    public static final int BALLOT_ASSIGNED = 0;
+
+    /**
+     * Holds the event type of a candidate that was declared winner.
+     */
+    public static final int CANDIDATE_WON = 1;
+
+    /**
+     * Holds the event type of a candidate that was dropped.
+     */
+    public static final int CANDIDATE_DROPPED = 2;
+
+    /**
+     * Holds the size of the buffer of bytes written to the file.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Holds the channel of the audit log file.
+     */
+    private FileChannel channel;
+
+    /**
+     * Holds the buffered stream of the audit log file. Null once writing the log has failed or the log is closed.
+     */
+    private OutputStream outputStream;
+
+    /**
+     * Creates a new AuditLogWriter object and writes the header of the audit log. An existing file is replaced.
+     * @param auditLogFileName Name of the audit log file (relative path).
+     * @param candidateNames Names of the candidates of the election, indexed by candidate ID.
+     */
+    public AuditLogWriter(String auditLogFileName, String[] candidateNames) {
+        openAuditLogFile(auditLogFileName, 0);
+        if (this.outputStream == null) {
+            return;
+        }
+        try {
+            this.outputStream.write(MAGIC);
+            this.outputStream.write(VERSION);
+            writeVarint(candidateNames.length);
+            for (String candidateName : candidateNames) {
+                byte[] nameBytes = candidateName.getBytes(StandardCharsets.UTF_8);
+                writeVarint(nameBytes.length);
+                this.outputStream.write(nameBytes);
+            }
+        } catch (IOException e) {
+            reportFailure(e);
+        }
+    }
+
+    /**
+     * Creates a new AuditLogWriter object which continues an audit log that was flushed before.
+     * Anything written to the file after the given size of the log is replaced.
+     * @param auditLogFileName Name of the audit log file (relative path).
+     * @param resumePosition Size of the audit log returned by flush.
+     */
+    public AuditLogWriter(String auditLogFileName, long resumePosition) {
+        openAuditLogFile(auditLogFileName, resumePosition);
+    }
+
+    /**
+     * Opens the audit log file and cuts it to the size it should be continued from.
+     * @param auditLogFileName Name of the audit log file (relative path).
+     * @param resumePosition Size of the audit log to keep, 0 to start a new log.
+     */
+    private void openAuditLogFile(String auditLogFileName, long resumePosition) {
+        try {
+            this.channel = FileChannel.open(new File(auditLogFileName).toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            System.out.println("File Not Found");
+            e.printStackTrace();
+            return;
+        }
+        this.outputStream = new BufferedOutputStream(Channels.newOutputStream(this.channel), BUFFER_SIZE);
+        try {
+            if (this.channel.size() < resumePosition) {
+                throw new IOException("The audit log is shorter than the position it should be continued from");
+            }
+            this.channel.truncate(resumePosition);
+            this.channel.position(resumePosition);
+        } catch (IOException e) {
+            reportFailure(e);
+        }
+    }
+
+    /**
+     * Writes the records added so far to the file.
+     * @return long - Size of the audit log in the file, or -1 if writing the log has failed.
+     */
+    public long flush() {
+        if (this.outputStream == null) {
+            return -1;
+        }
+        try {
+            this.outputStream.flush();
+            return this.channel.position();
+        } catch (IOException e) {
+            reportFailure(e);
+            return -1;
+        }
+    }
+
+    /**
+     * Writes the record of a ballot that was assigned to a candidate.
+     * @param roundNo Round in which the ballot was assigned.
+     * @param ballotSerialNo Serial number of the ballot.
+     * @param candidateID ID of the candidate to which the ballot was assigned.
+     */
+    public void writeBallotAssigned(int roundNo, int ballotSerialNo, long candidateID) {
+        if (this.outputStream == null) {
+            return;
+        }
+        try {
+            this.outputStream.write(BALLOT_ASSIGNED);
+            writeVarint(roundNo);
+            writeVarint(ballotSerialNo);
+            writeVarint(candidateID);
+        } catch (IOException e) {
+            reportFailure(e);
+        }
+    }
+
+    /**
+     * Writes the record of a candidate that was declared winner or dropped.
+     * @param eventType CANDIDATE_WON or CANDIDATE_DROPPED.
+     * @param roundNo Round in which the candidate was declared winner or dropped.
+     * @param candidateID ID of the candidate.
+     */
+    public void writeCandidateEvent(int eventType, int roundNo, long candidateID) {
+        if (this.outputStream == null) {
+            return;
+        }
+        try {
+            this.outputStream.write(eventType);
+            writeVarint(roundNo);
+            writeVarint(candidateID);
+        } catch (IOException e) {
+            reportFailure(e);
+        }
+    }
+
+    /**
+     * Writes the rest of the audit log to the file and closes the file.
+     */
+    @Override
+    public void close() {
+        if (this.outputStream == null) {
+            return;
+        }
+        try {
+            this.outputStream.close();
+        } catch (IOException e) {
+            System.out.println("IO Exception when writing the audit log");
+            e.printStackTrace();
+        }
+        this.outputStream = null;
+    }
+
+    /**
+     * Writes a non negative number as a varint.
+     * @param number Number to write.
+     * @throws IOException If the number could not be written.
+     */
+    private void writeVarint(long number) throws IOException {
+        while ((number & ~0x7FL) != 0) {
+            this.outputStream.write((int) ((number & 0x7F) | 0x80));
+            number >>>= 7;
+        }
+        this.outputStream.write((int) number);
+    }
+
+    /**
+     * Reports an error that happened while writing the audit log and stops writing the log.
+     * @param e The error.
+     */
+    private void reportFailure(IOException e) {
+        System.out.println("IO Exception when writing the audit log");
+        e.printStackTrace();
+        try {
+            this.outputStream.close();
+        } catch (IOException closeException) {
+            // the log is dropped anyway.
+        }
+        this.outputStream = null;
+    }
+}
@@ -0,0 +1,250 @@
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+/**
+ * <h1>BatchElection</h1>
+ * BatchElection - is a class that holds one election counted by the ElectionBatchRunner or the ElectionCountServer:
+ * the input file, the type of voting and the number of seats, and once it is counted the winners, the results the
+ * vote counter printed and the wall time it took to count the election.
+ *
+ * STV elections are counted without a report, because the reports of elections counted at the same time
+ * would be written to the same file.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class BatchElection {
+    /**
+     * Holds the name of the input file (relative path).
+     */
+    private String inputFileName;
+
+    /**
+     * Holds the information about whether the election is counted with STV or Plurality voting.
+     */
+    private boolean stvVotingFlag;
+
+    /**
+     * Holds the number of seats that need to be filled in the election.
+     */
+    private int numOfSeatsToBeFilled;
+
+    /**
+     * Holds the information about whether the ballots of an STV election are shuffled.
+     */
+    private boolean shuffleFeatureFlag;
+
+    /**
+     * Holds the size of the input file in bytes.
+     */
+    private long inputFileSize;
+
+    /**
+     * Holds the winner candidates once the election is counted.
+     */
+    private List<Candidate> winnerCandidates;
+
+    /**
+     * Holds the dropped candidates once the election is counted, in the order printed by the vote counter.
+     */
+    private List<Candidate> droppedCandidates;
+
+    /**
+     * Holds the results printed by the vote counter while the election was counted.
+     */
+    private String electionOutput;
+
+    /**
+     * Holds the wall time it took to count the election in nanoseconds.
+     */
+    private long wallTimeNanos;
+
+    /**
+     * Holds the description of the error that stopped the count, null if the election was counted.
+     */
+    private String failure;
+
+    /**
+     * Holds the cache of parsed elections the vote counter takes the election from, null if there is no cache.
+     */
+    private ElectionCache electionCache;
+
+    /**
+     * Holds the information about whether the vote counter keeps the ballots outside of the heap.
+     */
+    private boolean offHeapBallotsFlag;
+
+    /**
+     * Creates a new BatchElection object.
+     * @param inputFileName Name of the input file which contains the data about the election (relative path).
+     * @param stvVotingFlag Describes whether the election is counted with STV (true) or Plurality (false) voting.
+     * @param numOfSeatsToBeFilled Number of seats that need to be filled in the election.
+     * @param shuffleFeatureFlag Describes whether the ballots of an STV election are shuffled.
+     */
+    public BatchElection(String inputFileName, boolean stvVotingFlag, int numOfSeatsToBeFilled, boolean shuffleFeatureFlag) {
+        this.inputFileName = inputFileName;
+        this.stvVotingFlag = stvVotingFlag;
+        this.numOfSeatsToBeFilled = numOfSeatsToBeFilled;
+        this.shuffleFeatureFlag = shuffleFeatureFlag;
+        this.inputFileSize = new File(inputFileName).length();
+        this.winnerCandidates = new ArrayList<>();
+        this.droppedCandidates = new ArrayList<>();
+        this.electionOutput = "";
+        this.wallTimeNanos = 0;
+        this.failure = null;
+        this.electionCache = null;
+        this.offHeapBallotsFlag = false;
+    }
+
+    /**
+     * Returns the name of the input file.
+     * @return String - Name of the input file.
+     */
+    public String getInputFileName() {
+        return this.inputFileName;
+    }
+
+    /**
+     * Returns whether the election is counted with STV voting.
+     * @return boolean - true for STV, false for Plurality voting.
+     */
+    public boolean isSTVVoting() {
+        return this.stvVotingFlag;
+    }
+
+    /**
+     * Returns the number of seats that need to be filled in the election.
+     * @return int - Number of seats.
+     */
+    public int getNumOfSeatsToBeFilled() {
+        return this.numOfSeatsToBeFilled;
+    }
+
+    /**
+     * Returns the size of the input file.
+     * @return long - Size of the input file in bytes, 0 if the file does not exist.
+     */
+    public long getInputFileSize() {
+        return this.inputFileSize;
+    }
+
+    /**
+     * Returns the winner candidates.
+     * @return List{Candidate} - Winner candidates, empty until the election is counted.
+     */
+    public List<Candidate> getWinnerCandidates() {
+        return this.winnerCandidates;
+    }
+
+    /**
+     * Returns the names of the winner candidates.
+     * @return List{String} - Names of the winner candidates, empty until the election is counted.
+     */
+    public List<String> getWinnerCandidateNames() {
+        List<String> winnerCandidateNames = new ArrayList<>();
+        for (Candidate winnerCandidate : this.winnerCandidates) {
+            winnerCandidateNames.add(winnerCandidate.getCandidateName());
+        }
+        return winnerCandidateNames;
+    }
+
+    /**
+     * Returns the dropped candidates of the election, in the order printed by the vote counter.
+     * @return List{Candidate} - Dropped candidates, the last dropped candidate first for STV voting and
+     *                           the candidate with the most votes first for Plurality voting.
+     */
+    public List<Candidate> getDroppedCandidates() {
+        return this.droppedCandidates;
+    }
+
+    /**
+     * Returns the results printed by the vote counter while the election was counted.
+     * @return String - The printed results.
+     */
+    public String getElectionOutput() {
+        return this.electionOutput;
+    }
+
+    /**
+     * Sets the results printed by the vote counter while the election was counted.
+     * @param electionOutput The printed results.
+     */
+    public void setElectionOutput(String electionOutput) {
+        this.electionOutput = electionOutput;
+    }
+
+    /**
+     * Sets the cache of parsed elections the vote counter takes the election from.
+     * @param electionCache Cache of parsed elections, null to always parse the input file.
+     */
+    public void setElectionCache(ElectionCache electionCache) {
+        this.electionCache = electionCache;
+    }
+
+    /**
+     * Sets whether the vote counter keeps the ballots outside of the heap.
+     * @param offHeapBallotsFlag true to keep the ballots outside of the heap.
+     */
+    public void setOffHeapBallotsFlag(boolean offHeapBallotsFlag) {
+        this.offHeapBallotsFlag = offHeapBallotsFlag;
+    }
+
+    /**
+     * Returns the wall time it took to count the election.
+     * @return long - Wall time in nanoseconds.
+     */
+    public long getWallTimeNanos() {
+        return this.wallTimeNanos;
+    }
+
+    /**
+     * Returns the description of the error that stopped the count.
+     * @return String - Description of the error, null if the election was counted.
+     */
+    public String getFailure() {
+        return this.failure;
+    }
+
+    /**
+     * Sets the description of the error that stopped the count, for an error that was not caught by countElection.
+     * @param failure Description of the error.
+     */
+    public void setFailure(String failure) {
+        this.failure = failure;
+    }
+
+    /**
+     * Counts the election with the vote counter of its type of voting and keeps the winners and the wall time.
+     * An error in the count is kept as the failure of the election instead of being thrown.
+     */
+    public void countElection() {
+        long startTime = System.nanoTime();
+        try {
+            if (!new File(this.inputFileName).isFile()) {
+                this.failure = "File Not Found";
+                return;
+            }
+            if (this.stvVotingFlag) {
+                STVVoteCounter voteCounter = new STVVoteCounter(this.inputFileName, this.numOfSeatsToBeFilled, false, this.shuffleFeatureFlag);
+                voteCounter.setElectionCache(this.electionCache);
+                voteCounter.setOffHeapBallotsFlag(this.offHeapBallotsFlag);
+                voteCounter.implementVoting();
+                this.winnerCandidates.addAll(voteCounter.getWinnerCandidates());
+                this.droppedCandidates.addAll(voteCounter.getDroppedCandidates());
+            } else {
+                PluralityVoteCounter voteCounter = new PluralityVoteCounter(this.inputFileName, this.numOfSeatsToBeFilled);
+                voteCounter.setElectionCache(this.electionCache);
+                voteCounter.setOffHeapBallotsFlag(this.offHeapBallotsFlag);
+                voteCounter.implementVoting();
+                this.winnerCandidates.addAll(voteCounter.getWinnerCandidates());
+                this.droppedCandidates.addAll(voteCounter.getDroppedCandidates());
+            }
+        } catch (RuntimeException e) {
+            this.failure = e.toString();
+        } finally {
+            this.wallTimeNanos = System.nanoTime() - startTime;
+        }
+    }
+}
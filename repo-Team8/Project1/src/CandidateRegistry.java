@@ -0,0 +1,184 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+/**
+ * <h1>CandidateRegistry</h1>
+ * CandidateRegistry - is a class that holds the candidates engaged in an election for the vote counters.
+ *
+ * Candidate IDs are the column indexes of the candidates in the input file, so they are dense and start at 0.
+ * The registry therefore keeps the candidates in a plain array indexed by candidate ID instead of a hash map
+ * with boxed keys. Whether a candidate is still running in the election (not winner or dropped) is kept in a
+ * bit mask with one bit per candidate, so checking if a candidate is active is a single bit test.
+ *
+ * Candidates are always listed in increasing order of their IDs.
+ *
+ * @param <T> Type of the candidates held by the registry.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class CandidateRegistry<T extends Candidate> {
+    /**
+     * Holds the candidates of the election, indexed by candidate ID.
+     */
+    private Object[] candidates;
+
+    /**
+     * Holds the number of candidates in the registry (highest candidate ID + 1).
+     */
+    private int numOfCandidates;
+
+    /**
+     * Holds one bit per candidate (bit candidateID % 64 of word candidateID / 64)
+     * which is set while the candidate is still running in the election.
+     */
+    private long[] activeCandidates;
+
+    /**
+     * Holds the number of candidates that are still running in the election.
+     */
+    private int numOfActiveCandidates;
+
+    /**
+     * Creates a new empty CandidateRegistry object.
+     */
+    public CandidateRegistry() {
+        this.candidates = new Object[8];
+        this.numOfCandidates = 0;
+        this.activeCandidates = new long[1];
+        this.numOfActiveCandidates = 0;
+    }
+
+    /**
+     * Adds a candidate to the registry at the index of its ID and marks it as running in the election.
+     * @param candidate Candidate to add.
+     */
+    public void add(T candidate) {
+        int candidateID = (int) candidate.getCandidateID();
+        if (candidateID >= this.candidates.length) {
+            this.candidates = Arrays.copyOf(this.candidates, Math.max(candidateID + 1, this.candidates.length * 2));
+        }
+        if ((candidateID >> 6) >= this.activeCandidates.length) {
+            this.activeCandidates = Arrays.copyOf(this.activeCandidates, Math.max((candidateID >> 6) + 1, this.activeCandidates.length * 2));
+        }
+        this.candidates[candidateID] = candidate;
+        this.numOfCandidates = Math.max(this.numOfCandidates, candidateID + 1);
+        if (!isActive(candidateID)) {
+            this.activeCandidates[candidateID >> 6] |= 1L << candidateID;
+            this.numOfActiveCandidates++;
+        }
+    }
+
+    /**
+     * Returns the candidate with the given ID, whether or not it is still running in the election.
+     * @param candidateID Unique ID of the candidate.
+     * @return T - The candidate, or null if there is no candidate with the ID.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(long candidateID) {
+        if (candidateID < 0 || candidateID >= this.numOfCandidates) {
+            return null;
+        }
+        return (T) this.candidates[(int) candidateID];
+    }
+
+    /**
+     * Returns the candidate with the given ID if the candidate is still running in the election.
+     * @param candidateID Unique ID of the candidate.
+     * @return T - The candidate, or null if the candidate is not running in the election.
+     */
+    @SuppressWarnings("unchecked")
+    public T getActive(int candidateID) {
+        return isActive(candidateID) ? (T) this.candidates[candidateID] : null;
+    }
+
+    /**
+     * Checks whether a candidate is still running in the election.
+     * @param candidateID Unique ID of the candidate.
+     * @return boolean - true if the candidate is running in the election.
+     */
+    public boolean isActive(int candidateID) {
+        return candidateID >= 0 && (candidateID >> 6) < this.activeCandidates.length
+                && (this.activeCandidates[candidateID >> 6] & (1L << candidateID)) != 0;
+    }
+
+    /**
+     * Marks a candidate as no longer running in the election (declared winner or dropped).
+     * The candidate stays in the registry and can still be found with get.
+     * @param candidateID Unique ID of the candidate.
+     */
+    public void deactivate(long candidateID) {
+        if (isActive((int) candidateID)) {
+            this.activeCandidates[(int) candidateID >> 6] &= ~(1L << candidateID);
+            this.numOfActiveCandidates--;
+        }
+    }
+
+    /**
+     * Returns the ID of the first candidate still running in the election with an ID
+     * greater than or equal to the given ID.
+     * @param fromCandidateID ID from where the search starts.
+     * @return int - ID of the candidate, or -1 if there is no such candidate.
+     */
+    public int nextActive(int fromCandidateID) {
+        int wordIndex = fromCandidateID >> 6;
+        if (fromCandidateID < 0 || wordIndex >= this.activeCandidates.length) {
+            return -1;
+        }
+        long word = this.activeCandidates[wordIndex] & (-1L << fromCandidateID);
+        while (word == 0) {
+            wordIndex++;
+            if (wordIndex == this.activeCandidates.length) {
+                return -1;
+            }
+            word = this.activeCandidates[wordIndex];
+        }
+        return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Returns the number of candidates in the registry.
+     * @return int - Number of candidates.
+     */
+    public int size() {
+        return this.numOfCandidates;
+    }
+
+    /**
+     * Returns the number of candidates still running in the election.
+     * @return int - Number of active candidates.
+     */
+    public int getNumOfActiveCandidates() {
+        return this.numOfActiveCandidates;
+    }
+
+    /**
+     * Returns all the candidates in the registry in increasing order of their IDs.
+     * @return List{T} - New list of the candidates.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> values() {
+        List<T> candidateList = new ArrayList<>(this.numOfCandidates);
+        for (int candidateID = 0; candidateID < this.numOfCandidates; candidateID++) {
+            if (this.candidates[candidateID] != null) {
+                candidateList.add((T) this.candidates[candidateID]);
+            }
+        }
+        return candidateList;
+    }
+
+    /**
+     * Returns the candidates still running in the election in increasing order of their IDs.
+     * @return List{T} - New list of the active candidates.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> activeValues() {
+        List<T> candidateList = new ArrayList<>(this.numOfActiveCandidates);
+        for (int candidateID = nextActive(0); candidateID >= 0; candidateID = nextActive(candidateID + 1)) {
+            candidateList.add((T) this.candidates[candidateID]);
+        }
+        return candidateList;
+    }
+}
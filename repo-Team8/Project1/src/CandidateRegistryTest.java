@@ -0,0 +1,39 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class CandidateRegistryTest {
+    private CandidateRegistry<STVCandidate> tester;
+
+    @org.junit.jupiter.api.Test
+    void addAndGet() {
+        tester = new CandidateRegistry<>();
+        for (long candidateID = 0; candidateID < 100; candidateID++) {
+            tester.add(new STVCandidate(candidateID, "C" + candidateID));
+        }
+        assertEquals(tester.size(), 100, "Should be 100");
+        assertEquals(tester.getNumOfActiveCandidates(), 100, "Should be 100");
+        assertEquals(tester.get(70).getCandidateName(), "C70", "Should be C70");
+        assertNull(tester.get(100));
+        assertEquals(tester.values().get(99).getCandidateName(), "C99", "Should be C99");
+    }
+
+    @org.junit.jupiter.api.Test
+    void deactivate() {
+        tester = new CandidateRegistry<>();
+        for (long candidateID = 0; candidateID < 100; candidateID++) {
+            tester.add(new STVCandidate(candidateID, "C" + candidateID));
+        }
+        tester.deactivate(3);
+        tester.deactivate(64);
+        tester.deactivate(64);
+        assertEquals(tester.getNumOfActiveCandidates(), 98, "Should be 98");
+        assertFalse(tester.isActive(64));
+        assertNull(tester.getActive(3));
+        assertEquals(tester.get(3).getCandidateName(), "C3", "Should be C3");
+        assertEquals(tester.nextActive(3), 4, "Should be 4");
+        assertEquals(tester.nextActive(64), 65, "Should be 65");
+        assertEquals(tester.nextActive(100), -1, "Should be -1");
+        assertEquals(tester.activeValues().size(), 98, "Should be 98");
+    }
+
+}
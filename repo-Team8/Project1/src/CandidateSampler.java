@@ -0,0 +1,120 @@
+import java.util.SplittableRandom;
+/**
+ * <h1>CandidateSampler</h1>
+ * CandidateSampler - is a class that draws candidates at random in proportion to their popularity (weight),
+ * without drawing the same candidate twice until the drawn candidates are put back. It is used by the
+ * ElectionFileGenerator to pick the preferences of a ballot.
+ *
+ * The weights are kept in a sum tree: the leaves hold the weight of every candidate and every other node holds
+ * the sum of its two children. A candidate is drawn by walking down from the root in O(log C) time, where C is
+ * the number of candidates, and is taken out by setting its leaf to 0. The sums are always recomputed from the
+ * children instead of being adjusted, so the tree does not drift however many ballots are drawn.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class CandidateSampler {
+    /**
+     * Holds the weight of every candidate, indexed by candidate ID.
+     */
+    private double[] candidateWeights;
+
+    /**
+     * Holds the sum tree. The root is at index 1 and the leaf of a candidate is at numOfLeaves + candidate ID.
+     */
+    private double[] weightTree;
+
+    /**
+     * Holds the number of leaves of the sum tree (a power of two).
+     */
+    private int numOfLeaves;
+
+    /**
+     * Holds the IDs of the candidates taken out since they were last put back.
+     */
+    private int[] takenCandidateIDs;
+
+    /**
+     * Holds the number of candidates taken out since they were last put back.
+     */
+    private int numOfTakenCandidates;
+
+    /**
+     * Creates a new CandidateSampler object.
+     * @param candidateWeights Weight of every candidate, indexed by candidate ID. A candidate with weight 0 is never drawn.
+     */
+    public CandidateSampler(double[] candidateWeights) {
+        this.candidateWeights = candidateWeights.clone();
+        this.numOfLeaves = Integer.highestOneBit(Math.max(1, candidateWeights.length - 1)) << 1;
+        this.weightTree = new double[2 * this.numOfLeaves];
+        System.arraycopy(this.candidateWeights, 0, this.weightTree, this.numOfLeaves, candidateWeights.length);
+        for (int node = this.numOfLeaves - 1; node >= 1; node--) {
+            this.weightTree[node] = this.weightTree[2 * node] + this.weightTree[2 * node + 1];
+        }
+        this.takenCandidateIDs = new int[candidateWeights.length];
+        this.numOfTakenCandidates = 0;
+    }
+
+    /**
+     * Draws a candidate at random in proportion to the weights and takes it out.
+     * @param random Source of the random numbers.
+     * @return int - ID of the drawn candidate.
+     */
+    public int drawCandidate(SplittableRandom random) {
+        if (this.weightTree[1] <= 0) {
+            throw new IllegalStateException("There are no candidates left to draw");
+        }
+        double point = random.nextDouble() * this.weightTree[1];
+        int node = 1;
+        while (node < this.numOfLeaves) {
+            int leftChild = 2 * node;
+            // the right child is never taken when it is empty, even if rounding puts the point past the left child.
+            if (point < this.weightTree[leftChild] || this.weightTree[leftChild + 1] <= 0) {
+                node = leftChild;
+            } else {
+                point -= this.weightTree[leftChild];
+                node = leftChild + 1;
+            }
+        }
+        int candidateID = node - this.numOfLeaves;
+        takeCandidate(candidateID);
+        return candidateID;
+    }
+
+    /**
+     * Takes a candidate out, so it is not drawn until it is put back.
+     * @param candidateID ID of the candidate.
+     */
+    public void takeCandidate(int candidateID) {
+        if (this.weightTree[this.numOfLeaves + candidateID] == 0) {
+            return;
+        }
+        this.takenCandidateIDs[this.numOfTakenCandidates++] = candidateID;
+        setLeaf(candidateID, 0);
+    }
+
+    /**
+     * Puts back all the candidates taken out since they were last put back.
+     */
+    public void putBackCandidates() {
+        while (this.numOfTakenCandidates > 0) {
+            int candidateID = this.takenCandidateIDs[--this.numOfTakenCandidates];
+            setLeaf(candidateID, this.candidateWeights[candidateID]);
+        }
+    }
+
+    /**
+     * Changes the weight held by the leaf of a candidate and recomputes the sums above it.
+     * @param candidateID ID of the candidate.
+     * @param weight New weight of the leaf.
+     */
+    private void setLeaf(int candidateID, double weight) {
+        int node = this.numOfLeaves + candidateID;
+        this.weightTree[node] = weight;
+        for (node >>= 1; node >= 1; node >>= 1) {
+            this.weightTree[node] = this.weightTree[2 * node] + this.weightTree[2 * node + 1];
+        }
+    }
+}
@@ -0,0 +1,203 @@
+import java.util.Arrays;
+/**
+ * <h1>CandidateVoteHeap</h1>
+ * CandidateVoteHeap - is a class that keeps the number of votes of the candidates still running in
+ * an election in an indexed binary min-heap, so the candidate(s) with the least number of votes can be found
+ * without going through all the candidates.
+ *
+ * The heap holds candidate IDs and the position of every candidate in the heap is kept in an array indexed
+ * by candidate ID. This way the number of votes of a candidate can be changed (in either direction) and a
+ * candidate can be removed from the heap in O(log C) time, where C is the number of candidates.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class CandidateVoteHeap {
+    /**
+     * Holds the candidate IDs in heap order. The candidate at index 0 has the least number of votes.
+     */
+    private int[] heap;
+
+    /**
+     * Holds the number of candidates in the heap.
+     */
+    private int heapSize;
+
+    /**
+     * Holds the index in the heap of every candidate, indexed by candidate ID. -1 if the candidate is not in the heap.
+     */
+    private int[] heapPositions;
+
+    /**
+     * Holds the number of votes of every candidate, indexed by candidate ID.
+     */
+    private int[] candidateVotes;
+
+    /**
+     * Creates a new empty CandidateVoteHeap object.
+     * @param numOfCandidates Number of candidates (highest candidate ID + 1) that can be added to the heap.
+     */
+    public CandidateVoteHeap(int numOfCandidates) {
+        this.heap = new int[numOfCandidates];
+        this.heapSize = 0;
+        this.heapPositions = new int[numOfCandidates];
+        Arrays.fill(this.heapPositions, -1);
+        this.candidateVotes = new int[numOfCandidates];
+    }
+
+    /**
+     * Adds a candidate to the heap.
+     * @param candidateID Unique ID of the candidate.
+     * @param numOfVotes Number of votes of the candidate.
+     */
+    public void add(int candidateID, int numOfVotes) {
+        if (contains(candidateID)) {
+            updateVotes(candidateID, numOfVotes);
+            return;
+        }
+        this.candidateVotes[candidateID] = numOfVotes;
+        this.heap[this.heapSize] = candidateID;
+        this.heapPositions[candidateID] = this.heapSize;
+        this.heapSize++;
+        siftUp(this.heapSize - 1);
+    }
+
+    /**
+     * Changes the number of votes of a candidate in the heap.
+     * @param candidateID Unique ID of the candidate.
+     * @param numOfVotes New number of votes of the candidate.
+     */
+    public void updateVotes(int candidateID, int numOfVotes) {
+        int oldNumOfVotes = this.candidateVotes[candidateID];
+        this.candidateVotes[candidateID] = numOfVotes;
+        if (numOfVotes < oldNumOfVotes) {
+            siftUp(this.heapPositions[candidateID]);
+        } else if (numOfVotes > oldNumOfVotes) {
+            siftDown(this.heapPositions[candidateID]);
+        }
+    }
+
+    /**
+     * Removes a candidate from the heap. Does nothing if the candidate is not in the heap.
+     * @param candidateID Unique ID of the candidate.
+     */
+    public void remove(int candidateID) {
+        if (!contains(candidateID)) {
+            return;
+        }
+        int heapIndex = this.heapPositions[candidateID];
+        this.heapSize--;
+        this.heapPositions[candidateID] = -1;
+        if (heapIndex == this.heapSize) {
+            return;
+        }
+        // move the last candidate of the heap into the free place and restore the heap order.
+        int lastCandidateID = this.heap[this.heapSize];
+        this.heap[heapIndex] = lastCandidateID;
+        this.heapPositions[lastCandidateID] = heapIndex;
+        siftUp(heapIndex);
+        siftDown(this.heapPositions[lastCandidateID]);
+    }
+
+    /**
+     * Checks whether a candidate is in the heap.
+     * @param candidateID Unique ID of the candidate.
+     * @return boolean - true if the candidate is in the heap.
+     */
+    public boolean contains(int candidateID) {
+        return this.heapPositions[candidateID] >= 0;
+    }
+
+    /**
+     * Returns the number of candidates in the heap.
+     * @return int - Number of candidates.
+     */
+    public int size() {
+        return this.heapSize;
+    }
+
+    /**
+     * Returns the least number of votes among the candidates in the heap.
+     * @return int - Least number of votes.
+     */
+    public int getMinimumNumberOfVotes() {
+        if (this.heapSize == 0) {
+            throw new IllegalStateException("There are no candidates in the heap");
+        }
+        return this.candidateVotes[this.heap[0]];
+    }
+
+    /**
+     * Finds all the candidates that have the least number of votes.
+     * Only the part of the heap holding those candidates is visited.
+     * @param candidateIDs Array which receives the IDs of the candidates, in increasing order of IDs.
+     *                     Must have room for all the candidates in the heap.
+     * @return int - Number of candidates with the least number of votes.
+     */
+    public int findCandidatesWithMinimumVotes(int[] candidateIDs) {
+        if (this.heapSize == 0) {
+            return 0;
+        }
+        int minimumNumberOfVotes = getMinimumNumberOfVotes();
+        int numOfCandidates = 0;
+        // the array doubles as the stack of heap indexes still to be visited, from its end.
+        int stackStart = candidateIDs.length;
+        candidateIDs[--stackStart] = 0;
+        while (stackStart < candidateIDs.length) {
+            int heapIndex = candidateIDs[stackStart++];
+            candidateIDs[numOfCandidates++] = this.heap[heapIndex];
+            for (int childIndex = 2 * heapIndex + 1; childIndex <= 2 * heapIndex + 2 && childIndex < this.heapSize; childIndex++) {
+                if (this.candidateVotes[this.heap[childIndex]] == minimumNumberOfVotes) {
+                    candidateIDs[--stackStart] = childIndex;
+                }
+            }
+        }
+        Arrays.sort(candidateIDs, 0, numOfCandidates);
+        return numOfCandidates;
+    }
+
+    /**
+     * Moves a candidate up the heap until its parent has no more votes than it.
+     * @param heapIndex Index of the candidate in the heap.
+     */
+    private void siftUp(int heapIndex) {
+        int candidateID = this.heap[heapIndex];
+        while (heapIndex > 0) {
+            int parentIndex = (heapIndex - 1) / 2;
+            int parentID = this.heap[parentIndex];
+            if (this.candidateVotes[parentID] <= this.candidateVotes[candidateID]) {
+                break;
+            }
+            this.heap[heapIndex] = parentID;
+            this.heapPositions[parentID] = heapIndex;
+            heapIndex = parentIndex;
+        }
+        this.heap[heapIndex] = candidateID;
+        this.heapPositions[candidateID] = heapIndex;
+    }
+
+    /**
+     * Moves a candidate down the heap until none of its children have less votes than it.
+     * @param heapIndex Index of the candidate in the heap.
+     */
+    private void siftDown(int heapIndex) {
+        int candidateID = this.heap[heapIndex];
+        while (2 * heapIndex + 1 < this.heapSize) {
+            int childIndex = 2 * heapIndex + 1;
+            if (childIndex + 1 < this.heapSize && this.candidateVotes[this.heap[childIndex + 1]] < this.candidateVotes[this.heap[childIndex]]) {
+                childIndex++;
+            }
+            int childID = this.heap[childIndex];
+            if (this.candidateVotes[childID] >= this.candidateVotes[candidateID]) {
+                break;
+            }
+            this.heap[heapIndex] = childID;
+            this.heapPositions[childID] = heapIndex;
+            heapIndex = childIndex;
+        }
+        this.heap[heapIndex] = candidateID;
+        this.heapPositions[candidateID] = heapIndex;
+    }
+}
@@ -0,0 +1,40 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class CandidateVoteHeapTest {
+    private CandidateVoteHeap tester;
+
+    @org.junit.jupiter.api.Test
+    void updateVotes() {
+        tester = new CandidateVoteHeap(5);
+        for (int candidateID = 0; candidateID < 5; candidateID++) {
+            tester.add(candidateID, 10 - candidateID);
+        }
+        assertEquals(tester.getMinimumNumberOfVotes(), 6, "Should be 6");
+        tester.updateVotes(4, 12);
+        assertEquals(tester.getMinimumNumberOfVotes(), 7, "Should be 7");
+        tester.updateVotes(0, 1);
+        assertEquals(tester.getMinimumNumberOfVotes(), 1, "Should be 1");
+        tester.remove(0);
+        assertEquals(tester.size(), 4, "Should be 4");
+        assertFalse(tester.contains(0));
+        assertEquals(tester.getMinimumNumberOfVotes(), 7, "Should be 7");
+    }
+
+    @org.junit.jupiter.api.Test
+    void findCandidatesWithMinimumVotes() {
+        tester = new CandidateVoteHeap(8);
+        int[] votes = {4, 2, 9, 2, 7, 2, 3, 2};
+        for (int candidateID = 0; candidateID < votes.length; candidateID++) {
+            tester.add(candidateID, votes[candidateID]);
+        }
+        int[] candidateIDs = new int[8];
+        assertEquals(tester.findCandidatesWithMinimumVotes(candidateIDs), 4, "Should be 4");
+        assertArrayEquals(java.util.Arrays.copyOf(candidateIDs, 4), new int[]{1, 3, 5, 7});
+        tester.remove(3);
+        tester.updateVotes(5, 8);
+        assertEquals(tester.findCandidatesWithMinimumVotes(candidateIDs), 2, "Should be 2");
+        assertArrayEquals(java.util.Arrays.copyOf(candidateIDs, 2), new int[]{1, 7});
+    }
+
+}
@@ -0,0 +1,283 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+/**
+ * <h1>CompiledBallotParser</h1>
+ * CompiledBallotParser - is a class that is responsible to read the candidates and the ballots of a compiled
+ * election file (written by the ElectionFileCompiler) and hand them over to an ElectionFileHandler.
+ *
+ * The sections of the file are memory mapped through a FileChannel (in windows of a fixed size so that files larger
+ * than 2GB can be read) and the candidate IDs of every ballot are read straight from the mapped bytes, so there is
+ * nothing to parse. Ballots are handed over with their preferences in order through loadBallotPreferences, or with
+ * their preference numbers through loadBallot if the file holds the preference numbers of the input file.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class CompiledBallotParser {
+    /**
+     * Holds the number of bytes of a section that are mapped into memory at a time. A multiple of 8,
+     * so a number never starts in one window and ends in the next one.
+     */
+    private static final long MAPPED_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * Holds the channel of the compiled election file.
+     */
+    private FileChannel channel;
+
+    /**
+     * Holds the names of the candidates in order of their IDs.
+     */
+    private String[] candidateNames;
+
+    /**
+     * Holds the number of ballots in the file.
+     */
+    private int numOfBallots;
+
+    /**
+     * Holds the total number of preferences of all the ballots in the file.
+     */
+    private long numOfPreferences;
+
+    /**
+     * Holds the width in bytes of the candidate IDs and preference counts.
+     */
+    private int idWidth;
+
+    /**
+     * Holds whether the file holds the preference numbers of every entry of the preference arena.
+     */
+    private boolean preferenceNumbersFlag;
+
+    /**
+     * Holds the position of the section of the preference counts.
+     */
+    private long preferenceCountsPosition;
+
+    /**
+     * Holds the position of the preference arena.
+     */
+    private long preferenceArenaPosition;
+
+    /**
+     * Holds the position of the section of the preference numbers.
+     */
+    private long preferenceNumbersPosition;
+
+    /**
+     * Creates a new CompiledBallotParser object and reads the header and the name table of the file.
+     * @param channel Channel of the compiled election file. The channel is not closed by the parser.
+     * @throws IOException If the file could not be read or is not a valid compiled election file.
+     */
+    public CompiledBallotParser(FileChannel channel) throws IOException {
+        this.channel = channel;
+        long fileSize = channel.size();
+        ByteBuffer header = readBytes(0, ElectionFileCompiler.HEADER_SIZE);
+        byte[] magic = new byte[ElectionFileCompiler.MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(magic, ElectionFileCompiler.MAGIC)) {
+            throw new IOException("Not a compiled election file");
+        }
+        int version = header.get() & 0xFF;
+        if (version != ElectionFileCompiler.VERSION) {
+            throw new IOException("Unsupported compiled election file version " + version);
+        }
+        this.preferenceNumbersFlag = (header.get() & ElectionFileCompiler.FLAG_PREFERENCE_NUMBERS) != 0;
+        this.idWidth = header.get();
+        header.get();
+        int numOfCandidates = header.getInt();
+        this.numOfBallots = header.getInt();
+        this.numOfPreferences = header.getLong();
+        int nameTableSize = header.getInt();
+        if ((this.idWidth != 1 && this.idWidth != 2 && this.idWidth != 4) || numOfCandidates < 0 || this.numOfBallots < 0
+                || this.numOfPreferences < 0 || nameTableSize < 0 || nameTableSize > fileSize - ElectionFileCompiler.HEADER_SIZE) {
+            throw new IOException("Compiled election file has an invalid header");
+        }
+        ByteBuffer nameTable = readBytes(ElectionFileCompiler.HEADER_SIZE, nameTableSize);
+        this.candidateNames = new String[numOfCandidates];
+        for (int candidateID = 0; candidateID < numOfCandidates; candidateID++) {
+            if (nameTable.remaining() < Integer.BYTES) {
+                throw new IOException("Compiled election file has an invalid name table");
+            }
+            int nameLength = nameTable.getInt();
+            if (nameLength < 0 || nameLength > nameTable.remaining()) {
+                throw new IOException("Compiled election file has an invalid name table");
+            }
+            byte[] name = new byte[nameLength];
+            nameTable.get(name);
+            this.candidateNames[candidateID] = new String(name, StandardCharsets.UTF_8);
+        }
+        this.preferenceCountsPosition = ElectionFileCompiler.alignSection(ElectionFileCompiler.HEADER_SIZE + nameTableSize);
+        this.preferenceArenaPosition = this.preferenceCountsPosition + alignSection((long) this.numOfBallots * this.idWidth);
+        this.preferenceNumbersPosition = this.preferenceArenaPosition + alignSection(this.numOfPreferences * this.idWidth);
+        long endPosition = this.preferenceNumbersPosition + (this.preferenceNumbersFlag ? this.numOfPreferences * Integer.BYTES : 0);
+        if (endPosition > fileSize) {
+            throw new IOException("Compiled election file is incomplete");
+        }
+    }
+
+    /**
+     * Returns whether a file is a compiled election file, by looking at its first bytes.
+     * @param channel Channel of the file.
+     * @return boolean - true if the file starts with the bytes of a compiled election file.
+     * @throws IOException If the file could not be read.
+     */
+    public static boolean isCompiledElectionFile(FileChannel channel) throws IOException {
+        if (channel.size() < ElectionFileCompiler.MAGIC.length) {
+            return false;
+        }
+        ByteBuffer magic = ByteBuffer.allocate(ElectionFileCompiler.MAGIC.length);
+        while (magic.hasRemaining() && channel.read(magic, magic.position()) >= 0) {
+            // keep reading until the first bytes are read.
+        }
+        return Arrays.equals(magic.array(), ElectionFileCompiler.MAGIC);
+    }
+
+    /**
+     * Returns the names of the candidates in order of their IDs.
+     * @return String[] - Names of the candidates.
+     */
+    public String[] getCandidateNames() {
+        return this.candidateNames;
+    }
+
+    /**
+     * Reads every ballot of the file and loads them to the handler.
+     * @param handler Handler which receives every ballot.
+     * @return int - Number of ballots read.
+     * @throws IOException If the file could not be read or holds an invalid ballot.
+     */
+    public int parseBallots(ElectionFileHandler handler) throws IOException {
+        int numOfCandidates = this.candidateNames.length;
+        int[] candidateIDs = new int[numOfCandidates];
+        int[] ballotRanks = new int[numOfCandidates];
+        MappedSection preferenceCounts = new MappedSection(this.preferenceCountsPosition, (long) this.numOfBallots * this.idWidth, this.idWidth);
+        MappedSection preferenceArena = new MappedSection(this.preferenceArenaPosition, this.numOfPreferences * this.idWidth, this.idWidth);
+        MappedSection preferenceNumbers = new MappedSection(this.preferenceNumbersPosition, this.preferenceNumbersFlag ? this.numOfPreferences * Integer.BYTES : 0, Integer.BYTES);
+        long numOfPreferencesRead = 0;
+        for (int ballotSerialNo = 1; ballotSerialNo <= this.numOfBallots; ballotSerialNo++) {
+            int numOfBallotPreferences = preferenceCounts.nextNumber();
+            numOfPreferencesRead += numOfBallotPreferences;
+            if (numOfBallotPreferences < 0 || numOfBallotPreferences > numOfCandidates || numOfPreferencesRead > this.numOfPreferences) {
+                throw new IOException("Invalid number of preferences in ballot " + ballotSerialNo);
+            }
+            for (int preferenceIndex = 0; preferenceIndex < numOfBallotPreferences; preferenceIndex++) {
+                int candidateID = preferenceArena.nextNumber();
+                if (candidateID < 0 || candidateID >= numOfCandidates) {
+                    throw new IOException("Invalid candidate ID in ballot " + ballotSerialNo);
+                }
+                candidateIDs[preferenceIndex] = candidateID;
+            }
+            if (this.preferenceNumbersFlag) {
+                // load the ballot with exactly the preference numbers of the input file.
+                Arrays.fill(ballotRanks, 0);
+                for (int preferenceIndex = 0; preferenceIndex < numOfBallotPreferences; preferenceIndex++) {
+                    ballotRanks[candidateIDs[preferenceIndex]] = preferenceNumbers.nextNumber();
+                }
+                handler.loadBallot(ballotSerialNo, ballotRanks);
+            } else {
+                handler.loadBallotPreferences(ballotSerialNo, candidateIDs, numOfBallotPreferences, ballotRanks);
+            }
+        }
+        return this.numOfBallots;
+    }
+
+    /**
+     * Reads bytes of the file into a little endian buffer.
+     * @param position Position of the first byte.
+     * @param numOfBytes Number of bytes to read.
+     * @return ByteBuffer - Buffer holding the bytes, ready to be read.
+     * @throws IOException If the file could not be read or is too short.
+     */
+    private ByteBuffer readBytes(long position, int numOfBytes) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(numOfBytes).order(ByteOrder.LITTLE_ENDIAN);
+        while (bytes.hasRemaining()) {
+            if (this.channel.read(bytes, position + bytes.position()) < 0) {
+                throw new IOException("Compiled election file is incomplete");
+            }
+        }
+        bytes.flip();
+        return bytes;
+    }
+
+    /**
+     * Returns the size of a section rounded up to a multiple of 8 bytes.
+     * @param sectionSize Size of the section in bytes.
+     * @return long - The size rounded up.
+     */
+    private static long alignSection(long sectionSize) {
+        return (sectionSize + 7) & ~7L;
+    }
+
+    /**
+     * <h1>MappedSection</h1>
+     * MappedSection - is a class that reads the numbers of a section of the file one after the other,
+     * mapping a new window of the section whenever the current one has been read.
+     */
+    private class MappedSection {
+        /**
+         * Holds the position of the next window of the section.
+         */
+        private long nextWindowPosition;
+
+        /**
+         * Holds the position of the end of the section.
+         */
+        private long endPosition;
+
+        /**
+         * Holds the width in bytes of the numbers of the section.
+         */
+        private int width;
+
+        /**
+         * Holds the window that is currently being read.
+         */
+        private MappedByteBuffer window;
+
+        /**
+         * Creates a new MappedSection object.
+         * @param position Position of the section.
+         * @param size Size of the section in bytes.
+         * @param width Width in bytes of the numbers of the section (1, 2 or 4).
+         */
+        MappedSection(long position, long size, int width) {
+            this.nextWindowPosition = position;
+            this.endPosition = position + size;
+            this.width = width;
+            this.window = null;
+        }
+
+        /**
+         * Reads the next number of the section.
+         * @return int - The number.
+         * @throws IOException If the window could not be mapped or the section has no more numbers.
+         */
+        int nextNumber() throws IOException {
+            if (this.window == null || !this.window.hasRemaining()) {
+                if (this.nextWindowPosition >= this.endPosition) {
+                    throw new IOException("Compiled election file is incomplete");
+                }
+                long windowSize = Math.min(MAPPED_WINDOW_SIZE, this.endPosition - this.nextWindowPosition);
+                this.window = channel.map(FileChannel.MapMode.READ_ONLY, this.nextWindowPosition, windowSize);
+                this.window.order(ByteOrder.LITTLE_ENDIAN);
+                this.nextWindowPosition += windowSize;
+            }
+            if (this.width == 1) {
+                return this.window.get() & 0xFF;
+            }
+            if (this.width == 2) {
+                return this.window.getShort() & 0xFFFF;
+            }
+            return this.window.getInt();
+        }
+    }
+}
@@ -0,0 +1,354 @@
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+/**
+ * <h1>CountMetrics</h1>
+ * CountMetrics - is a class that collects the metrics of the vote counters: the ballots parsed and the bytes read
+ * while loading an election, the rounds completed, the ballots transferred and exhausted, the candidates remaining
+ * and the time spent in every phase of a count (load, distribute, drop, select and report).
+ *
+ * Every vote counter collects the metrics of its own count, which are printed as a summary at the end of the count
+ * if asked for. The metrics of a count are also added to the metrics of the process, which are published as a JMX
+ * MBean (VotingSystem:type=CountMetrics) while elections are counted, so a running count can be watched with jconsole.
+ *
+ * The metrics are kept in LongAdders, so counts running on many threads at the same time add to the metrics of the
+ * process without waiting for each other. The vote counters never record a single ballot: they add up the numbers
+ * of a phase or a round themselves and record them once the phase or round is over.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class CountMetrics implements CountMetricsMBean {
+    /**
+     * Holds the name under which the metrics of the process are published over JMX.
+     */
+    public static final String OBJECT_NAME = "VotingSystem:type=CountMetrics";
+
+    /**
+     * Holds the metrics of the process, created and published the first time they are needed.
+     */
+    private static CountMetrics processMetrics;
+
+    /**
+     * Holds the metrics every record is also added to, null for the metrics of the process.
+     */
+    private CountMetrics parentMetrics;
+
+    /**
+     * Holds the number of counts that have been started.
+     */
+    private LongAdder numOfCountsStarted;
+
+    /**
+     * Holds the number of counts that have printed their results.
+     */
+    private LongAdder numOfCountsCompleted;
+
+    /**
+     * Holds the number of ballots parsed from input files.
+     */
+    private LongAdder numOfBallotsParsed;
+
+    /**
+     * Holds the number of bytes read from input files.
+     */
+    private LongAdder numOfBytesRead;
+
+    /**
+     * Holds the number of rounds completed.
+     */
+    private LongAdder numOfRoundsCompleted;
+
+    /**
+     * Holds the number of ballots transferred to another candidate in the rounds.
+     */
+    private LongAdder numOfBallotsTransferred;
+
+    /**
+     * Holds the largest number of ballots transferred in a single round.
+     */
+    private LongAccumulator maxBallotsTransferredInRound;
+
+    /**
+     * Holds the number of ballots that were exhausted.
+     */
+    private LongAdder numOfBallotsExhausted;
+
+    /**
+     * Holds the number of candidates still running in the counts that are in progress.
+     */
+    private LongAdder numOfCandidatesRemaining;
+
+    /**
+     * Holds the time spent loading the elections in nanoseconds.
+     */
+    private LongAdder loadNanos;
+
+    /**
+     * Holds the time spent distributing the ballots in nanoseconds.
+     */
+    private LongAdder distributeNanos;
+
+    /**
+     * Holds the time spent dropping candidates and transferring their ballots in nanoseconds.
+     */
+    private LongAdder dropNanos;
+
+    /**
+     * Holds the time spent selecting the winners of Plurality counts in nanoseconds.
+     */
+    private LongAdder selectNanos;
+
+    /**
+     * Holds the time spent printing the results and completing the reports in nanoseconds.
+     */
+    private LongAdder reportNanos;
+
+    /**
+     * Creates a new CountMetrics object with no metrics recorded.
+     * @param parentMetrics Metrics every record is also added to, null if there are none.
+     */
+    public CountMetrics(CountMetrics parentMetrics) {
+        this.parentMetrics = parentMetrics;
+        this.numOfCountsStarted = new LongAdder();
+        this.numOfCountsCompleted = new LongAdder();
+        this.numOfBallotsParsed = new LongAdder();
+        this.numOfBytesRead = new LongAdder();
+        this.numOfRoundsCompleted = new LongAdder();
+        this.numOfBallotsTransferred = new LongAdder();
+        this.maxBallotsTransferredInRound = new LongAccumulator(Math::max, 0);
+        this.numOfBallotsExhausted = new LongAdder();
+        this.numOfCandidatesRemaining = new LongAdder();
+        this.loadNanos = new LongAdder();
+        this.distributeNanos = new LongAdder();
+        this.dropNanos = new LongAdder();
+        this.selectNanos = new LongAdder();
+        this.reportNanos = new LongAdder();
+    }
+
+    /**
+     * Overloading the constructor to mark that the metrics of a count are also added to the metrics of the process.
+     */
+    public CountMetrics() {
+        this(getProcessMetrics());
+    }
+
+    /**
+     * Returns the metrics of the process, which hold the metrics of every count. They are published over JMX
+     * the first time they are needed; if that fails they are still collected.
+     * @return CountMetrics - The metrics of the process.
+     */
+    public static synchronized CountMetrics getProcessMetrics() {
+        if (processMetrics == null) {
+            processMetrics = new CountMetrics(null);
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(processMetrics, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                System.out.println("JMX Exception when publishing the metrics");
+                e.printStackTrace();
+            }
+        }
+        return processMetrics;
+    }
+
+    /**
+     * Records that a count has been started.
+     * @param numOfCandidates Number of candidates running in the election.
+     */
+    public void recordCountStarted(int numOfCandidates) {
+        this.numOfCountsStarted.increment();
+        this.numOfCandidatesRemaining.add(numOfCandidates);
+        if (this.parentMetrics != null) {
+            this.parentMetrics.recordCountStarted(numOfCandidates);
+        }
+    }
+
+    /**
+     * Records the loading of an election.
+     * @param numOfBallots Number of ballots parsed from the input file, 0 if they were not parsed (e.g. cached).
+     * @param numOfBytes Number of bytes read from the input file.
+     * @param elapsedNanos Time spent loading the election in nanoseconds.
+     */
+    public void recordLoad(long numOfBallots, long numOfBytes, long elapsedNanos) {
+        this.numOfBallotsParsed.add(numOfBallots);
+        this.numOfBytesRead.add(numOfBytes);
+        this.loadNanos.add(elapsedNanos);
+        if (this.parentMetrics != null) {
+            this.parentMetrics.recordLoad(numOfBallots, numOfBytes, elapsedNanos);
+        }
+    }
+
+    /**
+     * Records the distribution of the ballots to the candidates before the first round.
+     * @param numOfBallotsExhausted Number of ballots without any candidate to be distributed to.
+     * @param elapsedNanos Time spent distributing the ballots in nanoseconds.
+     */
+    public void recordDistribution(long numOfBallotsExhausted, long elapsedNanos) {
+        this.numOfBallotsExhausted.add(numOfBallotsExhausted);
+        this.distributeNanos.add(elapsedNanos);
+        if (this.parentMetrics != null) {
+            this.parentMetrics.recordDistribution(numOfBallotsExhausted, elapsedNanos);
+        }
+    }
+
+    /**
+     * Records a completed round, in which a candidate was dropped and their ballots were transferred.
+     * @param numOfBallotsTransferred Number of ballots transferred to another candidate.
+     * @param numOfBallotsExhausted Number of ballots without any candidate left to be transferred to.
+     * @param elapsedNanos Time spent in the round in nanoseconds.
+     */
+    public void recordRound(long numOfBallotsTransferred, long numOfBallotsExhausted, long elapsedNanos) {
+        this.numOfRoundsCompleted.increment();
+        this.numOfBallotsTransferred.add(numOfBallotsTransferred);
+        this.maxBallotsTransferredInRound.accumulate(numOfBallotsTransferred);
+        this.numOfBallotsExhausted.add(numOfBallotsExhausted);
+        this.dropNanos.add(elapsedNanos);
+        if (this.parentMetrics != null) {
+            this.parentMetrics.recordRound(numOfBallotsTransferred, numOfBallotsExhausted, elapsedNanos);
+        }
+    }
+
+    /**
+     * Records the selection of the winners of a Plurality count, which has no rounds.
+     * @param elapsedNanos Time spent selecting the winners in nanoseconds.
+     */
+    public void recordSelection(long elapsedNanos) {
+        this.selectNanos.add(elapsedNanos);
+        if (this.parentMetrics != null) {
+            this.parentMetrics.recordSelection(elapsedNanos);
+        }
+    }
+
+    /**
+     * Records that candidates are no longer running, because they won, were dropped or the count is over.
+     * @param numOfCandidates Number of candidates that are no longer running.
+     */
+    public void recordCandidatesRemoved(int numOfCandidates) {
+        this.numOfCandidatesRemaining.add(-numOfCandidates);
+        if (this.parentMetrics != null) {
+            this.parentMetrics.recordCandidatesRemoved(numOfCandidates);
+        }
+    }
+
+    /**
+     * Records the time spent printing the results and completing the report of a count.
+     * @param elapsedNanos Time spent in nanoseconds.
+     */
+    public void recordReport(long elapsedNanos) {
+        this.reportNanos.add(elapsedNanos);
+        if (this.parentMetrics != null) {
+            this.parentMetrics.recordReport(elapsedNanos);
+        }
+    }
+
+    /**
+     * Records that a count has printed its results.
+     */
+    public void recordCountCompleted() {
+        this.numOfCountsCompleted.increment();
+        if (this.parentMetrics != null) {
+            this.parentMetrics.recordCountCompleted();
+        }
+    }
+
+    @Override
+    public long getNumOfCountsStarted() {
+        return this.numOfCountsStarted.sum();
+    }
+
+    @Override
+    public long getNumOfCountsCompleted() {
+        return this.numOfCountsCompleted.sum();
+    }
+
+    @Override
+    public long getNumOfBallotsParsed() {
+        return this.numOfBallotsParsed.sum();
+    }
+
+    @Override
+    public double getBallotsParsedPerSecond() {
+        long elapsedNanos = this.loadNanos.sum();
+        return elapsedNanos == 0 ? 0 : this.numOfBallotsParsed.sum() * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public long getNumOfBytesRead() {
+        return this.numOfBytesRead.sum();
+    }
+
+    @Override
+    public long getNumOfRoundsCompleted() {
+        return this.numOfRoundsCompleted.sum();
+    }
+
+    @Override
+    public long getNumOfBallotsTransferred() {
+        return this.numOfBallotsTransferred.sum();
+    }
+
+    @Override
+    public long getMaxBallotsTransferredInRound() {
+        return this.maxBallotsTransferredInRound.get();
+    }
+
+    @Override
+    public long getNumOfBallotsExhausted() {
+        return this.numOfBallotsExhausted.sum();
+    }
+
+    @Override
+    public long getNumOfCandidatesRemaining() {
+        return this.numOfCandidatesRemaining.sum();
+    }
+
+    @Override
+    public long getLoadMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.loadNanos.sum());
+    }
+
+    @Override
+    public long getDistributeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.distributeNanos.sum());
+    }
+
+    @Override
+    public long getDropMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.dropNanos.sum());
+    }
+
+    @Override
+    public long getSelectMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.selectNanos.sum());
+    }
+
+    @Override
+    public long getReportMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(this.reportNanos.sum());
+    }
+
+    /**
+     * Returns a summary of the metrics, printed at the end of a count or a batch of counts.
+     * @return String - The summary.
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder("Count Metrics - \n");
+        summary.append("Ballots Parsed = ").append(getNumOfBallotsParsed())
+                .append(" (").append(Math.round(getBallotsParsedPerSecond())).append(" per second)\n");
+        summary.append("Bytes Read = ").append(getNumOfBytesRead()).append('\n');
+        summary.append("Rounds Completed = ").append(getNumOfRoundsCompleted()).append('\n');
+        long numOfRounds = getNumOfRoundsCompleted();
+        summary.append("Ballots Transferred = ").append(getNumOfBallotsTransferred())
+                .append(" (").append(numOfRounds == 0 ? 0 : getNumOfBallotsTransferred() / numOfRounds).append(" per round, ")
+                .append(getMaxBallotsTransferredInRound()).append(" at most)\n");
+        summary.append("Ballots Exhausted = ").append(getNumOfBallotsExhausted()).append('\n');
+        summary.append("Time (ms) - Load = ").append(getLoadMillis()).append(", Distribute = ").append(getDistributeMillis())
+                .append(", Drop = ").append(getDropMillis()).append(", Select = ").append(getSelectMillis()).append(", Report = ").append(getReportMillis()).append('\n');
+        return summary.toString();
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * <h1>CountMetricsMBean</h1>
+ * CountMetricsMBean - is an interface which declares the attributes of the metrics of the vote counters
+ * that can be read over JMX (e.g. with jconsole) while elections are counted.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public interface CountMetricsMBean {
+    /**
+     * Returns the number of counts that have been started.
+     * @return long - Number of counts.
+     */
+    long getNumOfCountsStarted();
+
+    /**
+     * Returns the number of counts that have printed their results.
+     * @return long - Number of counts.
+     */
+    long getNumOfCountsCompleted();
+
+    /**
+     * Returns the number of ballots parsed from input files.
+     * @return long - Number of ballots.
+     */
+    long getNumOfBallotsParsed();
+
+    /**
+     * Returns the number of ballots parsed per second of time spent loading the elections.
+     * @return double - Ballots per second, 0 if nothing has been loaded.
+     */
+    double getBallotsParsedPerSecond();
+
+    /**
+     * Returns the number of bytes read from input files.
+     * @return long - Number of bytes.
+     */
+    long getNumOfBytesRead();
+
+    /**
+     * Returns the number of rounds completed. A round of STV drops a candidate, a Plurality count has one round.
+     * @return long - Number of rounds.
+     */
+    long getNumOfRoundsCompleted();
+
+    /**
+     * Returns the number of ballots transferred to another candidate in the rounds of STV counts.
+     * @return long - Number of ballots.
+     */
+    long getNumOfBallotsTransferred();
+
+    /**
+     * Returns the largest number of ballots transferred in a single round.
+     * @return long - Number of ballots.
+     */
+    long getMaxBallotsTransferredInRound();
+
+    /**
+     * Returns the number of ballots that were exhausted (no candidate left to transfer them to).
+     * @return long - Number of ballots.
+     */
+    long getNumOfBallotsExhausted();
+
+    /**
+     * Returns the number of candidates still running in the counts that are in progress.
+     * @return long - Number of candidates.
+     */
+    long getNumOfCandidatesRemaining();
+
+    /**
+     * Returns the time spent loading the candidates and the ballots of the elections.
+     * @return long - Time in milliseconds.
+     */
+    long getLoadMillis();
+
+    /**
+     * Returns the time spent distributing the ballots to the candidates before the first round.
+     * @return long - Time in milliseconds.
+     */
+    long getDistributeMillis();
+
+    /**
+     * Returns the time spent in the rounds of STV counts, dropping candidates and transferring their ballots.
+     * @return long - Time in milliseconds.
+     */
+    long getDropMillis();
+
+    /**
+     * Returns the time spent selecting the winners of Plurality counts.
+     * @return long - Time in milliseconds.
+     */
+    long getSelectMillis();
+
+    /**
+     * Returns the time spent printing the results and completing the reports.
+     * @return long - Time in milliseconds.
+     */
+    long getReportMillis();
+}
@@ -0,0 +1,53 @@
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class CountMetricsTest {
+
+    private static final String STV_FILE_NAME = "../testing/testingCSVFiles/STV1000Votes10Candidates.csv";
+
+    private static final String PLURALITY_FILE_NAME = "../testing/testingCSVFiles/Plurality1000Votes10Candidates.csv";
+
+    @org.junit.jupiter.api.Test
+    void stvCountMetrics() {
+        STVVoteCounter voteCounter = new STVVoteCounter(STV_FILE_NAME, 3, false, false);
+        voteCounter.implementVoting();
+        CountMetrics countMetrics = voteCounter.getCountMetrics();
+        assertEquals(countMetrics.getNumOfBallotsParsed(), 1000, "Should be 1000");
+        assertEquals(countMetrics.getNumOfBytesRead(), new File(STV_FILE_NAME).length(), "Should be the size of the file");
+        // every round drops one candidate.
+        assertEquals(countMetrics.getNumOfRoundsCompleted(), voteCounter.getDroppedCandidates().size());
+        assertTrue(countMetrics.getNumOfBallotsTransferred() > 0, "Should transfer ballots");
+        assertEquals(countMetrics.getNumOfCandidatesRemaining(), 0, "Should be 0");
+        assertEquals(countMetrics.getNumOfCountsCompleted(), 1, "Should be 1");
+    }
+
+    @org.junit.jupiter.api.Test
+    void pluralityCountMetrics() {
+        PluralityVoteCounter voteCounter = new PluralityVoteCounter(PLURALITY_FILE_NAME, 2);
+        voteCounter.implementVoting();
+        CountMetrics countMetrics = voteCounter.getCountMetrics();
+        assertEquals(countMetrics.getNumOfBallotsParsed(), 1000, "Should be 1000");
+        // a Plurality count has no rounds.
+        assertEquals(countMetrics.getNumOfRoundsCompleted(), 0, "Should be 0");
+        assertEquals(countMetrics.getNumOfCountsCompleted(), 1, "Should be 1");
+    }
+
+    @org.junit.jupiter.api.Test
+    void processMetricsOverJmx() throws JMException {
+        CountMetrics.getProcessMetrics();
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName(CountMetrics.OBJECT_NAME);
+        long numOfCountsCompleted = (Long) mBeanServer.getAttribute(objectName, "NumOfCountsCompleted");
+        long numOfBallotsParsed = (Long) mBeanServer.getAttribute(objectName, "NumOfBallotsParsed");
+
+        new PluralityVoteCounter(PLURALITY_FILE_NAME, 1, true).implementVoting();
+        assertEquals((Long) mBeanServer.getAttribute(objectName, "NumOfCountsCompleted"), numOfCountsCompleted + 1);
+        assertEquals((Long) mBeanServer.getAttribute(objectName, "NumOfBallotsParsed"), numOfBallotsParsed + 1000);
+    }
+}
@@ -0,0 +1,304 @@
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+/**
+ * <h1>ElectionBatchRunner</h1>
+ * ElectionBatchRunner - is a class that counts a batch of elections at the same time on a bounded pool of
+ * worker threads and prints one summary of all the results with the wall time of every election.
+ *
+ * The batch is read either from a directory, in which case every .csv (or compiled .elb) file in it is counted and the type of voting
+ * is taken from the start of the file name (STV... or Plurality...), or from a manifest file which has one election
+ * per line in the form:
+ * <pre>
+ *     # input file, type of voting (stv or plurality), number of seats
+ *     precinct1.csv,stv,3
+ *     precinct2.csv,plurality,1
+ * </pre>
+ * Relative paths in a manifest are relative to the directory of the manifest. The largest files are counted first,
+ * so a large election does not start last and keep the batch running after every other election is done.
+ *
+ * The results every vote counter prints are captured per worker thread while the batch runs and are printed in the
+ * summary in the order of the batch, so the results of elections counted at the same time are not mixed up.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class ElectionBatchRunner {
+    /**
+     * Holds the elections of the batch in the order they were read.
+     */
+    private List<BatchElection> batchElections;
+
+    /**
+     * Holds the number of worker threads counting the elections.
+     */
+    private int numOfThreads;
+
+    /**
+     * Holds the wall time it took to count the whole batch in nanoseconds.
+     */
+    private long batchWallTimeNanos;
+
+    /**
+     * Creates a new ElectionBatchRunner object.
+     * @param batchElections Elections of the batch.
+     * @param numOfThreads Number of worker threads counting the elections.
+     */
+    public ElectionBatchRunner(List<BatchElection> batchElections, int numOfThreads) {
+        this.batchElections = batchElections;
+        this.numOfThreads = Math.max(1, numOfThreads);
+        this.batchWallTimeNanos = 0;
+    }
+
+    /**
+     * Returns the elections of the batch in the order they were read.
+     * @return List{BatchElection} - Elections of the batch.
+     */
+    public List<BatchElection> getBatchElections() {
+        return this.batchElections;
+    }
+
+    /**
+     * Reads the elections of a batch from a manifest file.
+     * @param manifestFileName Name of the manifest file (relative path).
+     * @param shuffleFeatureFlag Describes whether the ballots of the STV elections are shuffled.
+     * @return List{BatchElection} - Elections of the batch.
+     * @throws IOException If the manifest could not be read.
+     */
+    public static List<BatchElection> readManifest(String manifestFileName, boolean shuffleFeatureFlag) throws IOException {
+        File manifestDirectory = new File(manifestFileName).getAbsoluteFile().getParentFile();
+        List<BatchElection> batchElections = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(manifestFileName))) {
+            int lineNo = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length != 3) {
+                    throw new IOException("Line " + lineNo + " of the manifest should be: input file, type of voting, number of seats");
+                }
+                File inputFile = new File(fields[0].trim());
+                if (!inputFile.isAbsolute()) {
+                    inputFile = new File(manifestDirectory, fields[0].trim());
+                }
+                Boolean stvVotingFlag = parseVotingType(fields[1].trim());
+                if (stvVotingFlag == null) {
+                    throw new IOException("Line " + lineNo + " of the manifest has an unknown type of voting " + fields[1].trim());
+                }
+                try {
+                    batchElections.add(new BatchElection(inputFile.getPath(), stvVotingFlag, Integer.parseInt(fields[2].trim()), shuffleFeatureFlag));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Line " + lineNo + " of the manifest has an invalid number of seats " + fields[2].trim());
+                }
+            }
+        }
+        return batchElections;
+    }
+
+    /**
+     * Reads the elections of a batch from the .csv and compiled .elb files in a directory, in order of their names.
+     * The type of voting is taken from the start of the file name, files starting with neither
+     * STV nor Plurality are skipped.
+     * @param directoryName Name of the directory (relative path).
+     * @param numOfSeatsToBeFilled Number of seats that need to be filled in every election.
+     * @param shuffleFeatureFlag Describes whether the ballots of the STV elections are shuffled.
+     * @return List{BatchElection} - Elections of the batch.
+     */
+    public static List<BatchElection> readDirectory(String directoryName, int numOfSeatsToBeFilled, boolean shuffleFeatureFlag) {
+        List<BatchElection> batchElections = new ArrayList<>();
+        File[] inputFiles = new File(directoryName).listFiles((directory, fileName) -> fileName.toLowerCase(Locale.ROOT).endsWith(".csv")
+                || fileName.toLowerCase(Locale.ROOT).endsWith(".elb"));
+        if (inputFiles == null) {
+            return batchElections;
+        }
+        Arrays.sort(inputFiles);
+        for (File inputFile : inputFiles) {
+            String fileName = inputFile.getName().toLowerCase(Locale.ROOT);
+            if (fileName.startsWith("stv")) {
+                batchElections.add(new BatchElection(inputFile.getPath(), true, numOfSeatsToBeFilled, shuffleFeatureFlag));
+            } else if (fileName.startsWith("plurality")) {
+                batchElections.add(new BatchElection(inputFile.getPath(), false, numOfSeatsToBeFilled, shuffleFeatureFlag));
+            } else {
+                System.out.println("Skipping " + inputFile.getPath() + ", the type of voting is not known from its name.");
+            }
+        }
+        return batchElections;
+    }
+
+    /**
+     * Counts all the elections of the batch on the worker threads, the largest input files first,
+     * and waits until all of them are counted. An error thrown out of the count of an election is
+     * kept as the failure of that election, and the other elections are still waited for.
+     */
+    public void runElections() {
+        List<BatchElection> electionsBySize = new ArrayList<>(this.batchElections);
+        electionsBySize.sort(Comparator.comparingLong(BatchElection::getInputFileSize).reversed());
+        PrintStream standardOutput = System.out;
+        ThreadOutputStream threadOutput = new ThreadOutputStream(standardOutput);
+        System.setOut(new PrintStream(threadOutput, true));
+        ExecutorService executor = Executors.newFixedThreadPool(this.numOfThreads);
+        long startTime = System.nanoTime();
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (BatchElection batchElection : electionsBySize) {
+                results.add(executor.submit(() -> {
+                    threadOutput.startCapture();
+                    try {
+                        batchElection.countElection();
+                    } finally {
+                        batchElection.setElectionOutput(threadOutput.stopCapture());
+                    }
+                }));
+            }
+            for (int electionIndex = 0; electionIndex < results.size(); electionIndex++) {
+                try {
+                    results.get(electionIndex).get();
+                } catch (ExecutionException e) {
+                    electionsBySize.get(electionIndex).setFailure(e.getCause().toString());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.batchWallTimeNanos = System.nanoTime() - startTime;
+            executor.shutdownNow();
+            System.setOut(standardOutput);
+        }
+    }
+
+    /**
+     * Returns the summary of the results of all the elections of the batch.
+     * @return String - The summary.
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        long totalElectionTimeNanos = 0;
+        int numOfFailedElections = 0;
+        for (int electionIndex = 0; electionIndex < this.batchElections.size(); electionIndex++) {
+            BatchElection batchElection = this.batchElections.get(electionIndex);
+            summary.append("Election ").append(electionIndex + 1).append(" - ").append(batchElection.getInputFileName())
+                    .append(" (").append(batchElection.isSTVVoting() ? "STV" : "Plurality").append(", ")
+                    .append(batchElection.getNumOfSeatsToBeFilled()).append(" seat(s))\n");
+            summary.append("Wall Time = ").append(formatMillis(batchElection.getWallTimeNanos())).append(" ms\n");
+            if (batchElection.getFailure() != null) {
+                summary.append("Failed - ").append(batchElection.getFailure()).append('\n');
+                numOfFailedElections++;
+            } else {
+                summary.append("Winners - ").append(String.join(", ", batchElection.getWinnerCandidateNames())).append('\n');
+            }
+            summary.append(batchElection.getElectionOutput());
+            summary.append("---------------\n");
+            totalElectionTimeNanos += batchElection.getWallTimeNanos();
+        }
+        summary.append("Counted ").append(this.batchElections.size()).append(" election(s) (").append(numOfFailedElections)
+                .append(" failed) on ").append(this.numOfThreads).append(" thread(s) in ").append(formatMillis(this.batchWallTimeNanos))
+                .append(" ms, the elections took ").append(formatMillis(totalElectionTimeNanos)).append(" ms in total.\n");
+        return summary.toString();
+    }
+
+    /**
+     * Counts a batch of elections and prints the summary.
+     * @param args Directory or manifest file of the batch, followed by the options --threads N (default number of
+     *             processors), --seats N (number of seats of the elections of a directory, default 1), --shuffle
+     *             (shuffle the ballots of the STV elections), --summary FILE (also write the summary to a file),
+     *             --metrics (add the metrics of all the counts of the batch to the summary) and --off-heap (keep
+     *             the ballots outside of the heap).
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: java ElectionBatchRunner <directory|manifest> [--threads N] [--seats N] [--shuffle] [--summary FILE] [--metrics] [--off-heap]");
+            return;
+        }
+        int numOfThreads = Runtime.getRuntime().availableProcessors();
+        int numOfSeatsToBeFilled = 1;
+        boolean shuffleFeatureFlag = false;
+        String summaryFileName = null;
+        boolean metricsSummaryFlag = false;
+        boolean offHeapBallotsFlag = false;
+        try {
+            for (int argIndex = 1; argIndex < args.length; argIndex++) {
+                if (args[argIndex].equals("--shuffle")) {
+                    shuffleFeatureFlag = true;
+                } else if (args[argIndex].equals("--metrics")) {
+                    metricsSummaryFlag = true;
+                } else if (args[argIndex].equals("--off-heap")) {
+                    offHeapBallotsFlag = true;
+                } else if (argIndex + 1 < args.length && args[argIndex].equals("--threads")) {
+                    numOfThreads = Integer.parseInt(args[++argIndex]);
+                } else if (argIndex + 1 < args.length && args[argIndex].equals("--seats")) {
+                    numOfSeatsToBeFilled = Integer.parseInt(args[++argIndex]);
+                } else if (argIndex + 1 < args.length && args[argIndex].equals("--summary")) {
+                    summaryFileName = args[++argIndex];
+                } else {
+                    System.out.println("Unknown option " + args[argIndex]);
+                    return;
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Please check the input");
+            return;
+        }
+        List<BatchElection> batchElections;
+        if (new File(args[0]).isDirectory()) {
+            batchElections = readDirectory(args[0], numOfSeatsToBeFilled, shuffleFeatureFlag);
+        } else {
+            try {
+                batchElections = readManifest(args[0], shuffleFeatureFlag);
+            } catch (FileNotFoundException e) {
+                System.out.println("File Not Found");
+                e.printStackTrace();
+                return;
+            } catch (IOException e) {
+                System.out.println("IO Exception when reading from file");
+                e.printStackTrace();
+                return;
+            }
+        }
+        for (BatchElection batchElection : batchElections) {
+            batchElection.setOffHeapBallotsFlag(offHeapBallotsFlag);
+        }
+        ElectionBatchRunner batchRunner = new ElectionBatchRunner(batchElections, numOfThreads);
+        batchRunner.runElections();
+        String summary = batchRunner.getSummary();
+        if (metricsSummaryFlag) {
+            // the metrics of the process hold the metrics of every count of the batch.
+            summary += CountMetrics.getProcessMetrics().getSummary();
+        }
+        System.out.print(summary);
+        if (summaryFileName != null) {
+            try (ReportWriter summaryWriter = new ReportWriter(summaryFileName, false)) {
+                summaryWriter.append(summary);
+            }
+        }
+    }
+
+    /**
+     * Parses the type of voting of a manifest line.
+     * @param votingType stv or plurality, in any case.
+     * @return Boolean - true for STV, false for Plurality, null if the type of voting is unknown.
+     */
+    private static Boolean parseVotingType(String votingType) {
+        if (votingType.equalsIgnoreCase("stv")) {
+            return true;
+        }
+        if (votingType.equalsIgnoreCase("plurality")) {
+            return false;
+        }
+        return null;
+    }
+
+    /**
+     * Formats a time in nanoseconds as milliseconds with one decimal.
+     * @param nanos Time in nanoseconds.
+     * @return String - Time in milliseconds.
+     */
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1e6);
+    }
+}
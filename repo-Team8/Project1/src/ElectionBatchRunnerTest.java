@@ -0,0 +1,88 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ElectionBatchRunnerTest {
+
+    @Test
+    void readDirectory() {
+        List<BatchElection> batchElections = ElectionBatchRunner.readDirectory("../testing/testingCSVFiles", 2, false);
+        // every STV and Plurality file, but not the example files.
+        assertEquals(batchElections.size(), 25, "Should be 25");
+        assertFalse(batchElections.get(0).isSTVVoting());
+        assertTrue(batchElections.get(24).isSTVVoting());
+        assertEquals(batchElections.get(0).getNumOfSeatsToBeFilled(), 2, "Should be 2");
+    }
+
+    @Test
+    void runElectionsFromManifest() throws IOException {
+        File manifestFile = File.createTempFile("batch", ".txt");
+        String fixtureDirectory = new File("../testing/testingCSVFiles").getAbsolutePath();
+        try (FileWriter writer = new FileWriter(manifestFile)) {
+            writer.write("# input file, type of voting, number of seats\n");
+            writer.write(fixtureDirectory + "/Plurality1000Votes4Candidates.csv,plurality,1\n");
+            writer.write(fixtureDirectory + "/STV1000Votes10CandidatesRandom.csv,STV,3\n");
+            writer.write("\n");
+            writer.write(fixtureDirectory + "/Missing.csv,stv,2\n");
+            writer.write(fixtureDirectory + "/STVLessLarge.csv,stv,2\n");
+        }
+        try {
+            List<BatchElection> batchElections = ElectionBatchRunner.readManifest(manifestFile.getPath(), false);
+            assertEquals(batchElections.size(), 4, "Should be 4");
+            ElectionBatchRunner batchRunner = new ElectionBatchRunner(batchElections, 3);
+            batchRunner.runElections();
+
+            PluralityVoteCounter pluralityCounter = new PluralityVoteCounter("../testing/testingCSVFiles/Plurality1000Votes4Candidates.csv", 1);
+            pluralityCounter.implementVoting();
+            assertEquals(batchElections.get(0).getWinnerCandidateNames(), Arrays.asList(pluralityCounter.getWinnerCandidates().get(0).getCandidateName()));
+            for (int electionIndex : new int[]{1, 3}) {
+                BatchElection batchElection = batchElections.get(electionIndex);
+                STVVoteCounter stvCounter = new STVVoteCounter(batchElection.getInputFileName(), batchElection.getNumOfSeatsToBeFilled(), false, false);
+                stvCounter.implementVoting();
+                assertNull(batchElection.getFailure());
+                assertEquals(batchElection.getWinnerCandidateNames().size(), stvCounter.getWinnerCandidates().size(), "Should be the same");
+                for (int winnerIndex = 0; winnerIndex < stvCounter.getWinnerCandidates().size(); winnerIndex++) {
+                    assertEquals(batchElection.getWinnerCandidateNames().get(winnerIndex), stvCounter.getWinnerCandidates().get(winnerIndex).getCandidateName());
+                }
+                // the results printed by the vote counter are kept with the election.
+                assertTrue(batchElection.getElectionOutput().startsWith("Droop Quota = "));
+            }
+            assertEquals(batchElections.get(2).getFailure(), "File Not Found", "Should be File Not Found");
+
+            String summary = batchRunner.getSummary();
+            assertTrue(summary.startsWith("Election 1 - "));
+            assertTrue(summary.contains("Counted 4 election(s) (1 failed) on 3 thread(s)"));
+        } finally {
+            manifestFile.delete();
+        }
+    }
+
+    @Test
+    void runElectionsAfterError() {
+        String inputFileName = "../testing/testingCSVFiles/Plurality1000Votes4Candidates.csv";
+        // an Error is not caught by the count of the election, so it reaches the batch runner.
+        BatchElection failingElection = new BatchElection(inputFileName, false, 1, false) {
+            @Override
+            public void countElection() {
+                throw new AssertionError("count failed");
+            }
+        };
+        List<BatchElection> batchElections = Arrays.asList(failingElection,
+                new BatchElection("../testing/testingCSVFiles/STV1000Votes10CandidatesRandom.csv", true, 3, false),
+                new BatchElection(inputFileName, false, 1, false));
+        ElectionBatchRunner batchRunner = new ElectionBatchRunner(batchElections, 1);
+        batchRunner.runElections();
+        assertEquals(failingElection.getFailure(), "java.lang.AssertionError: count failed");
+        assertNull(batchElections.get(1).getFailure());
+        assertEquals(batchElections.get(1).getWinnerCandidateNames().size(), 3, "Should be 3");
+        assertNull(batchElections.get(2).getFailure());
+        assertEquals(batchElections.get(2).getWinnerCandidateNames().size(), 1, "Should be 1");
+        assertTrue(batchRunner.getSummary().contains("Counted 3 election(s) (1 failed) on 1 thread(s)"));
+    }
+}
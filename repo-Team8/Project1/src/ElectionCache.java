@@ -0,0 +1,278 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+/**
+ * <h1>ElectionCache</h1>
+ * ElectionCache - is a class that keeps the elections parsed from input files in memory, so a process that counts the
+ * same input file many times (Main, the counting service) parses it only once.
+ *
+ * A parsed election is found by the identity of its input file: the absolute path, the size, the time of the last
+ * modification and a CRC-32C of the content of the file, together with the type of voting (the STV and the Plurality
+ * vote counters keep different ballots). A file that has been changed in any way is therefore parsed again. Computing
+ * the CRC-32C reads the whole file, which is still much cheaper than parsing it.
+ *
+ * The cache holds parsed elections up to a maximum size in bytes. Once it is full, the parsed elections that were
+ * used least recently are evicted first. An election larger than the maximum size is never kept. The cache can be
+ * shared by vote counters running on many threads at the same time.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class ElectionCache {
+    /**
+     * Holds the default maximum size of the cache in bytes.
+     */
+    public static final long DEFAULT_MAX_SIZE = 256L * 1024 * 1024;
+
+    /**
+     * Holds the size of the buffer used to compute the CRC-32C of an input file.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Holds the largest number of bytes of parsed elections the cache keeps.
+     */
+    private long maxSizeInBytes;
+
+    /**
+     * Holds the number of bytes of parsed elections currently kept.
+     */
+    private long sizeInBytes;
+
+    /**
+     * Holds the parsed elections by the identity of their input file, from the least to the most recently used.
+     */
+    private LinkedHashMap<ElectionKey, ParsedElection> parsedElections;
+
+    /**
+     * Holds the number of times a parsed election was found in the cache.
+     */
+    private long numOfHits;
+
+    /**
+     * Holds the number of times a parsed election was not found in the cache.
+     */
+    private long numOfMisses;
+
+    /**
+     * Holds the number of parsed elections that were evicted to make room for others.
+     */
+    private long numOfEvictions;
+
+    /**
+     * Creates a new empty ElectionCache object.
+     * @param maxSizeInBytes Largest number of bytes of parsed elections the cache keeps.
+     */
+    public ElectionCache(long maxSizeInBytes) {
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.sizeInBytes = 0;
+        // access order, so the first entry is always the least recently used one.
+        this.parsedElections = new LinkedHashMap<>(16, 0.75f, true);
+        this.numOfHits = 0;
+        this.numOfMisses = 0;
+        this.numOfEvictions = 0;
+    }
+
+    /**
+     * Overloading the constructor to mark that the cache keeps up to 256 MB of parsed elections.
+     */
+    public ElectionCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Returns the identity of an input file, which is used to find its parsed election.
+     * @param inputFileName Name of the input file (relative path).
+     * @param stvVotingFlag Whether the election is counted with STV (true) or Plurality (false).
+     * @return ElectionKey - The identity of the file, or null if the file could not be read. The vote counter
+     *                       then reads the file without the cache and reports the error itself.
+     */
+    public ElectionKey identify(String inputFileName, boolean stvVotingFlag) {
+        Path inputFile = Paths.get(inputFileName).toAbsolutePath().normalize();
+        try (FileChannel channel = FileChannel.open(inputFile, StandardOpenOption.READ)) {
+            BasicFileAttributes attributes = Files.readAttributes(inputFile, BasicFileAttributes.class);
+            CRC32C checksum = new CRC32C();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                checksum.update(buffer);
+                buffer.clear();
+            }
+            return new ElectionKey(inputFile.toString(), attributes.size(), attributes.lastModifiedTime().toMillis(), checksum.getValue(), stvVotingFlag);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the parsed election of an input file and marks it as the most recently used one.
+     * @param electionKey Identity of the input file.
+     * @return ParsedElection - The parsed election, null if it is not in the cache.
+     */
+    public synchronized ParsedElection get(ElectionKey electionKey) {
+        ParsedElection parsedElection = this.parsedElections.get(electionKey);
+        if (parsedElection == null) {
+            this.numOfMisses++;
+        } else {
+            this.numOfHits++;
+        }
+        return parsedElection;
+    }
+
+    /**
+     * Adds the parsed election of an input file, evicting the least recently used parsed elections
+     * until there is room for it. A parsed election larger than the maximum size is not kept.
+     * @param electionKey Identity of the input file.
+     * @param parsedElection The parsed election.
+     */
+    public synchronized void put(ElectionKey electionKey, ParsedElection parsedElection) {
+        if (parsedElection.getSizeInBytes() > this.maxSizeInBytes) {
+            return;
+        }
+        ParsedElection previousElection = this.parsedElections.put(electionKey, parsedElection);
+        if (previousElection != null) {
+            // another vote counter parsed the same file at the same time.
+            this.sizeInBytes -= previousElection.getSizeInBytes();
+        }
+        this.sizeInBytes += parsedElection.getSizeInBytes();
+        Iterator<Map.Entry<ElectionKey, ParsedElection>> leastRecentlyUsed = this.parsedElections.entrySet().iterator();
+        while (this.sizeInBytes > this.maxSizeInBytes) {
+            this.sizeInBytes -= leastRecentlyUsed.next().getValue().getSizeInBytes();
+            leastRecentlyUsed.remove();
+            this.numOfEvictions++;
+        }
+    }
+
+    /**
+     * Removes every parsed election from the cache.
+     */
+    public synchronized void clear() {
+        this.parsedElections.clear();
+        this.sizeInBytes = 0;
+    }
+
+    /**
+     * Returns the number of parsed elections in the cache.
+     * @return int - Number of parsed elections.
+     */
+    public synchronized int getNumOfElections() {
+        return this.parsedElections.size();
+    }
+
+    /**
+     * Returns the number of bytes of parsed elections in the cache.
+     * @return long - Size in bytes.
+     */
+    public synchronized long getSizeInBytes() {
+        return this.sizeInBytes;
+    }
+
+    /**
+     * Returns the number of times a parsed election was found in the cache.
+     * @return long - Number of hits.
+     */
+    public synchronized long getNumOfHits() {
+        return this.numOfHits;
+    }
+
+    /**
+     * Returns the number of times a parsed election was not found in the cache.
+     * @return long - Number of misses.
+     */
+    public synchronized long getNumOfMisses() {
+        return this.numOfMisses;
+    }
+
+    /**
+     * Returns the number of parsed elections that were evicted to make room for others.
+     * @return long - Number of evictions.
+     */
+    public synchronized long getNumOfEvictions() {
+        return this.numOfEvictions;
+    }
+
+    /**
+     * <h1>ElectionKey</h1>
+     * ElectionKey - is a class that holds the identity of an input file for a type of voting.
+     */
+    public static class ElectionKey {
+        /**
+         * Holds the absolute path of the input file.
+         */
+        private String path;
+
+        /**
+         * Holds the size of the input file in bytes.
+         */
+        private long size;
+
+        /**
+         * Holds the time of the last modification of the input file in milliseconds.
+         */
+        private long lastModifiedTime;
+
+        /**
+         * Holds the CRC-32C of the content of the input file.
+         */
+        private long contentHash;
+
+        /**
+         * Holds whether the election is counted with STV (true) or Plurality (false).
+         */
+        private boolean stvVotingFlag;
+
+        /**
+         * Creates a new ElectionKey object.
+         * @param path Absolute path of the input file.
+         * @param size Size of the input file in bytes.
+         * @param lastModifiedTime Time of the last modification of the input file in milliseconds.
+         * @param contentHash CRC-32C of the content of the input file.
+         * @param stvVotingFlag Whether the election is counted with STV (true) or Plurality (false).
+         */
+        public ElectionKey(String path, long size, long lastModifiedTime, long contentHash, boolean stvVotingFlag) {
+            this.path = path;
+            this.size = size;
+            this.lastModifiedTime = lastModifiedTime;
+            this.contentHash = contentHash;
+            this.stvVotingFlag = stvVotingFlag;
+        }
+
+        /**
+         * Returns the size of the input file, which is also the number of bytes read to identify it.
+         * @return long - Size in bytes.
+         */
+        public long getSize() {
+            return this.size;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof ElectionKey)) {
+                return false;
+            }
+            ElectionKey otherKey = (ElectionKey) other;
+            return this.path.equals(otherKey.path) && this.size == otherKey.size && this.lastModifiedTime == otherKey.lastModifiedTime
+                    && this.contentHash == otherKey.contentHash && this.stvVotingFlag == otherKey.stvVotingFlag;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = this.path.hashCode();
+            hash = 31 * hash + Long.hashCode(this.size);
+            hash = 31 * hash + Long.hashCode(this.lastModifiedTime);
+            hash = 31 * hash + Long.hashCode(this.contentHash);
+            return 31 * hash + Boolean.hashCode(this.stvVotingFlag);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class ElectionCacheTest {
+
+    private static final String STV_FILE_NAME = "../testing/testingCSVFiles/STV1000Votes10Candidates.csv";
+
+    private static final String PLURALITY_FILE_NAME = "../testing/testingCSVFiles/Plurality1000Votes10Candidates.csv";
+
+    private String countSTV(String inputFileName, ElectionCache electionCache) {
+        STVVoteCounter voteCounter = new STVVoteCounter(inputFileName, 3, false, false);
+        voteCounter.setElectionCache(electionCache);
+        voteCounter.implementVoting();
+        return voteCounter.getWinnerCandidates() + " " + voteCounter.getDroppedCandidates();
+    }
+
+    private String countPlurality(String inputFileName, boolean streamingCountFlag, ElectionCache electionCache) {
+        PluralityVoteCounter voteCounter = new PluralityVoteCounter(inputFileName, 2, streamingCountFlag);
+        voteCounter.setElectionCache(electionCache);
+        voteCounter.implementVoting();
+        return voteCounter.getWinnerCandidates().toString();
+    }
+
+    @org.junit.jupiter.api.Test
+    void countFromCache() {
+        ElectionCache electionCache = new ElectionCache();
+        String stvResults = countSTV(STV_FILE_NAME, null);
+        assertEquals(countSTV(STV_FILE_NAME, electionCache), stvResults);
+        assertEquals(countSTV(STV_FILE_NAME, electionCache), stvResults);
+
+        String pluralityResults = countPlurality(PLURALITY_FILE_NAME, false, null);
+        assertEquals(countPlurality(PLURALITY_FILE_NAME, false, electionCache), pluralityResults);
+        assertEquals(countPlurality(PLURALITY_FILE_NAME, false, electionCache), pluralityResults);
+        assertEquals(countPlurality(PLURALITY_FILE_NAME, true, electionCache), pluralityResults);
+
+        assertEquals(electionCache.getNumOfMisses(), 2, "Should be 2");
+        assertEquals(electionCache.getNumOfHits(), 3, "Should be 3");
+        assertEquals(electionCache.getNumOfElections(), 2, "Should be 2");
+    }
+
+    @org.junit.jupiter.api.Test
+    void changedFileIsParsedAgain() throws IOException {
+        File inputFile = File.createTempFile("election", ".csv");
+        inputFile.deleteOnExit();
+        Files.copy(new File(STV_FILE_NAME).toPath(), inputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        ElectionCache electionCache = new ElectionCache();
+        countSTV(inputFile.getPath(), electionCache);
+        try (FileWriter writer = new FileWriter(inputFile, true)) {
+            writer.write("1,2,3,4,5,6,7,8,9,10\n");
+        }
+        assertEquals(countSTV(inputFile.getPath(), electionCache), countSTV(inputFile.getPath(), null));
+        assertEquals(electionCache.getNumOfMisses(), 2, "Should be 2");
+        assertEquals(electionCache.getNumOfHits(), 0, "Should be 0");
+    }
+
+    @org.junit.jupiter.api.Test
+    void evictLeastRecentlyUsed() {
+        ParsedElection parsedElection = new ParsedElection(new String[]{"A", "B"}, new int[1000]);
+        ElectionCache electionCache = new ElectionCache(parsedElection.getSizeInBytes() * 2);
+        ElectionCache.ElectionKey firstKey = new ElectionCache.ElectionKey("first.csv", 1, 1, 1, false);
+        ElectionCache.ElectionKey secondKey = new ElectionCache.ElectionKey("second.csv", 1, 1, 1, false);
+        ElectionCache.ElectionKey thirdKey = new ElectionCache.ElectionKey("third.csv", 1, 1, 1, false);
+        electionCache.put(firstKey, parsedElection);
+        electionCache.put(secondKey, parsedElection);
+        // using the first election makes the second one the least recently used.
+        assertNotNull(electionCache.get(firstKey));
+        electionCache.put(thirdKey, parsedElection);
+        assertNull(electionCache.get(secondKey));
+        assertNotNull(electionCache.get(firstKey));
+        assertNotNull(electionCache.get(thirdKey));
+        assertEquals(electionCache.getNumOfEvictions(), 1, "Should be 1");
+        assertEquals(electionCache.getSizeInBytes(), parsedElection.getSizeInBytes() * 2, "Should be the size of 2 elections");
+    }
+}
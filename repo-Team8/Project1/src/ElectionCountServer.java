@@ -0,0 +1,470 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+/**
+ * <h1>ElectionCountServer</h1>
+ * ElectionCountServer - is a class that runs a local HTTP service which counts elections in a JVM that stays warm,
+ * so a count does not pay for starting a JVM or go through the prompts of Main.
+ *
+ * An election is counted with a POST request to /count with the parameters in the query string:
+ * <ul>
+ *     <li> voting - stv or plurality (required). </li>
+ *     <li> seats - number of seats that need to be filled (default 1). </li>
+ *     <li> shuffle - true to shuffle the ballots of an STV election (default false). </li>
+ *     <li> file - path of an input file on the server, relative to the directory given with --root. Only allowed
+ *          when the server was started with --root. Without this parameter the body of the request is the input file. </li>
+ * </ul>
+ * The response is a JSON object with the winners (and for STV the dropped candidates) and the wall time of the
+ * count, or a JSON object with an error. GET /health answers {"status":"ok"}.
+ * <pre>
+ *     java ElectionCountServer --port 8080 --root ../testing/testingCSVFiles
+ *     curl --data-binary @ballots.csv "http://127.0.0.1:8080/count?voting=stv&amp;seats=3"
+ * </pre>
+ *
+ * The requests are handled on a fixed pool of worker threads. Counting an election keeps a thread busy, so the
+ * pool is sized to a small multiple of the number of processors and the queue of waiting requests absorbs bursts
+ * of many small elections. The server only listens on the loopback address.
+ *
+ * Input files counted by path are parsed only once and kept in a cache of parsed elections (see ElectionCache),
+ * so counting the same file again only reads it to check that it has not changed. Uploaded files are never cached.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class ElectionCountServer {
+    /**
+     * Holds the number of connections waiting to be accepted.
+     */
+    private static final int CONNECTION_BACKLOG = 256;
+
+    /**
+     * Holds the size of the buffer used to copy an uploaded input file.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Holds the port the server listens on, 0 for any free port.
+     */
+    private int port;
+
+    /**
+     * Holds the number of worker threads handling the requests.
+     */
+    private int numOfThreads;
+
+    /**
+     * Holds the directory of the input files that can be counted by path, null if counting by path is not allowed.
+     */
+    private Path fileRootDirectory;
+
+    /**
+     * Holds the largest input file that can be uploaded in bytes.
+     */
+    private long maxUploadSize;
+
+    /**
+     * Holds the cache of the elections parsed from input files counted by path, null if there is no cache.
+     */
+    private ElectionCache electionCache;
+
+    /**
+     * Holds the HTTP server, null while the server is not running.
+     */
+    private HttpServer server;
+
+    /**
+     * Holds the worker threads handling the requests.
+     */
+    private ExecutorService executor;
+
+    /**
+     * Holds the standard output that was replaced while the server is running.
+     */
+    private PrintStream standardOutput;
+
+    /**
+     * Holds the stream which captures the results printed by the vote counters of every request.
+     */
+    private ThreadOutputStream threadOutput;
+
+    /**
+     * Creates a new ElectionCountServer object. The server is started with start().
+     * @param port Port the server listens on, 0 for any free port.
+     * @param numOfThreads Number of worker threads handling the requests.
+     * @param fileRootDirectoryName Directory of the input files that can be counted by path (relative path),
+     *                              null if counting by path is not allowed.
+     * @param maxUploadSize Largest input file that can be uploaded in bytes.
+     * @param maxCacheSize Largest number of bytes of parsed elections kept in the cache, 0 for no cache.
+     */
+    public ElectionCountServer(int port, int numOfThreads, String fileRootDirectoryName, long maxUploadSize, long maxCacheSize) {
+        this.port = port;
+        this.numOfThreads = Math.max(1, numOfThreads);
+        this.fileRootDirectory = fileRootDirectoryName == null ? null : new File(fileRootDirectoryName).toPath().toAbsolutePath().normalize();
+        this.maxUploadSize = maxUploadSize;
+        this.electionCache = maxCacheSize > 0 ? new ElectionCache(maxCacheSize) : null;
+        this.server = null;
+    }
+
+    /**
+     * Overloading the constructor to mark that up to 256 MB of parsed elections are kept in the cache.
+     * @param port Port the server listens on, 0 for any free port.
+     * @param numOfThreads Number of worker threads handling the requests.
+     * @param fileRootDirectoryName Directory of the input files that can be counted by path (relative path),
+     *                              null if counting by path is not allowed.
+     * @param maxUploadSize Largest input file that can be uploaded in bytes.
+     */
+    public ElectionCountServer(int port, int numOfThreads, String fileRootDirectoryName, long maxUploadSize) {
+        this(port, numOfThreads, fileRootDirectoryName, maxUploadSize, ElectionCache.DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Overloading the constructor to mark that input files can only be uploaded, up to 512 MB.
+     * @param port Port the server listens on, 0 for any free port.
+     * @param numOfThreads Number of worker threads handling the requests.
+     */
+    public ElectionCountServer(int port, int numOfThreads) {
+        this(port, numOfThreads, null, 512L * 1024 * 1024);
+    }
+
+    /**
+     * Starts the server.
+     * @throws IOException If the server could not listen on the port.
+     */
+    public void start() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), this.port), CONNECTION_BACKLOG);
+        this.server.createContext("/count", this::handleCount);
+        this.server.createContext("/health", this::handleHealth);
+        this.executor = Executors.newFixedThreadPool(this.numOfThreads);
+        this.server.setExecutor(this.executor);
+        this.standardOutput = System.out;
+        this.threadOutput = new ThreadOutputStream(this.standardOutput);
+        System.setOut(new PrintStream(this.threadOutput, true));
+        this.server.start();
+    }
+
+    /**
+     * Stops the server. Requests that are being handled are dropped.
+     */
+    public void stop() {
+        if (this.server == null) {
+            return;
+        }
+        this.server.stop(0);
+        this.executor.shutdownNow();
+        System.setOut(this.standardOutput);
+        this.server = null;
+    }
+
+    /**
+     * Returns the cache of the elections parsed from input files counted by path.
+     * @return ElectionCache - The cache, null if there is no cache.
+     */
+    public ElectionCache getElectionCache() {
+        return this.electionCache;
+    }
+
+    /**
+     * Returns the port the server listens on.
+     * @return int - The port, useful when the server was created with port 0.
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Starts the service.
+     * @param args The options --port N (default 8080), --threads N (default twice the number of processors),
+     *             --root DIR (allow counting input files in DIR by path), --max-upload BYTES (default 512 MB)
+     *             and --cache BYTES (largest size of the cache of parsed elections, default 256 MB, 0 for no cache).
+     */
+    public static void main(String[] args) {
+        int port = 8080;
+        int numOfThreads = 2 * Runtime.getRuntime().availableProcessors();
+        String fileRootDirectoryName = null;
+        long maxUploadSize = 512L * 1024 * 1024;
+        long maxCacheSize = ElectionCache.DEFAULT_MAX_SIZE;
+        try {
+            for (int argIndex = 0; argIndex + 1 < args.length; argIndex += 2) {
+                if (args[argIndex].equals("--port")) {
+                    port = Integer.parseInt(args[argIndex + 1]);
+                } else if (args[argIndex].equals("--threads")) {
+                    numOfThreads = Integer.parseInt(args[argIndex + 1]);
+                } else if (args[argIndex].equals("--root")) {
+                    fileRootDirectoryName = args[argIndex + 1];
+                } else if (args[argIndex].equals("--max-upload")) {
+                    maxUploadSize = Long.parseLong(args[argIndex + 1]);
+                } else if (args[argIndex].equals("--cache")) {
+                    maxCacheSize = Long.parseLong(args[argIndex + 1]);
+                } else {
+                    throw new IllegalArgumentException("Unknown option " + args[argIndex]);
+                }
+            }
+            if (args.length % 2 != 0) {
+                throw new IllegalArgumentException("Missing value of " + args[args.length - 1]);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Usage: java ElectionCountServer [--port N] [--threads N] [--root DIR] [--max-upload BYTES] [--cache BYTES]");
+            return;
+        }
+        ElectionCountServer countServer = new ElectionCountServer(port, numOfThreads, fileRootDirectoryName, maxUploadSize, maxCacheSize);
+        try {
+            countServer.start();
+        } catch (IOException e) {
+            System.out.println("IO Exception when starting the server");
+            e.printStackTrace();
+            return;
+        }
+        System.out.println("Counting elections on http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + countServer.getPort() + "/count");
+    }
+
+    /**
+     * Answers a request to /health.
+     * @param exchange The request and its response.
+     */
+    private void handleHealth(HttpExchange exchange) {
+        try {
+            sendJson(exchange, 200, "{\"status\":\"ok\"}");
+        } catch (IOException e) {
+            // the client went away, nothing to answer.
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Counts the election of a request to /count and answers with its results.
+     * @param exchange The request and its response.
+     */
+    private void handleCount(HttpExchange exchange) {
+        Path uploadedFile = null;
+        try {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendError(exchange, 405, "Elections are counted with POST");
+                return;
+            }
+            Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+            String votingType = parameters.getOrDefault("voting", "");
+            if (!votingType.equals("stv") && !votingType.equals("plurality")) {
+                sendError(exchange, 400, "The parameter voting should be stv or plurality");
+                return;
+            }
+            int numOfSeatsToBeFilled;
+            try {
+                numOfSeatsToBeFilled = Integer.parseInt(parameters.getOrDefault("seats", "1"));
+            } catch (NumberFormatException e) {
+                numOfSeatsToBeFilled = 0;
+            }
+            if (numOfSeatsToBeFilled < 1) {
+                sendError(exchange, 400, "The parameter seats should be a positive number");
+                return;
+            }
+            String inputFileName;
+            if (parameters.containsKey("file")) {
+                if (this.fileRootDirectory == null) {
+                    sendError(exchange, 403, "Counting files on the server is not allowed");
+                    return;
+                }
+                Path inputFile = this.fileRootDirectory.resolve(parameters.get("file")).normalize();
+                if (!inputFile.startsWith(this.fileRootDirectory)) {
+                    sendError(exchange, 403, "The file is outside of the directory of input files");
+                    return;
+                }
+                if (!Files.isRegularFile(inputFile)) {
+                    sendError(exchange, 404, "File Not Found");
+                    return;
+                }
+                // a symbolic link inside the directory may point to any file, so the real paths are compared as well.
+                inputFile = inputFile.toRealPath();
+                if (!inputFile.startsWith(this.fileRootDirectory.toRealPath())) {
+                    sendError(exchange, 403, "The file is outside of the directory of input files");
+                    return;
+                }
+                inputFileName = inputFile.toString();
+            } else {
+                uploadedFile = Files.createTempFile("election", ".csv");
+                long uploadSize = copyRequestBody(exchange.getRequestBody(), uploadedFile);
+                if (uploadSize > this.maxUploadSize) {
+                    sendError(exchange, 413, "The input file is larger than " + this.maxUploadSize + " bytes");
+                    return;
+                }
+                if (uploadSize == 0) {
+                    sendError(exchange, 400, "Upload the input file as the body of the request or give the parameter file");
+                    return;
+                }
+                inputFileName = uploadedFile.toString();
+            }
+
+            BatchElection election = new BatchElection(inputFileName, votingType.equals("stv"), numOfSeatsToBeFilled,
+                    Boolean.parseBoolean(parameters.get("shuffle")));
+            if (uploadedFile == null) {
+                // an uploaded file has a new name every time, so only the files counted by path are cached.
+                election.setElectionCache(this.electionCache);
+            }
+            // the results printed by the vote counter are part of the response instead.
+            this.threadOutput.startCapture();
+            try {
+                election.countElection();
+            } finally {
+                this.threadOutput.stopCapture();
+            }
+            if (election.getFailure() != null) {
+                sendError(exchange, 500, election.getFailure());
+                return;
+            }
+            sendJson(exchange, 200, toJson(election));
+        } catch (IOException e) {
+            // the client went away or the upload could not be stored, the response can not be sent any more.
+        } finally {
+            if (uploadedFile != null) {
+                try {
+                    Files.deleteIfExists(uploadedFile);
+                } catch (IOException e) {
+                    // the temporary file is left behind.
+                }
+            }
+            exchange.close();
+        }
+    }
+
+    /**
+     * Copies the body of a request to a file, stopping once it is larger than the largest upload.
+     * @param requestBody The body of the request.
+     * @param uploadedFile File which receives the body.
+     * @return long - Number of bytes copied, more than the largest upload if the body was too large.
+     * @throws IOException If the body could not be read or the file could not be written.
+     */
+    private long copyRequestBody(InputStream requestBody, Path uploadedFile) throws IOException {
+        long uploadSize = 0;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (OutputStream outputStream = Files.newOutputStream(uploadedFile)) {
+            int numOfBytes = requestBody.read(buffer);
+            while (numOfBytes != -1 && uploadSize <= this.maxUploadSize) {
+                outputStream.write(buffer, 0, numOfBytes);
+                uploadSize += numOfBytes;
+                numOfBytes = requestBody.read(buffer);
+            }
+        }
+        return uploadSize;
+    }
+
+    /**
+     * Parses the parameters of a query string.
+     * @param rawQuery The query string, may be null.
+     * @return Map{String, String} - Value of every parameter.
+     */
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null) {
+            return parameters;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            int separatorIndex = parameter.indexOf('=');
+            String name = separatorIndex < 0 ? parameter : parameter.substring(0, separatorIndex);
+            String value = separatorIndex < 0 ? "" : parameter.substring(separatorIndex + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8).toLowerCase(Locale.ROOT), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    /**
+     * Writes the results of a counted election as JSON.
+     * @param election The counted election.
+     * @return String - The JSON object.
+     */
+    private static String toJson(BatchElection election) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"voting\":\"").append(election.isSTVVoting() ? "stv" : "plurality").append('"');
+        json.append(",\"seats\":").append(election.getNumOfSeatsToBeFilled());
+        json.append(",\"wallTimeMillis\":").append(String.format(Locale.ROOT, "%.3f", election.getWallTimeNanos() / 1e6));
+        json.append(",\"winners\":");
+        appendCandidates(json, election.getWinnerCandidates());
+        json.append(",\"dropped\":");
+        appendCandidates(json, election.getDroppedCandidates());
+        return json.append('}').toString();
+    }
+
+    /**
+     * Writes a list of candidates as a JSON array of objects with the name and the number of votes.
+     * @param json Builder of the JSON text.
+     * @param candidates The candidates.
+     */
+    private static void appendCandidates(StringBuilder json, List<Candidate> candidates) {
+        json.append('[');
+        for (int candidateIndex = 0; candidateIndex < candidates.size(); candidateIndex++) {
+            Candidate candidate = candidates.get(candidateIndex);
+            if (candidateIndex > 0) {
+                json.append(',');
+            }
+            json.append("{\"name\":");
+            appendJsonString(json, candidate.getCandidateName());
+            json.append(",\"votes\":").append(candidate.getNumberOfVotesEarnedByCandidate()).append('}');
+        }
+        json.append(']');
+    }
+
+    /**
+     * Writes a string as a JSON string literal.
+     * @param json Builder of the JSON text.
+     * @param text The string.
+     */
+    private static void appendJsonString(StringBuilder json, String text) {
+        json.append('"');
+        for (int charIndex = 0; charIndex < text.length(); charIndex++) {
+            char character = text.charAt(charIndex);
+            if (character == '"' || character == '\\') {
+                json.append('\\').append(character);
+            } else if (character < 0x20) {
+                json.append(String.format("\\u%04x", (int) character));
+            } else {
+                json.append(character);
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * Sends an error response.
+     * @param exchange The request and its response.
+     * @param statusCode HTTP status code of the response.
+     * @param message Description of the error.
+     * @throws IOException If the response could not be sent.
+     */
+    private static void sendError(HttpExchange exchange, int statusCode, String message) throws IOException {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        appendJsonString(json, message);
+        sendJson(exchange, statusCode, json.append('}').toString());
+    }
+
+    /**
+     * Sends a JSON response.
+     * @param exchange The request and its response.
+     * @param statusCode HTTP status code of the response.
+     * @param json The JSON text.
+     * @throws IOException If the response could not be sent.
+     */
+    private static void sendJson(HttpExchange exchange, int statusCode, String json) throws IOException {
+        byte[] responseBytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(statusCode, responseBytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(responseBytes);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ElectionCountServerTest {
+
+    private ElectionCountServer server;
+
+    private int statusCode;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new ElectionCountServer(0, 4, "../testing/testingCSVFiles", 1024 * 1024);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    private String request(String method, String query, byte[] body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + "/count?" + query).openConnection();
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            try (OutputStream requestBody = connection.getOutputStream()) {
+                requestBody.write(body);
+            }
+        }
+        statusCode = connection.getResponseCode();
+        try (InputStream responseBody = statusCode < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            return new String(responseBody.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void countUploadedFile() throws IOException {
+        byte[] ballots = Files.readAllBytes(Paths.get("../testing/testingCSVFiles/Plurality1000Votes4Candidates.csv"));
+        String response = request("POST", "voting=plurality&seats=1", ballots);
+        assertEquals(statusCode, 200, "Should be 200");
+        PluralityVoteCounter counter = new PluralityVoteCounter("../testing/testingCSVFiles/Plurality1000Votes4Candidates.csv", 1);
+        counter.implementVoting();
+        PluralityCandidate winner = counter.getWinnerCandidates().get(0);
+        assertTrue(response.startsWith("{\"voting\":\"plurality\",\"seats\":1,"));
+        assertTrue(response.contains("\"winners\":[{\"name\":\"" + winner.getCandidateName() + "\",\"votes\":" + winner.getNumberOfVotesEarnedByCandidate() + "}]"));
+        // the dropped candidates are listed in the order printed by the vote counter.
+        StringBuilder dropped = new StringBuilder();
+        for (PluralityCandidate candidate : counter.getDroppedCandidates()) {
+            dropped.append(dropped.length() == 0 ? "" : ",").append("{\"name\":\"").append(candidate.getCandidateName())
+                    .append("\",\"votes\":").append(candidate.getNumberOfVotesEarnedByCandidate()).append('}');
+        }
+        assertTrue(response.endsWith(",\"dropped\":[" + dropped + "]}"));
+    }
+
+    @Test
+    void countFileOnServer() throws IOException {
+        String response = request("POST", "voting=stv&seats=3&file=STV1000Votes10CandidatesRandom.csv", null);
+        assertEquals(statusCode, 200, "Should be 200");
+        STVVoteCounter counter = new STVVoteCounter("../testing/testingCSVFiles/STV1000Votes10CandidatesRandom.csv", 3, false, false);
+        counter.implementVoting();
+        for (STVCandidate winner : counter.getWinnerCandidates()) {
+            assertTrue(response.contains("{\"name\":\"" + winner.getCandidateName() + "\",\"votes\":" + winner.getNumberOfVotesEarnedByCandidate() + "}"));
+        }
+        assertTrue(response.contains("\"dropped\":[{"));
+    }
+
+    @Test
+    void rejectInvalidRequests() throws IOException {
+        request("GET", "voting=stv", null);
+        assertEquals(statusCode, 405, "Should be 405");
+        request("POST", "voting=irv&file=STV50Votes4Candidates.csv", null);
+        assertEquals(statusCode, 400, "Should be 400");
+        request("POST", "voting=stv&seats=0&file=STV50Votes4Candidates.csv", null);
+        assertEquals(statusCode, 400, "Should be 400");
+        assertEquals(request("POST", "voting=stv&file=../../Readme.md", null), "{\"error\":\"The file is outside of the directory of input files\"}");
+        assertEquals(statusCode, 403, "Should be 403");
+        request("POST", "voting=stv&file=Missing.csv", null);
+        assertEquals(statusCode, 404, "Should be 404");
+        // slightly too large, so the rest of the body is drained by the server before it answers.
+        request("POST", "voting=plurality", new byte[1024 * 1024 + 16 * 1024]);
+        assertEquals(statusCode, 413, "Should be 413");
+    }
+
+    @Test
+    void rejectSymbolicLinkOutOfRoot() throws IOException {
+        Path rootDirectory = Files.createTempDirectory("root");
+        Path outsideFile = Files.createTempFile("outside", ".csv");
+        Files.copy(Paths.get("../testing/testingCSVFiles/STV50Votes4Candidates.csv"), outsideFile, StandardCopyOption.REPLACE_EXISTING);
+        Path insideFile = Files.copy(outsideFile, rootDirectory.resolve("inside.csv"));
+        Path escapingLink = Files.createSymbolicLink(rootDirectory.resolve("escape.csv"), outsideFile);
+        Path insideLink = Files.createSymbolicLink(rootDirectory.resolve("link.csv"), insideFile);
+        server.stop();
+        server = new ElectionCountServer(0, 1, rootDirectory.toString(), 1024 * 1024);
+        server.start();
+        try {
+            // the link is inside the root, but the file it points to is not.
+            assertEquals(request("POST", "voting=stv&file=escape.csv", null), "{\"error\":\"The file is outside of the directory of input files\"}");
+            assertEquals(statusCode, 403, "Should be 403");
+            request("POST", "voting=stv&file=link.csv", null);
+            assertEquals(statusCode, 200, "Should be 200");
+        } finally {
+            Files.delete(insideLink);
+            Files.delete(escapingLink);
+            Files.delete(insideFile);
+            Files.delete(rootDirectory);
+            Files.delete(outsideFile);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+/**
+ * <h1>ElectionEvents</h1>
+ * ElectionEvents - is a class that holds the Java Flight Recorder events of the vote counters, so a recording of a
+ * count shows the phases of the election next to the events of the JVM (garbage collection, threads, I/O).
+ *
+ * The events are found under the category "Voting System" of the recording:
+ * <ul>
+ *     <li> FileLoad - loading the candidates and the ballots of an election (from the input file or the cache). </li>
+ *     <li> BallotParsing - parsing the ballots of an input file, within the FileLoad. </li>
+ *     <li> STVRound - a round of STV with the dropped candidate and the number of ballots moved. </li>
+ *     <li> WinnerDeclared - a candidate declared winner. </li>
+ *     <li> ReportWrite - printing the results and completing the report. </li>
+ * </ul>
+ * The vote counters create an event, begin and end it, and only fill in its fields and commit it if the event
+ * should be committed. When no recording is running the events are disabled, so that check fails straight away
+ * and the events cost close to nothing. Stack traces are not recorded as they would not tell anything more.
+ * <pre>
+ *     java -XX:StartFlightRecording=filename=count.jfr Main --batch ../testing/testingCSVFiles
+ *     jfr print --categories "Voting System" count.jfr
+ * </pre>
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class ElectionEvents {
+    /**
+     * Holds the category of all the events of the vote counters.
+     */
+    public static final String CATEGORY = "Voting System";
+
+    /**
+     * <h1>FileLoadEvent</h1>
+     * FileLoadEvent - is an event which spans loading the candidates and the ballots of an election.
+     */
+    @Name("votingsystem.FileLoad")
+    @Label("File Load")
+    @Category(CATEGORY)
+    @Description("Loading the candidates and the ballots of an election")
+    @StackTrace(false)
+    public static class FileLoadEvent extends Event {
+        @Label("Input File")
+        public String inputFileName;
+
+        @Label("Voting Type")
+        public String votingType;
+
+        @Label("Candidates")
+        public int numOfCandidates;
+
+        @Label("Ballots")
+        public long numOfBallots;
+
+        @Label("Bytes Read")
+        @DataAmount
+        public long numOfBytesRead;
+
+        @Label("Cached")
+        @Description("Whether the ballots were taken from the cache of parsed elections")
+        public boolean cached;
+    }
+
+    /**
+     * <h1>BallotParsingEvent</h1>
+     * BallotParsingEvent - is an event which spans parsing the ballots of an input file.
+     */
+    @Name("votingsystem.BallotParsing")
+    @Label("Ballot Parsing")
+    @Category(CATEGORY)
+    @Description("Parsing the ballots of an input file")
+    @StackTrace(false)
+    public static class BallotParsingEvent extends Event {
+        @Label("Input File")
+        public String inputFileName;
+
+        @Label("Compiled")
+        @Description("Whether the input file is a compiled election file")
+        public boolean compiled;
+
+        @Label("Ballots")
+        public long numOfBallots;
+
+        @Label("Bytes")
+        @DataAmount
+        public long numOfBytes;
+    }
+
+    /**
+     * <h1>STVRoundEvent</h1>
+     * STVRoundEvent - is an event which spans a round of STV, in which a candidate is dropped and their ballots
+     * are transferred to the next candidates still running.
+     */
+    @Name("votingsystem.STVRound")
+    @Label("STV Round")
+    @Category(CATEGORY)
+    @Description("A round of STV which drops a candidate and transfers their ballots")
+    @StackTrace(false)
+    public static class STVRoundEvent extends Event {
+        @Label("Round")
+        public int roundNo;
+
+        @Label("Dropped Candidate")
+        public String droppedCandidateName;
+
+        @Label("Ballots Moved")
+        @Description("Number of ballots transferred to another candidate")
+        public long numOfBallotsMoved;
+
+        @Label("Ballots Exhausted")
+        public long numOfBallotsExhausted;
+
+        @Label("Candidates Remaining")
+        public int numOfCandidatesRemaining;
+    }
+
+    /**
+     * <h1>WinnerDeclaredEvent</h1>
+     * WinnerDeclaredEvent - is an event which marks a candidate declared winner.
+     */
+    @Name("votingsystem.WinnerDeclared")
+    @Label("Winner Declared")
+    @Category(CATEGORY)
+    @Description("A candidate declared winner of an election")
+    @StackTrace(false)
+    public static class WinnerDeclaredEvent extends Event {
+        @Label("Voting Type")
+        public String votingType;
+
+        @Label("Candidate")
+        public String candidateName;
+
+        @Label("Votes")
+        public int numOfVotes;
+
+        @Label("Round")
+        @Description("Round in which the candidate was declared winner, 0 for the distribution of the ballots")
+        public int roundNo;
+    }
+
+    /**
+     * <h1>ReportWriteEvent</h1>
+     * ReportWriteEvent - is an event which spans printing the results of an election and completing its report.
+     */
+    @Name("votingsystem.ReportWrite")
+    @Label("Report Write")
+    @Category(CATEGORY)
+    @Description("Printing the results of an election and completing its report")
+    @StackTrace(false)
+    public static class ReportWriteEvent extends Event {
+        @Label("Voting Type")
+        public String votingType;
+
+        @Label("Report Generated")
+        public boolean reportGenerated;
+    }
+}
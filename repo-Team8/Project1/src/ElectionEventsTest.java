@@ -0,0 +1,35 @@
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class ElectionEventsTest {
+
+    @org.junit.jupiter.api.Test
+    void stvRoundEvents() throws IOException {
+        STVVoteCounter voteCounter = new STVVoteCounter("../testing/testingCSVFiles/STV1000Votes10Candidates.csv", 3, false, false);
+        Path recordingFile = Files.createTempFile("count", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("votingsystem.STVRound");
+            recording.enable("votingsystem.WinnerDeclared");
+            recording.start();
+            voteCounter.implementVoting();
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+        Files.delete(recordingFile);
+        long numOfRounds = events.stream().filter(event -> event.getEventType().getName().equals("votingsystem.STVRound")).count();
+        long numOfWinners = events.stream().filter(event -> event.getEventType().getName().equals("votingsystem.WinnerDeclared")).count();
+        // every round drops one candidate.
+        assertEquals(numOfRounds, voteCounter.getDroppedCandidates().size());
+        assertEquals(numOfWinners, 3, "Should be 3");
+    }
+}
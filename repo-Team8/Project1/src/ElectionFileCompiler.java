@@ -0,0 +1,371 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+/**
+ * <h1>ElectionFileCompiler</h1>
+ * ElectionFileCompiler - is a class that compiles an election input file (.csv) into a compiled election file,
+ * which the ElectionFileLoader reads back with almost no parsing. Elections that are counted again and again
+ * (recounts, audits and what-if runs) only pay for parsing the CSV once.
+ *
+ * A compiled election file holds the same candidates and ballots as the input file. The numbers are little endian
+ * and every section starts at a multiple of 8 bytes. The layout of the file is:
+ * <ul>
+ *     <li> Header (32 bytes) - the bytes 0x89 "ELB", a version byte, a flags byte, the width in bytes (1, 2 or 4)
+ *          of the candidate IDs and preference counts, a reserved byte, the number of candidates, the number of
+ *          ballots, the total number of preferences (8 bytes) and the size of the name table. </li>
+ *     <li> Name table - for every candidate (in order of their IDs) the length of its UTF-8 encoded name
+ *          followed by the name. </li>
+ *     <li> Preference counts - the number of preferences of every ballot, in order of the ballots. </li>
+ *     <li> Preference arena - the candidate IDs of every ballot in order of preference, ballot after ballot. </li>
+ *     <li> Preference numbers - only if the flags byte has FLAG_PREFERENCE_NUMBERS set, the preference number
+ *          (4 bytes) of every entry of the preference arena. </li>
+ * </ul>
+ * The preference numbers are only written if a ballot of the input file does not number its preferences 1, 2, ...
+ * without a gap or gives the same preference number to more than one candidate, so such a ballot is loaded with
+ * exactly the preference numbers of the input file. The first byte 0x89 can never start a text file, so a compiled
+ * election file is told apart from an input file by its first bytes and not by its name.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class ElectionFileCompiler implements ElectionFileHandler {
+    /**
+     * Holds the bytes every compiled election file starts with.
+     */
+    public static final byte[] MAGIC = {(byte) 0x89, 'E', 'L', 'B'};
+
+    /**
+     * Holds the version of the layout of compiled election files.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Holds the flag which marks that the preference numbers of every entry of the preference arena are written.
+     */
+    public static final int FLAG_PREFERENCE_NUMBERS = 1;
+
+    /**
+     * Holds the size of the header of a compiled election file.
+     */
+    public static final int HEADER_SIZE = 32;
+
+    /**
+     * Holds the size of the buffers of bytes used to write the sections.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Holds the name of the input file (relative path).
+     */
+    private String inputFileName;
+
+    /**
+     * Holds the name of the compiled election file (relative path).
+     */
+    private String outputFileName;
+
+    /**
+     * Holds the width in bytes of the candidate IDs and preference counts, set once the candidates are loaded.
+     */
+    private int idWidth;
+
+    /**
+     * Holds the number of ballots compiled.
+     */
+    private int numOfBallots;
+
+    /**
+     * Holds the total number of preferences of all the ballots compiled.
+     */
+    private long numOfPreferences;
+
+    /**
+     * Holds whether a ballot was found whose preference numbers are not 1, 2, ... without a gap.
+     */
+    private boolean preferenceNumbersNeeded;
+
+    /**
+     * Holds the preferences of the ballot that is compiled, packed as preference number (upper 32 bits)
+     * and candidate ID (lower 32 bits), so sorting them orders the candidates by preference.
+     * This array is reused for every ballot.
+     */
+    private long[] ballotPreferences;
+
+    /**
+     * Holds the temporary section of the preference counts.
+     */
+    private SectionWriter preferenceCounts;
+
+    /**
+     * Holds the temporary section of the preference arena.
+     */
+    private SectionWriter preferenceArena;
+
+    /**
+     * Holds the temporary section of the preference numbers.
+     */
+    private SectionWriter preferenceNumbers;
+
+    /**
+     * Creates a new ElectionFileCompiler object.
+     * @param inputFileName Name of the input file (relative path).
+     * @param outputFileName Name of the compiled election file (relative path). An existing file is replaced.
+     */
+    public ElectionFileCompiler(String inputFileName, String outputFileName) {
+        this.inputFileName = inputFileName;
+        this.outputFileName = outputFileName;
+        this.idWidth = 0;
+        this.numOfBallots = 0;
+        this.numOfPreferences = 0;
+        this.preferenceNumbersNeeded = false;
+        this.ballotPreferences = new long[0];
+    }
+
+    /**
+     * Returns the number of ballots compiled.
+     * @return int - Number of ballots.
+     */
+    public int getNumOfBallots() {
+        return this.numOfBallots;
+    }
+
+    /**
+     * Returns the width in bytes needed for the candidate IDs and preference counts of an election.
+     * @param numOfCandidates Number of candidates of the election.
+     * @return int - 1, 2 or 4.
+     */
+    public static int getIDWidth(int numOfCandidates) {
+        if (numOfCandidates <= 0xFF) {
+            return 1;
+        }
+        return numOfCandidates <= 0xFFFF ? 2 : 4;
+    }
+
+    /**
+     * Compiles the input file in a single pass through it. The sections are written to temporary files
+     * next to the compiled election file and then copied after the header and the name table.
+     * @return boolean - true if the file was compiled, false if the input file could not be read.
+     * @throws IOException If the compiled election file could not be written.
+     */
+    public boolean compile() throws IOException {
+        File outputFile = new File(this.outputFileName).getAbsoluteFile();
+        File[] sectionFiles = new File[3];
+        try {
+            for (int sectionIndex = 0; sectionIndex < sectionFiles.length; sectionIndex++) {
+                sectionFiles[sectionIndex] = File.createTempFile(outputFile.getName(), ".section", outputFile.getParentFile());
+            }
+            ElectionFileLoader loader = new ElectionFileLoader(this.inputFileName);
+            try (SectionWriter preferenceCounts = new SectionWriter(sectionFiles[0]);
+                 SectionWriter preferenceArena = new SectionWriter(sectionFiles[1]);
+                 SectionWriter preferenceNumbers = new SectionWriter(sectionFiles[2])) {
+                this.preferenceCounts = preferenceCounts;
+                this.preferenceArena = preferenceArena;
+                this.preferenceNumbers = preferenceNumbers;
+                if (!loader.loadElectionFromInputFile(this)) {
+                    return false;
+                }
+                if (this.idWidth == 0) {
+                    // an election without ballots.
+                    this.idWidth = getIDWidth(loader.getCandidateNames().length);
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writeCompiledFile(outputFile, loader.getCandidateNames(), sectionFiles);
+            return true;
+        } finally {
+            for (File sectionFile : sectionFiles) {
+                if (sectionFile != null) {
+                    Files.deleteIfExists(sectionFile.toPath());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void loadCandidate(long candidateID, String candidateName) {
+        // The names are taken from the loader once the whole file has been read.
+    }
+
+    @Override
+    public void loadBallot(int ballotSerialNo, int[] ballotRanks) {
+        if (this.idWidth == 0) {
+            this.idWidth = getIDWidth(ballotRanks.length);
+            this.ballotPreferences = new long[ballotRanks.length];
+        }
+        int numOfBallotPreferences = 0;
+        for (int candidateID = 0; candidateID < ballotRanks.length; candidateID++) {
+            if (ballotRanks[candidateID] != 0) {
+                this.ballotPreferences[numOfBallotPreferences] = ((long) ballotRanks[candidateID] << 32) | candidateID;
+                numOfBallotPreferences++;
+            }
+        }
+        Arrays.sort(this.ballotPreferences, 0, numOfBallotPreferences);
+        try {
+            this.preferenceCounts.putNumber(numOfBallotPreferences, this.idWidth);
+            for (int preferenceIndex = 0; preferenceIndex < numOfBallotPreferences; preferenceIndex++) {
+                int preferenceNumber = (int) (this.ballotPreferences[preferenceIndex] >> 32);
+                this.preferenceArena.putNumber((int) this.ballotPreferences[preferenceIndex], this.idWidth);
+                this.preferenceNumbers.putNumber(preferenceNumber, Integer.BYTES);
+                if (preferenceNumber != preferenceIndex + 1) {
+                    this.preferenceNumbersNeeded = true;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.numOfBallots++;
+        this.numOfPreferences += numOfBallotPreferences;
+    }
+
+    /**
+     * Writes the header and the name table and copies the sections after them.
+     * @param outputFile The compiled election file.
+     * @param candidateNames Names of the candidates in order of their IDs.
+     * @param sectionFiles Temporary files of the preference counts, the preference arena and the preference numbers.
+     * @throws IOException If the file could not be written.
+     */
+    private void writeCompiledFile(File outputFile, String[] candidateNames, File[] sectionFiles) throws IOException {
+        byte[][] nameBytes = new byte[candidateNames.length][];
+        int nameTableSize = 0;
+        for (int candidateID = 0; candidateID < candidateNames.length; candidateID++) {
+            nameBytes[candidateID] = candidateNames[candidateID].getBytes(StandardCharsets.UTF_8);
+            nameTableSize += Integer.BYTES + nameBytes[candidateID].length;
+        }
+        ByteBuffer header = ByteBuffer.allocate(alignSection(HEADER_SIZE + nameTableSize)).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(MAGIC);
+        header.put((byte) VERSION);
+        header.put((byte) (this.preferenceNumbersNeeded ? FLAG_PREFERENCE_NUMBERS : 0));
+        header.put((byte) this.idWidth);
+        header.put((byte) 0);
+        header.putInt(candidateNames.length);
+        header.putInt(this.numOfBallots);
+        header.putLong(this.numOfPreferences);
+        header.putInt(nameTableSize);
+        header.putInt(0);
+        for (byte[] name : nameBytes) {
+            header.putInt(name.length);
+            header.put(name);
+        }
+        header.clear();
+        int numOfSections = this.preferenceNumbersNeeded ? 3 : 2;
+        try (FileChannel outputChannel = FileChannel.open(outputFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                outputChannel.write(header);
+            }
+            for (int sectionIndex = 0; sectionIndex < numOfSections; sectionIndex++) {
+                try (FileChannel sectionChannel = FileChannel.open(sectionFiles[sectionIndex].toPath(), StandardOpenOption.READ)) {
+                    long sectionSize = sectionChannel.size();
+                    long numOfBytesCopied = 0;
+                    while (numOfBytesCopied < sectionSize) {
+                        numOfBytesCopied += sectionChannel.transferTo(numOfBytesCopied, sectionSize - numOfBytesCopied, outputChannel);
+                    }
+                    // the next section starts at a multiple of 8 bytes.
+                    ByteBuffer padding = ByteBuffer.allocate((int) ((8 - sectionSize % 8) % 8));
+                    while (padding.hasRemaining()) {
+                        outputChannel.write(padding);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the size of a section rounded up to a multiple of 8 bytes.
+     * @param sectionSize Size of the section in bytes.
+     * @return int - The size rounded up.
+     */
+    public static int alignSection(int sectionSize) {
+        return (sectionSize + 7) & ~7;
+    }
+
+    /**
+     * Compiles an election input file.
+     * @param args Input file (.csv) followed by the compiled election file.
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.out.println("Usage: java ElectionFileCompiler <input file> <compiled file>");
+            return;
+        }
+        ElectionFileCompiler compiler = new ElectionFileCompiler(args[0], args[1]);
+        try {
+            if (compiler.compile()) {
+                System.out.println("Compiled " + compiler.getNumOfBallots() + " ballot(s) into " + args[1]);
+            }
+        } catch (IOException e) {
+            System.out.println("IO Exception when writing to file");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * <h1>SectionWriter</h1>
+     * SectionWriter - is a class that writes the little endian numbers of a section to a temporary file.
+     */
+    private static class SectionWriter implements Closeable {
+        /**
+         * Holds the channel of the temporary file.
+         */
+        private FileChannel channel;
+
+        /**
+         * Holds the buffer of bytes that is currently being filled.
+         */
+        private ByteBuffer buffer;
+
+        /**
+         * Creates a new SectionWriter object.
+         * @param sectionFile Temporary file of the section.
+         * @throws IOException If the file could not be opened.
+         */
+        SectionWriter(File sectionFile) throws IOException {
+            this.channel = FileChannel.open(sectionFile.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        /**
+         * Adds a number at the end of the section.
+         * @param number Number to add.
+         * @param width Width of the number in bytes (1, 2 or 4).
+         * @throws IOException If the section could not be written.
+         */
+        void putNumber(int number, int width) throws IOException {
+            if (this.buffer.remaining() < width) {
+                writeBuffer();
+            }
+            if (width == 1) {
+                this.buffer.put((byte) number);
+            } else if (width == 2) {
+                this.buffer.putShort((short) number);
+            } else {
+                this.buffer.putInt(number);
+            }
+        }
+
+        /**
+         * Writes the buffer to the file and continues with an empty buffer.
+         * @throws IOException If the buffer could not be written.
+         */
+        private void writeBuffer() throws IOException {
+            this.buffer.flip();
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+            this.buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writeBuffer();
+            this.channel.close();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class ElectionFileCompilerTest {
+
+    private static final String INPUT_FILE_NAME = "../testing/testingCSVFiles/STV1000Votes10Candidates.csv";
+
+    private String getResults(STVVoteCounter voteCounter) {
+        return voteCounter.getWinnerCandidates() + " " + voteCounter.getDroppedCandidates();
+    }
+
+    private String compiledFileName() throws IOException {
+        File compiledFile = File.createTempFile("election", ".elb");
+        compiledFile.deleteOnExit();
+        return compiledFile.getPath();
+    }
+
+    @org.junit.jupiter.api.Test
+    void compile() throws IOException {
+        String compiledFileName = compiledFileName();
+        ElectionFileCompiler compiler = new ElectionFileCompiler(INPUT_FILE_NAME, compiledFileName);
+        assertTrue(compiler.compile(), "Should compile the input file");
+        assertEquals(compiler.getNumOfBallots(), 1000, "Should be 1000");
+
+        STVVoteCounter fromInputFile = new STVVoteCounter(INPUT_FILE_NAME, 3, false, false);
+        fromInputFile.implementVoting();
+        STVVoteCounter fromCompiledFile = new STVVoteCounter(compiledFileName, 3, false, false);
+        fromCompiledFile.implementVoting();
+        assertEquals(getResults(fromCompiledFile), getResults(fromInputFile));
+    }
+
+    @org.junit.jupiter.api.Test
+    void compileBallotsWithGaps() throws IOException {
+        File inputFile = File.createTempFile("election", ".csv");
+        inputFile.deleteOnExit();
+        try (FileWriter writer = new FileWriter(inputFile)) {
+            // preference numbers which do not start at 1, repeat or skip a number are kept as they are.
+            writer.write("A,B,C\n2,,3\n,1,1\n1,3,\n3,2,1\n,2,\n");
+        }
+        String compiledFileName = compiledFileName();
+        assertTrue(new ElectionFileCompiler(inputFile.getPath(), compiledFileName).compile(), "Should compile the input file");
+
+        STVVoteCounter fromInputFile = new STVVoteCounter(inputFile.getPath(), 1, false, false);
+        fromInputFile.implementVoting();
+        STVVoteCounter fromCompiledFile = new STVVoteCounter(compiledFileName, 1, false, false);
+        fromCompiledFile.implementVoting();
+        assertEquals(getResults(fromCompiledFile), getResults(fromInputFile));
+    }
+}
@@ -0,0 +1,428 @@
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+/**
+ * <h1>ElectionFileGenerator</h1>
+ * ElectionFileGenerator - is a class that writes synthetic elections to CSV files in the format read by the
+ * ElectionFileLoader, for load testing the voting system with elections of up to hundreds of millions of ballots
+ * and thousands of candidates.
+ *
+ * Every ballot is written as soon as it is drawn, so the memory used is proportional to the number of candidates
+ * and not to the number of ballots. The ballots are drawn from a seeded random number generator, so the same
+ * settings always write the same file. The popularity of the candidates and the ballots can be shaped by:
+ * <ul>
+ *     <li> Zipf exponent - candidate k (counted from 1) is drawn in proportion to 1 / k^exponent. An exponent of 0
+ *          makes all the candidates equally popular, larger exponents skew the votes towards the first candidates. </li>
+ *     <li> Truncated rankings - every STV ballot ranks a random number of candidates between the minimum and
+ *          maximum number of preferences. Plurality ballots always have a single "1". </li>
+ *     <li> Forced ties - the first N candidates get exactly the same number of first preferences, and no other
+ *          candidate gets more. The tied ballots are spread evenly through the file. </li>
+ * </ul>
+ * Several files can be written in parallel:
+ * <pre>
+ *     java ElectionFileGenerator --seed 7 --zipf 1.1 --max-preferences 5 stv 1000 100000000 STVLarge.csv plurality 1000 100000000 PluralityLarge.csv
+ * </pre>
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class ElectionFileGenerator {
+    /**
+     * Holds the size of the buffer of bytes written to the file.
+     */
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Holds the highest number of bytes written for a single column of a ballot (a comma and a preference number).
+     */
+    private static final int MAX_COLUMN_SIZE = 12;
+
+    /**
+     * Holds the name of the output file (relative path).
+     */
+    private String outputFileName;
+
+    /**
+     * Holds the information about whether the ballots rank candidates (STV) or vote for a single candidate (Plurality).
+     */
+    private boolean stvBallotsFlag;
+
+    /**
+     * Holds the number of candidates running in the election.
+     */
+    private int numOfCandidates;
+
+    /**
+     * Holds the number of ballots cast in the election.
+     */
+    private int numOfBallots;
+
+    /**
+     * Holds the seed of the random number generator.
+     */
+    private long seed;
+
+    /**
+     * Holds the Zipf exponent of the popularity of the candidates.
+     */
+    private double zipfExponent;
+
+    /**
+     * Holds the least number of candidates ranked by an STV ballot.
+     */
+    private int minNumOfPreferences;
+
+    /**
+     * Holds the highest number of candidates ranked by an STV ballot.
+     */
+    private int maxNumOfPreferences;
+
+    /**
+     * Holds the number of candidates which get exactly the same number of first preferences (0 for no tie).
+     */
+    private int numOfTiedCandidates;
+
+    /**
+     * Creates a new ElectionFileGenerator object.
+     * @param outputFileName Name of the output file (relative path). An existing file is replaced.
+     * @param stvBallotsFlag Describes whether the ballots rank candidates (STV) or vote for a single candidate (Plurality).
+     * @param numOfCandidates Number of candidates running in the election.
+     * @param numOfBallots Number of ballots cast in the election.
+     * @param seed Seed of the random number generator.
+     * @param zipfExponent Zipf exponent of the popularity of the candidates, 0 for equally popular candidates.
+     * @param minNumOfPreferences Least number of candidates ranked by an STV ballot.
+     * @param maxNumOfPreferences Highest number of candidates ranked by an STV ballot. Limited to the number of candidates.
+     * @param numOfTiedCandidates Number of candidates which get exactly the same number of first preferences,
+     *                            0 for no tie. Should be less than the number of candidates.
+     */
+    public ElectionFileGenerator(String outputFileName, boolean stvBallotsFlag, int numOfCandidates, int numOfBallots, long seed,
+                                 double zipfExponent, int minNumOfPreferences, int maxNumOfPreferences, int numOfTiedCandidates) {
+        if (numOfCandidates < 1 || numOfBallots < 0) {
+            throw new IllegalArgumentException("An election needs at least one candidate and can not have a negative number of ballots");
+        }
+        if (zipfExponent < 0 || Double.isNaN(zipfExponent)) {
+            throw new IllegalArgumentException("The Zipf exponent can not be negative");
+        }
+        if (minNumOfPreferences < 1 || minNumOfPreferences > maxNumOfPreferences) {
+            throw new IllegalArgumentException("A ballot ranks at least one candidate and the minimum number of preferences can not exceed the maximum");
+        }
+        if (numOfTiedCandidates < 0 || numOfTiedCandidates == 1 || (numOfTiedCandidates > 0 && numOfTiedCandidates >= numOfCandidates)) {
+            throw new IllegalArgumentException("A tie needs at least two candidates and at least one candidate outside of the tie");
+        }
+        if ((long) numOfTiedCandidates * getNumOfFirstPreferencesOfTiedCandidate(numOfBallots, numOfTiedCandidates) > numOfBallots) {
+            throw new IllegalArgumentException("There are not enough ballots to tie " + numOfTiedCandidates + " candidates");
+        }
+        this.outputFileName = outputFileName;
+        this.stvBallotsFlag = stvBallotsFlag;
+        this.numOfCandidates = numOfCandidates;
+        this.numOfBallots = numOfBallots;
+        this.seed = seed;
+        this.zipfExponent = zipfExponent;
+        this.minNumOfPreferences = Math.min(minNumOfPreferences, numOfCandidates);
+        this.maxNumOfPreferences = Math.min(maxNumOfPreferences, numOfCandidates);
+        this.numOfTiedCandidates = numOfTiedCandidates;
+    }
+
+    /**
+     * Overloading the constructor for equally popular candidates, complete rankings and no forced tie.
+     * @param outputFileName Name of the output file (relative path). An existing file is replaced.
+     * @param stvBallotsFlag Describes whether the ballots rank candidates (STV) or vote for a single candidate (Plurality).
+     * @param numOfCandidates Number of candidates running in the election.
+     * @param numOfBallots Number of ballots cast in the election.
+     * @param seed Seed of the random number generator.
+     */
+    public ElectionFileGenerator(String outputFileName, boolean stvBallotsFlag, int numOfCandidates, int numOfBallots, long seed) {
+        this(outputFileName, stvBallotsFlag, numOfCandidates, numOfBallots, seed, 0, numOfCandidates, numOfCandidates, 0);
+    }
+
+    /**
+     * Returns the name of the output file.
+     * @return String - Name of the output file.
+     */
+    public String getOutputFileName() {
+        return this.outputFileName;
+    }
+
+    /**
+     * Writes the synthetic election to the output file.
+     * @return boolean - true if the whole file was written.
+     */
+    public boolean writeElectionFile() {
+        SplittableRandom random = new SplittableRandom(this.seed);
+        double[] candidateWeights = new double[this.numOfCandidates];
+        for (int candidateID = 0; candidateID < this.numOfCandidates; candidateID++) {
+            // a steep skew never makes a candidate impossible to draw.
+            candidateWeights[candidateID] = Math.max(Double.MIN_NORMAL, 1 / Math.pow(candidateID + 1, this.zipfExponent));
+        }
+        // the later preferences are drawn from all the candidates, the first preferences outside
+        // of the tied ballots only from the candidates that are not tied.
+        CandidateSampler preferenceSampler = new CandidateSampler(candidateWeights);
+        for (int candidateID = 0; candidateID < this.numOfTiedCandidates; candidateID++) {
+            candidateWeights[candidateID] = 0;
+        }
+        CandidateSampler firstPreferenceSampler = new CandidateSampler(candidateWeights);
+        long numOfTiedBallots = (long) this.numOfTiedCandidates * getNumOfFirstPreferencesOfTiedCandidate(this.numOfBallots, this.numOfTiedCandidates);
+        int numOfTiedBallotsWritten = 0;
+        int[] ballotRanks = new int[this.numOfCandidates];
+        int[] preferredCandidateIDs = new int[this.maxNumOfPreferences];
+
+        try (ElectionFileOutput output = new ElectionFileOutput(this.outputFileName)) {
+            for (int candidateID = 0; candidateID < this.numOfCandidates; candidateID++) {
+                if (candidateID > 0) {
+                    output.writeByte(',');
+                }
+                output.writeString("Candidate" + (candidateID + 1));
+            }
+            output.writeByte('\n');
+            for (int ballotNo = 0; ballotNo < this.numOfBallots; ballotNo++) {
+                int firstCandidateID;
+                // ballot i is tied if the share of tied ballots passes a whole number between i and i + 1.
+                if ((ballotNo + 1) * numOfTiedBallots / this.numOfBallots > ballotNo * numOfTiedBallots / this.numOfBallots) {
+                    firstCandidateID = numOfTiedBallotsWritten++ % this.numOfTiedCandidates;
+                } else {
+                    firstCandidateID = firstPreferenceSampler.drawCandidate(random);
+                    firstPreferenceSampler.putBackCandidates();
+                }
+                preferredCandidateIDs[0] = firstCandidateID;
+                int numOfPreferences = 1;
+                if (this.stvBallotsFlag) {
+                    int depth = this.minNumOfPreferences + random.nextInt(this.maxNumOfPreferences - this.minNumOfPreferences + 1);
+                    preferenceSampler.takeCandidate(firstCandidateID);
+                    while (numOfPreferences < depth) {
+                        preferredCandidateIDs[numOfPreferences++] = preferenceSampler.drawCandidate(random);
+                    }
+                    preferenceSampler.putBackCandidates();
+                }
+                for (int preference = 0; preference < numOfPreferences; preference++) {
+                    ballotRanks[preferredCandidateIDs[preference]] = preference + 1;
+                }
+                output.writeBallot(ballotRanks);
+                for (int preference = 0; preference < numOfPreferences; preference++) {
+                    ballotRanks[preferredCandidateIDs[preference]] = 0;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            System.out.println("IO Exception when writing the election file");
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Writes several synthetic elections to their output files in parallel.
+     * @param generators Generators of the elections.
+     * @param numOfThreads Highest number of files written at the same time.
+     * @return boolean - true if all the files were written.
+     */
+    public static boolean writeElectionFiles(List<ElectionFileGenerator> generators, int numOfThreads) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(numOfThreads, generators.size())));
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (ElectionFileGenerator generator : generators) {
+                results.add(executor.submit(generator::writeElectionFile));
+            }
+            boolean allFilesWritten = true;
+            for (Future<Boolean> result : results) {
+                allFilesWritten &= result.get();
+            }
+            return allFilesWritten;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            System.out.println("Exception when writing the election files");
+            e.getCause().printStackTrace();
+            return false;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Writes the synthetic elections described by the command line.
+     * @param args Options followed by one or more groups of: type (stv or plurality), number of candidates,
+     *             number of ballots and output file name. The options are --seed, --zipf, --min-preferences,
+     *             --max-preferences, --tie and --threads. Every file after the first uses the next seed.
+     */
+    public static void main(String[] args) {
+        long seed = 5801;
+        double zipfExponent = 0;
+        int minNumOfPreferences = 1;
+        int maxNumOfPreferences = Integer.MAX_VALUE;
+        int numOfTiedCandidates = 0;
+        int numOfThreads = Runtime.getRuntime().availableProcessors();
+        List<ElectionFileGenerator> generators = new ArrayList<>();
+        try {
+            int argIndex = 0;
+            while (argIndex < args.length && args[argIndex].startsWith("--")) {
+                String option = args[argIndex++];
+                if (argIndex == args.length) {
+                    throw new IllegalArgumentException("Missing value of " + option);
+                }
+                String value = args[argIndex++];
+                if (option.equals("--seed")) {
+                    seed = Long.parseLong(value);
+                } else if (option.equals("--zipf")) {
+                    zipfExponent = Double.parseDouble(value);
+                } else if (option.equals("--min-preferences")) {
+                    minNumOfPreferences = Integer.parseInt(value);
+                } else if (option.equals("--max-preferences")) {
+                    maxNumOfPreferences = Integer.parseInt(value);
+                } else if (option.equals("--tie")) {
+                    numOfTiedCandidates = Integer.parseInt(value);
+                } else if (option.equals("--threads")) {
+                    numOfThreads = Integer.parseInt(value);
+                } else {
+                    throw new IllegalArgumentException("Unknown option " + option);
+                }
+            }
+            if (argIndex == args.length || (args.length - argIndex) % 4 != 0) {
+                throw new IllegalArgumentException("Every file needs a type, number of candidates, number of ballots and file name");
+            }
+            for (; argIndex < args.length; argIndex += 4) {
+                boolean stvBallotsFlag = args[argIndex].equalsIgnoreCase("stv");
+                if (!stvBallotsFlag && !args[argIndex].equalsIgnoreCase("plurality")) {
+                    throw new IllegalArgumentException("Unknown type of voting " + args[argIndex]);
+                }
+                generators.add(new ElectionFileGenerator(args[argIndex + 3], stvBallotsFlag, Integer.parseInt(args[argIndex + 1]),
+                        Integer.parseInt(args[argIndex + 2]), seed + generators.size(), zipfExponent, minNumOfPreferences,
+                        maxNumOfPreferences, numOfTiedCandidates));
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Usage: java ElectionFileGenerator [--seed N] [--zipf EXPONENT] [--min-preferences N] [--max-preferences N] [--tie N] [--threads N]"
+                    + " <stv|plurality> <candidates> <ballots> <file name> [<stv|plurality> <candidates> <ballots> <file name> ...]");
+            return;
+        }
+        long startTime = System.nanoTime();
+        if (writeElectionFiles(generators, numOfThreads)) {
+            System.out.println("Written " + generators.size() + " election file(s) in " + (System.nanoTime() - startTime) / 1000000 + " ms");
+        }
+    }
+
+    /**
+     * Returns the number of first preferences every tied candidate gets. Rounded up, so the
+     * remaining ballots are too few for any other candidate to get more.
+     * @param numOfBallots Number of ballots cast in the election.
+     * @param numOfTiedCandidates Number of tied candidates.
+     * @return long - Number of first preferences of every tied candidate, 0 if there is no tie.
+     */
+    private static long getNumOfFirstPreferencesOfTiedCandidate(int numOfBallots, int numOfTiedCandidates) {
+        if (numOfTiedCandidates == 0) {
+            return 0;
+        }
+        return ((long) numOfBallots + numOfTiedCandidates) / (numOfTiedCandidates + 1);
+    }
+
+    /**
+     * <h1>ElectionFileOutput</h1>
+     * ElectionFileOutput - writes the rows of an election file through a buffer of bytes.
+     */
+    private static class ElectionFileOutput implements Closeable {
+        /**
+         * Holds the stream of the output file.
+         */
+        private OutputStream outputStream;
+
+        /**
+         * Holds the bytes that have not been written to the file yet.
+         */
+        private byte[] buffer;
+
+        /**
+         * Holds the number of bytes in the buffer.
+         */
+        private int bufferPosition;
+
+        /**
+         * Creates a new ElectionFileOutput object. An existing file is replaced.
+         * @param outputFileName Name of the output file (relative path).
+         * @throws FileNotFoundException If the file could not be created.
+         */
+        ElectionFileOutput(String outputFileName) throws FileNotFoundException {
+            this.outputStream = new FileOutputStream(outputFileName);
+            this.buffer = new byte[BUFFER_SIZE];
+            this.bufferPosition = 0;
+        }
+
+        /**
+         * Writes a single byte.
+         * @param value The byte.
+         * @throws IOException If the buffer could not be written to the file.
+         */
+        void writeByte(int value) throws IOException {
+            if (this.bufferPosition == this.buffer.length) {
+                flushBuffer();
+            }
+            this.buffer[this.bufferPosition++] = (byte) value;
+        }
+
+        /**
+         * Writes a string of ASCII characters.
+         * @param text The string.
+         * @throws IOException If the buffer could not be written to the file.
+         */
+        void writeString(String text) throws IOException {
+            for (int charIndex = 0; charIndex < text.length(); charIndex++) {
+                writeByte(text.charAt(charIndex));
+            }
+        }
+
+        /**
+         * Writes a ballot as a row of the file, leaving the columns without a preference empty.
+         * @param ballotRanks Preference numbers of the ballot indexed by candidate ID (0 for no preference).
+         * @throws IOException If the buffer could not be written to the file.
+         */
+        void writeBallot(int[] ballotRanks) throws IOException {
+            for (int candidateID = 0; candidateID < ballotRanks.length; candidateID++) {
+                if (this.bufferPosition > this.buffer.length - MAX_COLUMN_SIZE) {
+                    flushBuffer();
+                }
+                if (candidateID > 0) {
+                    this.buffer[this.bufferPosition++] = ',';
+                }
+                int rank = ballotRanks[candidateID];
+                if (rank != 0) {
+                    // write the digits backwards after counting them.
+                    int numOfDigits = 1;
+                    for (int remainder = rank / 10; remainder > 0; remainder /= 10) {
+                        numOfDigits++;
+                    }
+                    for (int digitIndex = this.bufferPosition + numOfDigits - 1; digitIndex >= this.bufferPosition; digitIndex--) {
+                        this.buffer[digitIndex] = (byte) ('0' + rank % 10);
+                        rank /= 10;
+                    }
+                    this.bufferPosition += numOfDigits;
+                }
+            }
+            writeByte('\n');
+        }
+
+        /**
+         * Writes the buffer to the file.
+         * @throws IOException If the buffer could not be written.
+         */
+        private void flushBuffer() throws IOException {
+            this.outputStream.write(this.buffer, 0, this.bufferPosition);
+            this.bufferPosition = 0;
+        }
+
+        /**
+         * Writes the rest of the buffer to the file and closes the file.
+         * @throws IOException If the buffer could not be written or the file could not be closed.
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                flushBuffer();
+            } finally {
+                this.outputStream.close();
+            }
+        }
+    }
+}
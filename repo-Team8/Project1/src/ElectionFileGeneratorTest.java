@@ -0,0 +1,102 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ElectionFileGeneratorTest {
+
+    /**
+     * Handler that checks every ballot ranks candidates 1 to n and counts the first preferences.
+     */
+    private static class CheckingHandler implements ElectionFileHandler {
+        private int[] firstPreferences = new int[0];
+        private int minNumOfPreferences = Integer.MAX_VALUE;
+        private int maxNumOfPreferences = 0;
+        private int numOfBallots = 0;
+
+        @Override
+        public void loadCandidate(long candidateID, String candidateName) {
+            assertEquals("Candidate" + (candidateID + 1), candidateName);
+            firstPreferences = new int[(int) candidateID + 1];
+        }
+
+        @Override
+        public void loadBallot(int ballotSerialNo, int[] ballotRanks) {
+            boolean[] ranksSeen = new boolean[ballotRanks.length + 1];
+            int numOfPreferences = 0;
+            for (int candidateID = 0; candidateID < ballotRanks.length; candidateID++) {
+                if (ballotRanks[candidateID] != 0) {
+                    assertFalse(ranksSeen[ballotRanks[candidateID]]);
+                    ranksSeen[ballotRanks[candidateID]] = true;
+                    numOfPreferences++;
+                    if (ballotRanks[candidateID] == 1) {
+                        firstPreferences[candidateID]++;
+                    }
+                }
+            }
+            for (int rank = 1; rank <= numOfPreferences; rank++) {
+                assertTrue(ranksSeen[rank]);
+            }
+            minNumOfPreferences = Math.min(minNumOfPreferences, numOfPreferences);
+            maxNumOfPreferences = Math.max(maxNumOfPreferences, numOfPreferences);
+            numOfBallots++;
+        }
+    }
+
+    @Test
+    void writeTruncatedSkewedSTVElection() throws IOException {
+        File electionFile = File.createTempFile("generated", ".csv");
+        try {
+            assertTrue(new ElectionFileGenerator(electionFile.getPath(), true, 10, 2000, 1, 1.5, 2, 4, 0).writeElectionFile());
+            CheckingHandler handler = new CheckingHandler();
+            assertTrue(new ElectionFileLoader(electionFile.getPath()).loadElectionFromInputFile(handler));
+            assertEquals(handler.numOfBallots, 2000, "Should be 2000");
+            assertEquals(handler.minNumOfPreferences, 2, "Should be 2");
+            assertEquals(handler.maxNumOfPreferences, 4, "Should be 4");
+            // the skew makes every candidate more popular than the candidate after it.
+            assertTrue(handler.firstPreferences[0] > handler.firstPreferences[1]);
+            assertTrue(handler.firstPreferences[1] > handler.firstPreferences[9]);
+        } finally {
+            electionFile.delete();
+        }
+    }
+
+    @Test
+    void sameSeedWritesSameFile() throws IOException {
+        File firstFile = File.createTempFile("generated", ".csv");
+        File secondFile = File.createTempFile("generated", ".csv");
+        try {
+            new ElectionFileGenerator(firstFile.getPath(), true, 6, 500, 42).writeElectionFile();
+            new ElectionFileGenerator(secondFile.getPath(), true, 6, 500, 42).writeElectionFile();
+            assertArrayEquals(Files.readAllBytes(firstFile.toPath()), Files.readAllBytes(secondFile.toPath()));
+            new ElectionFileGenerator(secondFile.getPath(), true, 6, 500, 43).writeElectionFile();
+            assertFalse(java.util.Arrays.equals(Files.readAllBytes(firstFile.toPath()), Files.readAllBytes(secondFile.toPath())));
+        } finally {
+            firstFile.delete();
+            secondFile.delete();
+        }
+    }
+
+    @Test
+    void forcedTieInPluralityElection() throws IOException {
+        File electionFile = File.createTempFile("generated", ".csv");
+        try {
+            assertTrue(new ElectionFileGenerator(electionFile.getPath(), false, 5, 1000, 3, 2.0, 1, 1, 2).writeElectionFile());
+            PluralityVoteCounter counter = new PluralityVoteCounter(electionFile.getPath(), 1);
+            counter.implementVoting();
+            assertEquals(counter.electionHasTie(), 334, "Should be 334");
+            assertEquals(counter.getCandidatesRunningInElection().get(0).getNumberOfVotesEarnedByCandidate(), 334, "Should be 334");
+            assertEquals(counter.getCandidatesRunningInElection().get(1).getNumberOfVotesEarnedByCandidate(), 334, "Should be 334");
+        } finally {
+            electionFile.delete();
+        }
+    }
+
+    @Test
+    void tooFewBallotsForTie() {
+        assertThrows(IllegalArgumentException.class, () -> new ElectionFileGenerator("unused.csv", false, 5, 3, 1, 0, 1, 1, 4));
+    }
+}
@@ -0,0 +1,53 @@
+import java.util.Arrays;
+/**
+ * <h1>ElectionFileHandler</h1>
+ * ElectionFileHandler - is an interface for the voting software which declares the functions that are
+ * called by the ElectionFileLoader while it passes through an input file. The loader reads the header
+ * and every ballot of the election in a single pass and hands them over to the handler as soon as they are parsed.
+ * The ballots of a compiled election file (see ElectionFileCompiler) are handed over with their preferences
+ * already in order, which the handlers can use without going through the preference numbers.
+ * The two classes that handle the information of an election file are:
+ * <ul>
+ *     <li> PluralityVoteCounter - Aggregates the ballots for Plurality based Voting </li>
+ *     <li> STVVoteCounter - Stores the ballots for STV based Voting </li>
+ * </ul>
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public interface ElectionFileHandler {
+    /**
+     * Loads a candidate found in the header (first row) of the input file.
+     * @param candidateID Unique ID of the candidate. This is the column of the candidate in the file.
+     * @param candidateName Name of the candidate.
+     */
+    void loadCandidate(long candidateID, String candidateName);
+
+    /**
+     * Loads a ballot found in the input file.
+     * @param ballotSerialNo Serial number of the ballot. Ballots are numbered from 1 in the order they appear in the file.
+     * @param ballotRanks Array indexed by candidate ID which holds the preference number given to every candidate
+     *                    in the ballot. A value of 0 denotes that no preference was given to the candidate.
+     *                    The same array is reused for every ballot, so it should not be stored by the handler.
+     */
+    void loadBallot(int ballotSerialNo, int[] ballotRanks);
+
+    /**
+     * Loads a ballot whose preferences are already in order, as found in a compiled election file. Every candidate
+     * appears at most once and the preference numbers are 1, 2, ... without any gap, so the handler can use the IDs
+     * as they are. By default the preferences are turned into preference numbers and loaded through loadBallot.
+     * @param ballotSerialNo Serial number of the ballot. Ballots are numbered from 1 in the order they appear in the file.
+     * @param candidateIDs IDs of the candidates in order of preference. The same array is reused for every ballot.
+     * @param numOfPreferences Number of entries of candidateIDs that belong to the ballot.
+     * @param ballotRanks Array indexed by candidate ID that can be used to hold the preference numbers of the ballot.
+     */
+    default void loadBallotPreferences(int ballotSerialNo, int[] candidateIDs, int numOfPreferences, int[] ballotRanks) {
+        Arrays.fill(ballotRanks, 0);
+        for (int preferenceIndex = 0; preferenceIndex < numOfPreferences; preferenceIndex++) {
+            ballotRanks[candidateIDs[preferenceIndex]] = preferenceIndex + 1;
+        }
+        loadBallot(ballotSerialNo, ballotRanks);
+    }
+}
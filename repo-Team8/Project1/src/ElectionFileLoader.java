@@ -0,0 +1,211 @@
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+/**
+ * <h1>ElectionFileLoader</h1>
+ * ElectionFileLoader - is a class that is responsible to read the information about an election
+ * from an input file and hand it over to the vote counters.
+ *
+ * The input file is read only once. The first row (header) is parsed into the candidates of the election
+ * and every row after the header is parsed into a ballot in the same pass through the file. Every candidate
+ * and ballot is passed to an ElectionFileHandler as soon as it is parsed, so the vote counters never need to
+ * open the input file a second time. The ballots are parsed from the memory mapped bytes of the file by the
+ * MappedBallotParser.
+ *
+ * The input file can also be a compiled election file (see ElectionFileCompiler), which is recognized by its first
+ * bytes. Its candidates and ballots are read by the CompiledBallotParser instead, without any parsing.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class ElectionFileLoader {
+    /**
+     * Holds the name of the input file (relative path).
+     * This relative path points to the file from where
+     * all the information about the election would be extracted.
+     */
+    private String inputFileName;
+
+    /**
+     * Holds the names of the candidates found in the header of the input file.
+     * The index of the name in the array is the ID of the candidate.
+     */
+    private String[] candidateNames;
+
+    /**
+     * Holds the number of ballots that were loaded from the input file.
+     */
+    private int numOfBallotsLoaded;
+
+    /**
+     * Holds the number of bytes of the input file that were read to load the election.
+     */
+    private long numOfBytesRead;
+
+    /**
+     * Creates a new ElectionFileLoader object that is used by the vote counters
+     * to read the election from the input file.
+     * @param inputFileName Name of the input file from which the data has to be fed.
+     *                      This filename should be a relative path to the file.
+     */
+    public ElectionFileLoader(String inputFileName) {
+        this.inputFileName = inputFileName;
+        this.candidateNames = new String[0];
+        this.numOfBallotsLoaded = 0;
+        this.numOfBytesRead = 0;
+    }
+
+    /**
+     * Returns the names of the candidates running in the election in order of their IDs.
+     * @return String[] - Names of the candidates.
+     */
+    public String[] getCandidateNames() {
+        return this.candidateNames;
+    }
+
+    /**
+     * Returns the number of ballots that were loaded from the input file.
+     * @return int - Number of ballots loaded.
+     */
+    public int getNumOfBallotsLoaded() {
+        return this.numOfBallotsLoaded;
+    }
+
+    /**
+     * Returns the number of bytes of the input file that were read to load the election.
+     * @return long - Number of bytes read, the size of the file once the election has been loaded.
+     */
+    public long getNumOfBytesRead() {
+        return this.numOfBytesRead;
+    }
+
+    /**
+     * Loads only the candidates running in the election from the header of the input file.
+     * @param handler Handler which receives every candidate found in the header.
+     * @return boolean - true if the header was read, false if the file is empty or could not be read.
+     */
+    public boolean loadCandidatesFromInputFile(ElectionFileHandler handler) {
+        try (RandomAccessFile inputFile = new RandomAccessFile(this.inputFileName, "r")) {
+            return loadCandidatesFromHeader(inputFile.getChannel(), handler);
+        } catch (FileNotFoundException e) {
+            System.out.println("File Not Found");
+            e.printStackTrace();
+        } catch (IOException e) {
+            System.out.println("IO Exception when reading from file");
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Loads the candidates and all the ballots of the election in a single pass through the input file.
+     * The candidates are loaded first from the header and then every ballot is loaded in the order
+     * in which they are present in the file.
+     * @param handler Handler which receives every candidate and ballot found in the file.
+     * @return boolean - true if the file was read, false if the file is empty or could not be read.
+     */
+    public boolean loadElectionFromInputFile(ElectionFileHandler handler) {
+        try (RandomAccessFile inputFile = new RandomAccessFile(this.inputFileName, "r")) {
+            FileChannel channel = inputFile.getChannel();
+            if (CompiledBallotParser.isCompiledElectionFile(channel)) {
+                this.numOfBytesRead = channel.size();
+                return loadCompiledElection(channel, handler);
+            }
+            if (!loadCandidatesFromHeader(channel, handler)) {
+                return false;
+            }
+            MappedBallotParser parser = new MappedBallotParser(channel, this.candidateNames.length);
+            ElectionEvents.BallotParsingEvent parsingEvent = new ElectionEvents.BallotParsingEvent();
+            parsingEvent.begin();
+            // Parse every ballot after the header till the end of the file.
+            this.numOfBallotsLoaded = parser.parseBallots(MappedBallotParser.findFirstBallotPosition(channel), channel.size(), 1, handler);
+            this.numOfBytesRead = channel.size();
+            commitParsingEvent(parsingEvent, false);
+            if (this.numOfBallotsLoaded == 0) {
+                System.out.println("File does not contain any ballots.");
+            }
+            return true;
+        } catch (FileNotFoundException e) {
+            System.out.println("File Not Found");
+            e.printStackTrace();
+        } catch (IOException e) {
+            System.out.println("IO Exception when reading from file");
+            e.printStackTrace();
+        }
+        return false;
+    }
+
+    /**
+     * Loads the candidates and all the ballots of a compiled election file.
+     * @param channel Channel of the compiled election file.
+     * @param handler Handler which receives every candidate and ballot found in the file.
+     * @return boolean - true once the file was read.
+     * @throws IOException If the file could not be read or is not valid.
+     */
+    private boolean loadCompiledElection(FileChannel channel, ElectionFileHandler handler) throws IOException {
+        CompiledBallotParser parser = new CompiledBallotParser(channel);
+        loadCandidates(parser.getCandidateNames(), handler);
+        ElectionEvents.BallotParsingEvent parsingEvent = new ElectionEvents.BallotParsingEvent();
+        parsingEvent.begin();
+        this.numOfBallotsLoaded = parser.parseBallots(handler);
+        commitParsingEvent(parsingEvent, true);
+        if (this.numOfBallotsLoaded == 0) {
+            System.out.println("File does not contain any ballots.");
+        }
+        return true;
+    }
+
+    /**
+     * Ends the flight recorder event of parsing the ballots and commits it if it is recorded.
+     * @param parsingEvent The event, begun before the ballots were parsed.
+     * @param compiled Whether the input file is a compiled election file.
+     */
+    private void commitParsingEvent(ElectionEvents.BallotParsingEvent parsingEvent, boolean compiled) {
+        parsingEvent.end();
+        if (parsingEvent.shouldCommit()) {
+            parsingEvent.inputFileName = this.inputFileName;
+            parsingEvent.compiled = compiled;
+            parsingEvent.numOfBallots = this.numOfBallotsLoaded;
+            parsingEvent.numOfBytes = this.numOfBytesRead;
+            parsingEvent.commit();
+        }
+    }
+
+    /**
+     * Reads the first line (header) of the file and loads every candidate to the handler.
+     * Used by the vote counters which parse the ballots of an already open file themselves.
+     * The candidates of a compiled election file are read from its name table.
+     * @param channel Channel of the input file.
+     * @param handler Handler which receives every candidate found in the header.
+     * @return boolean - true if the header was read, false if the file is empty.
+     * @throws IOException If the header could not be read.
+     */
+    public boolean loadCandidatesFromHeader(FileChannel channel, ElectionFileHandler handler) throws IOException {
+        if (CompiledBallotParser.isCompiledElectionFile(channel)) {
+            loadCandidates(new CompiledBallotParser(channel).getCandidateNames(), handler);
+            return true;
+        }
+        String fileLine = MappedBallotParser.readHeader(channel, Charset.defaultCharset());
+        if (fileLine == null) {
+            System.out.println("Buffer not able to read the line. File is empty!");
+            return false;
+        }
+        // String array includes all candidate names at different indices.
+        loadCandidates(fileLine.split(","), handler);
+        return true;
+    }
+
+    /**
+     * Keeps the names of the candidates and loads every candidate to the handler.
+     * @param candidateNames Names of the candidates in order of their IDs.
+     * @param handler Handler which receives every candidate.
+     */
+    private void loadCandidates(String[] candidateNames, ElectionFileHandler handler) {
+        this.candidateNames = candidateNames;
+        for (int candidateID = 0; candidateID < this.candidateNames.length; candidateID++) {
+            handler.loadCandidate(candidateID, this.candidateNames[candidateID]);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ElectionFileLoaderTest {
+
+    private ElectionFileLoader loader;
+
+    /**
+     * Handler that records everything the loader hands over to it.
+     */
+    private static class RecordingHandler implements ElectionFileHandler {
+        private ArrayList<String> candidateNames = new ArrayList<>();
+        private ArrayList<int[]> ballots = new ArrayList<>();
+        private int lastSerialNo = 0;
+
+        @Override
+        public void loadCandidate(long candidateID, String candidateName) {
+            candidateNames.add(candidateName);
+        }
+
+        @Override
+        public void loadBallot(int ballotSerialNo, int[] ballotRanks) {
+            assertEquals(lastSerialNo + 1, ballotSerialNo);
+            lastSerialNo = ballotSerialNo;
+            ballots.add(ballotRanks.clone());
+        }
+    }
+
+    @Test
+    void loadCandidatesFromInputFile() {
+        loader = new ElectionFileLoader("../testing/testingCSVFiles/Plurality50Votes4Candidates.csv");
+        RecordingHandler handler = new RecordingHandler();
+        assertTrue(loader.loadCandidatesFromInputFile(handler));
+        assertEquals(Arrays.asList("A","B","C","D"), handler.candidateNames);
+        assertEquals(0, handler.ballots.size());
+    }
+
+    @Test
+    void loadElectionFromInputFile() {
+        loader = new ElectionFileLoader("../testing/testingCSVFiles/STV50Votes4CandidatesRandom.csv");
+        RecordingHandler handler = new RecordingHandler();
+        assertTrue(loader.loadElectionFromInputFile(handler));
+        assertEquals(Arrays.asList("A","B","C","D"), handler.candidateNames);
+        assertEquals(50, handler.ballots.size());
+        assertEquals(50, loader.getNumOfBallotsLoaded());
+        assertArrayEquals(new int[]{0,1,0,0}, handler.ballots.get(0));
+        assertArrayEquals(new int[]{1,2,3,0}, handler.ballots.get(3));
+    }
+
+    @Test
+    void loadElectionWithBlankFields() {
+        loader = new ElectionFileLoader("../testing/testingCSVFiles/examplefile.csv");
+        RecordingHandler handler = new RecordingHandler();
+        assertTrue(loader.loadElectionFromInputFile(handler));
+        assertEquals(9, loader.getCandidateNames().length);
+        assertArrayEquals(new int[]{2,0,0,0,0,0,0,0,1}, handler.ballots.get(1));
+    }
+
+    @Test
+    void loadElectionFromMissingFile() {
+        loader = new ElectionFileLoader("../testing/testingCSVFiles/DoesNotExist.csv");
+        assertFalse(loader.loadElectionFromInputFile(new RecordingHandler()));
+    }
+
+    @Test
+    void loadElectionWithPreferenceTooLarge() throws IOException {
+        File inputFile = File.createTempFile("overflow", ".csv");
+        inputFile.deleteOnExit();
+        // 4294967297 is 2^32 + 1, which would wrap around to a preference of 1.
+        Files.write(inputFile.toPath(), "A,B\n1,2\n4294967297,\n".getBytes());
+        loader = new ElectionFileLoader(inputFile.getPath());
+        assertThrows(NumberFormatException.class, () -> loader.loadElectionFromInputFile(new RecordingHandler()));
+
+        // the largest int is still a valid preference number.
+        Files.write(inputFile.toPath(), "A,B\n2147483647,1\n".getBytes());
+        loader = new ElectionFileLoader(inputFile.getPath());
+        RecordingHandler handler = new RecordingHandler();
+        assertTrue(loader.loadElectionFromInputFile(handler));
+        assertArrayEquals(new int[]{Integer.MAX_VALUE,1}, handler.ballots.get(0));
+    }
+
+    @org.junit.jupiter.api.Test
+    void loadElectionWithSpaceInPreference() throws IOException {
+        File inputFile = File.createTempFile("space", ".csv");
+        inputFile.deleteOnExit();
+        // a space between the digits of a preference is not part of the number.
+        Files.write(inputFile.toPath(), "A,B\n1 2,\n".getBytes());
+        loader = new ElectionFileLoader(inputFile.getPath());
+        assertThrows(NumberFormatException.class, () -> loader.loadElectionFromInputFile(new RecordingHandler()));
+
+        // spaces and tabs around the digits are still allowed.
+        Files.write(inputFile.toPath(), "A,B\n 12 ,\t1\t\r\n".getBytes());
+        loader = new ElectionFileLoader(inputFile.getPath());
+        RecordingHandler handler = new RecordingHandler();
+        assertTrue(loader.loadElectionFromInputFile(handler));
+        assertArrayEquals(new int[]{12,1}, handler.ballots.get(0));
+    }
+}
@@ -0,0 +1,625 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+/**
+ * <h1>ExternalSTVVoteCounter</h1>
+ * ExternalSTVVoteCounter - is a class that is responsible to implement the STV vote counting of an election
+ * whose ballots do not fit in memory, and determine the winner candidate(s) with the same results as the STVVoteCounter.
+ *
+ * The ballots are kept on disk in one bucket (see STVBallotBucket) per candidate, which holds the ballots assigned to
+ * the candidate together with the preferences after the candidate. While the input file is loaded, the ballots are
+ * written to a bucket of their own in the order they are read. Distributing the ballots reads that bucket once and
+ * appends every ballot to the bucket of its first preference still running. When a candidate is dropped, only the
+ * bucket of that candidate is read, in order of the ballots, and its ballots are appended to the buckets of their next
+ * preferences. The ballots of a winner candidate are never transferred, so the bucket of a winner is deleted.
+ *
+ * Ballots are assigned one at a time in the order in which they were read, so a candidate is declared winner with
+ * exactly the same ballot as in the STVVoteCounter, and ties are resolved in the same way. Only the candidates, the
+ * buffers of the open bucket files and the preferences of one ballot are held in memory, whatever the number of ballots.
+ * At most maxOpenBucketFiles bucket files are open for writing at the same time (see STVBallotBucket.WriterPool),
+ * so an election with more candidates than that does not run out of file descriptors.
+ * The ballots are never shuffled, as shuffling them needs all of them in memory.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class ExternalSTVVoteCounter implements ElectionFileHandler {
+    /**
+     * Holds the name of the input file (relative path).
+     * This relative path points to the file from where
+     * all the information about the election would be extracted.
+     */
+    private String inputFileName;
+
+    /**
+     * Holds the registry of all the candidates that were ever involved in the election.
+     */
+    private CandidateRegistry<STVCandidate> allCandidatesRunningInElection;
+
+    /**
+     * Holds the registry of the candidates of the election. Candidates that are declared
+     * winner or dropped are deactivated in the registry, so only the active candidates
+     * are still running in the election.
+     */
+    private CandidateRegistry<STVCandidate> candidatesRunningInElection;
+
+    /**
+     * Holds the number of candidates running in the election.
+     */
+    private int numOfCandidatesRunningInElection;
+
+    /**
+     * Holds the directory in which the directory of the buckets is created, null for the temporary directory.
+     */
+    private Path spillDirectory;
+
+    /**
+     * Holds the directory of the bucket files of the count, which is deleted once the count is over.
+     */
+    private Path bucketDirectory;
+
+    /**
+     * Holds the bucket of all the ballots of the election in the order they were read from the input file.
+     */
+    private STVBallotBucket electionBallots;
+
+    /**
+     * Holds the bucket of the ballots assigned to every candidate, indexed by candidate ID.
+     */
+    private STVBallotBucket[] candidateBuckets;
+
+    /**
+     * Holds the maximum number of bucket files open for writing at the same time.
+     */
+    private int maxOpenBucketFiles;
+
+    /**
+     * Holds the pool of the bucket files open for writing, shared by all the buckets of the count.
+     */
+    private STVBallotBucket.WriterPool bucketWriterPool;
+
+    /**
+     * Holds the preferences of the ballot that is being loaded or transferred.
+     */
+    private int[] preferenceBuffer;
+
+    /**
+     * Holds the number of seats that need to be filled in the election.
+     */
+    private int numOfSeatsToBeFilled;
+
+    /**
+     * Holds the droop quota of the election.
+     */
+    private int droopQuota;
+
+    /**
+     * Holds the candidates declared winner in the election.
+     */
+    private ArrayList<STVCandidate> winnerCandidates;
+
+    /**
+     * Holds the candidates dropped from the election.
+     */
+    private ArrayList<STVCandidate> droppedCandidates;
+
+    /**
+     * Holds the name of the report file.
+     */
+    private static final String REPORT_FILE_NAME = "Project 1 Waterfall Report.txt";
+
+    /**
+     * Holds the prefix of the name of the directory of the bucket files.
+     */
+    private static final String BUCKET_DIRECTORY_PREFIX = "stv-buckets";
+
+    /**
+     * Holds the default maximum number of bucket files open for writing at the same time.
+     */
+    public static final int DEFAULT_MAX_OPEN_BUCKET_FILES = 64;
+
+    /**
+     * Holds the writer which streams the content of the report to the report file.
+     */
+    private ReportWriter reportWriter;
+
+    /**
+     * Holds the number of the current round, which is the number of candidates dropped so far.
+     */
+    private int roundNo;
+
+    /**
+     * Holds the information about whether to generate the report or not.
+     */
+    private boolean reportGenerateFlag;
+
+    /**
+     * Holds the metrics of the count.
+     */
+    private CountMetrics countMetrics;
+
+    /**
+     * Holds the information about whether the summary of the metrics is printed after the results.
+     */
+    private boolean metricsSummaryFlag;
+
+    /**
+     * Holds the number of ballots transferred to a candidate in the current round (or the distribution).
+     */
+    private long numOfBallotsTransferred;
+
+    /**
+     * Holds the number of ballots exhausted in the current round (or the distribution).
+     */
+    private long numOfBallotsExhausted;
+
+    /**
+     * Holds the number of candidates still running the last time it was recorded in the metrics.
+     */
+    private int numOfCandidatesRecorded;
+
+    /**
+     * Creates a new ExternalSTVVoteCounter object that counts an election with its ballots kept on disk.
+     * @param inputFileName Name of the input file which contains the data about the election.
+     *                      This filename should be a relative path to the file.
+     * @param numOfSeatsToBeFilled Number of winners required from the election.
+     * @param reportGenerateFlag Describes whether the Vote Counter should output the content
+     *                           of the report into some file.
+     */
+    public ExternalSTVVoteCounter(String inputFileName, int numOfSeatsToBeFilled, boolean reportGenerateFlag) {
+        this.inputFileName = inputFileName;
+        this.allCandidatesRunningInElection = new CandidateRegistry<>();
+        this.candidatesRunningInElection = new CandidateRegistry<>();
+        this.numOfCandidatesRunningInElection = 0;
+        this.spillDirectory = null;
+        this.bucketDirectory = null;
+        this.electionBallots = null;
+        this.candidateBuckets = new STVBallotBucket[0];
+        this.maxOpenBucketFiles = DEFAULT_MAX_OPEN_BUCKET_FILES;
+        this.bucketWriterPool = null;
+        this.preferenceBuffer = new int[0];
+        this.numOfSeatsToBeFilled = numOfSeatsToBeFilled;
+        this.droopQuota = 0;
+        this.winnerCandidates = new ArrayList<>();
+        this.droppedCandidates = new ArrayList<>();
+        this.reportWriter = null;
+        this.roundNo = 0;
+        this.reportGenerateFlag = reportGenerateFlag;
+        this.countMetrics = new CountMetrics();
+        this.metricsSummaryFlag = false;
+        this.numOfBallotsTransferred = 0;
+        this.numOfBallotsExhausted = 0;
+        this.numOfCandidatesRecorded = 0;
+    }
+
+    /**
+     * Overloading the constructor to mark that no report is generated.
+     * @param inputFileName Name of the input file which contains the data about the election.
+     *                      This filename should be a relative path to the file.
+     * @param numOfSeatsToBeFilled Number of winners required from the election.
+     */
+    public ExternalSTVVoteCounter(String inputFileName, int numOfSeatsToBeFilled) {
+        this(inputFileName, numOfSeatsToBeFilled, false);
+    }
+
+    /**
+     * Returns the registry of all the candidates involved in the election.
+     * @return CandidateRegistry{STVCandidate} - Registry that contains all the candidates
+     *                                           that were ever involved in the election.
+     */
+    public CandidateRegistry<STVCandidate> getAllCandidatesRunningInElection() {
+        return this.allCandidatesRunningInElection;
+    }
+
+    /**
+     * Returns the candidates declared winner, in the order they were declared.
+     * @return ArrayList{STVCandidate} - List of winner candidates.
+     */
+    public ArrayList<STVCandidate> getWinnerCandidates() {
+        return this.winnerCandidates;
+    }
+
+    /**
+     * Returns the candidates dropped from the election, the last dropped candidate first.
+     * @return ArrayList{STVCandidate} - List of dropped candidates.
+     */
+    public ArrayList<STVCandidate> getDroppedCandidates() {
+        return this.droppedCandidates;
+    }
+
+    /**
+     * Sets the directory in which the bucket files of the count are written. A directory of its own is created
+     * in it for every count and deleted once the count is over.
+     * @param spillDirectoryName Name of the directory, null for the temporary directory of the system.
+     */
+    public void setSpillDirectory(String spillDirectoryName) {
+        this.spillDirectory = spillDirectoryName == null ? null : Paths.get(spillDirectoryName);
+    }
+
+    /**
+     * Sets the maximum number of bucket files open for writing at the same time. Every open file has a write buffer,
+     * and a bucket whose file was closed to make room for another one has its file opened again when it is written to.
+     * @param maxOpenBucketFiles Maximum number of open files, at least 1.
+     */
+    public void setMaxOpenBucketFiles(int maxOpenBucketFiles) {
+        if (maxOpenBucketFiles < 1) {
+            throw new IllegalArgumentException("Invalid number of open bucket files " + maxOpenBucketFiles);
+        }
+        this.maxOpenBucketFiles = maxOpenBucketFiles;
+    }
+
+    /**
+     * Returns the pool of the bucket files open for writing of the last count, null before the first count.
+     * @return STVBallotBucket.WriterPool - Pool of the open bucket files.
+     */
+    public STVBallotBucket.WriterPool getBucketWriterPool() {
+        return this.bucketWriterPool;
+    }
+
+    /**
+     * Sets whether the summary of the metrics of the count is printed after the results.
+     * @param metricsSummaryFlag true to print the summary.
+     */
+    public void setMetricsSummaryFlag(boolean metricsSummaryFlag) {
+        this.metricsSummaryFlag = metricsSummaryFlag;
+    }
+
+    /**
+     * Returns the metrics of the count. They are also added to the metrics of the process (see CountMetrics).
+     * @return CountMetrics - Metrics of the count.
+     */
+    public CountMetrics getCountMetrics() {
+        return this.countMetrics;
+    }
+
+    /**
+     * Loads the candidates from the input file and writes all the ballots cast in the election to the bucket of
+     * electionBallots in a single pass through the file. A bucket is then set up for every candidate.
+     * @throws IOException If the ballots could not be written to the bucket.
+     */
+    private void loadElectionFromInputFile() throws IOException {
+        long loadStartTime = System.nanoTime();
+        this.bucketWriterPool = new STVBallotBucket.WriterPool(this.maxOpenBucketFiles);
+        this.electionBallots = new STVBallotBucket(this.bucketDirectory.resolve("ballots.bucket"), this.bucketWriterPool);
+        ElectionFileLoader electionFileLoader = new ElectionFileLoader(this.inputFileName);
+        try {
+            electionFileLoader.loadElectionFromInputFile(this);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        this.candidateBuckets = new STVBallotBucket[this.numOfCandidatesRunningInElection];
+        for (int candidateID = 0; candidateID < this.candidateBuckets.length; candidateID++) {
+            this.candidateBuckets[candidateID] = new STVBallotBucket(this.bucketDirectory.resolve("candidate-" + candidateID + ".bucket"), this.bucketWriterPool);
+        }
+        if (this.preferenceBuffer.length < this.numOfCandidatesRunningInElection) {
+            this.preferenceBuffer = new int[this.numOfCandidatesRunningInElection];
+        }
+        this.countMetrics.recordLoad(electionFileLoader.getNumOfBallotsLoaded(), electionFileLoader.getNumOfBytesRead(), System.nanoTime() - loadStartTime);
+    }
+
+    @Override
+    public void loadCandidate(long candidateID, String candidateName) {
+        // Adding the candidate objects into the registries.
+        this.allCandidatesRunningInElection.add(new STVCandidate(candidateID, candidateName));
+        this.candidatesRunningInElection.add(new STVCandidate(candidateID, candidateName));
+        // determining the number of candidates running in the election.
+        this.numOfCandidatesRunningInElection++;
+    }
+
+    @Override
+    public void loadBallot(int ballotSerialNo, int[] ballotRanks) {
+        if (this.preferenceBuffer.length < ballotRanks.length) {
+            this.preferenceBuffer = new int[ballotRanks.length];
+        }
+        int numOfPreferences = STVBallotStore.findCandidateIDsInOrderOfPreference(ballotRanks, this.preferenceBuffer);
+        loadBallotPreferences(ballotSerialNo, this.preferenceBuffer, numOfPreferences, ballotRanks);
+    }
+
+    @Override
+    public void loadBallotPreferences(int ballotSerialNo, int[] candidateIDs, int numOfPreferences, int[] ballotRanks) {
+        try {
+            // The ballots are not shuffled, so the order number of a ballot is its serial number.
+            this.electionBallots.append(ballotSerialNo, candidateIDs, 0, numOfPreferences);
+        } catch (IOException e) {
+            // the loader only hands over the ballots, the count is stopped by implementVoting.
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Sets the droop quota for the election. Uses the predefined formula
+     * as stated in the writeup to set the droopQuota of a particular election.
+     */
+    private void setDroopQuota() {
+        this.droopQuota = (int) (this.electionBallots.getNumOfBallots() / (this.numOfSeatsToBeFilled + 1)) + 1;
+    }
+
+    /**
+     * Reads the ballots of a bucket in order and transfers every ballot to the first candidate of its preferences
+     * that is still running in the election, by appending it to the bucket of the candidate. Ballots with no such
+     * candidate are exhausted. The bucket is deleted once all its ballots have been transferred.
+     * @param bucket The bucket of the ballots to transfer.
+     * @throws IOException If the buckets could not be read or written.
+     */
+    private void transferBallots(STVBallotBucket bucket) throws IOException {
+        try (STVBallotBucket.BucketReader bucketReader = bucket.openReader()) {
+            int numOfPreferences;
+            while ((numOfPreferences = bucketReader.readBallot(this.preferenceBuffer)) >= 0) {
+                // find the first candidate of the preferences that is still running in the election.
+                int preferenceIndex = 0;
+                while (preferenceIndex < numOfPreferences && !this.candidatesRunningInElection.isActive(this.preferenceBuffer[preferenceIndex])) {
+                    preferenceIndex++;
+                }
+                if (preferenceIndex == numOfPreferences) {
+                    this.numOfBallotsExhausted++;
+                    continue;
+                }
+                int candidateID = this.preferenceBuffer[preferenceIndex];
+                // only the preferences after the candidate are kept with the ballot.
+                this.candidateBuckets[candidateID].append(bucketReader.getBallotOrderNo(), this.preferenceBuffer, preferenceIndex + 1, numOfPreferences);
+                this.numOfBallotsTransferred++;
+                assignBallot(bucketReader.getBallotOrderNo(), this.candidatesRunningInElection.getActive(candidateID));
+            }
+        }
+        bucket.delete();
+    }
+
+    /**
+     * Assigns a ballot to a candidate and declares the candidate winner if the candidate has reached the droop quota.
+     * @param ballotOrderNo Order number of the ballot.
+     * @param candidate Candidate to which the ballot is assigned.
+     * @throws IOException If the bucket of a winner candidate could not be deleted.
+     */
+    private void assignBallot(int ballotOrderNo, STVCandidate candidate) throws IOException {
+        if (this.reportWriter != null) {
+            writeBallotReport(ballotOrderNo, candidate);
+        }
+        candidate.addVote(ballotOrderNo);
+        // Check if the current candidate has reached droop and declare them winner accordingly.
+        if (candidate.getNumberOfVotesEarnedByCandidate() == this.droopQuota) {
+            declareWinner(candidate);
+        }
+    }
+
+    /**
+     * Add the candidate to the winners list and remove them from the election. The ballots of
+     * a winner are never transferred, so the bucket of the candidate is deleted.
+     * @param winnerCandidate Winner candidate.
+     * @throws IOException If the bucket of the candidate could not be deleted.
+     */
+    private void declareWinner(STVCandidate winnerCandidate) throws IOException {
+        writeWinnerCandidateReport(winnerCandidate);
+        this.winnerCandidates.add(winnerCandidate);
+        this.candidatesRunningInElection.deactivate(winnerCandidate.getCandidateID());
+        this.candidateBuckets[(int) winnerCandidate.getCandidateID()].delete();
+    }
+
+    /**
+     * Drops the candidate with the least number of votes from the election and transfers their ballots.
+     * If multiple candidates have the least number of votes, the candidate whose first ballot comes last
+     * in order is dropped, and among candidates without any ballot the one with the lowest ID, the same
+     * way as the STVVoteCounter resolves the tie.
+     * @throws IOException If the buckets could not be read or written.
+     */
+    private void dropCandidateFromElection() throws IOException {
+        // Every candidate that is dropped starts a new round.
+        this.roundNo++;
+        STVCandidate candidateToBeDropped = null;
+        // The active candidates are listed in increasing order of their IDs.
+        for (STVCandidate candidate : this.candidatesRunningInElection.activeValues()) {
+            if (candidateToBeDropped == null
+                    || candidate.getNumberOfVotesEarnedByCandidate() < candidateToBeDropped.getNumberOfVotesEarnedByCandidate()
+                    || (candidate.getNumberOfVotesEarnedByCandidate() == candidateToBeDropped.getNumberOfVotesEarnedByCandidate()
+                        && candidate.getOrderNoOfFirstBallotOfCandidate() > candidateToBeDropped.getOrderNoOfFirstBallotOfCandidate())) {
+                candidateToBeDropped = candidate;
+            }
+        }
+        writeDroppedCandidateReport(candidateToBeDropped);
+        this.droppedCandidates.add(candidateToBeDropped);
+        this.candidatesRunningInElection.deactivate(candidateToBeDropped.getCandidateID());
+        // Only the ballots of the dropped candidate are read from disk and transferred.
+        transferBallots(this.candidateBuckets[(int) candidateToBeDropped.getCandidateID()]);
+    }
+
+    /**
+     * Implement voting algorithm (STV type) on the election (information loaded through the input file).
+     * First writes all the ballots of the input file to disk and distributes them to the buckets of
+     * their first preferences. Then in every round drops a candidate and transfers only the ballots of
+     * that candidate, until the number of seats that need to be filled are filled with the winner candidates.
+     * The bucket files are deleted once the count is over, even if it could not be completed.
+     */
+    public void implementVoting() {
+        if (this.reportGenerateFlag) {
+            // Open the report file, the report is written while the votes are counted.
+            openReportFile();
+        }
+        try {
+            this.bucketDirectory = this.spillDirectory == null ? Files.createTempDirectory(BUCKET_DIRECTORY_PREFIX)
+                    : Files.createTempDirectory(this.spillDirectory, BUCKET_DIRECTORY_PREFIX);
+            countVotes();
+        } catch (IOException e) {
+            System.out.println("IO Exception when writing the ballots to disk");
+            e.printStackTrace();
+            writeReportToFile();
+        } finally {
+            deleteBuckets();
+        }
+    }
+
+    /**
+     * Loads the election, counts all the rounds, prints the results of the election and completes the report.
+     * @throws IOException If the buckets could not be read or written.
+     */
+    private void countVotes() throws IOException {
+        loadElectionFromInputFile();
+        this.countMetrics.recordCountStarted(this.numOfCandidatesRunningInElection);
+        this.numOfCandidatesRecorded = this.numOfCandidatesRunningInElection;
+        long distributeStartTime = System.nanoTime();
+        // Calculate the droop quota for the election.
+        setDroopQuota();
+        if (this.droppedCandidates.size() < this.numOfCandidatesRunningInElection - this.numOfSeatsToBeFilled) {
+            // Distribute the election ballots to the buckets of their first preferences.
+            transferBallots(this.electionBallots);
+            this.countMetrics.recordDistribution(this.numOfBallotsExhausted, System.nanoTime() - distributeStartTime);
+            recordCandidatesRemaining();
+        }
+        while (this.droppedCandidates.size() < this.numOfCandidatesRunningInElection - this.numOfSeatsToBeFilled) {
+            long roundStartTime = System.nanoTime();
+            ElectionEvents.STVRoundEvent roundEvent = new ElectionEvents.STVRoundEvent();
+            roundEvent.begin();
+            this.numOfBallotsTransferred = 0;
+            this.numOfBallotsExhausted = 0;
+            // Drop a candidate from the election and transfer their ballots.
+            dropCandidateFromElection();
+            this.countMetrics.recordRound(this.numOfBallotsTransferred, this.numOfBallotsExhausted, System.nanoTime() - roundStartTime);
+            recordCandidatesRemaining();
+            roundEvent.end();
+            if (roundEvent.shouldCommit()) {
+                roundEvent.roundNo = this.roundNo;
+                roundEvent.droppedCandidateName = this.droppedCandidates.get(this.droppedCandidates.size() - 1).getCandidateName();
+                roundEvent.numOfBallotsMoved = this.numOfBallotsTransferred;
+                roundEvent.numOfBallotsExhausted = this.numOfBallotsExhausted;
+                roundEvent.numOfCandidatesRemaining = this.numOfCandidatesRecorded;
+                roundEvent.commit();
+            }
+        }
+        // Fill the required number of seats with the appropriate number of candidates.
+        if (this.winnerCandidates.size() < this.numOfSeatsToBeFilled) {
+            this.winnerCandidates.addAll(this.candidatesRunningInElection.activeValues());
+        }
+        // Reversing the dropped candidate list to print the correct order of candidates.
+        Collections.reverse(this.droppedCandidates);
+        long reportStartTime = System.nanoTime();
+        // Print the results of the election to the Standard Output.
+        printElectionResults();
+        // Write the rest of the report to the output file.
+        writeReportToFile();
+        this.countMetrics.recordReport(System.nanoTime() - reportStartTime);
+        this.countMetrics.recordCandidatesRemoved(this.numOfCandidatesRecorded);
+        this.numOfCandidatesRecorded = 0;
+        this.countMetrics.recordCountCompleted();
+        if (this.metricsSummaryFlag) {
+            System.out.print(this.countMetrics.getSummary());
+        }
+    }
+
+    /**
+     * Records in the metrics the candidates that are no longer running since the last time it was recorded.
+     */
+    private void recordCandidatesRemaining() {
+        int numOfCandidatesRemaining = this.numOfCandidatesRunningInElection - this.winnerCandidates.size() - this.droppedCandidates.size();
+        this.countMetrics.recordCandidatesRemoved(this.numOfCandidatesRecorded - numOfCandidatesRemaining);
+        this.numOfCandidatesRecorded = numOfCandidatesRemaining;
+    }
+
+    /**
+     * Deletes all the bucket files of the count and their directory.
+     */
+    private void deleteBuckets() {
+        if (this.bucketDirectory == null) {
+            return;
+        }
+        try {
+            if (this.electionBallots != null) {
+                this.electionBallots.delete();
+            }
+            for (STVBallotBucket candidateBucket : this.candidateBuckets) {
+                candidateBucket.delete();
+            }
+            Files.deleteIfExists(this.bucketDirectory);
+        } catch (IOException e) {
+            System.out.println("IO Exception when deleting the ballots from disk");
+            e.printStackTrace();
+        }
+        this.bucketDirectory = null;
+    }
+
+    /**
+     * Print the election results to the standard output (Terminal).
+     */
+    private void printElectionResults() {
+        System.out.print("Droop Quota = ");
+        System.out.println(this.droopQuota);
+        System.out.println("Winner Candidates - ");
+        for (STVCandidate winnerCandidate : this.winnerCandidates) {
+            System.out.println(winnerCandidate);
+        }
+        System.out.println("Dropped Candidates - ");
+        for (STVCandidate droppedCandidate : this.droppedCandidates) {
+            System.out.println(droppedCandidate);
+        }
+    }
+
+    /**
+     * Adds the content to the report about particular
+     * ballot that was assigned to a candidate in the voting.
+     * @param ballotOrderNo The order number of the ballot, which is also its serial number.
+     * @param candidate The candidate to which the ballot was assigned.
+     */
+    private void writeBallotReport(int ballotOrderNo, STVCandidate candidate)
+    {
+        this.reportWriter.append("\nBallot No. ");
+        this.reportWriter.append(ballotOrderNo);
+        this.reportWriter.append(" is assigned to Candidate - ");
+        this.reportWriter.append(candidate.getCandidateName());
+        this.reportWriter.append("\n---------------");
+    }
+
+    /**
+     * Adds the content to the report about particular
+     * candidate that was declared as a winner.
+     * @param winnerCandidate The candidate which was declared winner.
+     */
+    private void writeWinnerCandidateReport(STVCandidate winnerCandidate)
+    {
+        if (this.reportWriter == null) {
+            return;
+        }
+        this.reportWriter.append("\nCandidate - ");
+        this.reportWriter.append(winnerCandidate.getCandidateName());
+        this.reportWriter.append(" is a winner!");
+        this.reportWriter.append("\n---------------");
+    }
+
+    /**
+     * Adds the content to the report about particular
+     * candidate that was declared as a dropped candidate.
+     * @param droppedCandidate The candidate which was declared dropped.
+     */
+    private void writeDroppedCandidateReport(STVCandidate droppedCandidate)
+    {
+        if (this.reportWriter == null) {
+            return;
+        }
+        this.reportWriter.append("\nCandidate - ");
+        this.reportWriter.append(droppedCandidate.getCandidateName());
+        this.reportWriter.append(" has been dropped!");
+        this.reportWriter.append("\n---------------");
+    }
+
+    /**
+     * Function responsible to open the output file of the report. The content of the report
+     * is streamed to the file while the votes are counted, so it is never held in memory as a whole.
+     */
+    private void openReportFile()
+    {
+        this.reportWriter = new ReportWriter(REPORT_FILE_NAME, false);
+    }
+
+    /**
+     * Function responsible to write the rest of the data of the report to the output file and close it.
+     */
+    private void writeReportToFile()
+    {
+        if (this.reportWriter != null) {
+            this.reportWriter.close();
+            this.reportWriter = null;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class ExternalSTVVoteCounterTest {
+
+    private static final String[] INPUT_FILE_NAMES = {
+            "../testing/testingCSVFiles/STV1000Votes10Candidates.csv",
+            "../testing/testingCSVFiles/STV200Votes10CandidatesRandom.csv",
+            "../testing/testingCSVFiles/STV50Votes4Candidates.csv"
+    };
+
+    @org.junit.jupiter.api.Test
+    void implementVotingSameAsInMemory() {
+        for (String inputFileName : INPUT_FILE_NAMES) {
+            for (int numOfSeats = 1; numOfSeats <= 3; numOfSeats++) {
+                STVVoteCounter inMemory = new STVVoteCounter(inputFileName, numOfSeats, false, false);
+                inMemory.implementVoting();
+                ExternalSTVVoteCounter tester = new ExternalSTVVoteCounter(inputFileName, numOfSeats);
+                tester.implementVoting();
+                assertEquals(tester.getWinnerCandidates().toString(), inMemory.getWinnerCandidates().toString());
+                assertEquals(tester.getDroppedCandidates().toString(), inMemory.getDroppedCandidates().toString());
+            }
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void implementVotingWithFewOpenFiles() {
+        // the elections have 4 or 10 candidates, more than the 3 bucket files that can be open.
+        for (String inputFileName : INPUT_FILE_NAMES) {
+            STVVoteCounter inMemory = new STVVoteCounter(inputFileName, 2, false, false);
+            inMemory.implementVoting();
+            ExternalSTVVoteCounter tester = new ExternalSTVVoteCounter(inputFileName, 2);
+            tester.setMaxOpenBucketFiles(3);
+            tester.implementVoting();
+            assertEquals(tester.getWinnerCandidates().toString(), inMemory.getWinnerCandidates().toString());
+            assertEquals(tester.getDroppedCandidates().toString(), inMemory.getDroppedCandidates().toString());
+            assertTrue(tester.getBucketWriterPool().getNumOfReopens() > 0, "Should open the bucket files again");
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void deleteBuckets() throws IOException {
+        File spillDirectory = Files.createTempDirectory("spill").toFile();
+        spillDirectory.deleteOnExit();
+        ExternalSTVVoteCounter tester = new ExternalSTVVoteCounter(INPUT_FILE_NAMES[0], 3);
+        tester.setSpillDirectory(spillDirectory.getPath());
+        tester.implementVoting();
+        assertEquals(tester.getWinnerCandidates().size(), 3, "Should be 3");
+        assertEquals(tester.getCountMetrics().getNumOfRoundsCompleted(), tester.getDroppedCandidates().size());
+        assertEquals(spillDirectory.list().length, 0, "Should delete the bucket files");
+    }
+}
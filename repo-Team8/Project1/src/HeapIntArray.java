@@ -0,0 +1,55 @@
+import java.util.Arrays;
+/**
+ * <h1>HeapIntArray</h1>
+ * HeapIntArray - is a class that holds an IntArray in an int[] in the heap. This is how the vote counters
+ * keep the ballots unless they are asked to keep them outside of the heap.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class HeapIntArray implements IntArray {
+    /**
+     * Holds the numbers of the array.
+     */
+    private int[] numbers;
+
+    /**
+     * Creates a new HeapIntArray object filled with zeros.
+     * @param length Number of numbers of the array.
+     */
+    public HeapIntArray(int length) {
+        this.numbers = new int[length];
+    }
+
+    @Override
+    public int get(int index) {
+        return this.numbers[index];
+    }
+
+    @Override
+    public void set(int index, int value) {
+        this.numbers[index] = value;
+    }
+
+    @Override
+    public void set(int index, int[] values, int numOfValues) {
+        System.arraycopy(values, 0, this.numbers, index, numOfValues);
+    }
+
+    @Override
+    public int length() {
+        return this.numbers.length;
+    }
+
+    @Override
+    public void resize(int newLength) {
+        this.numbers = Arrays.copyOf(this.numbers, newLength);
+    }
+
+    @Override
+    public boolean isOffHeap() {
+        return false;
+    }
+}
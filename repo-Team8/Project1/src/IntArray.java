@@ -0,0 +1,70 @@
+/**
+ * <h1>IntArray</h1>
+ * IntArray - is an interface for the arrays of int numbers which hold the ballots of an election and the state
+ * of a count that grows with the number of ballots, so the vote counters can keep them either in the heap or
+ * outside of it.
+ *
+ * An array outside of the heap is not scanned or copied by the garbage collector, so an election with many
+ * millions of ballots keeps the heap small and the pauses short. Unlike an int[], an IntArray is resized in
+ * place, so growing or trimming an array outside of the heap does not copy the numbers it already holds.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public interface IntArray {
+    /**
+     * Creates a new array filled with zeros.
+     * @param length Number of numbers of the array.
+     * @param offHeapFlag Describes whether the array is kept outside of the heap.
+     * @return IntArray - The array.
+     */
+    static IntArray allocate(int length, boolean offHeapFlag) {
+        if (offHeapFlag) {
+            return new OffHeapIntArray(length);
+        }
+        return new HeapIntArray(length);
+    }
+
+    /**
+     * Returns a number of the array.
+     * @param index Index of the number.
+     * @return int - The number.
+     */
+    int get(int index);
+
+    /**
+     * Replaces a number of the array.
+     * @param index Index of the number.
+     * @param value New number.
+     */
+    void set(int index, int value);
+
+    /**
+     * Replaces some numbers of the array, one after the other, with the numbers of an int[].
+     * @param index Index of the first number to replace.
+     * @param values Array holding the new numbers.
+     * @param numOfValues Number of entries of values to copy.
+     */
+    void set(int index, int[] values, int numOfValues);
+
+    /**
+     * Returns the number of numbers of the array.
+     * @return int - Length of the array.
+     */
+    int length();
+
+    /**
+     * Changes the length of the array, keeping the numbers that fit in the new length.
+     * New numbers are zeros, like the numbers of Arrays.copyOf.
+     * @param newLength New number of numbers of the array.
+     */
+    void resize(int newLength);
+
+    /**
+     * Returns whether the numbers of the array are kept outside of the heap.
+     * @return boolean - true if they are outside of the heap.
+     */
+    boolean isOffHeap();
+}
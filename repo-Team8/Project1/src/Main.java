@@ -1,7 +1,29 @@
+import java.util.Arrays;
 import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class Main {
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            // count a directory or manifest of elections in parallel instead of asking for a single election.
+            ElectionBatchRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--serve")) {
+            // keep a warm JVM which counts the elections posted to a local HTTP service.
+            ElectionCountServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--checkpoint")) {
+            // count a long STV election with checkpoints, or resume it from its latest checkpoint.
+            countWithCheckpoints(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--external")) {
+            // count a STV election whose ballots do not fit in memory with the ballots kept on disk.
+            countExternally(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         Scanner sc = new Scanner(System.in);
         System.out.println("Please enter the number of Candidates to be selected");
         int numOfCand = sc.nextInt();
@@ -11,6 +33,8 @@ public class Main {
         String filePath = sc.nextLine();
         System.out.println("Please enter the number of seats to be filled");
         int seatsFilled = sc.nextInt();
+        // every go counts the same input files, so they are only parsed the first time.
+        ElectionCache electionCache = new ElectionCache();
         int s;
         do {
             System.out.println("***************************VoteSys System 1.0************************************\n");
@@ -20,12 +44,14 @@ public class Main {
             if(num ==1) {
                 for (int i = 0; i < 10; i++) {
                     PluralityVoteCounter counter = new PluralityVoteCounter("./testing/testingCSVFIles/Plurality1000Votes10Candidates.csv", 10);
+                    counter.setElectionCache(electionCache);
                     counter.implementVoting();
                     System.out.println("****************************");
                 }
             }
             else if (num==2) {
         STVVoteCounter test = new STVVoteCounter("./testing/examplefile.csv", 3);
+        test.setElectionCache(electionCache);
         test.implementVoting();
             }
             else {
@@ -35,4 +61,117 @@ public class Main {
             s = sc.nextInt();
         } while (s==1);
     }
+
+    /**
+     * Counts a STV election with checkpoints. If the checkpoint exists the count is resumed from it,
+     * otherwise the count starts from the input file. Stopping the program (Ctrl-C) stops the count
+     * at the end of the current round with a checkpoint.
+     * @param args Checkpoint file, input file and number of seats, followed by the options --interval N (least
+     *             number of seconds between two checkpoints, default 60), --report, --shuffle and --off-heap (keep
+     *             the ballots outside of the heap).
+     */
+    private static void countWithCheckpoints(String[] args) {
+        if (args.length < 3) {
+            System.out.println("Usage: java Main --checkpoint <checkpoint> <input file> <seats> [--interval N] [--report] [--shuffle] [--off-heap]");
+            return;
+        }
+        long checkpointIntervalMillis = 60_000;
+        boolean reportGenerateFlag = false;
+        boolean shuffleFeatureFlag = false;
+        boolean offHeapBallotsFlag = false;
+        int seatsFilled;
+        try {
+            seatsFilled = Integer.parseInt(args[2]);
+            for (int argIndex = 3; argIndex < args.length; argIndex++) {
+                if (args[argIndex].equals("--report")) {
+                    reportGenerateFlag = true;
+                } else if (args[argIndex].equals("--shuffle")) {
+                    shuffleFeatureFlag = true;
+                } else if (args[argIndex].equals("--off-heap")) {
+                    offHeapBallotsFlag = true;
+                } else if (argIndex + 1 < args.length && args[argIndex].equals("--interval")) {
+                    checkpointIntervalMillis = Long.parseLong(args[++argIndex]) * 1000;
+                } else {
+                    System.out.println("Unknown option " + args[argIndex]);
+                    return;
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Please check the input");
+            return;
+        }
+        STVVoteCounter counter = new STVVoteCounter(args[1], seatsFilled, reportGenerateFlag, shuffleFeatureFlag);
+        counter.setCheckpointFile(args[0], checkpointIntervalMillis);
+        counter.setOffHeapBallotsFlag(offHeapBallotsFlag);
+        AtomicReference<STVVoteCounter> runningCounter = new AtomicReference<>(counter);
+        Thread countingThread = Thread.currentThread();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            runningCounter.get().stopCounting();
+            try {
+                countingThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        if (STVCheckpoint.exists(args[0])) {
+            System.out.println("Resuming the count from " + args[0]);
+            if (counter.resumeVoting()) {
+                return;
+            }
+            // the checkpoint cannot be used, count again from the input file.
+            counter = new STVVoteCounter(args[1], seatsFilled, reportGenerateFlag, shuffleFeatureFlag);
+            counter.setCheckpointFile(args[0], checkpointIntervalMillis);
+            counter.setOffHeapBallotsFlag(offHeapBallotsFlag);
+            runningCounter.set(counter);
+        }
+        counter.implementVoting();
+    }
+
+    /**
+     * Counts a STV election with its ballots kept on disk, in one bucket file per candidate, so only the
+     * candidates are held in memory. The ballots are not shuffled.
+     * @param args Input file and number of seats, followed by the options --report, --spill-dir DIR (directory
+     *             of the bucket files, default the temporary directory), --open-files N (most bucket files open at
+     *             the same time, default 64) and --metrics (print the metrics of the count).
+     */
+    private static void countExternally(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: java Main --external <input file> <seats> [--report] [--spill-dir DIR] [--open-files N] [--metrics]");
+            return;
+        }
+        boolean reportGenerateFlag = false;
+        boolean metricsSummaryFlag = false;
+        String spillDirectoryName = null;
+        int maxOpenBucketFiles = ExternalSTVVoteCounter.DEFAULT_MAX_OPEN_BUCKET_FILES;
+        int seatsFilled;
+        try {
+            seatsFilled = Integer.parseInt(args[1]);
+            for (int argIndex = 2; argIndex < args.length; argIndex++) {
+                if (args[argIndex].equals("--report")) {
+                    reportGenerateFlag = true;
+                } else if (args[argIndex].equals("--metrics")) {
+                    metricsSummaryFlag = true;
+                } else if (argIndex + 1 < args.length && args[argIndex].equals("--spill-dir")) {
+                    spillDirectoryName = args[++argIndex];
+                } else if (argIndex + 1 < args.length && args[argIndex].equals("--open-files")) {
+                    maxOpenBucketFiles = Integer.parseInt(args[++argIndex]);
+                } else {
+                    System.out.println("Unknown option " + args[argIndex]);
+                    return;
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Please check the input");
+            return;
+        }
+        if (maxOpenBucketFiles < 1) {
+            System.out.println("Please check the input");
+            return;
+        }
+        ExternalSTVVoteCounter counter = new ExternalSTVVoteCounter(args[0], seatsFilled, reportGenerateFlag);
+        counter.setSpillDirectory(spillDirectoryName);
+        counter.setMaxOpenBucketFiles(maxOpenBucketFiles);
+        counter.setMetricsSummaryFlag(metricsSummaryFlag);
+        counter.implementVoting();
+    }
 }
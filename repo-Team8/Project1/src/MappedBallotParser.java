@@ -0,0 +1,205 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+/**
+ * <h1>MappedBallotParser</h1>
+ * MappedBallotParser - is a class that is responsible to parse the ballots of an input file
+ * directly from the raw bytes of the file.
+ *
+ * The input file is memory mapped through a FileChannel (in windows of a fixed size so that files larger
+ * than 2GB can be parsed) and the bytes are scanned for commas and new lines. The preference numbers are
+ * decoded straight from the digits into a primitive array which is reused for every ballot, so parsing
+ * a ballot does not allocate any objects (no lines, no split arrays and no trimmed strings).
+ *
+ * The parser keeps its position inside a ballot between two windows, so a ballot can start in one
+ * window and end in the next one.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class MappedBallotParser {
+    /**
+     * Holds the number of bytes of the input file that are mapped into memory at a time.
+     */
+    private static final long MAPPED_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * Holds the channel of the input file that is being parsed.
+     */
+    private FileChannel channel;
+
+    /**
+     * Holds the preference numbers of the ballot that is currently being parsed, indexed by candidate ID.
+     * This array is reused for every ballot in the file.
+     */
+    private int[] ballotRanks;
+
+    /**
+     * Creates a new MappedBallotParser object that parses the ballots of an input file.
+     * @param channel Channel of the input file. The channel is not closed by the parser.
+     * @param numOfCandidates Number of candidates running in the election (number of columns in the header).
+     */
+    public MappedBallotParser(FileChannel channel, int numOfCandidates) {
+        this.channel = channel;
+        this.ballotRanks = new int[numOfCandidates];
+    }
+
+    /**
+     * Reads the first line (header) of the input file.
+     * @param channel Channel of the input file.
+     * @param charset Character set used to decode the header.
+     * @return String - The header without the line terminator, or null if the file is empty.
+     * @throws IOException If the file could not be read.
+     */
+    public static String readHeader(FileChannel channel, Charset charset) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize == 0) {
+            return null;
+        }
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        for (long windowStart = 0; windowStart < fileSize; windowStart += MAPPED_WINDOW_SIZE) {
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(MAPPED_WINDOW_SIZE, fileSize - windowStart));
+            while (window.hasRemaining()) {
+                byte currentByte = window.get();
+                if (currentByte == '\n') {
+                    return decodeHeader(header, charset);
+                }
+                header.write(currentByte);
+            }
+        }
+        return decodeHeader(header, charset);
+    }
+
+    /**
+     * Decodes the bytes of the header into a string and drops the carriage return of a CRLF terminator.
+     * @param header Bytes of the header.
+     * @param charset Character set used to decode the header.
+     * @return String - The header.
+     */
+    private static String decodeHeader(ByteArrayOutputStream header, Charset charset) {
+        String headerLine = new String(header.toByteArray(), charset);
+        if (headerLine.endsWith("\r")) {
+            headerLine = headerLine.substring(0, headerLine.length() - 1);
+        }
+        return headerLine;
+    }
+
+    /**
+     * Returns the position of the first byte after the header (first line) of the input file.
+     * @param channel Channel of the input file.
+     * @return long - Position of the first ballot in the file, or the size of the file if there are no ballots.
+     * @throws IOException If the file could not be read.
+     */
+    public static long findFirstBallotPosition(FileChannel channel) throws IOException {
+        return findNextLinePosition(channel, 0);
+    }
+
+    /**
+     * Returns the position of the first byte of the line following the given position.
+     * @param channel Channel of the input file.
+     * @param position Position inside the file from where the new line is searched.
+     * @return long - Position of the next line, or the size of the file if there is no next line.
+     * @throws IOException If the file could not be read.
+     */
+    public static long findNextLinePosition(FileChannel channel, long position) throws IOException {
+        long fileSize = channel.size();
+        for (long windowStart = position; windowStart < fileSize; windowStart += MAPPED_WINDOW_SIZE) {
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(MAPPED_WINDOW_SIZE, fileSize - windowStart));
+            while (window.hasRemaining()) {
+                if (window.get() == '\n') {
+                    return windowStart + window.position();
+                }
+            }
+        }
+        return fileSize;
+    }
+
+    /**
+     * Parses every ballot between two positions of the input file and loads them to the handler.
+     * Both positions are expected to be the first byte of a line (or the end of the file).
+     * @param startPosition Position of the first byte of the first ballot.
+     * @param endPosition Position up to which the ballots are parsed (exclusive).
+     * @param firstBallotSerialNo Serial number of the first ballot parsed.
+     * @param handler Handler which receives every ballot parsed.
+     * @return int - Number of ballots parsed.
+     * @throws IOException If the file could not be read.
+     */
+    public int parseBallots(long startPosition, long endPosition, int firstBallotSerialNo, ElectionFileHandler handler) throws IOException {
+        int ballotSerialNo = firstBallotSerialNo;
+        // Candidate ID (column) of the field that is currently being parsed.
+        int candidateID = 0;
+        // Preference number decoded so far for the current field.
+        int preferenceNumber = 0;
+        // Whether a digit of the current field has been seen, and whether a space has been seen after it.
+        // Spaces are only allowed around the digits of a field, not between them.
+        boolean preferenceStarted = false;
+        boolean preferenceEnded = false;
+        // Whether any byte of the current ballot has been seen. Used to find a last line without a new line.
+        boolean ballotStarted = false;
+        Arrays.fill(this.ballotRanks, 0);
+        for (long windowStart = startPosition; windowStart < endPosition; windowStart += MAPPED_WINDOW_SIZE) {
+            MappedByteBuffer window = this.channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(MAPPED_WINDOW_SIZE, endPosition - windowStart));
+            int windowLimit = window.limit();
+            for (int index = 0; index < windowLimit; index++) {
+                byte currentByte = window.get(index);
+                if (currentByte >= '0' && currentByte <= '9') {
+                    // a preference number that does not fit in an int, or digits separated by a space, are rejected
+                    // the same way Integer.parseInt does after the field is trimmed.
+                    if (preferenceEnded || preferenceNumber > (Integer.MAX_VALUE - (currentByte - '0')) / 10) {
+                        throw new NumberFormatException("Invalid preference in ballot " + ballotSerialNo);
+                    }
+                    preferenceNumber = preferenceNumber * 10 + (currentByte - '0');
+                    preferenceStarted = true;
+                    ballotStarted = true;
+                } else if (currentByte == ',') {
+                    storePreference(candidateID, preferenceNumber);
+                    candidateID++;
+                    preferenceNumber = 0;
+                    preferenceStarted = false;
+                    preferenceEnded = false;
+                    ballotStarted = true;
+                } else if (currentByte == '\n') {
+                    storePreference(candidateID, preferenceNumber);
+                    handler.loadBallot(ballotSerialNo, this.ballotRanks);
+                    ballotSerialNo++;
+                    // reset the state for the next ballot.
+                    candidateID = 0;
+                    preferenceNumber = 0;
+                    preferenceStarted = false;
+                    preferenceEnded = false;
+                    ballotStarted = false;
+                    Arrays.fill(this.ballotRanks, 0);
+                } else if (currentByte != ' ' && currentByte != '\t' && currentByte != '\r') {
+                    throw new NumberFormatException("Invalid preference in ballot " + ballotSerialNo);
+                } else {
+                    preferenceEnded = preferenceStarted;
+                    ballotStarted = true;
+                }
+            }
+        }
+        // The last ballot of the file may not be terminated by a new line.
+        if (ballotStarted) {
+            storePreference(candidateID, preferenceNumber);
+            handler.loadBallot(ballotSerialNo, this.ballotRanks);
+            ballotSerialNo++;
+        }
+        return ballotSerialNo - firstBallotSerialNo;
+    }
+
+    /**
+     * Stores the preference number of a field into the ranks of the current ballot.
+     * Fields beyond the number of candidates in the header are ignored.
+     * @param candidateID Candidate ID (column) of the field.
+     * @param preferenceNumber Preference number decoded from the field, 0 if the field is blank.
+     */
+    private void storePreference(int candidateID, int preferenceNumber) {
+        if (candidateID < this.ballotRanks.length) {
+            this.ballotRanks[candidateID] = preferenceNumber;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+/**
+ * <h1>OffHeapIntArray</h1>
+ * OffHeapIntArray - is a class that holds an IntArray outside of the heap, in direct buffers.
+ *
+ * The numbers are split into chunks of 1M numbers (4 MB), each held in its own direct buffer, so an array is not
+ * limited to the 2 GB of a single buffer and growing or trimming the array only allocates or releases its last
+ * chunks instead of copying all of its numbers. The memory of a chunk is released once the garbage collector finds
+ * that its buffer is no longer used. The direct buffers of the process cannot hold more than the
+ * -XX:MaxDirectMemorySize option of the JVM, which is the maximum size of the heap unless it is set.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class OffHeapIntArray implements IntArray {
+    /**
+     * Holds the number of bits of the index of a number within its chunk.
+     */
+    private static final int CHUNK_SHIFT = 20;
+
+    /**
+     * Holds the number of numbers of a full chunk.
+     */
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    /**
+     * Holds the mask which takes the index of a number within its chunk out of the index of the number.
+     */
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * Holds the chunks of the array. Every chunk is full, except the last one which only has room
+     * for the numbers of the array.
+     */
+    private IntBuffer[] chunks;
+
+    /**
+     * Holds the number of numbers of the array.
+     */
+    private int length;
+
+    /**
+     * Creates a new OffHeapIntArray object filled with zeros.
+     * @param length Number of numbers of the array.
+     */
+    public OffHeapIntArray(int length) {
+        this.chunks = new IntBuffer[0];
+        this.length = 0;
+        resize(length);
+    }
+
+    /**
+     * Creates a new chunk filled with zeros.
+     * @param chunkSize Number of numbers of the chunk.
+     * @return IntBuffer - The chunk.
+     */
+    private static IntBuffer allocateChunk(int chunkSize) {
+        return ByteBuffer.allocateDirect(chunkSize * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    @Override
+    public int get(int index) {
+        if (index >= this.length) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return this.chunks[index >>> CHUNK_SHIFT].get(index & CHUNK_MASK);
+    }
+
+    @Override
+    public void set(int index, int value) {
+        if (index >= this.length) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        this.chunks[index >>> CHUNK_SHIFT].put(index & CHUNK_MASK, value);
+    }
+
+    @Override
+    public void set(int index, int[] values, int numOfValues) {
+        if (index < 0 || numOfValues < 0 || index > this.length - numOfValues) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        int valueIndex = 0;
+        while (valueIndex < numOfValues) {
+            int chunkIndex = (index + valueIndex) & CHUNK_MASK;
+            int numOfChunkValues = Math.min(numOfValues - valueIndex, CHUNK_SIZE - chunkIndex);
+            this.chunks[(index + valueIndex) >>> CHUNK_SHIFT].put(chunkIndex, values, valueIndex, numOfChunkValues);
+            valueIndex += numOfChunkValues;
+        }
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public void resize(int newLength) {
+        if (newLength < 0) {
+            throw new NegativeArraySizeException(Integer.toString(newLength));
+        }
+        int numOfChunks = (int) (((long) newLength + CHUNK_SIZE - 1) >>> CHUNK_SHIFT);
+        int numOfKeptChunks = Math.min(numOfChunks, this.chunks.length);
+        IntBuffer[] newChunks = Arrays.copyOf(this.chunks, numOfChunks);
+        for (int chunk = 0; chunk < numOfChunks; chunk++) {
+            int chunkSize = Math.min(CHUNK_SIZE, newLength - (chunk << CHUNK_SHIFT));
+            if (chunk < numOfKeptChunks && newChunks[chunk].capacity() == chunkSize) {
+                continue;
+            }
+            IntBuffer newChunk = allocateChunk(chunkSize);
+            if (chunk < numOfKeptChunks) {
+                // only a partial last chunk is ever copied, every other chunk is kept as it is.
+                IntBuffer oldChunk = newChunks[chunk].duplicate();
+                oldChunk.limit(Math.min(oldChunk.capacity(), chunkSize));
+                newChunk.put(oldChunk);
+                newChunk.clear();
+            }
+            newChunks[chunk] = newChunk;
+        }
+        this.chunks = newChunks;
+        this.length = newLength;
+    }
+
+    @Override
+    public boolean isOffHeap() {
+        return true;
+    }
+}
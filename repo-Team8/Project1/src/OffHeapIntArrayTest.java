@@ -0,0 +1,35 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class OffHeapIntArrayTest {
+
+    // one full chunk of 1M numbers and a few numbers of a second chunk.
+    private static final int LENGTH = (1 << 20) + 5;
+
+    @org.junit.jupiter.api.Test
+    void setAcrossChunks() {
+        OffHeapIntArray tester = new OffHeapIntArray(LENGTH);
+        assertEquals(tester.length(), LENGTH, "Should be the length");
+        assertEquals(tester.get(LENGTH - 1), 0, "Should be 0");
+        tester.set((1 << 20) - 2, new int[]{7, 8, 9, 10}, 4);
+        assertEquals(tester.get((1 << 20) - 1), 8, "Should be 8");
+        assertEquals(tester.get(1 << 20), 9, "Should be 9");
+        assertEquals(tester.get((1 << 20) + 1), 10, "Should be 10");
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> tester.get(LENGTH));
+    }
+
+    @org.junit.jupiter.api.Test
+    void resize() {
+        OffHeapIntArray tester = new OffHeapIntArray(3);
+        tester.set(2, 42);
+        tester.resize(LENGTH);
+        tester.set(LENGTH - 1, 43);
+        assertEquals(tester.get(2), 42, "Should be 42");
+        assertEquals(tester.get(3), 0, "Should be 0");
+        tester.resize(LENGTH + 10);
+        assertEquals(tester.get(LENGTH - 1), 43, "Should be 43");
+        tester.resize(3);
+        assertEquals(tester.length(), 3, "Should be 3");
+        assertEquals(tester.get(2), 42, "Should be 42");
+    }
+}
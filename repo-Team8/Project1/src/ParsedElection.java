@@ -0,0 +1,136 @@
+/**
+ * <h1>ParsedElection</h1>
+ * ParsedElection - is a class that holds an election parsed from an input file, so the same input file can be
+ * counted many times without parsing it again (see ElectionCache).
+ *
+ * A parsed election never changes once it has been created and is shared by every vote counter that counts the
+ * input file, on any thread. It only holds what was read from the file: the names of the candidates and the ballots.
+ * Everything that changes while the votes are counted (the candidate objects, the votes of the candidates, the
+ * ballot units of STV and the ballots credited to a candidate in Plurality) is created by every vote counter for its
+ * own count. The ballots are held in the form the vote counter of the type of voting reads them:
+ * <ul>
+ *     <li> STV - the trimmed store of ballots, which is only read while the votes are counted. </li>
+ *     <li> Plurality - the ID of the candidate every ballot was cast for (-1 for an illegal ballot). </li>
+ * </ul>
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class ParsedElection {
+    /**
+     * Holds the estimated number of bytes used by an object or an array apart from its content.
+     */
+    private static final long OBJECT_OVERHEAD = 16;
+
+    /**
+     * Holds the names of the candidates in order of their IDs.
+     */
+    private String[] candidateNames;
+
+    /**
+     * Holds the ballots of a STV based election. Null for a Plurality based election.
+     */
+    private STVBallotStore ballotStore;
+
+    /**
+     * Holds the ID of the candidate every ballot of a Plurality based election was cast for, indexed by
+     * ballot index. Null for a STV based election.
+     */
+    private int[] votedCandidateIDs;
+
+    /**
+     * Holds the estimated number of bytes of memory used by the parsed election.
+     */
+    private long sizeInBytes;
+
+    /**
+     * Creates a new ParsedElection object for a STV based election.
+     * @param candidateNames Names of the candidates in order of their IDs.
+     * @param ballotStore Store of the ballots. Must have been trimmed, it is not changed any more.
+     */
+    public ParsedElection(String[] candidateNames, STVBallotStore ballotStore) {
+        this.candidateNames = candidateNames.clone();
+        this.ballotStore = ballotStore;
+        this.votedCandidateIDs = null;
+        this.sizeInBytes = getNamesSizeInBytes() + ballotStore.getSizeInBytes();
+    }
+
+    /**
+     * Creates a new ParsedElection object for a Plurality based election.
+     * @param candidateNames Names of the candidates in order of their IDs.
+     * @param votedCandidateIDs ID of the candidate every ballot was cast for, indexed by ballot index.
+     *                          The array is not copied and must not be changed any more.
+     */
+    public ParsedElection(String[] candidateNames, int[] votedCandidateIDs) {
+        this.candidateNames = candidateNames.clone();
+        this.ballotStore = null;
+        this.votedCandidateIDs = votedCandidateIDs;
+        this.sizeInBytes = getNamesSizeInBytes() + OBJECT_OVERHEAD + (long) votedCandidateIDs.length * Integer.BYTES;
+    }
+
+    /**
+     * Returns the number of candidates running in the election.
+     * @return int - Number of candidates.
+     */
+    public int getNumOfCandidates() {
+        return this.candidateNames.length;
+    }
+
+    /**
+     * Returns the number of ballots cast in the election.
+     * @return int - Number of ballots.
+     */
+    public int getNumOfBallots() {
+        return this.ballotStore != null ? this.ballotStore.getNumOfBallots() : this.votedCandidateIDs.length;
+    }
+
+    /**
+     * Returns the store of the ballots of a STV based election. The store is shared and must only be read.
+     * @return STVBallotStore - Store of the ballots, null for a Plurality based election.
+     */
+    public STVBallotStore getBallotStore() {
+        return this.ballotStore;
+    }
+
+    /**
+     * Returns the ID of the candidate a ballot of a Plurality based election was cast for.
+     * @param ballotIndex Index of the ballot (serial number - 1).
+     * @return int - ID of the candidate, -1 if the ballot is illegal.
+     */
+    public int getVotedCandidateID(int ballotIndex) {
+        return this.votedCandidateIDs[ballotIndex];
+    }
+
+    /**
+     * Returns the estimated number of bytes of memory used by the parsed election.
+     * @return long - Size in bytes.
+     */
+    public long getSizeInBytes() {
+        return this.sizeInBytes;
+    }
+
+    /**
+     * Loads every candidate to the handler in order of their IDs, the same way the ElectionFileLoader does,
+     * so the vote counter creates its own candidate objects.
+     * @param handler Handler which receives every candidate.
+     */
+    public void loadCandidates(ElectionFileHandler handler) {
+        for (int candidateID = 0; candidateID < this.candidateNames.length; candidateID++) {
+            handler.loadCandidate(candidateID, this.candidateNames[candidateID]);
+        }
+    }
+
+    /**
+     * Returns the estimated number of bytes of memory used by the names of the candidates.
+     * @return long - Size in bytes.
+     */
+    private long getNamesSizeInBytes() {
+        long namesSize = OBJECT_OVERHEAD + (long) this.candidateNames.length * Long.BYTES;
+        for (String candidateName : this.candidateNames) {
+            namesSize += 2 * OBJECT_OVERHEAD + 2L * candidateName.length();
+        }
+        return namesSize;
+    }
+}
@@ -41,6 +41,12 @@ public class PluralityCandidate implements Candidate, Comparable<PluralityCandid
      */
     private ArrayList<PluralityBallot> candidateBallots;
 
+    /**
+     * Holds the number of votes that were counted for the candidate without
+     * keeping the ballots (streaming count by the vote counter).
+     */
+    private int numOfCountedVotes;
+
     /**
      * Creates a new PluralityCandidate object that represents the
      * Candidate engaged in Plurality type voting.
@@ -52,6 +58,7 @@ public class PluralityCandidate implements Candidate, Comparable<PluralityCandid
         this.candidateName = candidateName;
         this.selected = false;
         this.candidateBallots = new ArrayList<>();
+        this.numOfCountedVotes = 0;
     }
 
     @Override
@@ -76,7 +83,7 @@ public class PluralityCandidate implements Candidate, Comparable<PluralityCandid
 
     @Override
     public int getNumberOfVotesEarnedByCandidate() {
-        return this.candidateBallots.size();
+        return this.candidateBallots.size() + this.numOfCountedVotes;
     }
 
     @Override
@@ -98,6 +105,15 @@ public class PluralityCandidate implements Candidate, Comparable<PluralityCandid
         this.candidateBallots.add(inputBallot);
     }
 
+    /**
+     * Adds votes to the candidate that were counted by the vote counter without keeping
+     * the ballots. These votes are aggregated with the ballots assigned to the candidate.
+     * @param numOfVotes number of votes counted for the particular candidate
+     */
+    public void addCountedVotes(int numOfVotes) {
+        this.numOfCountedVotes += numOfVotes;
+    }
+
     /**
      * Overriding the compareTo function. Two candidates are compared on the basis of
      * number of votes they earned.
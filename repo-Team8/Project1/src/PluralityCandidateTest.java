@@ -93,4 +93,15 @@ class PluralityCandidateTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    void addCountedVotes() {
+        candidate = new PluralityCandidate(12345, "Test");
+        candidate.addCountedVotes(5);
+        assertEquals(candidate.getNumberOfVotesEarnedByCandidate(),5);
+
+        candidate.addBallot(new PluralityBallot(123, 0));
+        candidate.addCountedVotes(2);
+        assertEquals(candidate.getNumberOfVotesEarnedByCandidate(),8);
+    }
+
+}
@@ -0,0 +1,170 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.RecursiveAction;
+/**
+ * <h1>PluralityCountTask</h1>
+ * PluralityCountTask - is a class that counts the votes of the candidates in a range of bytes (shard)
+ * of an input file for Plurality based Voting. The task is run on a ForkJoinPool.
+ *
+ * If the shard is larger than the shard size, the task splits it at a new line boundary close to the
+ * middle of the shard into two smaller tasks which are counted in parallel. Every task counts its shard
+ * into its own tally and the tallies of the two halves are merged once both of them are counted. The
+ * merged tallies are the same as the tallies of a sequential count through the whole file.
+ *
+ * Ballots are numbered from 1 inside every shard, and the number of ballots of every shard is kept.
+ * Because the halves are merged in the order they appear in the file, the serial number of a ballot
+ * in the file is its number inside the shard plus the number of ballots in the shards before it.
+ * A shard stops at its first ballot that cannot be parsed and keeps the number of that ballot, which
+ * the merge offsets by the ballots of the first half, so the root task holds its serial number in the file.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class PluralityCountTask extends RecursiveAction implements ElectionFileHandler {
+    /**
+     * Holds the version of the serialized form, which RecursiveAction inherits from ForkJoinTask.
+     * Tasks are never serialized, as they hold the open channel of the input file.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Holds the channel of the input file.
+     */
+    private FileChannel channel;
+
+    /**
+     * Holds the position of the first byte of the shard. Always the start of a line.
+     */
+    private long startPosition;
+
+    /**
+     * Holds the position after the last byte of the shard. Always the start of a line or the end of the file.
+     */
+    private long endPosition;
+
+    /**
+     * Holds the number of bytes up to which a shard is counted without splitting it.
+     */
+    private long shardSize;
+
+    /**
+     * Holds the vote counter which determines the candidate a ballot is cast for.
+     */
+    private PluralityVoteCounter voteCounter;
+
+    /**
+     * Holds the number of votes earned by every candidate in the shard, indexed by candidate ID.
+     */
+    private int[] candidateVoteTally;
+
+    /**
+     * Holds the number of ballots in the shard.
+     */
+    private int numOfBallots;
+
+    /**
+     * Holds the number inside the shard of the first ballot that could not be parsed, 0 if every ballot was parsed.
+     */
+    private int invalidBallotNo;
+
+    /**
+     * Creates a new PluralityCountTask object that counts the votes in a shard of the input file.
+     * @param channel Channel of the input file.
+     * @param startPosition Position of the first byte of the shard. Should be the start of a line.
+     * @param endPosition Position after the last byte of the shard. Should be the start of a line or the end of the file.
+     * @param shardSize Number of bytes up to which a shard is counted without splitting it.
+     * @param numOfCandidates Number of candidates running in the election.
+     * @param voteCounter Vote counter which determines the candidate a ballot is cast for.
+     */
+    public PluralityCountTask(FileChannel channel, long startPosition, long endPosition, long shardSize, int numOfCandidates, PluralityVoteCounter voteCounter) {
+        this.channel = channel;
+        this.startPosition = startPosition;
+        this.endPosition = endPosition;
+        this.shardSize = shardSize;
+        this.voteCounter = voteCounter;
+        this.candidateVoteTally = new int[numOfCandidates];
+        this.numOfBallots = 0;
+        this.invalidBallotNo = 0;
+    }
+
+    /**
+     * Returns the number of votes earned by every candidate in the shard.
+     * @return int[] - Number of votes indexed by candidate ID.
+     */
+    public int[] getCandidateVoteTally() {
+        return this.candidateVoteTally;
+    }
+
+    /**
+     * Returns the number of ballots in the shard.
+     * @return int - Number of ballots.
+     */
+    public int getNumOfBallots() {
+        return this.numOfBallots;
+    }
+
+    /**
+     * Returns the number inside the shard of the first ballot that could not be parsed. For the task of the
+     * whole file, this is the serial number of the ballot in the file.
+     * @return int - Number of the invalid ballot, 0 if every ballot was parsed.
+     */
+    public int getInvalidBallotNo() {
+        return this.invalidBallotNo;
+    }
+
+    @Override
+    protected void compute() {
+        try {
+            long splitPosition = this.endPosition;
+            if (this.endPosition - this.startPosition > this.shardSize) {
+                // split the shard at the first new line after the middle of the shard.
+                splitPosition = MappedBallotParser.findNextLinePosition(this.channel, this.startPosition + (this.endPosition - this.startPosition) / 2);
+            }
+            if (splitPosition >= this.endPosition) {
+                // the shard is small enough (or is a single line), so count it directly.
+                try {
+                    new MappedBallotParser(this.channel, this.candidateVoteTally.length).parseBallots(this.startPosition, this.endPosition, 1, this);
+                } catch (NumberFormatException e) {
+                    // the ballots before the invalid ballot have been loaded, so it is the next ballot of the shard.
+                    this.invalidBallotNo = this.numOfBallots + 1;
+                }
+                return;
+            }
+            int numOfCandidates = this.candidateVoteTally.length;
+            PluralityCountTask firstHalf = new PluralityCountTask(this.channel, this.startPosition, splitPosition, this.shardSize, numOfCandidates, this.voteCounter);
+            PluralityCountTask secondHalf = new PluralityCountTask(this.channel, splitPosition, this.endPosition, this.shardSize, numOfCandidates, this.voteCounter);
+            invokeAll(firstHalf, secondHalf);
+            // merge the tallies of both halves in the order they appear in the file.
+            this.numOfBallots = firstHalf.getNumOfBallots() + secondHalf.getNumOfBallots();
+            if (firstHalf.getInvalidBallotNo() > 0) {
+                this.invalidBallotNo = firstHalf.getInvalidBallotNo();
+            } else if (secondHalf.getInvalidBallotNo() > 0) {
+                // the ballots of the second half are numbered after all the ballots of the first half.
+                this.invalidBallotNo = firstHalf.getNumOfBallots() + secondHalf.getInvalidBallotNo();
+            }
+            for (int candidateID = 0; candidateID < numOfCandidates; candidateID++) {
+                this.candidateVoteTally[candidateID] = firstHalf.getCandidateVoteTally()[candidateID] + secondHalf.getCandidateVoteTally()[candidateID];
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void loadCandidate(long candidateID, String candidateName) {
+        // Candidates are loaded by the vote counter from the header before the shards are counted.
+    }
+
+    @Override
+    public void loadBallot(int ballotSerialNo, int[] ballotRanks) {
+        this.numOfBallots++;
+        long candidateID = this.voteCounter.getVotedCandidateIDFromBallotRanks(ballotRanks);
+        // Ballots that are not cast for any candidate are illegal and are not counted.
+        if (candidateID >= 0) {
+            this.candidateVoteTally[(int) candidateID]++;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PluralityCountTaskTest {
+
+    private int[] countInParallel(String inputFileName, long shardSize, int numOfCandidates, int[] numOfBallots) throws IOException {
+        try (RandomAccessFile inputFile = new RandomAccessFile(inputFileName, "r")) {
+            FileChannel channel = inputFile.getChannel();
+            PluralityCountTask countTask = new PluralityCountTask(channel, MappedBallotParser.findFirstBallotPosition(channel), channel.size(), shardSize, numOfCandidates, new PluralityVoteCounter(inputFileName));
+            ForkJoinPool.commonPool().invoke(countTask);
+            numOfBallots[0] = countTask.getNumOfBallots();
+            return countTask.getCandidateVoteTally();
+        }
+    }
+
+    @Test
+    void shardedCountMatchesSingleShard() throws IOException {
+        String inputFileName = "../testing/testingCSVFiles/Plurality1000Votes10Candidates.csv";
+        int[] numOfBallots = new int[1];
+        int[] singleShard = countInParallel(inputFileName, Long.MAX_VALUE, 10, numOfBallots);
+        assertEquals(1000, numOfBallots[0]);
+        // tiny shards force the file to be split into many shards at line boundaries.
+        for (long shardSize : new long[]{1, 7, 64, 1000}) {
+            int[] manyShards = countInParallel(inputFileName, shardSize, 10, numOfBallots);
+            assertArrayEquals(singleShard, manyShards);
+            assertEquals(1000, numOfBallots[0]);
+        }
+    }
+
+    @Test
+    void invalidBallotInSecondShard() throws IOException {
+        File inputFile = File.createTempFile("invalid", ".csv");
+        inputFile.deleteOnExit();
+        // ballot 6 is invalid, so it is in the second shard whenever the ballots are split.
+        Files.write(inputFile.toPath(), "A,B\n1,\n,1\n1,\n,1\n1,\n,x\n1,\n,1\n".getBytes());
+        for (long shardSize : new long[]{1, 7, 12, 20}) {
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(inputFile, "r")) {
+                FileChannel channel = randomAccessFile.getChannel();
+                PluralityCountTask countTask = new PluralityCountTask(channel, MappedBallotParser.findFirstBallotPosition(channel), channel.size(), shardSize, 2, new PluralityVoteCounter(inputFile.getPath()));
+                ForkJoinPool.commonPool().invoke(countTask);
+                assertEquals(countTask.getInvalidBallotNo(), 6, "Should be 6");
+            }
+        }
+        PluralityVoteCounter parallelCounter = new PluralityVoteCounter(inputFile.getPath(), 1, false, true);
+        NumberFormatException e = assertThrows(NumberFormatException.class, parallelCounter::implementVoting);
+        assertEquals(e.getMessage(), "Invalid preference in ballot 6");
+    }
+
+    @Test
+    void parallelCountMatchesSequentialCount() {
+        PluralityVoteCounter sequentialCounter = new PluralityVoteCounter("../testing/testingCSVFiles/Plurality200Votes10Candidates.csv", 3);
+        sequentialCounter.implementVoting();
+        PluralityVoteCounter parallelCounter = new PluralityVoteCounter("../testing/testingCSVFiles/Plurality200Votes10Candidates.csv", 3, false, true);
+        parallelCounter.implementVoting();
+        for (PluralityCandidate c : sequentialCounter.getCandidatesRunningInElection().values()) {
+            assertEquals(c.getNumberOfVotesEarnedByCandidate(), parallelCounter.getCandidatesRunningInElection().get(c.getCandidateID()).getNumberOfVotesEarnedByCandidate());
+        }
+        assertEquals(sequentialCounter.getWinnerCandidates().get(0).getCandidateName(), parallelCounter.getWinnerCandidates().get(0).getCandidateName());
+    }
+}
@@ -1,12 +1,14 @@
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.io.*;
+import java.nio.channels.FileChannel;
 /**
  * <h1>PluralityVoteCounter</h1>
  * PluralityVoteCounter - is a class that is responsible to actually
  * implement the vote counting from an input file and determine winner candidate(s).
  *
- * The class object is responsible to load the candidates from the file, load
- * the ballots from the file, assign every ballot to the correct candidate,
+ * The class object is responsible to load the candidates and the ballots from the file
+ * (through the ElectionFileLoader), assign every ballot to the correct candidate,
  * determine winner(s) and resolve any tie if there.
  *
  * The tie condition is marked when more than 1 candidate has equal number of votes and
@@ -18,7 +20,7 @@ import java.io.*;
  * @since   2018-03-13
  *
  */
-public class PluralityVoteCounter {
+public class PluralityVoteCounter implements ElectionFileHandler {
     /**
      * Holds the name of the input file (relative path).
      * This relative path points to the file from where
@@ -36,7 +38,7 @@ public class PluralityVoteCounter {
      * Enforces mapping from candidate ID to candidate objects
      * for faster retrieval of information.
      */
-    private HashMap<Long, PluralityCandidate> candidatesRunningInElection;
+    private CandidateRegistry<PluralityCandidate> candidatesRunningInElection;
 
     /**
      * Holds the information about all the winner candidates.
@@ -50,19 +52,149 @@ public class PluralityVoteCounter {
      */
     private ArrayList<PluralityBallot> electionBallots;
 
+    /**
+     * Holds the number of votes earned by every candidate, indexed by candidate ID.
+     * Only used when the streaming count feature is on, in which case the ballots are
+     * tallied directly while the input file is read instead of being stored.
+     */
+    private int[] candidateVoteTally;
+
+    /**
+     * Holds the information about whether the vote counter should only count the votes
+     * of the candidates (streaming count) instead of keeping every ballot of the election.
+     */
+    private boolean streamingCountFlag;
+
+    /**
+     * Holds the information about whether the vote counter should count the votes of the
+     * candidates in parallel over shards of the input file. Like the streaming count, the
+     * parallel count only tallies the votes instead of keeping every ballot of the election.
+     */
+    private boolean parallelCountFlag;
+
+    /**
+     * Holds the cache the election is taken from instead of parsing the input file again. Null if there is no cache.
+     */
+    private ElectionCache electionCache;
+
+    /**
+     * Holds the ID of the candidate every ballot loaded so far was cast for, indexed by ballot index. Only kept
+     * while the input file is parsed for the cache of parsed elections, null otherwise.
+     */
+    private int[] votedCandidateIDs;
+
+    /**
+     * Holds the number of entries used in votedCandidateIDs.
+     */
+    private int numOfVotedCandidateIDs;
+
+    /**
+     * Holds the metrics of the count, which are also added to the metrics of the process.
+     */
+    private CountMetrics countMetrics;
+
+    /**
+     * Holds whether a summary of the metrics of the count is printed after the results.
+     */
+    private boolean metricsSummaryFlag;
+
+    /**
+     * Holds the number of ballots parsed from the input file, recorded in the metrics once the election is loaded.
+     */
+    private long numOfBallotsParsed;
+
+    /**
+     * Holds the number of bytes read from the input file, recorded in the metrics once the election is loaded.
+     */
+    private long numOfBytesRead;
+
+    /**
+     * Holds the ID of the candidate of every ballot, in the order the ballots were loaded, outside of the heap.
+     * Null unless the ballots are kept outside of the heap, in which case no PluralityBallot is generated.
+     */
+    private IntArray offHeapBallots;
+
+    /**
+     * Holds the number of ballots kept outside of the heap.
+     */
+    private int numOfOffHeapBallots;
+
+    /**
+     * Holds whether the dropped candidates are printed ranked by their votes (the default) or in the order of the file.
+     */
+    private boolean rankedResultsFlag;
+
+    /**
+     * Holds the smallest number of bytes of the input file that are counted as one shard in the parallel count.
+     */
+    private static final long MIN_SHARD_SIZE = 1024 * 1024;
+
+    /**
+     * Holds the order in which candidates are ranked, from the lowest to the highest: by the number of votes and
+     * among candidates with the same number of votes by their ID. This is the order the candidates were always
+     * ranked in, by sorting them in increasing order of votes (which keeps them in the order of their IDs) and
+     * reversing the list.
+     */
+    private static final Comparator<PluralityCandidate> RANKING_ORDER =
+            Comparator.comparingInt(PluralityCandidate::getNumberOfVotesEarnedByCandidate).thenComparingLong(PluralityCandidate::getCandidateID);
+
     /**
      * Creates a new PluralityVoteCounter object that is used in the
      * main function to actually implement the voting.
      * @param inputFileName Name of the input file from which the data has to be fed.
      *                      This filename should be a relative path to the file.
      * @param numberOfSeats Number of seats (winners) that need to be filled in the election.
+     * @param streamingCountFlag Describes whether the Vote Counter should tally the votes while the file
+     *                           is read instead of storing every ballot. The memory used is then proportional
+     *                           to the number of candidates instead of the number of ballots.
+     * @param parallelCountFlag Describes whether the Vote Counter should tally the votes over shards of the file
+     *                          in parallel on a ForkJoinPool. The result is the same as the streaming count.
      */
-    public PluralityVoteCounter(String inputFileName, int numberOfSeats) {
+    public PluralityVoteCounter(String inputFileName, int numberOfSeats, boolean streamingCountFlag, boolean parallelCountFlag) {
         this.inputFileName = inputFileName;
         this.numOfSeatsToBeFilled = numberOfSeats;
-        this.candidatesRunningInElection = new HashMap<>();
+        this.candidatesRunningInElection = new CandidateRegistry<>();
         this.winnerCandidates = new ArrayList<>();
         this.electionBallots = new ArrayList<>();
+        this.candidateVoteTally = new int[0];
+        this.streamingCountFlag = streamingCountFlag;
+        this.parallelCountFlag = parallelCountFlag;
+        this.electionCache = null;
+        this.votedCandidateIDs = null;
+        this.numOfVotedCandidateIDs = 0;
+        this.countMetrics = new CountMetrics();
+        this.metricsSummaryFlag = false;
+        this.numOfBallotsParsed = 0;
+        this.numOfBytesRead = 0;
+        this.offHeapBallots = null;
+        this.numOfOffHeapBallots = 0;
+        this.rankedResultsFlag = true;
+    }
+
+    /**
+     * Creates a new PluralityVoteCounter object that is used in the
+     * main function to actually implement the voting. Overrides the
+     * general constructor with the parallel count feature off.
+     * @param inputFileName Name of the input file from which the data has to be fed.
+     *                      This filename should be a relative path to the file.
+     * @param numberOfSeats Number of seats (winners) that need to be filled in the election.
+     * @param streamingCountFlag Describes whether the Vote Counter should tally the votes while the file
+     *                           is read instead of storing every ballot.
+     */
+    public PluralityVoteCounter(String inputFileName, int numberOfSeats, boolean streamingCountFlag) {
+        this(inputFileName, numberOfSeats, streamingCountFlag, false);
+    }
+
+    /**
+     * Creates a new PluralityVoteCounter object that is used in the
+     * main function to actually implement the voting. Overrides the
+     * general constructor with the streaming count feature off.
+     * @param inputFileName Name of the input file from which the data has to be fed.
+     *                      This filename should be a relative path to the file.
+     * @param numberOfSeats Number of seats (winners) that need to be filled in the election.
+     */
+    public PluralityVoteCounter(String inputFileName, int numberOfSeats) {
+        this(inputFileName, numberOfSeats, false, false);
     }
 
     /**
@@ -87,49 +219,225 @@ public class PluralityVoteCounter {
     }
 
     /**
-     * Returns the map of all the candidates running in election.
-     * @return HashMap{Long, PluralityCandidate} - The map of candidates.
+     * Returns the candidates that were not declared winner, ranked from the highest to the lowest number of votes.
+     * Only the dropped candidates are sorted, every time this is called.
+     * @return List{PluralityCandidate} - The dropped candidates, highest ranked first.
+     */
+    public List<PluralityCandidate> getDroppedCandidates() {
+        List<PluralityCandidate> droppedCandidates = listDroppedCandidates();
+        droppedCandidates.sort(RANKING_ORDER.reversed());
+        return droppedCandidates;
+    }
+
+    /**
+     * Returns the registry of all the candidates running in election.
+     * @return CandidateRegistry{PluralityCandidate} - The registry of candidates.
      */
-    public HashMap<Long, PluralityCandidate> getCandidatesRunningInElection() {
+    public CandidateRegistry<PluralityCandidate> getCandidatesRunningInElection() {
         return candidatesRunningInElection;
     }
 
+    /**
+     * Takes the election from a cache of parsed elections, so an input file that has been counted before is not
+     * parsed again. The candidates and the ballots credited to them are still created for this count only.
+     * An input file that is not in the cache yet is parsed in a single pass, also by the parallel count, and the
+     * candidate of every ballot is kept until the file has been parsed.
+     * @param electionCache Cache of parsed elections, null to always parse the input file.
+     */
+    public void setElectionCache(ElectionCache electionCache) {
+        this.electionCache = electionCache;
+    }
+
+    /**
+     * Sets whether a summary of the metrics of the count (ballots parsed, bytes read, time spent in every phase)
+     * is printed after the results of the election.
+     * @param metricsSummaryFlag true to print the summary.
+     */
+    public void setMetricsSummaryFlag(boolean metricsSummaryFlag) {
+        this.metricsSummaryFlag = metricsSummaryFlag;
+    }
+
+    /**
+     * Sets whether the dropped candidates are printed ranked from the highest to the lowest number of votes, which
+     * is the default and sorts the dropped candidates, or in the order of the candidates in the input file, which
+     * does not sort them.
+     * @param rankedResultsFlag false to print the dropped candidates in the order of the input file.
+     */
+    public void setRankedResultsFlag(boolean rankedResultsFlag) {
+        this.rankedResultsFlag = rankedResultsFlag;
+    }
+
+    /**
+     * Sets whether the ballots are kept outside of the heap, as the IDs of the candidates they were cast for,
+     * instead of as a PluralityBallot object for every ballot. Must be set before the election is loaded, and
+     * has no effect when the votes are tallied while the file is read (streaming or parallel count).
+     * @param offHeapBallotsFlag true to keep the ballots outside of the heap.
+     */
+    public void setOffHeapBallotsFlag(boolean offHeapBallotsFlag) {
+        this.offHeapBallots = offHeapBallotsFlag ? IntArray.allocate(1024, true) : null;
+        this.numOfOffHeapBallots = 0;
+    }
+
+    /**
+     * Returns the metrics of the count.
+     * @return CountMetrics - The metrics of the count.
+     */
+    public CountMetrics getCountMetrics() {
+        return this.countMetrics;
+    }
+
     /**
      * Loads the information about each and every candidate running in the election.
-     * This function populates the hash map of candidates. This hash map member variable
-     * maps IDs of candidates to their respective objects.
+     * This function populates the registry of candidates. This registry member variable
+     * maps IDs of candidates to their respective objects. Only the header of the input file is read.
      */
     public void loadCandidatesFromInputFile() {
-        BufferedReader buffer;
-        String fileLine;
-        try {
-            buffer = new BufferedReader(new FileReader(this.inputFileName));
-            // This variable is used to check whether the file is empty or not.
-            // Also this variable helps to make sure that we just read one line (first line) from the file.
-            int checkForReadingOneLine = 0;
-            while (checkForReadingOneLine < 1 && (fileLine = buffer.readLine()) != null) {
-                // String array includes all candidate names at different indices.
-                String[] candidateNameArray = fileLine.split(",");
-                for (int candidateID = 0; candidateID < candidateNameArray.length; candidateID++) {
-                    // Adding the candidate objects into the hash map.
-                    this.candidatesRunningInElection.put((long) candidateID, new PluralityCandidate((long) candidateID, candidateNameArray[candidateID]));
-                }
-                checkForReadingOneLine++;
+        new ElectionFileLoader(this.inputFileName).loadCandidatesFromInputFile(this);
+    }
+
+    /**
+     * Loads the candidates and all the ballots cast in the election in a single pass through the input file.
+     * Helps in storing the information about all the electionBallots.
+     * The vote counter iterates through these ballots and aggregates their
+     * votes into corresponding candidates.
+     */
+    private void loadElectionFromInputFile() {
+        ElectionFileLoader electionFileLoader = new ElectionFileLoader(this.inputFileName);
+        electionFileLoader.loadElectionFromInputFile(this);
+        this.numOfBallotsParsed = electionFileLoader.getNumOfBallotsLoaded();
+        this.numOfBytesRead = electionFileLoader.getNumOfBytesRead();
+    }
+
+    /**
+     * Loads the candidates and all the ballots cast in the election from a cache of parsed elections. If the input
+     * file is not in the cache yet, it is parsed in a single pass and the ballots are added to the cache.
+     * @param electionKey Identity of the input file in the cache.
+     * @return boolean - True if the election was found in the cache, false if the input file was parsed.
+     */
+    private boolean loadElectionFromCache(ElectionCache.ElectionKey electionKey) {
+        ParsedElection parsedElection = this.electionCache.get(electionKey);
+        if (parsedElection != null) {
+            parsedElection.loadCandidates(this);
+            // every ballot is loaded again, so the ballots credited to the candidates belong to this count only.
+            for (int ballotIndex = 0; ballotIndex < parsedElection.getNumOfBallots(); ballotIndex++) {
+                loadVote(ballotIndex + 1, parsedElection.getVotedCandidateID(ballotIndex));
+            }
+            if (parsedElection.getNumOfBallots() == 0) {
+                System.out.println("File does not contain any ballots.");
             }
-            // Condition below will be true if the while loop terminates because there is
-            // nothing present in the file (empty file).
-            if (checkForReadingOneLine == 0) {
-                System.out.println("Buffer not able to read the line. File is empty!");
+            // the file was only read to identify it, none of its ballots were parsed.
+            this.numOfBytesRead = electionKey.getSize();
+            return true;
+        }
+        ElectionFileLoader electionFileLoader = new ElectionFileLoader(this.inputFileName);
+        this.votedCandidateIDs = new int[1024];
+        this.numOfVotedCandidateIDs = 0;
+        boolean loaded = electionFileLoader.loadElectionFromInputFile(this);
+        if (loaded) {
+            this.electionCache.put(electionKey, new ParsedElection(electionFileLoader.getCandidateNames(), Arrays.copyOf(this.votedCandidateIDs, this.numOfVotedCandidateIDs)));
+        }
+        this.votedCandidateIDs = null;
+        this.numOfBallotsParsed = electionFileLoader.getNumOfBallotsLoaded();
+        this.numOfBytesRead = electionFileLoader.getNumOfBytesRead() + electionKey.getSize();
+        return false;
+    }
+
+    /**
+     * Loads the candidates from the header of the input file and then counts the votes of all the ballots
+     * in parallel. The ballots after the header are split into shards at new line boundaries and every shard
+     * is counted on a ForkJoinPool worker into its own tally. The tallies of all the shards are merged into
+     * the tally of the vote counter.
+     */
+    private void countElectionInParallel() {
+        try (RandomAccessFile inputFile = new RandomAccessFile(this.inputFileName, "r")) {
+            FileChannel channel = inputFile.getChannel();
+            if (CompiledBallotParser.isCompiledElectionFile(channel)) {
+                // a compiled election file has nothing to parse, so its votes are tallied in a single pass.
+                loadElectionFromInputFile();
+                return;
+            }
+            if (!new ElectionFileLoader(this.inputFileName).loadCandidatesFromHeader(channel, this)) {
+                return;
+            }
+            long firstBallotPosition = MappedBallotParser.findFirstBallotPosition(channel);
+            // split the file in a few shards for every worker so that the work stays balanced.
+            long shardSize = Math.max(MIN_SHARD_SIZE, (channel.size() - firstBallotPosition) / (ForkJoinPool.getCommonPoolParallelism() * 4L));
+            PluralityCountTask countTask = new PluralityCountTask(channel, firstBallotPosition, channel.size(), shardSize, this.candidatesRunningInElection.size(), this);
+            ForkJoinPool.commonPool().invoke(countTask);
+            if (countTask.getInvalidBallotNo() > 0) {
+                // reported with the serial number in the file, the same way as by the sequential count.
+                throw new NumberFormatException("Invalid preference in ballot " + countTask.getInvalidBallotNo());
+            }
+            this.candidateVoteTally = countTask.getCandidateVoteTally();
+            this.numOfBallotsParsed = countTask.getNumOfBallots();
+            this.numOfBytesRead = channel.size();
+            if (countTask.getNumOfBallots() == 0) {
+                System.out.println("File does not contain any ballots.");
             }
         } catch (FileNotFoundException e) {
             System.out.println("File Not Found");
             e.printStackTrace();
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             System.out.println("IO Exception when reading from file");
             e.printStackTrace();
         }
     }
 
+    @Override
+    public void loadCandidate(long candidateID, String candidateName) {
+        // Adding the candidate objects into the registry.
+        this.candidatesRunningInElection.add(new PluralityCandidate(candidateID, candidateName));
+        if ((this.streamingCountFlag || this.parallelCountFlag) && candidateID >= this.candidateVoteTally.length) {
+            // make room in the tally for the votes of the candidate.
+            this.candidateVoteTally = Arrays.copyOf(this.candidateVoteTally, Math.max(this.candidateVoteTally.length * 2, (int) candidateID + 1));
+        }
+    }
+
+    @Override
+    public void loadBallot(int ballotSerialNo, int[] ballotRanks) {
+        loadVote(ballotSerialNo, getVotedCandidateIDFromBallotRanks(ballotRanks));
+    }
+
+    @Override
+    public void loadBallotPreferences(int ballotSerialNo, int[] candidateIDs, int numOfPreferences, int[] ballotRanks) {
+        // The preferences of a ballot of a compiled election file are in order, so the ballot
+        // is cast for its first preference. A ballot without preferences is illegal.
+        loadVote(ballotSerialNo, numOfPreferences > 0 ? candidateIDs[0] : -1);
+    }
+
+    /**
+     * Tallies or stores the vote of a ballot.
+     * @param ballotSerialNo Serial number of the ballot.
+     * @param candidateID ID of the candidate to which the ballot is assigned, -1 if the ballot is illegal.
+     */
+    private void loadVote(int ballotSerialNo, long candidateID) {
+        if (this.votedCandidateIDs != null) {
+            // keep the candidate of the ballot for the cache of parsed elections.
+            if (this.numOfVotedCandidateIDs == this.votedCandidateIDs.length) {
+                this.votedCandidateIDs = Arrays.copyOf(this.votedCandidateIDs, this.votedCandidateIDs.length * 2);
+            }
+            this.votedCandidateIDs[this.numOfVotedCandidateIDs++] = (int) candidateID;
+        }
+        if (this.streamingCountFlag || this.parallelCountFlag) {
+            // Tally the vote of the ballot straight away without generating a ballot.
+            // Ballots that are not cast for any candidate are illegal and are not counted.
+            if (candidateID >= 0) {
+                this.candidateVoteTally[(int) candidateID]++;
+            }
+            return;
+        }
+        if (this.offHeapBallots != null) {
+            // the serial number of a ballot kept outside of the heap is its index + 1.
+            if (this.numOfOffHeapBallots == this.offHeapBallots.length()) {
+                this.offHeapBallots.resize(this.offHeapBallots.length() * 2);
+            }
+            this.offHeapBallots.set(this.numOfOffHeapBallots++, (int) candidateID);
+            return;
+        }
+        // Use the serial number and candidate ID to generate a new ballot, and add this to the list of ballots.
+        this.electionBallots.add(this.generatePluralityBallot(ballotSerialNo, candidateID));
+    }
+
     /**
      * Returns the ID of the candidate to which the ballot is assigned.
      * @param ballotArray String array of the input line from file separated by ",".
@@ -153,6 +461,24 @@ public class PluralityVoteCounter {
         return -1;
     }
 
+    /**
+     * Returns the ID of the candidate to which the ballot is assigned.
+     * @param ballotRanks Preference numbers of the ballot indexed by candidate ID. Each index contains
+     *                    either 0 (denoting no choice made) or 1 (corresponding to the candidate to which
+     *                    the ballot is assigned)
+     * @return long - Candidate ID.
+     */
+    public long getVotedCandidateIDFromBallotRanks(int[] ballotRanks) {
+        for (int candidateId = 0; candidateId < ballotRanks.length; candidateId++) {
+            // 1 represents that the ballots was cast for the particular candidate (ID).
+            if (ballotRanks[candidateId] == 1) {
+                return (long) candidateId;
+            }
+        }
+        // If the ballot is empty the function will return -1, meaning the ballot is illegal.
+        return -1;
+    }
+
     /**
      * Returns a new PluralityBallot type object.
      * @param serialNo Serial number that should be assigned to the ballot.
@@ -163,45 +489,6 @@ public class PluralityVoteCounter {
         return new PluralityBallot(serialNo, selectedCandidateId);
     }
 
-    /**
-     * Loads all the ballots cast in the election (input file) into a list of ballots.
-     * Helps in storing the information about all the electionBallots.
-     * The vote counter iterates through these ballots and aggregates their
-     * votes into corresponding candidates.
-     */
-    private void loadBallotsFromInputFIle() {
-        BufferedReader buffer;
-        String fileLine;
-        int ballotSerialNumber = 1;
-        try {
-            buffer = new BufferedReader(new FileReader(this.inputFileName));
-            // Skipping first line, because first line contains information
-            // about the candidates engaged in the election.
-            if (buffer.readLine() == null) {
-                System.out.println("File is empty!");
-                return;
-            }
-            // Loop through all other lines in the file and parse the information and add new ballots accordingly.
-            while ((fileLine = buffer.readLine()) != null) {
-                // ballotArray represents the array of strings after the line in file is split using the "," as a delimiter.
-                String[] ballotArray = fileLine.split(",");
-                // First get the corresponding ID of the candidate to which the ballot is assigned.
-                // Use the serial number and candidate ID to generate a new ballot, and add this to the list of ballots.
-                this.electionBallots.add(this.generatePluralityBallot(ballotSerialNumber, getVotedCandidateIDFromBallotArray(ballotArray)));
-                ballotSerialNumber++;
-            }
-            if (ballotSerialNumber == 1) {
-                System.out.println("File does not contain any ballots.");
-            }
-        } catch (FileNotFoundException e) {
-            System.out.println("File Not Found");
-            e.printStackTrace();
-        } catch (IOException e) {
-            System.out.println("IO Exception when reading from file");
-            e.printStackTrace();
-        }
-    }
-
     /**
      * Returns the PluralityCandidate type object which has the corresponding
      * candidate ID as supplied in the input parameter.
@@ -209,34 +496,105 @@ public class PluralityVoteCounter {
      * @return PluralityCandidate - PluralityCandidate type object
      */
     private PluralityCandidate getCandidate(long candidateID) {
-        // first check whether the Hash Map contains the object. If not then return null. Else return the corresponding candidate object.
-        if (this.candidatesRunningInElection.containsKey(candidateID)) {
-            return this.candidatesRunningInElection.get(candidateID);
-        }
-        return null;
+        // return the corresponding candidate object, or null if the registry does not contain the candidate.
+        return this.candidatesRunningInElection.get(candidateID);
     }
 
     /**
      * Implement voting algorithm (Plurality type) on the election (information loaded through the input file).
-     * First loads all the candidates that are running in the election from the input file.
-     * Then it load all the ballots cast in the election from the input file.
+     * First loads all the candidates that are running in the election and all the ballots cast
+     * in the election from the input file in a single pass through the file (or from the cache of parsed elections).
      * Then it iterates through all the ballots and aggregating the respective ballots' vote to
-     * the particular candidate it is assigned to. After the function processes all the ballots
-     * it determines the winner(s) of the election based on the number of seats that need to be filled.
+     * the particular candidate it is assigned to. If the streaming (or parallel) count feature is on then
+     * the votes are already tallied while the file is read and are just added to the candidates.
+     * After the function processes all the ballots it determines the winner(s) of the election
+     * based on the number of seats that need to be filled.
      */
     public void implementVoting() {
-        // load all the candidates that are running in the election from the input file.
-        loadCandidatesFromInputFile();
-        // load all the ballots cast in the election from the input file.
-        loadBallotsFromInputFIle();
-        // aggregate the votes of each ballot cast in the election to the corresponding candidate.
-        for (PluralityBallot electionBallot : this.electionBallots) {
-            Objects.requireNonNull(this.getCandidate(electionBallot.getCandidateIdFromBallot())).addBallot(electionBallot);
+        long loadStartTime = System.nanoTime();
+        ElectionEvents.FileLoadEvent loadEvent = new ElectionEvents.FileLoadEvent();
+        loadEvent.begin();
+        ElectionCache.ElectionKey electionKey = this.electionCache == null ? null : this.electionCache.identify(this.inputFileName, false);
+        boolean cached = false;
+        if (electionKey != null) {
+            // load all the candidates and the ballots cast in the election from the cache of parsed elections.
+            cached = loadElectionFromCache(electionKey);
+        } else if (this.parallelCountFlag) {
+            // load all the candidates and count the ballots cast in the election over shards of the file in parallel.
+            countElectionInParallel();
+        } else {
+            // load all the candidates and the ballots cast in the election from the input file in a single pass.
+            loadElectionFromInputFile();
+        }
+        this.countMetrics.recordLoad(this.numOfBallotsParsed, this.numOfBytesRead, System.nanoTime() - loadStartTime);
+        loadEvent.end();
+        if (loadEvent.shouldCommit()) {
+            loadEvent.inputFileName = this.inputFileName;
+            loadEvent.votingType = "Plurality";
+            loadEvent.numOfCandidates = this.candidatesRunningInElection.size();
+            // the ballots are either kept or only tallied, depending on how the election is counted.
+            loadEvent.numOfBallots = this.electionBallots.size() + this.numOfOffHeapBallots + Arrays.stream(this.candidateVoteTally).asLongStream().sum();
+            loadEvent.numOfBytesRead = this.numOfBytesRead;
+            loadEvent.cached = cached;
+            loadEvent.commit();
+        }
+        this.countMetrics.recordCountStarted(this.candidatesRunningInElection.size());
+        long distributeStartTime = System.nanoTime();
+        if (this.streamingCountFlag || this.parallelCountFlag) {
+            // add the votes tallied for each candidate to the corresponding candidate.
+            for (PluralityCandidate candidate : this.candidatesRunningInElection.values()) {
+                candidate.addCountedVotes(this.candidateVoteTally[(int) candidate.getCandidateID()]);
+            }
+        } else if (this.offHeapBallots != null) {
+            // tally the candidates of the ballots kept outside of the heap, illegal ballots are not counted.
+            int[] candidateVotes = new int[this.candidatesRunningInElection.size()];
+            for (int ballotIndex = 0; ballotIndex < this.numOfOffHeapBallots; ballotIndex++) {
+                int candidateID = this.offHeapBallots.get(ballotIndex);
+                if (candidateID >= 0) {
+                    candidateVotes[candidateID]++;
+                }
+            }
+            for (PluralityCandidate candidate : this.candidatesRunningInElection.values()) {
+                candidate.addCountedVotes(candidateVotes[(int) candidate.getCandidateID()]);
+            }
+        } else {
+            // aggregate the votes of each ballot cast in the election to the corresponding candidate.
+            for (PluralityBallot electionBallot : this.electionBallots) {
+                Objects.requireNonNull(this.getCandidate(electionBallot.getCandidateIdFromBallot())).addBallot(electionBallot);
+            }
         }
+        this.countMetrics.recordDistribution(0, System.nanoTime() - distributeStartTime);
+        long selectStartTime = System.nanoTime();
         // After all the votes have been aggregated, determine the correct winner.
         this.determineWinner();
+        // a Plurality count has no rounds, so the selection of the winners is a phase of its own.
+        this.countMetrics.recordSelection(System.nanoTime() - selectStartTime);
+        for (PluralityCandidate winnerCandidate : this.winnerCandidates) {
+            ElectionEvents.WinnerDeclaredEvent winnerEvent = new ElectionEvents.WinnerDeclaredEvent();
+            if (winnerEvent.shouldCommit()) {
+                winnerEvent.votingType = "Plurality";
+                winnerEvent.candidateName = winnerCandidate.getCandidateName();
+                winnerEvent.numOfVotes = winnerCandidate.getNumberOfVotesEarnedByCandidate();
+                winnerEvent.roundNo = 1;
+                winnerEvent.commit();
+            }
+        }
+        long reportStartTime = System.nanoTime();
+        ElectionEvents.ReportWriteEvent reportEvent = new ElectionEvents.ReportWriteEvent();
+        reportEvent.begin();
         // Print all the election results.
         this.printElectionResults();
+        this.countMetrics.recordReport(System.nanoTime() - reportStartTime);
+        reportEvent.end();
+        if (reportEvent.shouldCommit()) {
+            reportEvent.votingType = "Plurality";
+            reportEvent.commit();
+        }
+        this.countMetrics.recordCandidatesRemoved(this.candidatesRunningInElection.size());
+        this.countMetrics.recordCountCompleted();
+        if (this.metricsSummaryFlag) {
+            System.out.print(this.countMetrics.getSummary());
+        }
     }
 
     /**
@@ -245,14 +603,14 @@ public class PluralityVoteCounter {
      *               candidates have. If there is no tie then the function returns 0.
      */
     public int electionHasTie() {
-        // get the list of all the candidates running in election.
-        ArrayList<PluralityCandidate> candidatesRunningInElection = new ArrayList<>(this.candidatesRunningInElection.values());
-        // get the highest number of votes that a candidate has earned among all the candidates.
-        int highestNumberOfVotes = Collections.max(this.candidatesRunningInElection.values()).getNumberOfVotesEarnedByCandidate();
+        int highestNumberOfVotes = -1;
         int numOfCandidatesTied = 0;
-        // find the number of candidates that have the highest number of votes.
-        for (PluralityCandidate candidate : candidatesRunningInElection) {
-            if (candidate.getNumberOfVotesEarnedByCandidate() == highestNumberOfVotes) {
+        // find the highest number of votes and the number of candidates that have it in a single pass.
+        for (PluralityCandidate candidate : this.candidatesRunningInElection.values()) {
+            if (candidate.getNumberOfVotesEarnedByCandidate() > highestNumberOfVotes) {
+                highestNumberOfVotes = candidate.getNumberOfVotesEarnedByCandidate();
+                numOfCandidatesTied = 1;
+            } else if (candidate.getNumberOfVotesEarnedByCandidate() == highestNumberOfVotes) {
                 numOfCandidatesTied++;
             }
         }
@@ -271,34 +629,25 @@ public class PluralityVoteCounter {
      * If there is no tie then the winner(s) are the first few candidates required to fill the seats with the highest number of votes.
      */
     private void determineWinner() {
-        int highestNumberOfVotes = this.electionHasTie();
+        ArrayList<PluralityCandidate> tiedCandidates = new ArrayList<>();
+        // the candidates ranked highest and the candidates tied for the most votes are found in the same pass.
+        ArrayList<PluralityCandidate> topCandidates = selectTopCandidates(this.numOfSeatsToBeFilled, tiedCandidates);
         // if the election does not have any tie within the candidates
-        if (highestNumberOfVotes == 0) {
-            // sort the candidates based on the number of votes in decreasing order (Highest number of votes first)
-            ArrayList<PluralityCandidate> candidatesRunningInElection = new ArrayList<>(this.candidatesRunningInElection.values());
-            Collections.sort(candidatesRunningInElection);
-            Collections.reverse(candidatesRunningInElection);
+        if (tiedCandidates.size() < 2) {
             // populate the winner candidate list with the correct number of candidates (number of seats to be filled).
-            this.winnerCandidates.addAll(candidatesRunningInElection.subList(0, this.numOfSeatsToBeFilled));
+            this.winnerCandidates.addAll(topCandidates);
         } else {    // if there is a tie then resolve the tie and determine the winners accordingly.
-            resolveElectionTie(highestNumberOfVotes);
+            resolveElectionTie(tiedCandidates, topCandidates);
         }
     }
 
     /**
      * Responsible to load the list of winner candidates with the appropriate candidates based
      * on the number of seats that need to be fulfilled.
-     * @param highestNumberOfVotes The number of votes that the tied candidates have.
+     * @param tiedCandidates The candidates tied for the highest number of votes.
+     * @param topCandidates The candidates ranked highest, one for every seat, highest ranked first.
      */
-    private void resolveElectionTie(int highestNumberOfVotes) {
-        // load the list of all candidates in election and iterate through it to determine all the candidates who have tied.
-        ArrayList<PluralityCandidate> allCandidatesRunningInElection = new ArrayList<>(this.candidatesRunningInElection.values());
-        ArrayList<PluralityCandidate> tiedCandidates = new ArrayList<>();
-        for (PluralityCandidate candidate : allCandidatesRunningInElection) {
-            if (candidate.getNumberOfVotesEarnedByCandidate() == highestNumberOfVotes) {
-                tiedCandidates.add(candidate);
-            }
-        }
+    private void resolveElectionTie(ArrayList<PluralityCandidate> tiedCandidates, ArrayList<PluralityCandidate> topCandidates) {
         // Shuffle the tied candidates to make sure the winner candidates are chosen randomly from the tied candidates.
         Collections.shuffle(tiedCandidates);
         // if the number of seats that need to be filled are more than or equal to the number of candidates that are tied.
@@ -306,14 +655,61 @@ public class PluralityVoteCounter {
             // just add the first required number of candidates to fill all the seats.
             this.winnerCandidates.addAll(tiedCandidates.subList(0, this.numOfSeatsToBeFilled));
         } else {    // else add all the tied candidates first.
-            this.winnerCandidates.addAll(tiedCandidates.subList(0, tiedCandidates.size()));
-            // sort the candidates based on the number of votes in decreasing order (Highest number of votes first)
-            ArrayList<PluralityCandidate> candidatesRunningInElection = new ArrayList<>(this.candidatesRunningInElection.values());
-            Collections.sort(candidatesRunningInElection);
-            Collections.reverse(candidatesRunningInElection);
-            // populate the winner candidate list with the correct number of candidates (remaining number of seats to be filled).
-            this.winnerCandidates.addAll(candidatesRunningInElection.subList(tiedCandidates.size(), this.numOfSeatsToBeFilled));
+            this.winnerCandidates.addAll(tiedCandidates);
+            // the tied candidates are ranked first, so the remaining seats go to the candidates ranked right after them.
+            this.winnerCandidates.addAll(topCandidates.subList(tiedCandidates.size(), this.numOfSeatsToBeFilled));
+        }
+    }
+
+    /**
+     * Selects the candidates ranked highest in a single pass over the candidates, keeping only the candidates
+     * selected so far in a bounded heap instead of sorting every candidate running in the election. The same pass
+     * collects the candidates that have the highest number of votes, which are tied if there are more than one.
+     * @param numOfCandidates Number of candidates to select.
+     * @param tiedCandidates List which receives the candidates with the highest number of votes, in order of their IDs.
+     * @return ArrayList{PluralityCandidate} - The selected candidates, highest ranked first.
+     */
+    private ArrayList<PluralityCandidate> selectTopCandidates(int numOfCandidates, ArrayList<PluralityCandidate> tiedCandidates) {
+        // heap with the lowest ranked of the selected candidates at its head.
+        PriorityQueue<PluralityCandidate> selectedCandidates = new PriorityQueue<>(numOfCandidates + 1, RANKING_ORDER);
+        for (PluralityCandidate candidate : this.candidatesRunningInElection.values()) {
+            if (tiedCandidates.isEmpty() || candidate.getNumberOfVotesEarnedByCandidate() > tiedCandidates.get(0).getNumberOfVotesEarnedByCandidate()) {
+                tiedCandidates.clear();
+                tiedCandidates.add(candidate);
+            } else if (candidate.getNumberOfVotesEarnedByCandidate() == tiedCandidates.get(0).getNumberOfVotesEarnedByCandidate()) {
+                tiedCandidates.add(candidate);
+            }
+            if (selectedCandidates.size() < numOfCandidates) {
+                selectedCandidates.add(candidate);
+            } else if (numOfCandidates > 0 && RANKING_ORDER.compare(candidate, selectedCandidates.peek()) > 0) {
+                selectedCandidates.poll();
+                selectedCandidates.add(candidate);
+            }
+        }
+        ArrayList<PluralityCandidate> topCandidates = new ArrayList<>(selectedCandidates.size());
+        while (!selectedCandidates.isEmpty()) {
+            topCandidates.add(selectedCandidates.poll());
+        }
+        Collections.reverse(topCandidates);
+        return topCandidates;
+    }
+
+    /**
+     * Lists the candidates that were not declared winner, in the order of the candidates in the input file.
+     * @return List{PluralityCandidate} - The dropped candidates.
+     */
+    private List<PluralityCandidate> listDroppedCandidates() {
+        boolean[] winnerFlags = new boolean[this.candidatesRunningInElection.size()];
+        for (PluralityCandidate winnerCandidate : this.winnerCandidates) {
+            winnerFlags[(int) winnerCandidate.getCandidateID()] = true;
+        }
+        List<PluralityCandidate> droppedCandidates = new ArrayList<>(this.candidatesRunningInElection.size());
+        for (PluralityCandidate candidate : this.candidatesRunningInElection.values()) {
+            if (!winnerFlags[(int) candidate.getCandidateID()]) {
+                droppedCandidates.add(candidate);
+            }
         }
+        return droppedCandidates;
     }
 
     /**
@@ -325,10 +721,8 @@ public class PluralityVoteCounter {
             System.out.println(winnerCandidate);
         }
         System.out.println("Dropped Candidates - ");
-        ArrayList<PluralityCandidate> candidatesRunningInElection = new ArrayList<>(this.candidatesRunningInElection.values());
-        Collections.sort(candidatesRunningInElection);
-        Collections.reverse(candidatesRunningInElection);
-        for (PluralityCandidate droppedCandidate : candidatesRunningInElection.subList(this.numOfSeatsToBeFilled, candidatesRunningInElection.size())) {
+        // only the dropped candidates are sorted, and only if they are printed ranked.
+        for (PluralityCandidate droppedCandidate : this.rankedResultsFlag ? getDroppedCandidates() : listDroppedCandidates()) {
             System.out.println(droppedCandidate);
         }
     }
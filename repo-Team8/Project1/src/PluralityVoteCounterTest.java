@@ -1,7 +1,10 @@
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,12 +24,23 @@ class PluralityVoteCounterTest {
         assertEquals(voteCounter.getWinnerCandidates().get(0).getCandidateName(),"F");
     }
 
+    @Test
+    void getWinnerCandidatesForManySeats() {
+        voteCounter = new PluralityVoteCounter("../testing/testingCSVFiles/Plurality1000Votes10Candidates.csv", 3);
+        voteCounter.implementVoting();
+        // the winners are the first candidates of all the candidates sorted in decreasing order of votes.
+        ArrayList<PluralityCandidate> candidates = new ArrayList<>(voteCounter.getCandidatesRunningInElection().values());
+        Collections.sort(candidates);
+        Collections.reverse(candidates);
+        assertEquals(voteCounter.getWinnerCandidates(), candidates.subList(0, 3));
+    }
+
     @Test
     void loadCandidatesFromInputFile() {
         voteCounter = new PluralityVoteCounter("../testing/testingCSVFiles/Plurality50Votes4Candidates.csv", 1);
         voteCounter.loadCandidatesFromInputFile();
         HashSet<String> candidate_names = new HashSet<>(Arrays.asList("A","B","C","D"));
-        HashMap<Long, PluralityCandidate> candidates = voteCounter.getCandidatesRunningInElection();
+        CandidateRegistry<PluralityCandidate> candidates = voteCounter.getCandidatesRunningInElection();
         HashSet<String> candidateNames = new HashSet<>();
         for(PluralityCandidate c : candidates.values()) {
             candidateNames.add(c.getCandidateName());
@@ -79,4 +93,74 @@ class PluralityVoteCounterTest {
         assertEquals(voteCounter.electionHasTie(),0);
     }
 
-}
\ No newline at end of file
+    @Test
+    void getDroppedCandidates() {
+        // the dropped candidates are every candidate except the winners, even the ones tied with a winner.
+        voteCounter = new PluralityVoteCounter("../testing/testingCSVFiles/Plurality50Votes10CandidatesTie.csv", 1);
+        voteCounter.implementVoting();
+        ArrayList<PluralityCandidate> droppedCandidates = new ArrayList<>(voteCounter.getDroppedCandidates());
+        assertEquals(droppedCandidates.size(), 9, "Should be 9");
+        assertFalse(droppedCandidates.contains(voteCounter.getWinnerCandidates().get(0)));
+
+        voteCounter = new PluralityVoteCounter("../testing/testingCSVFiles/Plurality1000Votes10Candidates.csv", 3);
+        voteCounter.implementVoting();
+        ArrayList<PluralityCandidate> candidates = new ArrayList<>(voteCounter.getCandidatesRunningInElection().values());
+        Collections.sort(candidates);
+        Collections.reverse(candidates);
+        assertEquals(voteCounter.getDroppedCandidates(), candidates.subList(3, candidates.size()));
+    }
+
+    @Test
+    void printDroppedCandidates() {
+        String inputFileName = "../testing/testingCSVFiles/Plurality1000Votes10Candidates.csv";
+        voteCounter = new PluralityVoteCounter(inputFileName, 3);
+        String rankedOutput = captureOutput(voteCounter::implementVoting);
+        // the dropped candidates are printed ranked by default.
+        StringBuilder droppedOutput = new StringBuilder("Dropped Candidates - " + System.lineSeparator());
+        for (PluralityCandidate droppedCandidate : voteCounter.getDroppedCandidates()) {
+            droppedOutput.append(droppedCandidate).append(System.lineSeparator());
+        }
+        assertTrue(rankedOutput.endsWith(droppedOutput.toString()));
+
+        voteCounter = new PluralityVoteCounter(inputFileName, 3);
+        voteCounter.setRankedResultsFlag(false);
+        String unsortedOutput = captureOutput(voteCounter::implementVoting);
+        droppedOutput = new StringBuilder("Dropped Candidates - " + System.lineSeparator());
+        for (PluralityCandidate candidate : voteCounter.getCandidatesRunningInElection().values()) {
+            if (!voteCounter.getWinnerCandidates().contains(candidate)) {
+                droppedOutput.append(candidate).append(System.lineSeparator());
+            }
+        }
+        assertTrue(unsortedOutput.endsWith(droppedOutput.toString()));
+    }
+
+    private static String captureOutput(Runnable count) {
+        PrintStream standardOutput = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output, true));
+        try {
+            count.run();
+        } finally {
+            System.setOut(standardOutput);
+        }
+        return output.toString();
+    }
+
+    @Test
+    void implementVotingWithStreamingCount() {
+        voteCounter = new PluralityVoteCounter("../testing/testingCSVFiles/Plurality50Votes10Candidates.csv", 1, true);
+        voteCounter.implementVoting();
+        assertEquals(voteCounter.getWinnerCandidates().get(0).getCandidateName(),"A");
+
+        voteCounter = new PluralityVoteCounter("../testing/testingCSVFiles/Plurality1000Votes10Candidates.csv", 1, true);
+        voteCounter.implementVoting();
+        assertEquals(voteCounter.getWinnerCandidates().get(0).getCandidateName(),"F");
+
+        PluralityVoteCounter ballotCounter = new PluralityVoteCounter("../testing/testingCSVFiles/Plurality1000Votes10Candidates.csv", 1);
+        ballotCounter.implementVoting();
+        for (PluralityCandidate c : ballotCounter.getCandidatesRunningInElection().values()) {
+            assertEquals(c.getNumberOfVotesEarnedByCandidate(), voteCounter.getCandidatesRunningInElection().get(c.getCandidateID()).getNumberOfVotesEarnedByCandidate());
+        }
+    }
+
+}
@@ -0,0 +1,367 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+/**
+ * <h1>ReportWriter</h1>
+ * ReportWriter - is a class that streams the content of an election report to a file while the votes are counted.
+ *
+ * The content is collected in a small buffer of characters which is encoded into a fixed size buffer of bytes.
+ * Every full buffer of bytes is written to the file channel, so the memory used for the report stays the same
+ * however large the election is.
+ *
+ * Optionally the buffers are written by a background writer thread. The vote counter then hands over every full
+ * buffer to the writer thread through a bounded queue and continues with an empty buffer. If the writer thread falls
+ * behind and all the buffers are waiting to be written, the vote counter waits until one of them is free again.
+ *
+ * A report can be flushed to the file at any point, which returns the size of the report written so far. A report
+ * that was stopped can then be continued from that size, which drops anything written to the file after it.
+ *
+ * Errors are reported once on the standard output and the rest of the report is dropped.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class ReportWriter implements Closeable {
+    /**
+     * Holds the number of characters collected before they are encoded.
+     */
+    private static final int CHAR_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * Holds the size of every buffer of bytes written to the file.
+     */
+    private static final int BYTE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Holds the number of full buffers that can wait for the background writer thread.
+     */
+    private static final int NUM_OF_QUEUED_BUFFERS = 4;
+
+    /**
+     * Holds an empty buffer which tells the background writer thread that the report is complete.
+     */
+    private static final ByteBuffer END_OF_REPORT = ByteBuffer.allocate(0);
+
+    /**
+     * Holds the channel of the report file.
+     */
+    private FileChannel channel;
+
+    /**
+     * Holds the characters that have not been encoded yet.
+     */
+    private CharBuffer pendingChars;
+
+    /**
+     * Holds the encoder of the characters of the report (default character set).
+     */
+    private CharsetEncoder encoder;
+
+    /**
+     * Holds the buffer of bytes that is currently being filled.
+     */
+    private ByteBuffer currentBuffer;
+
+    /**
+     * Holds the full buffers waiting for the background writer thread. Null if there is no background writer thread.
+     */
+    private ArrayBlockingQueue<ByteBuffer> filledBuffers;
+
+    /**
+     * Holds the buffers that have been written by the background writer thread and can be filled again.
+     */
+    private ArrayBlockingQueue<ByteBuffer> freeBuffers;
+
+    /**
+     * Holds the background writer thread. Null if the buffers are written by the caller.
+     */
+    private Thread writerThread;
+
+    /**
+     * Holds the error that stopped the background writer thread, if any.
+     */
+    private volatile IOException writerException;
+
+    /**
+     * Holds whether writing the report has failed. Nothing more is written once it has failed.
+     */
+    private boolean failed;
+
+    /**
+     * Holds the size of the report in the file before this writer started writing to it.
+     */
+    private long startPosition;
+
+    /**
+     * Holds the number of bytes of the report that have been submitted to be written to the file.
+     */
+    private long numOfBytesSubmitted;
+
+    /**
+     * Holds the number of bytes of the report that the background writer thread has written to the file.
+     * Guarded by the lock of this report writer.
+     */
+    private long numOfBytesWritten;
+
+    /**
+     * Creates a new ReportWriter object which streams the report to a file. An existing file is replaced.
+     * @param reportFileName Name of the report file (relative path).
+     * @param backgroundWriterFlag Describes whether the buffers are written to the file by a background writer thread.
+     */
+    public ReportWriter(String reportFileName, boolean backgroundWriterFlag) {
+        this(reportFileName, backgroundWriterFlag, 0);
+    }
+
+    /**
+     * Creates a new ReportWriter object which continues a report that was flushed before.
+     * Anything written to the file after the given size of the report is replaced.
+     * @param reportFileName Name of the report file (relative path).
+     * @param backgroundWriterFlag Describes whether the buffers are written to the file by a background writer thread.
+     * @param resumePosition Size of the report returned by flush, 0 to start a new report.
+     */
+    public ReportWriter(String reportFileName, boolean backgroundWriterFlag, long resumePosition) {
+        this.pendingChars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+        // characters that cannot be encoded are replaced, the same way a PrintWriter does it.
+        this.encoder = Charset.defaultCharset().newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.currentBuffer = ByteBuffer.allocate(BYTE_BUFFER_SIZE);
+        this.failed = false;
+        this.startPosition = resumePosition;
+        this.numOfBytesSubmitted = 0;
+        this.numOfBytesWritten = 0;
+        try {
+            this.channel = FileChannel.open(new File(reportFileName).toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            System.out.println("File Not Found");
+            e.printStackTrace();
+            this.failed = true;
+            return;
+        }
+        try {
+            if (this.channel.size() < resumePosition) {
+                throw new IOException("The report is shorter than the position it should be continued from");
+            }
+            this.channel.truncate(resumePosition);
+            this.channel.position(resumePosition);
+        } catch (IOException e) {
+            reportFailure(e);
+        }
+        if (backgroundWriterFlag) {
+            this.filledBuffers = new ArrayBlockingQueue<>(NUM_OF_QUEUED_BUFFERS + 1);
+            this.freeBuffers = new ArrayBlockingQueue<>(NUM_OF_QUEUED_BUFFERS);
+            for (int bufferIndex = 0; bufferIndex < NUM_OF_QUEUED_BUFFERS; bufferIndex++) {
+                this.freeBuffers.add(ByteBuffer.allocate(BYTE_BUFFER_SIZE));
+            }
+            this.writerThread = new Thread(this::writeFilledBuffers, "report-writer");
+            this.writerThread.setDaemon(true);
+            this.writerThread.start();
+        }
+    }
+
+    /**
+     * Adds text at the end of the report.
+     * @param text Text to add.
+     * @return ReportWriter - This report writer.
+     */
+    public ReportWriter append(CharSequence text) {
+        if (this.failed) {
+            return this;
+        }
+        int textLength = text.length();
+        int textIndex = 0;
+        while (textIndex < textLength) {
+            int numOfChars = Math.min(this.pendingChars.remaining(), textLength - textIndex);
+            for (int charIndex = 0; charIndex < numOfChars; charIndex++) {
+                this.pendingChars.put(text.charAt(textIndex + charIndex));
+            }
+            textIndex += numOfChars;
+            if (!this.pendingChars.hasRemaining()) {
+                encodePendingChars(false);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Adds a number at the end of the report.
+     * @param number Number to add.
+     * @return ReportWriter - This report writer.
+     */
+    public ReportWriter append(int number) {
+        return append(Integer.toString(number));
+    }
+
+    /**
+     * Writes all the content added so far to the file, and waits for the background writer thread to write it.
+     * @return long - Size of the report in the file, or -1 if writing the report has failed.
+     */
+    public long flush() {
+        if (this.channel == null || this.failed) {
+            return -1;
+        }
+        encodePendingChars(false);
+        if (this.currentBuffer.position() > 0) {
+            submitCurrentBuffer();
+        }
+        if (this.writerThread != null) {
+            synchronized (this) {
+                while (this.numOfBytesWritten < this.numOfBytesSubmitted && this.writerException == null) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        reportFailure(new InterruptedIOException("Interrupted while writing the report"));
+                        return -1;
+                    }
+                }
+            }
+            if (this.writerException != null) {
+                reportFailure(this.writerException);
+            }
+        }
+        return this.failed ? -1 : this.startPosition + this.numOfBytesSubmitted;
+    }
+
+    /**
+     * Writes the rest of the report to the file and closes the file.
+     */
+    @Override
+    public void close() {
+        if (this.channel == null) {
+            return;
+        }
+        if (!this.failed) {
+            encodePendingChars(true);
+            if (this.currentBuffer.position() > 0) {
+                submitCurrentBuffer();
+            }
+        }
+        if (this.writerThread != null) {
+            try {
+                this.filledBuffers.put(END_OF_REPORT);
+                this.writerThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (this.writerException != null && !this.failed) {
+                reportFailure(this.writerException);
+            }
+        }
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            reportFailure(e);
+        }
+        this.channel = null;
+    }
+
+    /**
+     * Encodes the pending characters into the current buffer of bytes, submitting every buffer that gets full.
+     * @param endOfReport Whether there are no more characters after the pending characters.
+     */
+    private void encodePendingChars(boolean endOfReport) {
+        this.pendingChars.flip();
+        CoderResult result = this.encoder.encode(this.pendingChars, this.currentBuffer, endOfReport);
+        while (result.isOverflow() && !this.failed) {
+            submitCurrentBuffer();
+            result = this.encoder.encode(this.pendingChars, this.currentBuffer, endOfReport);
+        }
+        if (endOfReport) {
+            while (this.encoder.flush(this.currentBuffer).isOverflow() && !this.failed) {
+                submitCurrentBuffer();
+            }
+        }
+        // characters that could not be encoded yet (half of a surrogate pair) are kept for the next time.
+        this.pendingChars.compact();
+    }
+
+    /**
+     * Writes the current buffer of bytes to the file, or hands it over to the background writer
+     * thread, and continues with an empty buffer.
+     */
+    private void submitCurrentBuffer() {
+        this.currentBuffer.flip();
+        this.numOfBytesSubmitted += this.currentBuffer.remaining();
+        if (this.writerThread == null) {
+            try {
+                writeBuffer(this.currentBuffer);
+            } catch (IOException e) {
+                reportFailure(e);
+            }
+            this.currentBuffer.clear();
+            return;
+        }
+        try {
+            // blocks while all the buffers are waiting to be written.
+            this.filledBuffers.put(this.currentBuffer);
+            this.currentBuffer = this.freeBuffers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reportFailure(new InterruptedIOException("Interrupted while writing the report"));
+        }
+        if (this.writerException != null) {
+            reportFailure(this.writerException);
+        }
+    }
+
+    /**
+     * Writes all the bytes of a buffer to the file.
+     * @param buffer Buffer to write.
+     * @throws IOException If the bytes could not be written.
+     */
+    private void writeBuffer(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            this.channel.write(buffer);
+        }
+    }
+
+    /**
+     * Body of the background writer thread. Writes the full buffers in the order they were
+     * filled and gives them back until the end of the report is reached.
+     */
+    private void writeFilledBuffers() {
+        try {
+            ByteBuffer buffer = this.filledBuffers.take();
+            while (buffer != END_OF_REPORT) {
+                int numOfBytes = buffer.remaining();
+                if (this.writerException == null) {
+                    try {
+                        writeBuffer(buffer);
+                    } catch (IOException e) {
+                        this.writerException = e;
+                    }
+                }
+                synchronized (this) {
+                    // wakes up a caller waiting in flush.
+                    this.numOfBytesWritten += numOfBytes;
+                    notifyAll();
+                }
+                buffer.clear();
+                this.freeBuffers.put(buffer);
+                buffer = this.filledBuffers.take();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reports an error that happened while writing the report and stops writing the report.
+     * @param e The error.
+     */
+    private void reportFailure(IOException e) {
+        if (!this.failed) {
+            System.out.println("IO Exception when writing the report");
+            e.printStackTrace();
+            this.failed = true;
+        }
+    }
+}
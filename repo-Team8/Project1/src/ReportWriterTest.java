@@ -0,0 +1,62 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class ReportWriterTest {
+
+    private String writeReport(boolean backgroundWriterFlag) throws IOException {
+        File reportFile = File.createTempFile("report", ".txt");
+        reportFile.deleteOnExit();
+        ReportWriter tester = new ReportWriter(reportFile.getPath(), backgroundWriterFlag);
+        for (int lineNo = 1; lineNo <= 50000; lineNo++) {
+            tester.append("\nBallot No. ").append(lineNo).append(" is assigned to Candidate - X");
+        }
+        tester.close();
+        return new String(Files.readAllBytes(reportFile.toPath()), Charset.defaultCharset());
+    }
+
+    private String expectedReport() {
+        StringBuilder expectedContent = new StringBuilder();
+        for (int lineNo = 1; lineNo <= 50000; lineNo++) {
+            expectedContent.append("\nBallot No. ").append(lineNo).append(" is assigned to Candidate - X");
+        }
+        return expectedContent.toString();
+    }
+
+    @org.junit.jupiter.api.Test
+    void writeReport() throws IOException {
+        String expectedContent = expectedReport();
+        assertEquals(writeReport(false), expectedContent);
+    }
+
+    @org.junit.jupiter.api.Test
+    void writeReportInBackground() throws IOException {
+        String expectedContent = expectedReport();
+        assertEquals(writeReport(true), expectedContent);
+    }
+
+    @org.junit.jupiter.api.Test
+    void continueReport() throws IOException {
+        File reportFile = File.createTempFile("report", ".txt");
+        reportFile.deleteOnExit();
+        ReportWriter tester = new ReportWriter(reportFile.getPath(), true);
+        for (int lineNo = 1; lineNo <= 20000; lineNo++) {
+            tester.append("\nBallot No. ").append(lineNo).append(" is assigned to Candidate - X");
+        }
+        long resumePosition = tester.flush();
+        // written after the flush, and replaced when the report is continued.
+        tester.append("\nBallot No. 0 is assigned to Candidate - Y");
+        tester.close();
+        tester = new ReportWriter(reportFile.getPath(), false, resumePosition);
+        for (int lineNo = 20001; lineNo <= 50000; lineNo++) {
+            tester.append("\nBallot No. ").append(lineNo).append(" is assigned to Candidate - X");
+        }
+        tester.close();
+        assertEquals(new String(Files.readAllBytes(reportFile.toPath()), Charset.defaultCharset()), expectedReport());
+    }
+
+}
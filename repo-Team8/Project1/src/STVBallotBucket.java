@@ -0,0 +1,441 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+/**
+ * <h1>STVBallotBucket</h1>
+ * STVBallotBucket - is a class that holds ballots of a STV election in a file on disk, so the ballots
+ * of an election do not have to fit in memory (see ExternalSTVVoteCounter).
+ *
+ * Every ballot is written as a record of ints: the order number of the ballot, the number of preferences
+ * that are left and the IDs of the candidates of those preferences in order. The ballots are always appended
+ * to the end of the file. Ballots appended in increasing order of their order numbers form a sorted run, and
+ * a new run is started whenever a ballot comes before the previous ballot in order. The bucket only remembers
+ * where every run starts, and reads its ballots back in order of their order numbers by merging the runs.
+ *
+ * A bucket is written and then read once. Reading it closes the file for writing, and the file is deleted
+ * once the bucket is no longer needed.
+ *
+ * The buckets of a count share a WriterPool, which keeps only a bounded number of files open for writing. When
+ * a bucket is appended to while the pool is full, the file written to least recently is flushed and closed, and
+ * it is opened again in append mode the next time a ballot is appended to its bucket. So the number of open files
+ * and the memory of the write buffers do not grow with the number of buckets.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class STVBallotBucket {
+    /**
+     * Holds the size of the buffer used to write the ballots to the file, and to read each run of the file.
+     */
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * Holds the path of the file of the bucket.
+     */
+    private Path bucketFile;
+
+    /**
+     * Holds the pool of the open files, which holds the stream the ballots of the bucket are written to.
+     */
+    private WriterPool writerPool;
+
+    /**
+     * Holds the number of bytes written to the file.
+     */
+    private long sizeInBytes;
+
+    /**
+     * Holds the position in the file where each run starts.
+     */
+    private long[] runStarts;
+
+    /**
+     * Holds the number of runs in the file.
+     */
+    private int numOfRuns;
+
+    /**
+     * Holds the number of ballots in the bucket.
+     */
+    private long numOfBallots;
+
+    /**
+     * Holds the order number of the ballot appended last.
+     */
+    private int lastBallotOrderNo;
+
+    /**
+     * Creates a new empty STVBallotBucket object. The file is only created once the first ballot is appended.
+     * @param bucketFile Path of the file of the bucket.
+     * @param writerPool Pool of the open files, shared by the buckets of a count.
+     */
+    public STVBallotBucket(Path bucketFile, WriterPool writerPool) {
+        this.bucketFile = bucketFile;
+        this.writerPool = writerPool;
+        this.sizeInBytes = 0;
+        this.runStarts = new long[4];
+        this.numOfRuns = 0;
+        this.numOfBallots = 0;
+        this.lastBallotOrderNo = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Overloading the constructor for a bucket with a pool of its own, which keeps its file open for writing.
+     * @param bucketFile Path of the file of the bucket.
+     */
+    public STVBallotBucket(Path bucketFile) {
+        this(bucketFile, new WriterPool(1));
+    }
+
+    /**
+     * Appends a ballot at the end of the bucket.
+     * @param ballotOrderNo Order number of the ballot.
+     * @param candidateIDs IDs of the candidates in order of preference.
+     * @param fromIndex Index in candidateIDs of the first preference to keep.
+     * @param toIndex Index in candidateIDs after the last preference to keep.
+     * @throws IOException If the ballot could not be written.
+     */
+    public void append(int ballotOrderNo, int[] candidateIDs, int fromIndex, int toIndex) throws IOException {
+        DataOutputStream outputStream = this.writerPool.openWriter(this);
+        if (ballotOrderNo < this.lastBallotOrderNo) {
+            // the ballot comes before the previous ballot, so it starts a new run.
+            if (this.numOfRuns == this.runStarts.length) {
+                this.runStarts = Arrays.copyOf(this.runStarts, this.runStarts.length * 2);
+            }
+            this.runStarts[this.numOfRuns] = this.sizeInBytes;
+            this.numOfRuns++;
+        }
+        outputStream.writeInt(ballotOrderNo);
+        outputStream.writeInt(toIndex - fromIndex);
+        for (int preferenceIndex = fromIndex; preferenceIndex < toIndex; preferenceIndex++) {
+            outputStream.writeInt(candidateIDs[preferenceIndex]);
+        }
+        this.sizeInBytes += 4L * (2 + toIndex - fromIndex);
+        this.numOfBallots++;
+        this.lastBallotOrderNo = ballotOrderNo;
+    }
+
+    /**
+     * Returns the number of ballots in the bucket.
+     * @return long - Number of ballots.
+     */
+    public long getNumOfBallots() {
+        return this.numOfBallots;
+    }
+
+    /**
+     * Returns the number of bytes written to the file of the bucket.
+     * @return long - Size in bytes.
+     */
+    public long getSizeInBytes() {
+        return this.sizeInBytes;
+    }
+
+    /**
+     * Returns the number of sorted runs in the file of the bucket.
+     * @return int - Number of runs.
+     */
+    public int getNumOfRuns() {
+        return this.numOfRuns;
+    }
+
+    /**
+     * Closes the file for writing, so no more ballots can be appended, and opens a reader
+     * which reads the ballots of the bucket in increasing order of their order numbers.
+     * @return BucketReader - Reader of the ballots, which has to be closed.
+     * @throws IOException If the file could not be opened.
+     */
+    public BucketReader openReader() throws IOException {
+        closeOutput();
+        return new BucketReader();
+    }
+
+    /**
+     * Closes the file for writing and deletes it.
+     * @throws IOException If the file could not be deleted.
+     */
+    public void delete() throws IOException {
+        closeOutput();
+        Files.deleteIfExists(this.bucketFile);
+    }
+
+    /**
+     * Flushes and closes the stream the ballots are written to.
+     * @throws IOException If the ballots could not be written.
+     */
+    private void closeOutput() throws IOException {
+        this.writerPool.closeWriter(this);
+    }
+
+    /**
+     * <h1>WriterPool</h1>
+     * WriterPool - is a class that keeps the files of buckets open for writing, up to a maximum number of files.
+     * The files are kept in order of their last write, and the file written to least recently is closed to make
+     * room for another one. A closed file is opened again in append mode, so no ballot written to it is lost.
+     */
+    public static class WriterPool {
+        /**
+         * Holds the maximum number of files that are open for writing at the same time.
+         */
+        private int maxOpenWriters;
+
+        /**
+         * Holds the stream of every bucket whose file is open, the bucket written to least recently first.
+         */
+        private LinkedHashMap<STVBallotBucket, DataOutputStream> openWriters;
+
+        /**
+         * Holds the number of times a file was opened again after it was closed to make room for another one.
+         */
+        private long numOfReopens;
+
+        /**
+         * Creates a new WriterPool object with no open files.
+         * @param maxOpenWriters Maximum number of files open for writing at the same time, at least 1.
+         */
+        public WriterPool(int maxOpenWriters) {
+            if (maxOpenWriters < 1) {
+                throw new IllegalArgumentException("Invalid number of open bucket files " + maxOpenWriters);
+            }
+            this.maxOpenWriters = maxOpenWriters;
+            this.openWriters = new LinkedHashMap<>(16, 0.75f, true);
+            this.numOfReopens = 0;
+        }
+
+        /**
+         * Returns the number of files that are open for writing.
+         * @return int - Number of open files.
+         */
+        public int getNumOfOpenWriters() {
+            return this.openWriters.size();
+        }
+
+        /**
+         * Returns the number of times a file was opened again after it was closed to make room for another one.
+         * @return long - Number of times a file was opened again.
+         */
+        public long getNumOfReopens() {
+            return this.numOfReopens;
+        }
+
+        /**
+         * Returns the stream the ballots of a bucket are written to, opening the file of the bucket if it is not
+         * open. The file written to least recently is closed first if the maximum number of files is open.
+         * @param bucket The bucket to write to.
+         * @return DataOutputStream - Stream of the file of the bucket.
+         * @throws IOException If a file could not be closed or opened.
+         */
+        private DataOutputStream openWriter(STVBallotBucket bucket) throws IOException {
+            DataOutputStream outputStream = this.openWriters.get(bucket);
+            if (outputStream != null) {
+                return outputStream;
+            }
+            if (this.openWriters.size() == this.maxOpenWriters) {
+                Iterator<Map.Entry<STVBallotBucket, DataOutputStream>> leastRecentlyWritten = this.openWriters.entrySet().iterator();
+                DataOutputStream closedStream = leastRecentlyWritten.next().getValue();
+                leastRecentlyWritten.remove();
+                closedStream.close();
+            }
+            // a bucket which already holds ballots was closed to make room for another one, so it is appended to.
+            boolean reopen = bucket.sizeInBytes > 0;
+            if (reopen) {
+                this.numOfReopens++;
+            }
+            outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(bucket.bucketFile.toFile(), reopen), BUFFER_SIZE));
+            this.openWriters.put(bucket, outputStream);
+            return outputStream;
+        }
+
+        /**
+         * Flushes and closes the file of a bucket if it is open.
+         * @param bucket The bucket whose file is closed.
+         * @throws IOException If the ballots could not be written.
+         */
+        private void closeWriter(STVBallotBucket bucket) throws IOException {
+            DataOutputStream outputStream = this.openWriters.remove(bucket);
+            if (outputStream != null) {
+                outputStream.close();
+            }
+        }
+    }
+
+    /**
+     * <h1>BucketReader</h1>
+     * BucketReader - is a class that reads the ballots of a bucket in increasing order of their order numbers.
+     * Every run is read with a buffer of its own and the run holding the next ballot in order is kept on top of
+     * a heap, so reading a bucket needs memory for one buffer per run whatever the number of ballots.
+     */
+    public class BucketReader implements AutoCloseable {
+        /**
+         * Holds the channel of the file of the bucket, null if the bucket has no ballots.
+         */
+        private FileChannel channel;
+
+        /**
+         * Holds the runs that still have ballots to be read, with the run of the next ballot on top.
+         */
+        private PriorityQueue<RunReader> runReaders;
+
+        /**
+         * Holds the order number of the ballot read last.
+         */
+        private int ballotOrderNo;
+
+        /**
+         * Creates a new BucketReader object positioned before the first ballot.
+         * @throws IOException If the file could not be opened or read.
+         */
+        private BucketReader() throws IOException {
+            this.runReaders = new PriorityQueue<>(Math.max(1, numOfRuns));
+            this.ballotOrderNo = 0;
+            if (numOfBallots == 0) {
+                this.channel = null;
+                return;
+            }
+            this.channel = FileChannel.open(bucketFile, StandardOpenOption.READ);
+            for (int run = 0; run < numOfRuns; run++) {
+                long runEnd = run + 1 < numOfRuns ? runStarts[run + 1] : sizeInBytes;
+                RunReader runReader = new RunReader(this.channel, runStarts[run], runEnd);
+                runReader.readNextBallotOrderNo();
+                this.runReaders.add(runReader);
+            }
+        }
+
+        /**
+         * Reads the next ballot in order.
+         * @param candidateIDs Array which receives the IDs of the candidates of the preferences left on the ballot.
+         *                     Must be long enough for all of them (the number of candidates of the election).
+         * @return int - Number of preferences of the ballot, -1 once all the ballots have been read.
+         * @throws IOException If the file could not be read.
+         */
+        public int readBallot(int[] candidateIDs) throws IOException {
+            RunReader runReader = this.runReaders.poll();
+            if (runReader == null) {
+                return -1;
+            }
+            this.ballotOrderNo = runReader.nextBallotOrderNo;
+            int numOfPreferences = runReader.readInt();
+            for (int preferenceIndex = 0; preferenceIndex < numOfPreferences; preferenceIndex++) {
+                candidateIDs[preferenceIndex] = runReader.readInt();
+            }
+            if (runReader.readNextBallotOrderNo()) {
+                this.runReaders.add(runReader);
+            }
+            return numOfPreferences;
+        }
+
+        /**
+         * Returns the order number of the ballot read last.
+         * @return int - Order number of the ballot.
+         */
+        public int getBallotOrderNo() {
+            return this.ballotOrderNo;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.channel != null) {
+                this.channel.close();
+            }
+        }
+    }
+
+    /**
+     * <h1>RunReader</h1>
+     * RunReader - is a class that reads the ints of a single run of the file of a bucket through a buffer.
+     */
+    private static class RunReader implements Comparable<RunReader> {
+        /**
+         * Holds the channel of the file of the bucket.
+         */
+        private FileChannel channel;
+
+        /**
+         * Holds the position in the file of the next bytes to be read into the buffer.
+         */
+        private long position;
+
+        /**
+         * Holds the position in the file where the run ends.
+         */
+        private long end;
+
+        /**
+         * Holds the bytes of the run that have been read from the file.
+         */
+        private ByteBuffer buffer;
+
+        /**
+         * Holds the order number of the next ballot of the run.
+         */
+        private int nextBallotOrderNo;
+
+        /**
+         * Creates a new RunReader object positioned at the start of the run.
+         * @param channel Channel of the file of the bucket.
+         * @param start Position in the file where the run starts.
+         * @param end Position in the file where the run ends.
+         */
+        private RunReader(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+            this.buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, end - start));
+            this.buffer.flip();
+            this.nextBallotOrderNo = 0;
+        }
+
+        /**
+         * Reads the order number of the next ballot of the run.
+         * @return boolean - true if there is a next ballot, false at the end of the run.
+         * @throws IOException If the file could not be read.
+         */
+        private boolean readNextBallotOrderNo() throws IOException {
+            if (this.buffer.remaining() == 0 && this.position == this.end) {
+                return false;
+            }
+            this.nextBallotOrderNo = readInt();
+            return true;
+        }
+
+        /**
+         * Reads the next int of the run.
+         * @return int - The value read.
+         * @throws IOException If the file could not be read or the run ends in the middle of a ballot.
+         */
+        private int readInt() throws IOException {
+            while (this.buffer.remaining() < Integer.BYTES) {
+                if (this.position == this.end) {
+                    throw new IOException("Bucket file ends in the middle of a ballot");
+                }
+                this.buffer.compact();
+                this.buffer.limit((int) Math.min(this.buffer.capacity(), this.buffer.position() + this.end - this.position));
+                int numOfBytesRead = this.channel.read(this.buffer, this.position);
+                if (numOfBytesRead < 0) {
+                    throw new IOException("Bucket file ends in the middle of a ballot");
+                }
+                this.position += numOfBytesRead;
+                this.buffer.flip();
+            }
+            return this.buffer.getInt();
+        }
+
+        @Override
+        public int compareTo(RunReader otherRunReader) {
+            return Integer.compare(this.nextBallotOrderNo, otherRunReader.nextBallotOrderNo);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class STVBallotBucketTest {
+
+    @org.junit.jupiter.api.Test
+    void readBallotsInOrder() throws IOException {
+        Path bucketFile = Files.createTempFile("candidate", ".bucket");
+        STVBallotBucket tester = new STVBallotBucket(bucketFile);
+        int[] preferences = {4, 2, 1, 3};
+        // two runs, as the ballots transferred from another candidate come before the ballots of the first run.
+        tester.append(5, preferences, 1, 4);
+        tester.append(9, preferences, 0, 0);
+        tester.append(2, preferences, 0, 2);
+        tester.append(7, preferences, 3, 4);
+        assertEquals(tester.getNumOfBallots(), 4, "Should be 4");
+        assertEquals(tester.getNumOfRuns(), 2, "Should be 2");
+
+        int[] candidateIDs = new int[4];
+        try (STVBallotBucket.BucketReader bucketReader = tester.openReader()) {
+            assertEquals(bucketReader.readBallot(candidateIDs), 2, "Should be 2");
+            assertEquals(bucketReader.getBallotOrderNo(), 2, "Should be 2");
+            assertEquals(candidateIDs[1], 2, "Should be 2");
+            assertEquals(bucketReader.readBallot(candidateIDs), 3, "Should be 3");
+            assertEquals(bucketReader.getBallotOrderNo(), 5, "Should be 5");
+            assertEquals(candidateIDs[2], 3, "Should be 3");
+            assertEquals(bucketReader.readBallot(candidateIDs), 1, "Should be 1");
+            assertEquals(bucketReader.getBallotOrderNo(), 7, "Should be 7");
+            assertEquals(bucketReader.readBallot(candidateIDs), 0, "Should be 0");
+            assertEquals(bucketReader.getBallotOrderNo(), 9, "Should be 9");
+            assertEquals(bucketReader.readBallot(candidateIDs), -1, "Should be -1");
+        }
+        tester.delete();
+        assertFalse(Files.exists(bucketFile), "Should delete the file");
+    }
+
+    @org.junit.jupiter.api.Test
+    void reopenClosedBuckets() throws IOException {
+        // more buckets than files that can be open, so the buckets are closed and opened again while they are written.
+        Path bucketDirectory = Files.createTempDirectory("buckets");
+        STVBallotBucket.WriterPool writerPool = new STVBallotBucket.WriterPool(2);
+        STVBallotBucket[] buckets = new STVBallotBucket[5];
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            buckets[bucket] = new STVBallotBucket(bucketDirectory.resolve("candidate-" + bucket + ".bucket"), writerPool);
+        }
+        int[] preferences = {0, 1, 2, 3, 4};
+        for (int ballotOrderNo = 0; ballotOrderNo < 100; ballotOrderNo++) {
+            buckets[ballotOrderNo % buckets.length].append(ballotOrderNo, preferences, ballotOrderNo % buckets.length, preferences.length);
+            assertTrue(writerPool.getNumOfOpenWriters() <= 2, "Should keep at most 2 files open");
+        }
+        assertTrue(writerPool.getNumOfReopens() > 0, "Should open the files again");
+
+        int[] candidateIDs = new int[5];
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            assertEquals(buckets[bucket].getNumOfRuns(), 1, "Should be 1");
+            try (STVBallotBucket.BucketReader bucketReader = buckets[bucket].openReader()) {
+                for (int ballotOrderNo = bucket; ballotOrderNo < 100; ballotOrderNo += buckets.length) {
+                    assertEquals(bucketReader.readBallot(candidateIDs), preferences.length - bucket);
+                    assertEquals(bucketReader.getBallotOrderNo(), ballotOrderNo);
+                    assertEquals(candidateIDs[0], bucket);
+                }
+                assertEquals(bucketReader.readBallot(candidateIDs), -1, "Should be -1");
+            }
+            buckets[bucket].delete();
+        }
+        assertEquals(writerPool.getNumOfOpenWriters(), 0, "Should be 0");
+        Files.delete(bucketDirectory);
+    }
+}
@@ -0,0 +1,399 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+/**
+ * <h1>STVBallotStore</h1>
+ * STVBallotStore - is a class that stores all the ballots cast in a STV based election in a compact form.
+ *
+ * Instead of creating a STVBallot object (with a list of boxed candidate IDs) for every ballot, the store
+ * keeps the preferences in one flat array of candidate IDs (the preference arena). A second array holds
+ * the offset in the arena where each list of preferences starts, so a list of preferences is made of the
+ * entries between its offset and the next offset.
+ *
+ * Ballots with identical preferences are grouped together when they are added to the store, so every
+ * distinct list of preferences is stored only once as a weighted ballot group. The weight of a group is
+ * the number of ballots in it. The store also remembers the group of every ballot, so the vote counter
+ * can find out which ballots (and in which order) belong to a group.
+ *
+ * Ballots are addressed by their index in the store and are stored in the order in which they were
+ * read from the input file, so the serial number of a ballot is its index + 1. Groups are addressed by
+ * their index and are numbered in the order in which their first ballot was added.
+ *
+ * The arrays of the store can be kept outside of the heap, so the ballots of a very large election
+ * do not have to be scanned by the garbage collector. Only the hash table used while the ballots
+ * are added stays in the heap.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class STVBallotStore {
+    /**
+     * Holds the initial number of ballots (and preferences) the store has room for.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Holds the candidate IDs of all the ballot groups in order of preference.
+     * The preferences of the groups are stored one after the other.
+     */
+    private IntArray preferenceArena;
+
+    /**
+     * Holds the number of entries used in the preference arena.
+     */
+    private int numOfPreferences;
+
+    /**
+     * Holds the offset in the preference arena where the preferences of each group start.
+     * Entry numOfGroups holds the end of the preferences of the last group.
+     */
+    private IntArray preferenceOffsets;
+
+    /**
+     * Holds the number of ballots in each group.
+     */
+    private IntArray groupWeights;
+
+    /**
+     * Holds the number of ballot groups (distinct lists of preferences) in the store.
+     */
+    private int numOfGroups;
+
+    /**
+     * Holds the group of every ballot, indexed by ballot index.
+     */
+    private IntArray ballotGroups;
+
+    /**
+     * Holds the number of ballots in the store.
+     */
+    private int numOfBallots;
+
+    /**
+     * Holds an open addressing hash table of group indexes (-1 for an empty slot) used to find
+     * the group of a list of preferences. It is released once all the ballots have been added.
+     */
+    private int[] groupTable;
+
+    /**
+     * Holds the information about whether the arrays of the store are kept outside of the heap.
+     */
+    private boolean offHeapFlag;
+
+    /**
+     * Creates a new empty STVBallotStore object.
+     * @param offHeapFlag Describes whether the arrays of the store are kept outside of the heap.
+     */
+    public STVBallotStore(boolean offHeapFlag) {
+        this.offHeapFlag = offHeapFlag;
+        this.preferenceArena = IntArray.allocate(INITIAL_CAPACITY, offHeapFlag);
+        this.numOfPreferences = 0;
+        this.preferenceOffsets = IntArray.allocate(INITIAL_CAPACITY + 1, offHeapFlag);
+        this.groupWeights = IntArray.allocate(INITIAL_CAPACITY, offHeapFlag);
+        this.numOfGroups = 0;
+        this.ballotGroups = IntArray.allocate(INITIAL_CAPACITY, offHeapFlag);
+        this.numOfBallots = 0;
+        this.groupTable = new int[INITIAL_CAPACITY * 2];
+        Arrays.fill(this.groupTable, -1);
+    }
+
+    /**
+     * Overloading the constructor to mark that the arrays of the store are kept in the heap.
+     */
+    public STVBallotStore() {
+        this(false);
+    }
+
+    /**
+     * Finds the IDs of the candidates of a ballot in order of preference from the preference numbers of the ballot.
+     * If the same preference number is given to multiple candidates then the first candidate (lowest ID) is kept,
+     * and preference numbers that are not given to any candidate are skipped.
+     * @param ballotRanks Preference numbers of the ballot indexed by candidate ID. Each index contains
+     *                    either 0 (denoting no choice made) or some number denoting the preference of the
+     *                    corresponding candidate.
+     * @param candidateIDs Array which receives the IDs of the candidates in order of preference. Must be at
+     *                     least as long as ballotRanks.
+     * @return int - Number of entries of candidateIDs that belong to the ballot.
+     */
+    public static int findCandidateIDsInOrderOfPreference(int[] ballotRanks, int[] candidateIDs) {
+        // variable that represents the number of candidates for which preferences were given in the ballot.
+        int noForWhichVoted = 0;
+        for (int preferenceNumberOfCandidate : ballotRanks) {
+            if (preferenceNumberOfCandidate != 0) {
+                noForWhichVoted++;
+            }
+        }
+        // -1 marks a preference number that has not been given to any candidate yet.
+        Arrays.fill(candidateIDs, 0, noForWhichVoted, -1);
+        // place the ID of every candidate at the index of its preference number.
+        for (int candidateId = 0; candidateId < ballotRanks.length; candidateId++) {
+            int preferenceNumber = ballotRanks[candidateId];
+            if (preferenceNumber >= 1 && preferenceNumber <= noForWhichVoted && candidateIDs[preferenceNumber - 1] == -1) {
+                candidateIDs[preferenceNumber - 1] = candidateId;
+            }
+        }
+        // skip the preference numbers that were not given to any candidate.
+        int numOfPreferences = 0;
+        for (int preferenceIndex = 0; preferenceIndex < noForWhichVoted; preferenceIndex++) {
+            if (candidateIDs[preferenceIndex] != -1) {
+                candidateIDs[numOfPreferences] = candidateIDs[preferenceIndex];
+                numOfPreferences++;
+            }
+        }
+        return numOfPreferences;
+    }
+
+    /**
+     * Adds a new ballot at the end of the store. If a ballot with identical preferences was
+     * added before, the ballot joins the group of that ballot, otherwise it starts a new group.
+     * @param candidateIDs IDs of the candidates in order of preference of the ballot.
+     * @param numOfCandidateIDs Number of entries of candidateIDs that belong to the ballot.
+     * @return int - Index of the group of the ballot.
+     */
+    public int addBallot(int[] candidateIDs, int numOfCandidateIDs) {
+        if (this.groupTable == null) {
+            throw new IllegalStateException("Ballots cannot be added after the store has been trimmed");
+        }
+        int slot = findGroupSlot(candidateIDs, numOfCandidateIDs);
+        int group = this.groupTable[slot];
+        if (group == -1) {
+            group = addGroup(candidateIDs, numOfCandidateIDs);
+            this.groupTable[slot] = group;
+            if (this.numOfGroups * 2 > this.groupTable.length) {
+                resizeGroupTable();
+            }
+        }
+        this.groupWeights.set(group, this.groupWeights.get(group) + 1);
+        if (this.numOfBallots == this.ballotGroups.length()) {
+            this.ballotGroups.resize(this.ballotGroups.length() * 2);
+        }
+        this.ballotGroups.set(this.numOfBallots, group);
+        this.numOfBallots++;
+        return group;
+    }
+
+    /**
+     * Adds a new group with no ballots at the end of the preference arena.
+     * @param candidateIDs IDs of the candidates in order of preference of the group.
+     * @param numOfCandidateIDs Number of entries of candidateIDs that belong to the group.
+     * @return int - Index of the new group.
+     */
+    private int addGroup(int[] candidateIDs, int numOfCandidateIDs) {
+        if (this.numOfGroups == this.groupWeights.length()) {
+            this.groupWeights.resize(this.groupWeights.length() * 2);
+            this.preferenceOffsets.resize(this.groupWeights.length() + 1);
+        }
+        if (this.numOfPreferences + numOfCandidateIDs > this.preferenceArena.length()) {
+            this.preferenceArena.resize(Math.max(this.preferenceArena.length() * 2, this.numOfPreferences + numOfCandidateIDs));
+        }
+        this.preferenceArena.set(this.numOfPreferences, candidateIDs, numOfCandidateIDs);
+        this.numOfPreferences += numOfCandidateIDs;
+        this.numOfGroups++;
+        this.preferenceOffsets.set(this.numOfGroups, this.numOfPreferences);
+        return this.numOfGroups - 1;
+    }
+
+    /**
+     * Returns the slot of the hash table which holds the group of a list of preferences,
+     * or the empty slot where the group should be placed.
+     * @param candidateIDs IDs of the candidates in order of preference.
+     * @param numOfCandidateIDs Number of entries of candidateIDs that belong to the list.
+     * @return int - Slot of the hash table.
+     */
+    private int findGroupSlot(int[] candidateIDs, int numOfCandidateIDs) {
+        int hash = numOfCandidateIDs;
+        for (int preferenceIndex = 0; preferenceIndex < numOfCandidateIDs; preferenceIndex++) {
+            hash = hash * 31 + candidateIDs[preferenceIndex];
+        }
+        int mask = this.groupTable.length - 1;
+        // the hashes of lists of a few small candidate IDs are close to each other, so they are spread over the
+        // whole table (by the high bits of the product with the golden ratio) before they are probed linearly.
+        int slot = (hash * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(mask);
+        while (this.groupTable[slot] != -1 && !hasPreferences(this.groupTable[slot], candidateIDs, numOfCandidateIDs)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Checks whether a group has exactly the given list of preferences.
+     * @param group Index of the group.
+     * @param candidateIDs IDs of the candidates in order of preference.
+     * @param numOfCandidateIDs Number of entries of candidateIDs that belong to the list.
+     * @return boolean - true if the preferences are identical.
+     */
+    private boolean hasPreferences(int group, int[] candidateIDs, int numOfCandidateIDs) {
+        if (getNumOfPreferences(group) != numOfCandidateIDs) {
+            return false;
+        }
+        int offset = this.preferenceOffsets.get(group);
+        for (int preferenceIndex = 0; preferenceIndex < numOfCandidateIDs; preferenceIndex++) {
+            if (this.preferenceArena.get(offset + preferenceIndex) != candidateIDs[preferenceIndex]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Doubles the size of the hash table and places every group again.
+     */
+    private void resizeGroupTable() {
+        this.groupTable = new int[this.groupTable.length * 2];
+        Arrays.fill(this.groupTable, -1);
+        int[] candidateIDs = new int[0];
+        for (int group = 0; group < this.numOfGroups; group++) {
+            int numOfCandidateIDs = getNumOfPreferences(group);
+            if (candidateIDs.length < numOfCandidateIDs) {
+                candidateIDs = new int[numOfCandidateIDs];
+            }
+            int offset = this.preferenceOffsets.get(group);
+            for (int preferenceIndex = 0; preferenceIndex < numOfCandidateIDs; preferenceIndex++) {
+                candidateIDs[preferenceIndex] = this.preferenceArena.get(offset + preferenceIndex);
+            }
+            this.groupTable[findGroupSlot(candidateIDs, numOfCandidateIDs)] = group;
+        }
+    }
+
+    /**
+     * Releases the unused capacity of the store (and the hash table used to group
+     * the ballots) once all the ballots have been added.
+     */
+    public void trimToSize() {
+        this.preferenceArena.resize(this.numOfPreferences);
+        this.preferenceOffsets.resize(this.numOfGroups + 1);
+        this.groupWeights.resize(this.numOfGroups);
+        this.ballotGroups.resize(this.numOfBallots);
+        this.groupTable = null;
+    }
+
+    /**
+     * Writes the groups and the ballots of the store to a checkpoint. The store must have been trimmed.
+     * @param outputStream Stream of the checkpoint file.
+     * @throws IOException If the store could not be written.
+     */
+    public void writeCheckpoint(DataOutputStream outputStream) throws IOException {
+        STVCheckpoint.writeInts(outputStream, this.preferenceArena, this.numOfPreferences);
+        STVCheckpoint.writeInts(outputStream, this.preferenceOffsets, this.numOfGroups + 1);
+        STVCheckpoint.writeInts(outputStream, this.groupWeights, this.numOfGroups);
+        STVCheckpoint.writeInts(outputStream, this.ballotGroups, this.numOfBallots);
+    }
+
+    /**
+     * Reads a store written by writeCheckpoint. The store is trimmed, so no more ballots can be added to it.
+     * @param inputStream Stream of the checkpoint file.
+     * @param numOfCandidates Number of candidates of the election, every preference must be a candidate ID below it.
+     * @param offHeapFlag Describes whether the arrays of the store are kept outside of the heap.
+     * @return STVBallotStore - The store.
+     * @throws IOException If the store could not be read or is not valid.
+     */
+    public static STVBallotStore readCheckpoint(DataInputStream inputStream, int numOfCandidates, boolean offHeapFlag) throws IOException {
+        STVBallotStore store = new STVBallotStore(offHeapFlag);
+        store.preferenceArena = STVCheckpoint.readInts(inputStream, Integer.MAX_VALUE, offHeapFlag);
+        store.numOfPreferences = store.preferenceArena.length();
+        store.preferenceOffsets = STVCheckpoint.readInts(inputStream, Integer.MAX_VALUE, offHeapFlag);
+        store.numOfGroups = store.preferenceOffsets.length() - 1;
+        store.groupWeights = STVCheckpoint.readInts(inputStream, Math.max(0, store.numOfGroups), offHeapFlag);
+        store.ballotGroups = STVCheckpoint.readInts(inputStream, Integer.MAX_VALUE, offHeapFlag);
+        store.numOfBallots = store.ballotGroups.length();
+        store.groupTable = null;
+        if (store.numOfGroups < 0 || store.groupWeights.length() != store.numOfGroups || store.preferenceOffsets.get(0) != 0
+                || store.preferenceOffsets.get(store.numOfGroups) != store.numOfPreferences) {
+            throw new IOException("Checkpoint holds an invalid ballot store");
+        }
+        for (int group = 0; group < store.numOfGroups; group++) {
+            if (store.preferenceOffsets.get(group) > store.preferenceOffsets.get(group + 1)) {
+                throw new IOException("Checkpoint holds an invalid ballot store");
+            }
+        }
+        for (int preferenceIndex = 0; preferenceIndex < store.numOfPreferences; preferenceIndex++) {
+            if (store.preferenceArena.get(preferenceIndex) < 0 || store.preferenceArena.get(preferenceIndex) >= numOfCandidates) {
+                throw new IOException("Checkpoint holds an invalid ballot store");
+            }
+        }
+        for (int ballotIndex = 0; ballotIndex < store.numOfBallots; ballotIndex++) {
+            if (store.ballotGroups.get(ballotIndex) < 0 || store.ballotGroups.get(ballotIndex) >= store.numOfGroups) {
+                throw new IOException("Checkpoint holds an invalid ballot store");
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Returns the number of ballots in the store.
+     * @return int - Number of ballots.
+     */
+    public int getNumOfBallots() {
+        return this.numOfBallots;
+    }
+
+    /**
+     * Returns the estimated number of bytes of memory used by the arrays of the store, in the heap or outside of it.
+     * @return long - Size in bytes.
+     */
+    public long getSizeInBytes() {
+        long numOfEntries = (long) this.preferenceArena.length() + this.preferenceOffsets.length() + this.groupWeights.length() + this.ballotGroups.length();
+        if (this.groupTable != null) {
+            numOfEntries += this.groupTable.length;
+        }
+        // every array also has a header of about 16 bytes.
+        return numOfEntries * Integer.BYTES + 5 * 16;
+    }
+
+    /**
+     * Returns the serial number of a ballot.
+     * @param ballotIndex Index of the ballot in the store.
+     * @return int - Serial number of the ballot.
+     */
+    public int getBallotSerialNo(int ballotIndex) {
+        return ballotIndex + 1;
+    }
+
+    /**
+     * Returns the group of a ballot.
+     * @param ballotIndex Index of the ballot in the store.
+     * @return int - Index of the group of the ballot.
+     */
+    public int getGroupOfBallot(int ballotIndex) {
+        return this.ballotGroups.get(ballotIndex);
+    }
+
+    /**
+     * Returns the number of ballot groups (distinct lists of preferences) in the store.
+     * @return int - Number of groups.
+     */
+    public int getNumOfGroups() {
+        return this.numOfGroups;
+    }
+
+    /**
+     * Returns the number of ballots in a group.
+     * @param group Index of the group.
+     * @return int - Weight of the group.
+     */
+    public int getGroupWeight(int group) {
+        return this.groupWeights.get(group);
+    }
+
+    /**
+     * Returns the number of candidates for which preferences were given in the ballots of a group.
+     * @param group Index of the group.
+     * @return int - Number of preferences of the group.
+     */
+    public int getNumOfPreferences(int group) {
+        return this.preferenceOffsets.get(group + 1) - this.preferenceOffsets.get(group);
+    }
+
+    /**
+     * Returns the ID of the candidate at some preference of the ballots of a group.
+     * @param group Index of the group.
+     * @param preferenceIndex Index of the preference (0 for the first preference).
+     * @return int - ID of the candidate.
+     */
+    public int getPreference(int group, int preferenceIndex) {
+        return this.preferenceArena.get(this.preferenceOffsets.get(group) + preferenceIndex);
+    }
+}
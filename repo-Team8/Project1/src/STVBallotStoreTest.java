@@ -0,0 +1,59 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class STVBallotStoreTest {
+    private STVBallotStore tester;
+
+    @org.junit.jupiter.api.Test
+    void addBallot() {
+        tester = new STVBallotStore();
+        assertEquals(tester.addBallot(new int[]{2, 0, 1}, 3), 0, "Should be 0");
+        assertEquals(tester.addBallot(new int[]{1, 3, 0}, 1), 1, "Should be 1");
+        assertEquals(tester.getNumOfBallots(), 2, "Should be 2");
+
+        assertEquals(tester.getNumOfPreferences(0), 3, "Should be 3");
+        assertEquals(tester.getPreference(0, 0), 2, "Should be 2");
+        assertEquals(tester.getPreference(0, 2), 1, "Should be 1");
+        assertEquals(tester.getNumOfPreferences(1), 1, "Should be 1");
+        assertEquals(tester.getPreference(1, 0), 1, "Should be 1");
+    }
+
+    @org.junit.jupiter.api.Test
+    void getBallotSerialNo() {
+        tester = new STVBallotStore();
+        tester.addBallot(new int[]{0}, 1);
+        tester.addBallot(new int[]{0}, 1);
+        assertEquals(tester.getBallotSerialNo(0), 1, "Should be 1");
+        assertEquals(tester.getBallotSerialNo(1), 2, "Should be 2");
+    }
+
+    @org.junit.jupiter.api.Test
+    void groupIdenticalBallots() {
+        tester = new STVBallotStore();
+        assertEquals(tester.addBallot(new int[]{2, 0, 1}, 3), 0, "Should be 0");
+        assertEquals(tester.addBallot(new int[]{2, 0}, 2), 1, "Should be 1");
+        assertEquals(tester.addBallot(new int[]{2, 0, 1}, 3), 0, "Should be 0");
+        assertEquals(tester.getNumOfBallots(), 3, "Should be 3");
+        assertEquals(tester.getNumOfGroups(), 2, "Should be 2");
+        assertEquals(tester.getGroupWeight(0), 2, "Should be 2");
+        assertEquals(tester.getGroupWeight(1), 1, "Should be 1");
+        assertEquals(tester.getGroupOfBallot(2), 0, "Should be 0");
+    }
+
+    @org.junit.jupiter.api.Test
+    void growAndTrim() {
+        tester = new STVBallotStore();
+        for (int ballotIndex = 0; ballotIndex < 5000; ballotIndex++) {
+            tester.addBallot(new int[]{ballotIndex % 3000, 7}, 2);
+        }
+        tester.trimToSize();
+        assertEquals(tester.getNumOfBallots(), 5000, "Should be 5000");
+        assertEquals(tester.getNumOfGroups(), 3000, "Should be 3000");
+        assertEquals(tester.getGroupOfBallot(4999), 1999, "Should be 1999");
+        assertEquals(tester.getPreference(1999, 0), 1999, "Should be 1999");
+        assertEquals(tester.getGroupWeight(1999), 2, "Should be 2");
+        assertEquals(tester.getGroupWeight(2000), 1, "Should be 1");
+        assertThrows(IllegalStateException.class, () -> tester.addBallot(new int[0], 0));
+    }
+
+}
@@ -1,4 +1,7 @@
-import java.util.ArrayList;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
 /**
  * <h1>STVCandidate</h1>
  * STVCandidate - is a class that is responsible to hold the
@@ -12,6 +15,12 @@ import java.util.ArrayList;
  *
  */
 public class STVCandidate implements Candidate, Comparable<STVCandidate>  {
+    /**
+     * Holds the tie break key of a candidate that has not received any ballot.
+     * Such a candidate is treated as if it received its first ballot after every other candidate.
+     */
+    public static final int NO_BALLOT_ORDER_NO = Integer.MAX_VALUE;
+
     /**
      * Holds the unique ID of a candidate.
      * The ID is used to identify a candidate object.
@@ -35,11 +44,37 @@ public class STVCandidate implements Candidate, Comparable<STVCandidate>  {
     private boolean selected;
 
     /**
-     * Holds all the ballots that are assigned to the candidate.
-     * The candidate to which a ballot is assigned is determined by the
+     * Holds all the ballot units that are assigned to the candidate.
+     * A ballot unit is a run of ballots with identical preferences that always change hands together.
+     * Every entry packs the order number of the first ballot of the unit (upper 32 bits) and the
+     * index of the unit (lower 32 bits), so sorting the entries sorts the units in order of extraction.
+     * The candidate to which a ballot unit is assigned is determined by the
      * vote counter and then added to the candidate accordingly.
      */
-    private ArrayList<STVBallot> candidateBallots;
+    private long[] candidateBallotUnits;
+
+    /**
+     * Holds the number of ballot units that are assigned to the candidate.
+     */
+    private int numOfBallotUnits;
+
+    /**
+     * Holds the number of ballots in all the ballot units that are assigned to the candidate.
+     */
+    private int numOfVotes;
+
+    /**
+     * Holds whether the ballot units of the candidate are in increasing order of their first order numbers.
+     * Ballots transferred from a dropped candidate are added after the ballots the candidate already
+     * holds, so the ballot units may go out of order until they are sorted again.
+     */
+    private boolean ballotsInOrder;
+
+    /**
+     * Holds the order number of the first ballot (in order of extraction) that the candidate received.
+     * Kept up to date as ballots are assigned, so resolving a tie does not need to look at the ballots.
+     */
+    private int orderNoOfFirstBallot;
 
     /**
      * Creates a new STVCandidate object that represents the
@@ -51,7 +86,11 @@ public class STVCandidate implements Candidate, Comparable<STVCandidate>  {
         this.candidateID = candidateID;
         this.candidateName = candidateName;
         this.selected = false;
-        this.candidateBallots = new ArrayList<>();
+        this.candidateBallotUnits = new long[8];
+        this.numOfBallotUnits = 0;
+        this.numOfVotes = 0;
+        this.ballotsInOrder = true;
+        this.orderNoOfFirstBallot = NO_BALLOT_ORDER_NO;
     }
 
     @Override
@@ -76,7 +115,7 @@ public class STVCandidate implements Candidate, Comparable<STVCandidate>  {
 
     @Override
     public int getNumberOfVotesEarnedByCandidate() {
-        return this.candidateBallots.size();
+        return this.numOfVotes;
     }
 
     @Override
@@ -90,50 +129,120 @@ public class STVCandidate implements Candidate, Comparable<STVCandidate>  {
     }
 
     /**
-     * Adds a STVBallot type object to the list of ballots for the candidate.
-     * The ballots is assigned to the candidate who is still running in the
-     * election and is the first available preference.
-     * @param inputBallot ballot that is voted for the particular candidate.
+     * Adds a ballot unit to the list of ballots for the candidate.
+     * The ballots of the unit are assigned to the candidate who is still running in the
+     * election and is the first available preference. Every ballot of the unit is a vote for the candidate.
+     * @param ballotUnit index of the ballot unit that is voted for the particular candidate.
+     * @param orderNoOfFirstBallot order number of the first ballot (in order of extraction) of the unit.
+     * @param numOfBallotsInUnit number of ballots in the unit.
      */
-    public void addBallot(STVBallot inputBallot) {
-        this.candidateBallots.add(inputBallot);
+    public void addBallotUnit(int ballotUnit, int orderNoOfFirstBallot, int numOfBallotsInUnit) {
+        if (this.numOfBallotUnits == this.candidateBallotUnits.length) {
+            this.candidateBallotUnits = Arrays.copyOf(this.candidateBallotUnits, this.candidateBallotUnits.length * 2);
+        }
+        long packedBallotUnit = ((long) orderNoOfFirstBallot << 32) | ballotUnit;
+        if (this.numOfBallotUnits > 0 && this.candidateBallotUnits[this.numOfBallotUnits - 1] > packedBallotUnit) {
+            this.ballotsInOrder = false;
+        }
+        this.candidateBallotUnits[this.numOfBallotUnits] = packedBallotUnit;
+        this.numOfBallotUnits++;
+        this.numOfVotes += numOfBallotsInUnit;
+        this.orderNoOfFirstBallot = Math.min(this.orderNoOfFirstBallot, orderNoOfFirstBallot);
     }
 
     /**
-     * Resets the ballots of the candidate.
-     * Clears all the ballots that the candidate holds.
+     * Adds a single ballot to the candidate without keeping the ballot itself, for a vote counter
+     * which keeps the ballots of the candidates on its own (the ExternalSTVVoteCounter keeps them on disk).
+     * The ballot is a vote for the candidate.
+     * @param ballotOrderNo order number of the ballot (in order of extraction).
      */
-    public void resetAllBallotsOfCandidate() {
-        this.candidateBallots.clear();
+    public void addVote(int ballotOrderNo) {
+        this.numOfVotes++;
+        this.orderNoOfFirstBallot = Math.min(this.orderNoOfFirstBallot, ballotOrderNo);
     }
 
     /**
-     * Mark all the ballots that the candidate has as been credited (used).
-     * This is important to mark a distinction between ballots that should
-     * not be used when the vote counter pass through ballots for another iteration.
-     * These ballots are credited only when a certain candidate is declared winner.
+     * Sorts the ballot units of the candidate in increasing order of the order numbers of their
+     * first ballots, which is the order in which the ballots are extracted in the election.
      */
-    public void creditAllBallotsOfCandidate() {
-        for (STVBallot ballot : this.candidateBallots) {
-            ballot.setCredited(true);
+    public void sortBallotsOfCandidate() {
+        if (!this.ballotsInOrder) {
+            Arrays.sort(this.candidateBallotUnits, 0, this.numOfBallotUnits);
+            this.ballotsInOrder = true;
         }
     }
 
     /**
-     * Returns the order number of the first ballot allocated to the candidate.
+     * Resets the ballots of the candidate.
+     * Clears all the ballots that the candidate holds.
+     */
+    public void resetAllBallotsOfCandidate() {
+        this.numOfBallotUnits = 0;
+        this.numOfVotes = 0;
+        this.ballotsInOrder = true;
+        this.orderNoOfFirstBallot = NO_BALLOT_ORDER_NO;
+    }
+
+    /**
+     * Returns the order number of the first ballot (in order of extraction) allocated to the candidate.
      * This order number helps to resolve Tie situations in the STV based voting.
-     * @return int - order number of the first ballot.
+     * Candidates only receive ballots while they are running in the election, so the first ballot they
+     * received is also the first ballot they hold.
+     * @return int - order number of the first ballot, or NO_BALLOT_ORDER_NO if the candidate has no ballots.
      */
     public int getOrderNoOfFirstBallotOfCandidate() {
-        return this.candidateBallots.get(0).getBallotOrderNo();
+        return this.orderNoOfFirstBallot;
+    }
+
+    /**
+     * Returns the number of ballot units assigned to the candidate.
+     * @return int - Number of ballot units.
+     */
+    public int getNumOfBallotUnits() {
+        return this.numOfBallotUnits;
+    }
+
+    /**
+     * Returns the index of a ballot unit assigned to the candidate.
+     * @param ballotUnitIndex Index of the ballot unit in the list of ballot units of the candidate.
+     * @return int - Index of the ballot unit.
+     */
+    public int getBallotUnitOfCandidate(int ballotUnitIndex) {
+        return (int) this.candidateBallotUnits[ballotUnitIndex];
     }
 
     /**
-     * Returns the List of ballots that are assigned to the candidate.
-     * @return ArrayList{STVBallot} - Ballots associated to the candidate.
+     * Writes the ballot units assigned to the candidate to a checkpoint.
+     * @param outputStream Stream of the checkpoint file.
+     * @throws IOException If the ballot units could not be written.
      */
-    public ArrayList<STVBallot> getAllBallotsOfCandidate() {
-        return this.candidateBallots;
+    public void writeCheckpoint(DataOutputStream outputStream) throws IOException {
+        outputStream.writeInt(this.numOfVotes);
+        outputStream.writeInt(this.orderNoOfFirstBallot);
+        outputStream.writeBoolean(this.ballotsInOrder);
+        outputStream.writeBoolean(this.selected);
+        STVCheckpoint.writeLongs(outputStream, this.candidateBallotUnits, this.numOfBallotUnits);
+    }
+
+    /**
+     * Replaces the ballot units assigned to the candidate with the ballot units written by writeCheckpoint.
+     * @param inputStream Stream of the checkpoint file.
+     * @param numOfBallotUnits Number of ballot units of the election, every ballot unit must be an index below it.
+     * @throws IOException If the ballot units could not be read or are not valid.
+     */
+    public void readCheckpoint(DataInputStream inputStream, int numOfBallotUnits) throws IOException {
+        this.numOfVotes = inputStream.readInt();
+        this.orderNoOfFirstBallot = inputStream.readInt();
+        this.ballotsInOrder = inputStream.readBoolean();
+        this.selected = inputStream.readBoolean();
+        long[] ballotUnits = STVCheckpoint.readLongs(inputStream, numOfBallotUnits);
+        for (long packedBallotUnit : ballotUnits) {
+            if ((int) packedBallotUnit < 0 || (int) packedBallotUnit >= numOfBallotUnits) {
+                throw new IOException("Checkpoint holds an invalid ballot unit of candidate " + this.candidateName);
+            }
+        }
+        this.candidateBallotUnits = Arrays.copyOf(ballotUnits, Math.max(8, ballotUnits.length));
+        this.numOfBallotUnits = ballotUnits.length;
     }
 
     /**
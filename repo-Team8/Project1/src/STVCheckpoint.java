@@ -0,0 +1,277 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+/**
+ * <h1>STVCheckpoint</h1>
+ * STVCheckpoint - is a class that reads and writes the checkpoint files of a STV based election,
+ * from which a vote counter can resume a count that was stopped without reading the input file again.
+ *
+ * A checkpoint is made of two files. The ballots file (the name of the checkpoint followed by ".ballots") holds
+ * everything that does not change once the ballots have been distributed: the candidates, the store of ballots
+ * and the order of the ballots. It is written once per count. The round file (the name of the checkpoint) holds
+ * the state at the end of the latest round: the ballot units, the ballot units held by every candidate and the
+ * winner and dropped candidates. Both files hold the same session ID, so a round file is never resumed with the
+ * ballots file of another count. The layout of both files is:
+ * <ul>
+ *     <li> Header - the bytes "STVC", a version byte, the type of the file byte and the session ID. </li>
+ *     <li> Content - written by the vote counter, numbers are written as fixed size big endian numbers. </li>
+ *     <li> Trailer - the CRC-32 of the header and the content. </li>
+ * </ul>
+ * Every file is written to a temporary file first which then replaces the previous file in one step,
+ * so a count that stops while a checkpoint is written still leaves the previous checkpoint behind.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class STVCheckpoint {
+    /**
+     * Holds the bytes every checkpoint file starts with.
+     */
+    public static final byte[] MAGIC = {'S', 'T', 'V', 'C'};
+
+    /**
+     * Holds the version of the layout of the checkpoint files.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Holds the type of the file which holds the candidates and the ballots.
+     */
+    public static final int BALLOTS_FILE = 0;
+
+    /**
+     * Holds the type of the file which holds the state at the end of a round.
+     */
+    public static final int ROUND_FILE = 1;
+
+    /**
+     * Holds the suffix added to the name of the checkpoint to get the name of the ballots file.
+     */
+    public static final String BALLOTS_FILE_SUFFIX = ".ballots";
+
+    /**
+     * Holds the suffix added to the name of a checkpoint file while it is written.
+     */
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    /**
+     * Holds the size of the buffer of bytes used to read and write the files.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Holds the number of numbers of an array that are converted to bytes at a time.
+     */
+    private static final int NUMBERS_PER_CHUNK = 8 * 1024;
+
+    /**
+     * Writes the content of a checkpoint file. Implemented by the vote counter.
+     */
+    public interface ContentWriter {
+        /**
+         * Writes the content of the file.
+         * @param outputStream Stream of the file.
+         * @throws IOException If the content could not be written.
+         */
+        void writeContent(DataOutputStream outputStream) throws IOException;
+    }
+
+    /**
+     * Reads the content of a checkpoint file. Implemented by the vote counter.
+     */
+    public interface ContentReader {
+        /**
+         * Reads the content of the file.
+         * @param inputStream Stream of the file.
+         * @throws IOException If the content could not be read or is not valid.
+         */
+        void readContent(DataInputStream inputStream) throws IOException;
+    }
+
+    /**
+     * Returns the name of the ballots file of a checkpoint.
+     * @param checkpointFileName Name of the checkpoint (relative path).
+     * @return String - Name of the ballots file.
+     */
+    public static String getBallotsFileName(String checkpointFileName) {
+        return checkpointFileName + BALLOTS_FILE_SUFFIX;
+    }
+
+    /**
+     * Returns whether both files of a checkpoint exist.
+     * @param checkpointFileName Name of the checkpoint (relative path).
+     * @return boolean - true if a count can try to resume from the checkpoint.
+     */
+    public static boolean exists(String checkpointFileName) {
+        return new File(checkpointFileName).isFile() && new File(getBallotsFileName(checkpointFileName)).isFile();
+    }
+
+    /**
+     * Deletes both files of a checkpoint, once the count they belong to is complete.
+     * @param checkpointFileName Name of the checkpoint (relative path).
+     * @throws IOException If a file could not be deleted.
+     */
+    public static void delete(String checkpointFileName) throws IOException {
+        Files.deleteIfExists(new File(checkpointFileName).toPath());
+        Files.deleteIfExists(new File(getBallotsFileName(checkpointFileName)).toPath());
+    }
+
+    /**
+     * Writes a checkpoint file. The file is written to a temporary file which then replaces the file.
+     * @param fileName Name of the file (relative path).
+     * @param fileType BALLOTS_FILE or ROUND_FILE.
+     * @param sessionID ID of the count the file belongs to.
+     * @param contentWriter Writer of the content of the file.
+     * @throws IOException If the file could not be written.
+     */
+    public static void writeFile(String fileName, int fileType, long sessionID, ContentWriter contentWriter) throws IOException {
+        File temporaryFile = new File(fileName + TEMPORARY_FILE_SUFFIX);
+        CheckedOutputStream checkedStream = new CheckedOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile), BUFFER_SIZE), new CRC32());
+        try (DataOutputStream outputStream = new DataOutputStream(checkedStream)) {
+            outputStream.write(MAGIC);
+            outputStream.writeByte(VERSION);
+            outputStream.writeByte(fileType);
+            outputStream.writeLong(sessionID);
+            contentWriter.writeContent(outputStream);
+            outputStream.writeLong(checkedStream.getChecksum().getValue());
+        }
+        Files.move(temporaryFile.toPath(), new File(fileName).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a checkpoint file and checks its header and its CRC-32.
+     * @param fileName Name of the file (relative path).
+     * @param fileType BALLOTS_FILE or ROUND_FILE.
+     * @param contentReader Reader of the content of the file.
+     * @return long - Session ID of the file.
+     * @throws IOException If the file could not be read or is not a valid checkpoint file of the type.
+     */
+    public static long readFile(String fileName, int fileType, ContentReader contentReader) throws IOException {
+        CheckedInputStream checkedStream = new CheckedInputStream(new BufferedInputStream(new FileInputStream(fileName), BUFFER_SIZE), new CRC32());
+        try (DataInputStream inputStream = new DataInputStream(checkedStream)) {
+            byte[] magic = new byte[MAGIC.length];
+            inputStream.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException(fileName + " is not a checkpoint file");
+            }
+            int version = inputStream.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint version " + version);
+            }
+            if (inputStream.readUnsignedByte() != fileType) {
+                throw new IOException(fileName + " is not the expected checkpoint file");
+            }
+            long sessionID = inputStream.readLong();
+            contentReader.readContent(inputStream);
+            long checksum = checkedStream.getChecksum().getValue();
+            if (inputStream.readLong() != checksum) {
+                throw new IOException(fileName + " is corrupt");
+            }
+            return sessionID;
+        } catch (EOFException e) {
+            throw new IOException(fileName + " is incomplete", e);
+        }
+    }
+
+    /**
+     * Writes the length of an array of numbers followed by its numbers.
+     * @param outputStream Stream to write to.
+     * @param numbers Array of numbers.
+     * @param numOfNumbers Number of entries of numbers to write.
+     * @throws IOException If the numbers could not be written.
+     */
+    public static void writeInts(DataOutputStream outputStream, IntArray numbers, int numOfNumbers) throws IOException {
+        outputStream.writeInt(numOfNumbers);
+        ByteBuffer chunk = ByteBuffer.allocate(Math.min(numOfNumbers, NUMBERS_PER_CHUNK) * Integer.BYTES);
+        for (int offset = 0; offset < numOfNumbers; offset += NUMBERS_PER_CHUNK) {
+            int numOfChunkNumbers = Math.min(NUMBERS_PER_CHUNK, numOfNumbers - offset);
+            for (int numberIndex = 0; numberIndex < numOfChunkNumbers; numberIndex++) {
+                chunk.putInt(numberIndex * Integer.BYTES, numbers.get(offset + numberIndex));
+            }
+            outputStream.write(chunk.array(), 0, numOfChunkNumbers * Integer.BYTES);
+        }
+    }
+
+    /**
+     * Reads an array of numbers written by writeInts.
+     * @param inputStream Stream to read from.
+     * @param maxNumOfNumbers Largest number of numbers the array may have, a longer array is not valid.
+     * @param offHeapFlag Describes whether the array is kept outside of the heap.
+     * @return IntArray - The numbers.
+     * @throws IOException If the numbers could not be read or the array is too long.
+     */
+    public static IntArray readInts(DataInputStream inputStream, int maxNumOfNumbers, boolean offHeapFlag) throws IOException {
+        int numOfNumbers = readCount(inputStream, maxNumOfNumbers);
+        IntArray numbers = IntArray.allocate(numOfNumbers, offHeapFlag);
+        int[] chunkNumbers = new int[Math.min(numOfNumbers, NUMBERS_PER_CHUNK)];
+        ByteBuffer chunk = ByteBuffer.allocate(chunkNumbers.length * Integer.BYTES);
+        for (int offset = 0; offset < numOfNumbers; offset += NUMBERS_PER_CHUNK) {
+            int numOfChunkNumbers = Math.min(NUMBERS_PER_CHUNK, numOfNumbers - offset);
+            inputStream.readFully(chunk.array(), 0, numOfChunkNumbers * Integer.BYTES);
+            chunk.clear();
+            chunk.asIntBuffer().get(chunkNumbers, 0, numOfChunkNumbers);
+            numbers.set(offset, chunkNumbers, numOfChunkNumbers);
+        }
+        return numbers;
+    }
+
+    /**
+     * Writes the length of an array of long numbers followed by its numbers.
+     * @param outputStream Stream to write to.
+     * @param numbers Array of numbers.
+     * @param numOfNumbers Number of entries of numbers to write.
+     * @throws IOException If the numbers could not be written.
+     */
+    public static void writeLongs(DataOutputStream outputStream, long[] numbers, int numOfNumbers) throws IOException {
+        outputStream.writeInt(numOfNumbers);
+        ByteBuffer chunk = ByteBuffer.allocate(Math.min(numOfNumbers, NUMBERS_PER_CHUNK) * Long.BYTES);
+        for (int offset = 0; offset < numOfNumbers; offset += NUMBERS_PER_CHUNK) {
+            int numOfChunkNumbers = Math.min(NUMBERS_PER_CHUNK, numOfNumbers - offset);
+            chunk.clear();
+            chunk.asLongBuffer().put(numbers, offset, numOfChunkNumbers);
+            outputStream.write(chunk.array(), 0, numOfChunkNumbers * Long.BYTES);
+        }
+    }
+
+    /**
+     * Reads an array of long numbers written by writeLongs.
+     * @param inputStream Stream to read from.
+     * @param maxNumOfNumbers Largest number of numbers the array may have, a longer array is not valid.
+     * @return long[] - The numbers.
+     * @throws IOException If the numbers could not be read or the array is too long.
+     */
+    public static long[] readLongs(DataInputStream inputStream, int maxNumOfNumbers) throws IOException {
+        int numOfNumbers = readCount(inputStream, maxNumOfNumbers);
+        long[] numbers = new long[numOfNumbers];
+        ByteBuffer chunk = ByteBuffer.allocate(Math.min(numOfNumbers, NUMBERS_PER_CHUNK) * Long.BYTES);
+        for (int offset = 0; offset < numOfNumbers; offset += NUMBERS_PER_CHUNK) {
+            int numOfChunkNumbers = Math.min(NUMBERS_PER_CHUNK, numOfNumbers - offset);
+            inputStream.readFully(chunk.array(), 0, numOfChunkNumbers * Long.BYTES);
+            chunk.clear();
+            chunk.asLongBuffer().get(numbers, offset, numOfChunkNumbers);
+        }
+        return numbers;
+    }
+
+    /**
+     * Reads a count (the length of an array or a number of entries) and checks that it is in range.
+     * @param inputStream Stream to read from.
+     * @param maxCount Largest valid count.
+     * @return int - The count.
+     * @throws IOException If the count could not be read or is out of range.
+     */
+    public static int readCount(DataInputStream inputStream, int maxCount) throws IOException {
+        int count = inputStream.readInt();
+        if (count < 0 || count > maxCount) {
+            throw new IOException("Checkpoint holds an invalid count " + count);
+        }
+        return count;
+    }
+}
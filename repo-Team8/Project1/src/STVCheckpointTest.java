@@ -0,0 +1,83 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class STVCheckpointTest {
+
+    private static final String INPUT_FILE_NAME = "../testing/testingCSVFiles/STV1000Votes10Candidates.csv";
+
+    private String getResults(STVVoteCounter voteCounter) {
+        return voteCounter.getWinnerCandidates() + " " + voteCounter.getDroppedCandidates();
+    }
+
+    private String checkpointFileName() throws IOException {
+        File checkpointFile = File.createTempFile("count", ".checkpoint");
+        checkpointFile.delete();
+        new File(STVCheckpoint.getBallotsFileName(checkpointFile.getPath())).deleteOnExit();
+        checkpointFile.deleteOnExit();
+        return checkpointFile.getPath();
+    }
+
+    @org.junit.jupiter.api.Test
+    void resumeVoting() throws IOException {
+        STVVoteCounter uninterrupted = new STVVoteCounter(INPUT_FILE_NAME, 3, false, false);
+        uninterrupted.implementVoting();
+
+        String checkpointFileName = checkpointFileName();
+        STVVoteCounter stopped = new STVVoteCounter(INPUT_FILE_NAME, 3, false, false);
+        stopped.setCheckpointFile(checkpointFileName, 0);
+        stopped.stopCounting();
+        stopped.implementVoting();
+        assertFalse(stopped.isCountComplete(), "Should stop after the ballots are distributed");
+        assertTrue(STVCheckpoint.exists(checkpointFileName), "Should leave a checkpoint behind");
+
+        // the input file and the number of seats are taken from the checkpoint.
+        STVVoteCounter resumed = new STVVoteCounter("missing.csv", 1, false, false);
+        resumed.setCheckpointFile(checkpointFileName, 0);
+        assertTrue(resumed.resumeVoting(), "Should resume from the checkpoint");
+        assertTrue(resumed.isCountComplete(), "Should complete the count");
+        assertEquals(getResults(resumed), getResults(uninterrupted));
+        assertFalse(STVCheckpoint.exists(checkpointFileName), "Should delete the checkpoint");
+    }
+
+    @org.junit.jupiter.api.Test
+    void resumeVotingOffHeap() throws IOException {
+        STVVoteCounter uninterrupted = new STVVoteCounter(INPUT_FILE_NAME, 3, false, false);
+        uninterrupted.implementVoting();
+
+        String checkpointFileName = checkpointFileName();
+        STVVoteCounter stopped = new STVVoteCounter(INPUT_FILE_NAME, 3, false, false);
+        stopped.setCheckpointFile(checkpointFileName, 0);
+        stopped.setOffHeapBallotsFlag(true);
+        stopped.stopCounting();
+        stopped.implementVoting();
+
+        STVVoteCounter resumed = new STVVoteCounter("missing.csv", 1, false, false);
+        resumed.setCheckpointFile(checkpointFileName, 0);
+        resumed.setOffHeapBallotsFlag(true);
+        assertTrue(resumed.resumeVoting(), "Should resume from the checkpoint");
+        assertEquals(getResults(resumed), getResults(uninterrupted));
+    }
+
+    @org.junit.jupiter.api.Test
+    void resumeVotingFromCorruptCheckpoint() throws IOException {
+        String checkpointFileName = checkpointFileName();
+        STVVoteCounter stopped = new STVVoteCounter(INPUT_FILE_NAME, 3, false, false);
+        stopped.setCheckpointFile(checkpointFileName, 0);
+        stopped.stopCounting();
+        stopped.implementVoting();
+        try (RandomAccessFile checkpointFile = new RandomAccessFile(checkpointFileName, "rw")) {
+            checkpointFile.seek(checkpointFile.length() / 2);
+            int middleByte = checkpointFile.read();
+            checkpointFile.seek(checkpointFile.length() / 2);
+            checkpointFile.write(middleByte ^ 0xFF);
+        }
+        STVVoteCounter resumed = new STVVoteCounter(INPUT_FILE_NAME, 3, false, false);
+        resumed.setCheckpointFile(checkpointFileName, 0);
+        assertFalse(resumed.resumeVoting(), "Should not resume from a corrupt checkpoint");
+    }
+
+}
@@ -5,20 +5,24 @@ import java.io.*;
  * STVVoteCounter - is a class that is responsible to actually
  * implement the vote counting from an input file and determine winner candidate(s).
  *
- * The class object is responsible to load the candidates from the file, load
- * the ballots from the file, assign every ballot to the correct candidate,
+ * The class object is responsible to load the candidates and the ballots from the file
+ * (through the ElectionFileLoader), assign every ballot to the correct candidate,
  * determine winner(s) and resolve any tie if there.
  *
  * The tie condition is marked when more than 1 candidate has equal number of votes and
  * the number of votes is actually highest among all the candidates. To resolve a tie,
  * the vote counter drops the candidate who earned the last ballot in terms of order.
  *
+ * A long count can write a checkpoint at the end of its rounds (see STVCheckpoint). A count that was stopped
+ * is resumed from its latest checkpoint without reading the input file again, with the same results and the
+ * same report as a count that was never stopped.
+ *
  * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
  * @version 1.0
  * @since   2018-03-13
  *
  */
-public class STVVoteCounter {
+public class STVVoteCounter implements ElectionFileHandler {
     /**
      * Holds the name of the input file (relative path).
      * This relative path points to the file from where
@@ -29,30 +33,103 @@ public class STVVoteCounter {
     /**
      * Holds the candidates that are engaged in the election.
      * Enforces mapping from candidate ID to candidate objects
-     * for faster retrieval of information. This Hash Map holds information
+     * for faster retrieval of information. This registry holds information
      * about all candidates that were ever involved in the election.
      */
-    private HashMap<Long, STVCandidate> allCandidatesRunningInElection;
+    private CandidateRegistry<STVCandidate> allCandidatesRunningInElection;
 
     /**
      * Holds the candidates that are engaged in the election.
      * Enforces mapping from candidate ID to candidate objects
-     * for faster retrieval of information. This Hash Map is required
-     * to only contain information about the candidates which are still
-     * running in the elections (Not winner or dropped candidate).
+     * for faster retrieval of information. Only the candidates which are still
+     * running in the elections (Not winner or dropped candidate) are marked
+     * active in this registry.
      */
-    private HashMap<Long, STVCandidate> candidatesRunningInElection;
+    private CandidateRegistry<STVCandidate> candidatesRunningInElection;
 
     /**
      * Holds the total number of candidates that are running in the election.
-     * Is equal to the number of candidates loaded in the Hash Map - allCandidatesRunningInElection.
+     * Is equal to the number of candidates loaded in the registry - allCandidatesRunningInElection.
      */
     private int numOfCandidatesRunningInElection;
 
     /**
      * Holds the information about all the ballots cast in the election.
+     * The preferences of all the ballots are packed in the store, ballots with
+     * identical preferences are grouped into weighted ballot groups and
+     * ballots are addressed by their index in the store.
+     */
+    private STVBallotStore electionBallots;
+
+    /**
+     * Holds the index (in the store of election ballots) of the ballot at each order number.
+     * The ballot with order number N is at index N - 1 of the array. The order
+     * of the ballots is changed when the ballots are shuffled.
+     */
+    private IntArray ballotOrder;
+
+    /**
+     * Holds the order numbers of the ballots of every ballot group of the store, group after group.
+     * The order numbers of the ballots of a group are in increasing order, so every run of ballots
+     * of a group that are extracted one after the other in the election is a range of this array.
+     */
+    private IntArray groupBallotOrderNos;
+
+    /**
+     * Holds the ballot group of every ballot unit, indexed by unit.
+     * A ballot unit is a range of ballots of a ballot group (in groupBallotOrderNos) that all have the
+     * same preferences, are assigned to the same candidate and therefore change hands together.
+     */
+    private IntArray unitGroups;
+
+    /**
+     * Holds the start (inclusive) of the range of every ballot unit in groupBallotOrderNos, indexed by unit.
+     */
+    private IntArray unitStarts;
+
+    /**
+     * Holds the end (exclusive) of the range of every ballot unit in groupBallotOrderNos, indexed by unit.
+     */
+    private IntArray unitEnds;
+
+    /**
+     * Holds the preference cursor of every ballot unit, indexed by unit.
+     * The cursor is the index of the preference of the ballots from where the search for
+     * the first available candidate starts. Candidates never come back into the election once
+     * they are declared winner or dropped, so the cursor only ever moves forward.
+     */
+    private IntArray unitCursors;
+
+    /**
+     * Holds the number of ballot units. Units are split when only part of their ballots
+     * are assigned before a candidate reaches the droop quota.
+     */
+    private int numOfBallotUnits;
+
+    /**
+     * Holds the number of votes every candidate is about to receive from the ballot units that are
+     * being transferred, indexed by candidate ID. Only used while ballot units are transferred.
      */
-    private ArrayList<STVBallot> electionBallots;
+    private long[] incomingVotes;
+
+    /**
+     * Holds the number of votes of every candidate still running in the election in an indexed min-heap.
+     * The heap is updated every time ballots are assigned to a candidate, so the candidates with the least
+     * number of votes are found without going through all the candidates running in the election.
+     */
+    private CandidateVoteHeap runningCandidateVotes;
+
+    /**
+     * Holds the IDs of the candidates with the least number of votes found in the heap of running
+     * candidate votes. This array is reused for every candidate that is dropped.
+     */
+    private int[] tieCandidateIDs;
+
+    /**
+     * Holds the candidate IDs of the ballot that is currently being loaded in order of preference.
+     * This array is reused for every ballot that is loaded.
+     */
+    private int[] preferenceBuffer;
 
     /**
      * Holds the number of seats that need to be filled in the election.
@@ -81,10 +158,32 @@ public class STVVoteCounter {
     private ArrayList<STVCandidate> droppedCandidates;
 
     /**
-     * Holds the content that needs to be written as part of the report file
-     * for the election.
+     * Holds the name of the report file for the election.
+     */
+    private static final String REPORT_FILE_NAME = "Project 1 Waterfall Report.txt";
+
+    /**
+     * Holds the name of the binary audit log file for the election.
      */
-    private StringBuilder reportContent;
+    private static final String AUDIT_LOG_FILE_NAME = "Project 1 Waterfall Report.audit";
+
+    /**
+     * Holds the writer which streams the content of the report file for the election
+     * while the votes are counted. Null when no report is generated.
+     */
+    private ReportWriter reportWriter;
+
+    /**
+     * Holds the writer of the binary audit log for the election, which is written instead
+     * of the text report when the binary audit feature is on. Null when no audit log is written.
+     */
+    private AuditLogWriter auditLogWriter;
+
+    /**
+     * Holds the number of the current round of the counting. Round 0 is the first distribution
+     * of the ballots and every candidate that is dropped starts a new round.
+     */
+    private int roundNo;
 
     /**
      * Holds the information about whether report content should be output into a file.
@@ -96,6 +195,96 @@ public class STVVoteCounter {
      */
     private boolean shuffleFeatureFlag;
 
+    /**
+     * Holds the information about whether the report is written to the file by a background writer thread.
+     */
+    private boolean backgroundReportFlag;
+
+    /**
+     * Holds the information about whether the report is written as a binary audit log instead of text.
+     */
+    private boolean binaryAuditFlag;
+
+    /**
+     * Holds the name of the checkpoint of the count. Null when no checkpoints are written.
+     */
+    private String checkpointFileName;
+
+    /**
+     * Holds the least time in milliseconds between two checkpoints. A checkpoint is written at the
+     * end of a round only once this time has passed since the previous checkpoint.
+     */
+    private long checkpointIntervalMillis;
+
+    /**
+     * Holds the time (in nanoseconds, from System.nanoTime) at which the latest checkpoint was written.
+     */
+    private long lastCheckpointTime;
+
+    /**
+     * Holds the ID of the count written to both files of the checkpoint. 0 until the ballots file of
+     * the checkpoint has been written.
+     */
+    private long checkpointSessionID;
+
+    /**
+     * Holds the round of the latest checkpoint, -1 until a checkpoint has been written.
+     */
+    private int checkpointRoundNo;
+
+    /**
+     * Holds the size of the report when the checkpoint a count is resumed from was written, -1 if there was no report.
+     */
+    private long reportResumePosition;
+
+    /**
+     * Holds whether the count should stop with a checkpoint at the end of the current round.
+     * Set by stopCounting, which may be called from another thread.
+     */
+    private volatile boolean stopRequested;
+
+    /**
+     * Holds whether the count is complete and its results have been printed.
+     */
+    private boolean countComplete;
+
+    /**
+     * Holds the cache the election is taken from instead of parsing the input file again. Null if there is no cache.
+     */
+    private ElectionCache electionCache;
+
+    /**
+     * Holds the metrics of the count, which are also added to the metrics of the process.
+     */
+    private CountMetrics countMetrics;
+
+    /**
+     * Holds whether a summary of the metrics of the count is printed after the results.
+     */
+    private boolean metricsSummaryFlag;
+
+    /**
+     * Holds the number of ballots transferred to another candidate in the current round.
+     * Added up while the ballots are transferred and recorded in the metrics at the end of the round.
+     */
+    private long numOfBallotsTransferred;
+
+    /**
+     * Holds the number of ballots exhausted in the current phase (distribution or round) of the count.
+     */
+    private long numOfBallotsExhausted;
+
+    /**
+     * Holds the number of candidates recorded as still running in the metrics of the count.
+     */
+    private int numOfCandidatesRecorded;
+
+    /**
+     * Holds whether the ballots and the state of the count which grows with the number of ballots (the order of
+     * the ballots and the ballot units) are kept outside of the heap.
+     */
+    private boolean offHeapBallotsFlag;
+
     /**
      * Creates a new STVVoteCounter object that is used in the
      * main function to actually implement the voting.
@@ -106,20 +295,83 @@ public class STVVoteCounter {
      *                           of the report into some file.
      * @param shuffleFeatureFlag Describe whether the Vote Counter should shuffle the ballots or not.
      *                           Testing Feature is on when Shuffle feature is off.
+     * @param backgroundReportFlag Describes whether the report is written to the file by a background writer thread
+     *                             while the votes are counted.
+     * @param binaryAuditFlag Describes whether the report is written as a compact binary audit log (which can be
+     *                        expanded into the text report by the AuditLogRenderer) instead of text.
      */
-    public STVVoteCounter(String inputFileName, int numOfSeatsToBeFilled, boolean reportGenerateFlag, boolean shuffleFeatureFlag) {
+    public STVVoteCounter(String inputFileName, int numOfSeatsToBeFilled, boolean reportGenerateFlag, boolean shuffleFeatureFlag, boolean backgroundReportFlag, boolean binaryAuditFlag) {
         this.inputFileName = inputFileName;
-        this.allCandidatesRunningInElection = new HashMap<>();
-        this.candidatesRunningInElection = new HashMap<>();
+        this.allCandidatesRunningInElection = new CandidateRegistry<>();
+        this.candidatesRunningInElection = new CandidateRegistry<>();
         this.numOfCandidatesRunningInElection = 0;
-        this.electionBallots = new ArrayList<>();
+        this.electionBallots = new STVBallotStore();
+        this.ballotOrder = IntArray.allocate(0, false);
+        this.groupBallotOrderNos = IntArray.allocate(0, false);
+        this.unitGroups = IntArray.allocate(0, false);
+        this.unitStarts = IntArray.allocate(0, false);
+        this.unitEnds = IntArray.allocate(0, false);
+        this.unitCursors = IntArray.allocate(0, false);
+        this.numOfBallotUnits = 0;
+        this.runningCandidateVotes = new CandidateVoteHeap(0);
+        this.tieCandidateIDs = new int[0];
+        this.preferenceBuffer = new int[0];
         this.numOfSeatsToBeFilled = numOfSeatsToBeFilled;
         this.droopQuota = 0;
         this.winnerCandidates = new ArrayList<>();
         this.droppedCandidates = new ArrayList<>();
-        this.reportContent = new StringBuilder();
+        this.reportWriter = null;
+        this.auditLogWriter = null;
+        this.roundNo = 0;
         this.reportGenerateFlag = reportGenerateFlag;
         this.shuffleFeatureFlag = shuffleFeatureFlag;
+        this.backgroundReportFlag = backgroundReportFlag;
+        this.binaryAuditFlag = binaryAuditFlag;
+        this.checkpointFileName = null;
+        this.checkpointIntervalMillis = 0;
+        this.lastCheckpointTime = 0;
+        this.checkpointSessionID = 0;
+        this.checkpointRoundNo = -1;
+        this.reportResumePosition = -1;
+        this.stopRequested = false;
+        this.countComplete = false;
+        this.electionCache = null;
+        this.countMetrics = new CountMetrics();
+        this.metricsSummaryFlag = false;
+        this.numOfBallotsTransferred = 0;
+        this.numOfBallotsExhausted = 0;
+        this.numOfCandidatesRecorded = 0;
+        this.offHeapBallotsFlag = false;
+    }
+
+    /**
+     * Overloading the constructor to mark that the report is written as text.
+     * @param inputFileName Name of the input file which contains the data about the election.
+     *                      This filename should be a relative path to the file.
+     * @param numOfSeatsToBeFilled Number of winners required from the election.
+     * @param reportGenerateFlag Describes whether the Vote Counter should output the content
+     *                           of the report into some file.
+     * @param shuffleFeatureFlag Describe whether the Vote Counter should shuffle the ballots or not.
+     *                           Testing Feature is on when Shuffle feature is off.
+     * @param backgroundReportFlag Describes whether the report is written to the file by a background writer thread
+     *                             while the votes are counted.
+     */
+    public STVVoteCounter(String inputFileName, int numOfSeatsToBeFilled, boolean reportGenerateFlag, boolean shuffleFeatureFlag, boolean backgroundReportFlag) {
+        this(inputFileName, numOfSeatsToBeFilled, reportGenerateFlag, shuffleFeatureFlag, backgroundReportFlag, false);
+    }
+
+    /**
+     * Overloading the constructor to mark that the report is written by the vote counter itself.
+     * @param inputFileName Name of the input file which contains the data about the election.
+     *                      This filename should be a relative path to the file.
+     * @param numOfSeatsToBeFilled Number of winners required from the election.
+     * @param reportGenerateFlag Describes whether the Vote Counter should output the content
+     *                           of the report into some file.
+     * @param shuffleFeatureFlag Describe whether the Vote Counter should shuffle the ballots or not.
+     *                           Testing Feature is on when Shuffle feature is off.
+     */
+    public STVVoteCounter(String inputFileName, int numOfSeatsToBeFilled, boolean reportGenerateFlag, boolean shuffleFeatureFlag) {
+        this(inputFileName, numOfSeatsToBeFilled, reportGenerateFlag, shuffleFeatureFlag, false);
     }
 
     /**
@@ -128,163 +380,182 @@ public class STVVoteCounter {
      *                      This filename should be a relative path to the file.
      * @param numOfSeatsToBeFilled Number of winners required from the election.
      */
-    Scanner sc = new Scanner(System.in);
-    System.out.println("Do you want to generate reports? Yes - 1 // No - 2");
-    int reportFlaginput = sc.nextInt();
-    if(reportFlaginput==2) {
-    System.out.println("Do you want the shuffle On(1) or off(2)?");
-    int shuffleFlaginput = sc.nextInt();
-    if(shuffleFlaginput == 1) {
     public STVVoteCounter(String inputFileName, int numOfSeatsToBeFilled) {
         this(inputFileName, numOfSeatsToBeFilled, false, true);
     }
-}
-else if(shuffleFlaginput==2) {
-        public STVVoteCounter(String inputFileName, int numOfSeatsToBeFilled) {
-        this(inputFileName, numOfSeatsToBeFilled, false, false);
+
+    /**
+     * Returns the registry of all the candidates involved in the election.
+     * @return CandidateRegistry{STVCandidate} - Registry that contains all the candidates
+     *                                           that were ever involved in the election.
+     */
+    public CandidateRegistry<STVCandidate> getAllCandidatesRunningInElection() {
+        return allCandidatesRunningInElection;
     }
-}
-}
-else if(reportFlaginput==1) {
-        System.out.println("Do you want the shuffle On(1) or off(2)?");
-    int shuffleFlaginput = sc.nextInt();
-    if(shuffleFlaginput == 1) {
-    public STVVoteCounter(String inputFileName, int numOfSeatsToBeFilled) {
-        this(inputFileName, numOfSeatsToBeFilled, true, true);
+
+    /**
+     * Returns the list of winner candidates of the election in the order they were declared winners.
+     * @return ArrayList{STVCandidate} - The list of winner candidates.
+     */
+    public ArrayList<STVCandidate> getWinnerCandidates() {
+        return this.winnerCandidates;
     }
-}
-else if(shuffleFlaginput==2) {
-        public STVVoteCounter(String inputFileName, int numOfSeatsToBeFilled) {
-        this(inputFileName, numOfSeatsToBeFilled, true, false);
+
+    /**
+     * Returns the list of dropped candidates of the election, the last dropped candidate first.
+     * @return ArrayList{STVCandidate} - The list of dropped candidates.
+     */
+    public ArrayList<STVCandidate> getDroppedCandidates() {
+        return this.droppedCandidates;
     }
-}
-}
 
     /**
-     * Returns the Hash Map of all the candidates involved in the election.
-     * @return HashMap{Long, STVCandidate} - Hash Map that contains all the candidates
-     *                                       that were ever involved in the election.
+     * Turns on the checkpoints of the count. The first checkpoint is written once the ballots have been
+     * distributed and the next ones at the end of the rounds. The checkpoint is deleted once the count is complete.
+     * @param checkpointFileName Name of the checkpoint (relative path), which is also the checkpoint resumeVoting
+     *                           resumes from.
+     * @param checkpointIntervalMillis Least time in milliseconds between two checkpoints, 0 for a checkpoint
+     *                                 at the end of every round.
      */
-    public HashMap<Long, STVCandidate> getAllCandidatesRunningInElection() {
-        return allCandidatesRunningInElection;
+    public void setCheckpointFile(String checkpointFileName, long checkpointIntervalMillis) {
+        this.checkpointFileName = checkpointFileName;
+        this.checkpointIntervalMillis = checkpointIntervalMillis;
     }
 
     /**
-     * Loads the information about each and every candidate running in the election.
-     * This function populates the hash map of candidates. This hash map member variable
-     * maps IDs of candidates to their respective objects.
+     * Takes the election from a cache of parsed elections, so an input file that has been counted before is not
+     * parsed again. The candidates and the state of the count are still created for this count only, the store
+     * of the ballots is shared with every other count of the same input file.
+     * @param electionCache Cache of parsed elections, null to always parse the input file.
      */
-    private void loadCandidatesFromInputFile() {
-        BufferedReader buffer;
-        String fileLine;
-        try {
-            buffer = new BufferedReader(new FileReader(this.inputFileName));
-            // This variable is used to check whether the file is empty or not.
-            // Also this variable helps to make sure that we just read one line (first line) from the file.
-            int checkForReadOneLine = 0;
-            while (checkForReadOneLine < 1 && (fileLine = buffer.readLine()) != null) {
-                // String array includes all candidate names at different indices.
-                String[] candidateNameArray = fileLine.split(",");
-                for (int candidateId = 0; candidateId < candidateNameArray.length; candidateId++) {
-                    // Adding the candidate objects into the hash maps.
-                    this.allCandidatesRunningInElection.put((long) candidateId, new STVCandidate((long) candidateId, candidateNameArray[candidateId]));
-                    this.candidatesRunningInElection.put((long) candidateId, new STVCandidate((long) candidateId, candidateNameArray[candidateId]));
-                }
-                checkForReadOneLine++;
-                // determining the number of candidates running in the election.
-                numOfCandidatesRunningInElection = candidateNameArray.length;
-            }
-            // Condition below will be true if the while loop terminates because there is
-            // nothing present in the file (empty file).
-            if (checkForReadOneLine == 0) {
-                System.out.println("Buffer not able to read the line. File is empty!");
-            }
-        } catch (FileNotFoundException e) {
-            System.out.println("File Not Found");
-            e.printStackTrace();
-        } catch (IOException e) {
-            System.out.println("IO Exception when reading from file");
-            e.printStackTrace();
-        }
+    public void setElectionCache(ElectionCache electionCache) {
+        this.electionCache = electionCache;
     }
 
     /**
-     * Loads the candidate id's in order of their preferences (input from ballotArray)
-     * to the ballot object.
-     * @param ballotArray String array of the input line from file separated by ",".
-     *                    Each index contains either spaces (denoting no choice made)
-     *                    or empty string or some number denoting the preference of the
-     *                    corresponding candidate.
-     * @param newBallot Ballot object that needs to be loaded with Candidate IDs in order
-     *                  of their preference
-     */
-    private void addCandidateIDsInOrderOfPreference(STVBallot newBallot, String[] ballotArray) {
-        // variable that represents the number of candidates for which preferences were given in the ballot.
-        int noForWhichVoted = 0;
-        // iterate through the strings in ballotArray and check whether they are not blank.
-        for (String preferenceNumberOfCandidate : ballotArray) {
-            if (!preferenceNumberOfCandidate.isEmpty() && !preferenceNumberOfCandidate.trim().isEmpty()) {
-                noForWhichVoted++;
+     * Sets whether a summary of the metrics of the count (ballots parsed, rounds, ballots transferred and exhausted,
+     * time spent in every phase) is printed after the results of the election.
+     * @param metricsSummaryFlag true to print the summary.
+     */
+    public void setMetricsSummaryFlag(boolean metricsSummaryFlag) {
+        this.metricsSummaryFlag = metricsSummaryFlag;
+    }
+
+    /**
+     * Sets whether the ballots, the order of the ballots and the ballot units are kept outside of the heap, so an
+     * election larger than the heap can be counted with short garbage collection pauses. Must be set before the
+     * election is loaded. An election taken from the cache of parsed elections keeps the store it was cached with.
+     * @param offHeapBallotsFlag true to keep the ballots outside of the heap.
+     */
+    public void setOffHeapBallotsFlag(boolean offHeapBallotsFlag) {
+        this.offHeapBallotsFlag = offHeapBallotsFlag;
+        this.electionBallots = new STVBallotStore(offHeapBallotsFlag);
+    }
+
+    /**
+     * Returns the metrics of the count.
+     * @return CountMetrics - The metrics of the count.
+     */
+    public CountMetrics getCountMetrics() {
+        return this.countMetrics;
+    }
+
+    /**
+     * Asks the count to stop at the end of the current round, once it has written a checkpoint from which it can
+     * be resumed. Does nothing when checkpoints are off. May be called from another thread, e.g. a shutdown hook.
+     */
+    public void stopCounting() {
+        this.stopRequested = true;
+    }
+
+    /**
+     * Returns whether the count is complete. A count that was stopped with stopCounting is not complete.
+     * @return boolean - true once the results of the election have been printed.
+     */
+    public boolean isCountComplete() {
+        return this.countComplete;
+    }
+
+    /**
+     * Loads the candidates and all the ballots cast in the election in a single pass through the input file.
+     * The candidates populate the hash maps of candidates and the ballots populate the store of electionBallots.
+     * If there is a cache of parsed elections, the store of ballots is taken from the cache when the input file
+     * has been parsed before, and is added to the cache otherwise.
+     */
+    private void loadElectionFromInputFile() {
+        long loadStartTime = System.nanoTime();
+        ElectionEvents.FileLoadEvent loadEvent = new ElectionEvents.FileLoadEvent();
+        loadEvent.begin();
+        ElectionCache.ElectionKey electionKey = this.electionCache == null ? null : this.electionCache.identify(this.inputFileName, true);
+        ParsedElection parsedElection = electionKey == null ? null : this.electionCache.get(electionKey);
+        long numOfBallotsParsed = 0;
+        long numOfBytesRead = electionKey == null ? 0 : electionKey.getSize();
+        if (parsedElection != null) {
+            // the file was only read to identify it, none of its ballots are parsed.
+            parsedElection.loadCandidates(this);
+            this.electionBallots = parsedElection.getBallotStore();
+            if (this.electionBallots.getNumOfBallots() == 0) {
+                System.out.println("File does not contain any ballots.");
             }
-        }
-        // this loop iterates through the ballot Array until it gets the corresponding candidate ID of
-        // each and every candidate for which there is a vote assigned in the ballot. Then this
-        // loop adds the candidate ID to the ballots in order (first add the ID of the candidate
-        // marked as 1 preference and so on until last preference)
-        for(int preferenceNumber = 0; preferenceNumber < noForWhichVoted; preferenceNumber++) {
-            int candidateId = 0;
-            boolean loopBreak = false;
-            // find the actual candidate id corresponding to the particular preference.
-            while(candidateId < ballotArray.length && !loopBreak) {
-                if (!ballotArray[candidateId].isEmpty() && !ballotArray[candidateId].trim().isEmpty() && Integer.parseInt(ballotArray[candidateId]) == preferenceNumber+1) {
-                    // add the candidate ID to the ballot.
-                    newBallot.addCandidateID(candidateId);
-                    // break off the loop as soon as you find the correct candidate ID.
-                    loopBreak = true;
-                }
-                candidateId++;
+        } else {
+            ElectionFileLoader electionFileLoader = new ElectionFileLoader(this.inputFileName);
+            boolean loaded = electionFileLoader.loadElectionFromInputFile(this);
+            this.electionBallots.trimToSize();
+            if (loaded && electionKey != null) {
+                this.electionCache.put(electionKey, new ParsedElection(electionFileLoader.getCandidateNames(), this.electionBallots));
             }
+            numOfBallotsParsed = electionFileLoader.getNumOfBallotsLoaded();
+            numOfBytesRead += electionFileLoader.getNumOfBytesRead();
+        }
+        this.countMetrics.recordLoad(numOfBallotsParsed, numOfBytesRead, System.nanoTime() - loadStartTime);
+        loadEvent.end();
+        if (loadEvent.shouldCommit()) {
+            loadEvent.inputFileName = this.inputFileName;
+            loadEvent.votingType = "STV";
+            loadEvent.numOfCandidates = this.numOfCandidatesRunningInElection;
+            loadEvent.numOfBallots = this.electionBallots.getNumOfBallots();
+            loadEvent.numOfBytesRead = numOfBytesRead;
+            loadEvent.cached = parsedElection != null;
+            loadEvent.commit();
         }
     }
 
+    @Override
+    public void loadCandidate(long candidateID, String candidateName) {
+        // Adding the candidate objects into the registries.
+        this.allCandidatesRunningInElection.add(new STVCandidate(candidateID, candidateName));
+        this.candidatesRunningInElection.add(new STVCandidate(candidateID, candidateName));
+        // determining the number of candidates running in the election.
+        this.numOfCandidatesRunningInElection++;
+    }
+
+    @Override
+    public void loadBallot(int ballotSerialNo, int[] ballotRanks) {
+        // Load the IDs of the candidates in order of their preference into the store of ballots.
+        // Ballots are added to the store in order of their serial numbers.
+        addCandidateIDsInOrderOfPreference(ballotRanks);
+    }
+
+    @Override
+    public void loadBallotPreferences(int ballotSerialNo, int[] candidateIDs, int numOfPreferences, int[] ballotRanks) {
+        // The preferences of a ballot of a compiled election file are already in order
+        // and are added to the store of ballots as they are.
+        this.electionBallots.addBallot(candidateIDs, numOfPreferences);
+    }
+
     /**
-     * Loads all the ballots cast in the election (input file) into a list of ballots.
-     * Helps in storing the information about all the electionBallots.
-     * The vote counter iterates through these ballots and aggregates their
-     * votes into corresponding candidates.
+     * Loads the candidate id's in order of their preferences (input from ballotRanks)
+     * as a new ballot into the store of election ballots.
+     * @param ballotRanks Preference numbers of the ballot indexed by candidate ID. Each index contains
+     *                    either 0 (denoting no choice made) or some number denoting the preference of the
+     *                    corresponding candidate.
      */
-    private void loadBallotsFromInputFIle() {
-        BufferedReader buffer;
-        String fileLine;
-        try {
-            buffer = new BufferedReader(new FileReader(this.inputFileName));
-            // Skipping first line, because first line contains information
-            // about the candidates engaged in the election.
-            if (buffer.readLine() == null) {
-                System.out.println("File is empty!");
-                return;
-            }
-            int ballotSerialNumber = 1;
-            // Loop through all other lines in the file and parse the information and add new ballots accordingly.
-            while ((fileLine = buffer.readLine()) != null) {
-                // ballotArray represents the array of strings after the line in file is split using the "," as a delimiter.
-                String[] ballotArray = fileLine.split(",");
-                STVBallot newBallot;
-                // First generate a STVBallot type object with a particular unique serial number.
-                newBallot = new STVBallot(ballotSerialNumber, ballotSerialNumber);
-                // Then load the ballots with the IDs of the candidates in order of their preference.
-                addCandidateIDsInOrderOfPreference(newBallot, ballotArray);
-                // Add the ballots into the list of ballots.
-                this.electionBallots.add(newBallot);
-                ballotSerialNumber += 1;
-            }
-        } catch (FileNotFoundException e) {
-            System.out.println("File Not Found");
-            e.printStackTrace();
-        } catch (IOException e) {
-            System.out.println("IO Exception when reading from file");
-            e.printStackTrace();
+    private void addCandidateIDsInOrderOfPreference(int[] ballotRanks) {
+        if (this.preferenceBuffer.length < ballotRanks.length) {
+            this.preferenceBuffer = new int[ballotRanks.length];
         }
+        int numOfPreferences = STVBallotStore.findCandidateIDsInOrderOfPreference(ballotRanks, this.preferenceBuffer);
+        this.electionBallots.addBallot(this.preferenceBuffer, numOfPreferences);
     }
 
     /**
@@ -292,150 +563,375 @@ else if(shuffleFlaginput==2) {
      * as stated in the writeup to set the droopQuota of a particular election.
      */
     private void setDroopQuota() {
-        this.droopQuota = (int) (Math.floor(this.electionBallots.size()/(this.numOfSeatsToBeFilled + 1)) + 1);
+        this.droopQuota = (int) (Math.floor(this.electionBallots.getNumOfBallots()/(this.numOfSeatsToBeFilled + 1)) + 1);
     }
 
     /**
-     * Modifies the order number of all the ballots to some new order number
-     * which is representative of how the ballots would be extracted from the
-     * list of ballots after they have been shuffled.
+     * Shuffles the order of the ballots. Ballots are extracted in a new order
+     * which changes the order number of the ballots.
      */
-    private void setBallotOrderNumbersAfterShuffling() {
-        int currentOrderNumber = 1;
-        for (STVBallot ballot : this.electionBallots) {
-            ballot.setBallotOrderNo(currentOrderNumber);
-            currentOrderNumber += 1;
+    private void shuffleBallots() {
+        Random random = new Random();
+        for (int orderIndex = this.ballotOrder.length() - 1; orderIndex > 0; orderIndex--) {
+            int swapIndex = random.nextInt(orderIndex + 1);
+            int ballotIndex = this.ballotOrder.get(orderIndex);
+            this.ballotOrder.set(orderIndex, this.ballotOrder.get(swapIndex));
+            this.ballotOrder.set(swapIndex, ballotIndex);
         }
     }
 
     /**
-     * Reset all the ballots associated with all the candidates
-     * running in election. This is done again and again to
-     * redistribute the ballots still left in the election.
-     *
-     * This function generally clears the ballots of the candidates
-     * remaining in the election after a pass through all the ballots.
-     * These candidates denote those candidates who have not been declared
-     * as a winner or dropped and this will be participating in another pass
-     * through the ballots.
+     * Sets the order number of all the ballots to the order in which they
+     * were read from the input file.
+     */
+    private void setInitialBallotOrder() {
+        int numOfBallots = this.electionBallots.getNumOfBallots();
+        this.ballotOrder = IntArray.allocate(numOfBallots, this.offHeapBallotsFlag);
+        for (int ballotIndex = 0; ballotIndex < numOfBallots; ballotIndex++) {
+            this.ballotOrder.set(ballotIndex, ballotIndex);
+        }
+    }
+
+    /**
+     * Creates one ballot unit for every ballot group of the store, which holds all the ballots
+     * of the group. Must be called once the order of the ballots is final, because the order
+     * numbers of the ballots of each group are collected in increasing order.
+     */
+    private void createBallotUnits() {
+        int numOfGroups = this.electionBallots.getNumOfGroups();
+        this.unitGroups = IntArray.allocate(numOfGroups, this.offHeapBallotsFlag);
+        this.unitStarts = IntArray.allocate(numOfGroups, this.offHeapBallotsFlag);
+        this.unitEnds = IntArray.allocate(numOfGroups, this.offHeapBallotsFlag);
+        this.unitCursors = IntArray.allocate(numOfGroups, this.offHeapBallotsFlag);
+        this.numOfBallotUnits = numOfGroups;
+        int groupStart = 0;
+        for (int group = 0; group < numOfGroups; group++) {
+            this.unitGroups.set(group, group);
+            this.unitStarts.set(group, groupStart);
+            this.unitEnds.set(group, groupStart);
+            groupStart += this.electionBallots.getGroupWeight(group);
+        }
+        // Collect the order numbers in increasing order, so every group ends up sorted.
+        this.groupBallotOrderNos = IntArray.allocate(this.ballotOrder.length(), this.offHeapBallotsFlag);
+        for (int ballotOrderNo = 1; ballotOrderNo <= this.ballotOrder.length(); ballotOrderNo++) {
+            int group = this.electionBallots.getGroupOfBallot(this.ballotOrder.get(ballotOrderNo - 1));
+            this.groupBallotOrderNos.set(this.unitEnds.get(group), ballotOrderNo);
+            this.unitEnds.set(group, this.unitEnds.get(group) + 1);
+        }
+        this.incomingVotes = new long[this.numOfCandidatesRunningInElection];
+    }
+
+    /**
+     * Adds all the candidates running in the election to the heap of running candidate votes.
      */
-    private void resetBallotsAssignedToCandidate() {
-        for (STVCandidate candidate : this.candidatesRunningInElection.values()) {
-            candidate.resetAllBallotsOfCandidate();
+    private void setUpRunningCandidateVotes() {
+        this.runningCandidateVotes = new CandidateVoteHeap(this.candidatesRunningInElection.size());
+        this.tieCandidateIDs = new int[this.candidatesRunningInElection.size()];
+        for (STVCandidate candidate : this.candidatesRunningInElection.activeValues()) {
+            this.runningCandidateVotes.add((int) candidate.getCandidateID(), candidate.getNumberOfVotesEarnedByCandidate());
         }
     }
 
+    /**
+     * Splits a ballot unit in two. The unit keeps the ballots before the split position and a new
+     * unit with the same preferences and cursor is created for the ballots from the split position.
+     * @param ballotUnit Index of the ballot unit to split.
+     * @param splitPosition Position in groupBallotOrderNos of the first ballot of the new unit.
+     * @return int - Index of the new ballot unit.
+     */
+    private int splitBallotUnit(int ballotUnit, int splitPosition) {
+        if (this.numOfBallotUnits == this.unitGroups.length()) {
+            int newCapacity = Math.max(8, this.unitGroups.length() * 2);
+            this.unitGroups.resize(newCapacity);
+            this.unitStarts.resize(newCapacity);
+            this.unitEnds.resize(newCapacity);
+            this.unitCursors.resize(newCapacity);
+        }
+        int newBallotUnit = this.numOfBallotUnits;
+        this.unitGroups.set(newBallotUnit, this.unitGroups.get(ballotUnit));
+        this.unitStarts.set(newBallotUnit, splitPosition);
+        this.unitEnds.set(newBallotUnit, this.unitEnds.get(ballotUnit));
+        this.unitCursors.set(newBallotUnit, this.unitCursors.get(ballotUnit));
+        this.unitEnds.set(ballotUnit, splitPosition);
+        this.numOfBallotUnits++;
+        return newBallotUnit;
+    }
+
+    /**
+     * Returns the order number of the first ballot (in order of extraction) of a ballot unit.
+     * @param ballotUnit Index of the ballot unit.
+     * @return int - Order number of the first ballot.
+     */
+    private int getOrderNoOfFirstBallot(int ballotUnit) {
+        return this.groupBallotOrderNos.get(this.unitStarts.get(ballotUnit));
+    }
+
+    /**
+     * Returns the position in groupBallotOrderNos of the first ballot of a unit
+     * with an order number greater than the given order number.
+     * @param ballotUnit Index of the ballot unit.
+     * @param ballotOrderNo Order number to search for.
+     * @return int - Position of the first later ballot, or the end of the unit if there is none.
+     */
+    private int findFirstBallotAfter(int ballotUnit, int ballotOrderNo) {
+        int low = this.unitStarts.get(ballotUnit);
+        int high = this.unitEnds.get(ballotUnit);
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.groupBallotOrderNos.get(middle) <= ballotOrderNo) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
     /**
      * Returns the first available candidate (status undeclared - not winner or dropped)
-     * in the voting based on the preferences marked by ballot.
-     * @param candidateIDList The list of Candidate IDs in order of preference.
-     *                        This list is taken from the ballot.
+     * in the voting based on the preferences marked by the ballots of a unit.
+     * The search starts at the preference cursor of the unit, because all the preferences
+     * before the cursor have already been found to be declared winner or dropped. The cursor is
+     * then moved to the preference of the candidate that is returned.
+     * @param ballotUnit The index of the ballot unit. The preferences of the ballots
+     *                   are taken from the store of election ballots.
      * @return STVCandidate - Returns the first available candidate which
      *                        matches the candidate ID in the list.
      */
-    private STVCandidate getCandidate(ArrayList<Long> candidateIDList) {
-        // Iterate through the all the IDs of the candidate.
-        for(long candidateId : candidateIDList) {
+    private STVCandidate getCandidate(int ballotUnit) {
+        int group = this.unitGroups.get(ballotUnit);
+        int numOfPreferences = this.electionBallots.getNumOfPreferences(group);
+        // Iterate through the IDs of the candidate starting at the cursor of the unit.
+        for (int preferenceIndex = this.unitCursors.get(ballotUnit); preferenceIndex < numOfPreferences; preferenceIndex++) {
             // because the list is in order so find the first available candidate
             // still running in the election and return it.
-            if (this.candidatesRunningInElection.containsKey(candidateId)) {
-                return this.candidatesRunningInElection.get(candidateId);
+            STVCandidate candidate = this.candidatesRunningInElection.getActive(this.electionBallots.getPreference(group, preferenceIndex));
+            if (candidate != null) {
+                this.unitCursors.set(ballotUnit, preferenceIndex);
+                return candidate;
             }
         }
         // if all the candidates for which the preferences were given have already
         // been either declared winner or dropped then just return null.
+        this.unitCursors.set(ballotUnit, numOfPreferences);
         return null;
     }
 
+    /**
+     * Transfers ballot units to the first available candidate of their ballots, with the same result
+     * as assigning the ballots one at a time in the order in which they are extracted in the election.
+     *
+     * As long as no candidate reaches the droop quota, the order of the ballots does not matter and every
+     * unit is assigned as a whole. Otherwise the order number of the ballot with which the first candidate
+     * reaches the droop quota is found, the units are split at that ballot and only the ballots up to it
+     * are assigned (which declares the candidate winner). The remaining ballots are then transferred again
+     * without the winner candidate.
+     * @param ballotUnits Indexes of the ballot units to transfer. The array is reordered.
+     * @param numOfUnits Number of entries of ballotUnits that belong to the transfer.
+     */
+    private void transferBallotUnits(int[] ballotUnits, int numOfUnits) {
+        STVCandidate[] unitCandidates = new STVCandidate[numOfUnits];
+        while (numOfUnits > 0) {
+            sortBallotUnits(ballotUnits, numOfUnits);
+            // Find the candidate for every unit. Exhausted units are never looked at again.
+            int numOfActiveUnits = 0;
+            for (int unitIndex = 0; unitIndex < numOfUnits; unitIndex++) {
+                STVCandidate candidate = getCandidate(ballotUnits[unitIndex]);
+                if (candidate != null) {
+                    ballotUnits[numOfActiveUnits] = ballotUnits[unitIndex];
+                    unitCandidates[numOfActiveUnits] = candidate;
+                    numOfActiveUnits++;
+                } else {
+                    this.numOfBallotsExhausted += this.unitEnds.get(ballotUnits[unitIndex]) - this.unitStarts.get(ballotUnits[unitIndex]);
+                }
+            }
+            numOfUnits = numOfActiveUnits;
+            int droopBallotOrderNo = findOrderNoOfDroopBallot(ballotUnits, unitCandidates, numOfUnits);
+            int numOfRemainingUnits = 0;
+            for (int unitIndex = 0; unitIndex < numOfUnits; unitIndex++) {
+                int ballotUnit = ballotUnits[unitIndex];
+                if (getOrderNoOfFirstBallot(ballotUnit) > droopBallotOrderNo) {
+                    // none of the ballots of the unit are extracted before the droop ballot.
+                    ballotUnits[numOfRemainingUnits] = ballotUnit;
+                    numOfRemainingUnits++;
+                    continue;
+                }
+                int splitPosition = findFirstBallotAfter(ballotUnit, droopBallotOrderNo);
+                if (splitPosition < this.unitEnds.get(ballotUnit)) {
+                    ballotUnits[numOfRemainingUnits] = splitBallotUnit(ballotUnit, splitPosition);
+                    numOfRemainingUnits++;
+                }
+                this.numOfBallotsTransferred += this.unitEnds.get(ballotUnit) - this.unitStarts.get(ballotUnit);
+                assignBallotUnit(ballotUnit, unitCandidates[unitIndex]);
+            }
+            numOfUnits = numOfRemainingUnits;
+        }
+    }
+
+    /**
+     * Returns the order number of the ballot with which the first candidate reaches the droop quota
+     * when the given ballot units are assigned to their candidates.
+     * @param ballotUnits Indexes of the ballot units that are being transferred.
+     * @param unitCandidates Candidate to which each ballot unit is transferred.
+     * @param numOfUnits Number of ballot units that are being transferred.
+     * @return int - Order number of the ballot, or Integer.MAX_VALUE if no candidate reaches the droop quota.
+     */
+    private int findOrderNoOfDroopBallot(int[] ballotUnits, STVCandidate[] unitCandidates, int numOfUnits) {
+        for (int unitIndex = 0; unitIndex < numOfUnits; unitIndex++) {
+            int ballotUnit = ballotUnits[unitIndex];
+            this.incomingVotes[(int) unitCandidates[unitIndex].getCandidateID()] += this.unitEnds.get(ballotUnit) - this.unitStarts.get(ballotUnit);
+        }
+        int droopBallotOrderNo = Integer.MAX_VALUE;
+        for (int unitIndex = 0; unitIndex < numOfUnits; unitIndex++) {
+            STVCandidate candidate = unitCandidates[unitIndex];
+            int candidateID = (int) candidate.getCandidateID();
+            int votesNeeded = this.droopQuota - candidate.getNumberOfVotesEarnedByCandidate();
+            if (this.incomingVotes[candidateID] >= votesNeeded) {
+                droopBallotOrderNo = Math.min(droopBallotOrderNo, findOrderNoOfBallotForCandidate(ballotUnits, unitCandidates, numOfUnits, candidate, votesNeeded));
+            }
+            // every candidate is only looked at once.
+            this.incomingVotes[candidateID] = 0;
+        }
+        return droopBallotOrderNo;
+    }
+
+    /**
+     * Returns the order number of the N-th ballot (in order of extraction) among the ballot units
+     * that are transferred to a candidate.
+     * @param ballotUnits Indexes of the ballot units that are being transferred.
+     * @param unitCandidates Candidate to which each ballot unit is transferred.
+     * @param numOfUnits Number of ballot units that are being transferred.
+     * @param candidate Candidate receiving the ballots.
+     * @param numOfBallots N, the number of ballots the candidate receives up to and including the ballot.
+     * @return int - Order number of the ballot.
+     */
+    private int findOrderNoOfBallotForCandidate(int[] ballotUnits, STVCandidate[] unitCandidates, int numOfUnits, STVCandidate candidate, int numOfBallots) {
+        int low = 1;
+        int high = this.ballotOrder.length();
+        // Find the lowest order number up to which the candidate receives N ballots.
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            long numOfBallotsReceived = 0;
+            for (int unitIndex = 0; unitIndex < numOfUnits; unitIndex++) {
+                if (unitCandidates[unitIndex] == candidate) {
+                    int ballotUnit = ballotUnits[unitIndex];
+                    numOfBallotsReceived += findFirstBallotAfter(ballotUnit, middle) - this.unitStarts.get(ballotUnit);
+                }
+            }
+            if (numOfBallotsReceived >= numOfBallots) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Sorts ballot units in increasing order of the order numbers of their first ballots.
+     * @param ballotUnits Indexes of the ballot units to sort.
+     * @param numOfUnits Number of entries of ballotUnits to sort.
+     */
+    private void sortBallotUnits(int[] ballotUnits, int numOfUnits) {
+        long[] packedBallotUnits = new long[numOfUnits];
+        for (int unitIndex = 0; unitIndex < numOfUnits; unitIndex++) {
+            packedBallotUnits[unitIndex] = ((long) getOrderNoOfFirstBallot(ballotUnits[unitIndex]) << 32) | ballotUnits[unitIndex];
+        }
+        Arrays.sort(packedBallotUnits);
+        for (int unitIndex = 0; unitIndex < numOfUnits; unitIndex++) {
+            ballotUnits[unitIndex] = (int) packedBallotUnits[unitIndex];
+        }
+    }
+
+    /**
+     * Assigns all the ballots of a unit to a candidate and declares the candidate winner
+     * if the candidate has reached the droop quota.
+     * @param ballotUnit Index of the ballot unit.
+     * @param candidate Candidate to which the ballots are assigned.
+     */
+    private void assignBallotUnit(int ballotUnit, STVCandidate candidate) {
+        if (this.reportGenerateFlag) {
+            // Generate the report about every ballot of the unit.
+            for (int position = this.unitStarts.get(ballotUnit); position < this.unitEnds.get(ballotUnit); position++) {
+                writeBallotReport(this.groupBallotOrderNos.get(position), candidate);
+            }
+        }
+        // Add the ballots to the corresponding candidate.
+        candidate.addBallotUnit(ballotUnit, getOrderNoOfFirstBallot(ballotUnit), this.unitEnds.get(ballotUnit) - this.unitStarts.get(ballotUnit));
+        this.runningCandidateVotes.updateVotes((int) candidate.getCandidateID(), candidate.getNumberOfVotesEarnedByCandidate());
+        // Check if the current candidate has reached droop and declare them winner accordingly.
+        if (candidate.getNumberOfVotesEarnedByCandidate() == this.droopQuota) {
+            declareWinner(candidate);
+        }
+    }
+
     /**
      * Redistribute the ballots of the dropped candidate. Because the candidate to
      * which the ballots belong to have been dropped they are no longer running
      * in the election and thus this function takes advantage of this fact and distributes
      * the ballot vote to next available candidate.
+     *
+     * These are the only ballots that change hands in a round, so only these ballots are
+     * transferred while all the other ballots stay with the candidates they are assigned to.
+     * The ballots are transferred a ballot unit at a time, with the same result as transferring
+     * them one at a time in the order in which they are extracted in the election.
      * @param droppedCandidate Candidate dropped most recently from the election.
      */
     private void redistributeDroppedCandidatesVotes(STVCandidate droppedCandidate) {
-        for (STVBallot ballotOfDroppedCandidate : droppedCandidate.getAllBallotsOfCandidate()) {
-            // Find the candidate which is second preference after the dropped candidate and is still running in the elction.
-            STVCandidate laterPreferenceCandidate = getCandidate(ballotOfDroppedCandidate.getCandidateIDS());
-            // Check whether there exists such a candidate.
-            if (laterPreferenceCandidate != null) {
-                // Write the ballot report corresponding to the ballot.
-                writeBallotReport(ballotOfDroppedCandidate, laterPreferenceCandidate);
-                // Add the ballot to the corresponding candidate.
-                laterPreferenceCandidate.addBallot(ballotOfDroppedCandidate);
-                // check if the Current candidate has reached droop and declare the winner accordingly.
-                if (laterPreferenceCandidate.getNumberOfVotesEarnedByCandidate() == this.droopQuota) {
-                    declareWinner(laterPreferenceCandidate);
-                }
-            }
+        int[] ballotUnitsOfDroppedCandidate = new int[droppedCandidate.getNumOfBallotUnits()];
+        for (int unitIndex = 0; unitIndex < ballotUnitsOfDroppedCandidate.length; unitIndex++) {
+            ballotUnitsOfDroppedCandidate[unitIndex] = droppedCandidate.getBallotUnitOfCandidate(unitIndex);
         }
+        // Transfer every ballot to the candidate which is the next preference after the dropped candidate and is
+        // still running in the election. Ballots with no such candidate are exhausted and never looked at again.
+        transferBallotUnits(ballotUnitsOfDroppedCandidate, ballotUnitsOfDroppedCandidate.length);
     }
 
     /**
      * Add the candidate to the winners list and remove them from the election,
-     * Remove from Hash Map of candidatesRunningInElection.
+     * Remove from the active candidates of candidatesRunningInElection.
      * @param winnerCandidate Winner candidate of a particular pass through ballots.
      */
     private void declareWinner(STVCandidate winnerCandidate)
     {
         // First generate the report content for the Winner Candidate.
         writeWinnerCandidateReport(winnerCandidate);
-        // Credit all the ballots belonging to the Winner Candidate.
-        // Will not be used in further passes through ballots.
-        winnerCandidate.creditAllBallotsOfCandidate();
         // Add the winner candidate to the list of winner candidates.
         this.winnerCandidates.add(winnerCandidate);
-        // Remove from the Hash Map of candidates still running in election.
-        this.candidatesRunningInElection.remove(winnerCandidate.getCandidateID());
+        commitWinnerEvent(winnerCandidate);
+        // Remove from the candidates still running in election.
+        this.candidatesRunningInElection.deactivate(winnerCandidate.getCandidateID());
+        this.runningCandidateVotes.remove((int) winnerCandidate.getCandidateID());
     }
 
     /**
-     * Distributes all the active election ballots to appropriate candidates
-     * which are still running in election.
-     *
-     * Active election ballots are all those ballots that have not been credited.
-     * These ballots generally belong to the candidates not declared winner.
+     * Distributes all the election ballots to appropriate candidates
+     * which are still running in election. The ballots are distributed one ballot
+     * group at a time, with the same result as distributing them one at a time in order.
      */
     private void distributeBallots() {
-        // Go through all the ballots that were ever cast in the election.
-        for (STVBallot electionBallot : this.electionBallots) {
-            // Make sure the ballot doesn't belong to a winner candidate.
-            if (!electionBallot.getCredited()) {
-                // Get the candidate to which this ballot should be assigned.
-                STVCandidate currentCandidate = getCandidate(electionBallot.getCandidateIDS());
-                // Check that the candidate actually is still running in the election.
-                if (currentCandidate != null) {
-                    // Generate the report about the ballot.
-                    writeBallotReport(electionBallot, currentCandidate);
-                    // Add the ballot to the corresponding candidate.
-                    currentCandidate.addBallot(electionBallot);
-                    // Check if the current candidate has reached droop and declare them winner accordingly.
-                    if (currentCandidate.getNumberOfVotesEarnedByCandidate() == this.droopQuota) {
-                        declareWinner(currentCandidate);
-                    }
-                }
-            }
+        int[] ballotUnits = new int[this.numOfBallotUnits];
+        for (int ballotUnit = 0; ballotUnit < ballotUnits.length; ballotUnit++) {
+            ballotUnits[ballotUnit] = ballotUnit;
         }
+        transferBallotUnits(ballotUnits, ballotUnits.length);
     }
 
     /**
-     * Drops a candidate in the election after one pass through all the election ballots.
+     * Drops a candidate in the election after the ballots have been distributed.
      * Is also responsible to check whether there is a tie and call appropriate methods
      * to resolve that.
      */
     private void dropCandidateFromElection() {
-        List<STVCandidate> candidatesRunningInElection = new ArrayList<>(this.candidatesRunningInElection.values());
-        // Find the minimum number of votes a candidate has among all the candidates
-        // after one pass through the ballots.
-        int minimumNumberOfVotes = Collections.min(candidatesRunningInElection).getNumberOfVotesEarnedByCandidate();
-        List<STVCandidate> tieCandidateList = new ArrayList<>();
-        // Iterate through all the candidates running in election and find the candidates with the least number of votes.
-        for (STVCandidate candidate : candidatesRunningInElection) {
-            // Populate the tie candidate list accordingly.
-            if (candidate.getNumberOfVotesEarnedByCandidate() == minimumNumberOfVotes) {
-                tieCandidateList.add(candidate);
-            }
+        // Every candidate that is dropped starts a new round.
+        this.roundNo++;
+        // Find the candidates with the minimum number of votes among all the candidates running in election
+        // from the heap of running candidate votes, without going through all the candidates.
+        int numOfTieCandidates = this.runningCandidateVotes.findCandidatesWithMinimumVotes(this.tieCandidateIDs);
+        List<STVCandidate> tieCandidateList = new ArrayList<>(numOfTieCandidates);
+        // Populate the tie candidate list accordingly.
+        for (int tieIndex = 0; tieIndex < numOfTieCandidates; tieIndex++) {
+            tieCandidateList.add(this.candidatesRunningInElection.get(this.tieCandidateIDs[tieIndex]));
         }
         // If there is no tie (Only one candidate with the least number of votes)
         if (tieCandidateList.size() == 1) {
@@ -443,8 +939,9 @@ else if(shuffleFlaginput==2) {
             writeDroppedCandidateReport(tieCandidateList.get(0));
             // Add the corresponding candidate to the list of dropped candidates.
             this.droppedCandidates.add(tieCandidateList.get(0));
-            // Drop the candidate from the Hash Map of candidates still running in the election.
-            this.candidatesRunningInElection.remove(tieCandidateList.get(0).getCandidateID());
+            // Drop the candidate from the candidates still running in the election.
+            this.candidatesRunningInElection.deactivate(tieCandidateList.get(0).getCandidateID());
+            this.runningCandidateVotes.remove((int) tieCandidateList.get(0).getCandidateID());
             // Re distribute the ballots of the dropped candidate.
             redistributeDroppedCandidatesVotes(tieCandidateList.get(0));
         } else {    // There is Tie if there exist more then one candidate with the least number of votes.
@@ -461,7 +958,10 @@ else if(shuffleFlaginput==2) {
      *
      * To resolve the tie first find the candidate which received the last vote in order
      * of parsing through the election ballots. The candidate with the last order
-     * number of the ballot is dropped.
+     * number of the ballot is dropped. The order number of the first ballot of every candidate
+     * is kept by the candidate, so the ballots themselves are not looked at. A candidate without
+     * any ballot is treated as receiving its first ballot last, and if several tied candidates have
+     * no ballots then the one with the lowest ID is dropped.
      *
      * @param tieCandidateList List of candidates which are tied.
      */
@@ -485,7 +985,8 @@ else if(shuffleFlaginput==2) {
             // Add the candidate to the list of dropped candidates.
             this.droppedCandidates.add(candidateToBeDropped);
             // Drop the candidate from the election.
-            this.candidatesRunningInElection.remove(candidateToBeDropped.getCandidateID());
+            this.candidatesRunningInElection.deactivate(candidateToBeDropped.getCandidateID());
+            this.runningCandidateVotes.remove((int) candidateToBeDropped.getCandidateID());
             // Redistribute the votes of the dropped candidate.
             redistributeDroppedCandidatesVotes(candidateToBeDropped);
         }
@@ -493,51 +994,388 @@ else if(shuffleFlaginput==2) {
 
     /**
      * Implement voting algorithm (STV type) on the election (information loaded through the input file).
-     * First loads all the candidates that are running in the election from the input file.
-     * Then it load all the ballots cast in the election from the input file.
+     * First loads all the candidates that are running in the election and all the ballots cast
+     * in the election from the input file in a single pass through the file.
      * Then it iterates through all the ballots and aggregating the respective ballots' vote to
      * the particular candidate it is assigned to in order of preferences. After the function processes all the ballots
      * it determines the candidate to be dropped in each iteration and if possible a winner(s) candidate(s).
+     * The ballots keep their assignment across iterations and only the ballots of the dropped candidate are
+     * transferred in an iteration, as every other ballot would be assigned to the same candidate again.
      * These iterations are repeated until the number of seats that need to be filled are filled with the winner candidates.
      */
     public void implementVoting() {
-        // load all the candidates that are running in the election from the input file.
-        loadCandidatesFromInputFile();
-        // load all the ballots cast in the election from the input file.
-        loadBallotsFromInputFIle();
+        if (this.reportGenerateFlag && !this.binaryAuditFlag) {
+            // Open the report file, the report is written while the votes are counted.
+            openReportFile();
+        }
+        // load all the candidates and the ballots cast in the election from the input file in a single pass.
+        loadElectionFromInputFile();
+        this.countMetrics.recordCountStarted(this.numOfCandidatesRunningInElection);
+        this.numOfCandidatesRecorded = this.numOfCandidatesRunningInElection;
+        long distributeStartTime = System.nanoTime();
+        if (this.reportGenerateFlag && this.binaryAuditFlag) {
+            // Open the audit log, which starts with the names of the candidates that have just been loaded.
+            openAuditLogFile();
+        }
 
+        // Order the ballots in the order they were read from the file.
+        setInitialBallotOrder();
         if (this.shuffleFeatureFlag) {
-            // Shuffle all the ballots to ensure fair election.
-            Collections.shuffle(this.electionBallots, new Random());
+            // Shuffle all the ballots to ensure fair election. The order number
+            // of each ballot is its position after they have been shuffled.
+            shuffleBallots();
         }
+        // Group the ballots with identical preferences into ballot units.
+        createBallotUnits();
+        // Every candidate starts the counting with no votes.
+        setUpRunningCandidateVotes();
 
         // Calculate the droop quota for the election.
         setDroopQuota();
-        // Set the order number of each ballot after they have been shuffled.
-        setBallotOrderNumbersAfterShuffling();
 
-        // Repeat the process of distributing ballots to candidates and determining winner and
-        // dropped candidates of a particular pass through the ballots, until all the required seats are filled.
-        while (this.droppedCandidates.size() < this.numOfCandidatesRunningInElection - this.numOfSeatsToBeFilled) {
-            //reset the ballots assigned to each candidate before distributing electionBallots.
-            resetBallotsAssignedToCandidate();
-            // Distribute the election ballots.
+        if (this.droppedCandidates.size() < this.numOfCandidatesRunningInElection - this.numOfSeatsToBeFilled) {
+            // Distribute the election ballots. Ballots stay assigned to their candidates across the rounds.
             distributeBallots();
-            // Drop a candidate from the election.
+            this.countMetrics.recordDistribution(this.numOfBallotsExhausted, System.nanoTime() - distributeStartTime);
+            recordCandidatesRemaining();
+            writeCheckpoint();
+        }
+        countRemainingRounds();
+    }
+
+    /**
+     * Resumes a count from the checkpoint set with setCheckpointFile instead of counting from the input file.
+     * The input file, the number of seats and whether a report is generated are taken from the checkpoint,
+     * and the report is continued from where it was when the checkpoint was written. The rounds after the
+     * checkpoint are then counted the same way as implementVoting counts them.
+     * Must be called on a new vote counter; if the checkpoint cannot be read, a new vote counter has to be
+     * used for implementVoting.
+     * @return boolean - true if the count was resumed, false if the checkpoint could not be read. A resumed count
+     *                   is complete unless it was stopped again with stopCounting.
+     */
+    public boolean resumeVoting() {
+        long loadStartTime = System.nanoTime();
+        try {
+            readCheckpoint();
+        } catch (FileNotFoundException e) {
+            System.out.println("File Not Found");
+            e.printStackTrace();
+            return false;
+        } catch (IOException e) {
+            System.out.println("IO Exception when reading the checkpoint");
+            e.printStackTrace();
+            return false;
+        }
+        if (this.reportGenerateFlag) {
+            // Continue the report from the size it had when the checkpoint was written.
+            resumeReportFile();
+        }
+        this.incomingVotes = new long[this.numOfCandidatesRunningInElection];
+        setUpRunningCandidateVotes();
+        // the ballots are read from the checkpoint, not parsed from the input file.
+        this.countMetrics.recordLoad(0, 0, System.nanoTime() - loadStartTime);
+        this.numOfCandidatesRecorded = this.numOfCandidatesRunningInElection - this.winnerCandidates.size() - this.droppedCandidates.size();
+        this.countMetrics.recordCountStarted(this.numOfCandidatesRecorded);
+        this.lastCheckpointTime = System.nanoTime();
+        countRemainingRounds();
+        return true;
+    }
+
+    /**
+     * Counts the rounds that are left once the ballots have been distributed, prints the results
+     * of the election and completes the report.
+     */
+    private void countRemainingRounds() {
+        // Repeat the process of dropping a candidate and transferring only the ballots of the
+        // dropped candidate, until all the required seats are filled.
+        while (this.droppedCandidates.size() < this.numOfCandidatesRunningInElection - this.numOfSeatsToBeFilled) {
+            if (this.stopRequested && this.checkpointFileName != null) {
+                if (this.checkpointRoundNo != this.roundNo) {
+                    writeCheckpoint();
+                }
+                if (this.checkpointFileName != null) {
+                    // The rest of the count is left to resumeVoting, which also continues the report.
+                    writeReportToFile();
+                    this.countMetrics.recordCandidatesRemoved(this.numOfCandidatesRecorded);
+                    this.numOfCandidatesRecorded = 0;
+                    return;
+                }
+            }
+            long roundStartTime = System.nanoTime();
+            ElectionEvents.STVRoundEvent roundEvent = new ElectionEvents.STVRoundEvent();
+            roundEvent.begin();
+            this.numOfBallotsTransferred = 0;
+            this.numOfBallotsExhausted = 0;
+            // Drop a candidate from the election and transfer their ballots.
             dropCandidateFromElection();
+            this.countMetrics.recordRound(this.numOfBallotsTransferred, this.numOfBallotsExhausted, System.nanoTime() - roundStartTime);
+            recordCandidatesRemaining();
+            roundEvent.end();
+            if (roundEvent.shouldCommit()) {
+                roundEvent.roundNo = this.roundNo;
+                roundEvent.droppedCandidateName = this.droppedCandidates.get(this.droppedCandidates.size() - 1).getCandidateName();
+                roundEvent.numOfBallotsMoved = this.numOfBallotsTransferred;
+                roundEvent.numOfBallotsExhausted = this.numOfBallotsExhausted;
+                roundEvent.numOfCandidatesRemaining = this.numOfCandidatesRecorded;
+                roundEvent.commit();
+            }
+            if (this.droppedCandidates.size() < this.numOfCandidatesRunningInElection - this.numOfSeatsToBeFilled && isCheckpointDue()) {
+                writeCheckpoint();
+            }
         }
         // Fill the required number of seats with the appropriate number of candidates.
         if (this.winnerCandidates.size() < this.numOfSeatsToBeFilled) {
-            this.winnerCandidates.addAll(this.candidatesRunningInElection.values());
+            for (STVCandidate winnerCandidate : this.candidatesRunningInElection.activeValues()) {
+                this.winnerCandidates.add(winnerCandidate);
+                commitWinnerEvent(winnerCandidate);
+            }
         }
         // Reversing the dropped candidate list to print the correct order of candidates.
         Collections.reverse(droppedCandidates);
+        long reportStartTime = System.nanoTime();
+        ElectionEvents.ReportWriteEvent reportEvent = new ElectionEvents.ReportWriteEvent();
+        reportEvent.begin();
         // Print the results of the election to the Standard Output.
         printElectionResults();
         if (this.reportGenerateFlag) {
-            // Write the report to an output file.
+            // Write the rest of the report to the output file.
             writeReportToFile();
         }
+        this.countMetrics.recordReport(System.nanoTime() - reportStartTime);
+        reportEvent.end();
+        if (reportEvent.shouldCommit()) {
+            reportEvent.votingType = "STV";
+            reportEvent.reportGenerated = this.reportGenerateFlag;
+            reportEvent.commit();
+        }
+        deleteCheckpoint();
+        this.countComplete = true;
+        this.countMetrics.recordCandidatesRemoved(this.numOfCandidatesRecorded);
+        this.numOfCandidatesRecorded = 0;
+        this.countMetrics.recordCountCompleted();
+        if (this.metricsSummaryFlag) {
+            System.out.print(this.countMetrics.getSummary());
+        }
+    }
+
+    /**
+     * Commits the flight recorder event of a candidate declared winner, if it is recorded.
+     * @param winnerCandidate The winner candidate.
+     */
+    private void commitWinnerEvent(STVCandidate winnerCandidate) {
+        ElectionEvents.WinnerDeclaredEvent winnerEvent = new ElectionEvents.WinnerDeclaredEvent();
+        if (winnerEvent.shouldCommit()) {
+            winnerEvent.votingType = "STV";
+            winnerEvent.candidateName = winnerCandidate.getCandidateName();
+            winnerEvent.numOfVotes = winnerCandidate.getNumberOfVotesEarnedByCandidate();
+            winnerEvent.roundNo = this.roundNo;
+            winnerEvent.commit();
+        }
+    }
+
+    /**
+     * Records in the metrics the candidates that are no longer running since the last time it was recorded.
+     */
+    private void recordCandidatesRemaining() {
+        int numOfCandidatesRemaining = this.numOfCandidatesRunningInElection - this.winnerCandidates.size() - this.droppedCandidates.size();
+        this.countMetrics.recordCandidatesRemoved(this.numOfCandidatesRecorded - numOfCandidatesRemaining);
+        this.numOfCandidatesRecorded = numOfCandidatesRemaining;
+    }
+
+    /**
+     * Returns whether a checkpoint should be written at the end of the current round.
+     * @return boolean - true if checkpoints are on and the checkpoint interval has passed since the latest checkpoint.
+     */
+    private boolean isCheckpointDue() {
+        return this.checkpointFileName != null && System.nanoTime() - this.lastCheckpointTime >= this.checkpointIntervalMillis * 1_000_000L;
+    }
+
+    /**
+     * Writes the checkpoint of the count at the end of a round. The ballots file is only written for the
+     * first checkpoint. If the checkpoint cannot be written, the count goes on without checkpoints.
+     */
+    private void writeCheckpoint() {
+        if (this.checkpointFileName == null) {
+            return;
+        }
+        try {
+            if (this.checkpointSessionID == 0) {
+                // never 0, which marks that the ballots file has not been written.
+                this.checkpointSessionID = new Random().nextLong() | 1;
+                STVCheckpoint.writeFile(STVCheckpoint.getBallotsFileName(this.checkpointFileName), STVCheckpoint.BALLOTS_FILE,
+                        this.checkpointSessionID, this::writeBallotsCheckpoint);
+            }
+            STVCheckpoint.writeFile(this.checkpointFileName, STVCheckpoint.ROUND_FILE, this.checkpointSessionID, this::writeRoundCheckpoint);
+            this.checkpointRoundNo = this.roundNo;
+        } catch (IOException e) {
+            System.out.println("IO Exception when writing the checkpoint");
+            e.printStackTrace();
+            this.checkpointFileName = null;
+        }
+        this.lastCheckpointTime = System.nanoTime();
+    }
+
+    /**
+     * Writes the content of the ballots file of the checkpoint: the candidates, the store of ballots
+     * and the order of the ballots, none of which change once the ballots have been distributed.
+     * @param outputStream Stream of the ballots file.
+     * @throws IOException If the content could not be written.
+     */
+    private void writeBallotsCheckpoint(DataOutputStream outputStream) throws IOException {
+        outputStream.writeUTF(this.inputFileName);
+        outputStream.writeInt(this.numOfSeatsToBeFilled);
+        outputStream.writeInt(this.droopQuota);
+        outputStream.writeInt(this.numOfCandidatesRunningInElection);
+        for (int candidateID = 0; candidateID < this.numOfCandidatesRunningInElection; candidateID++) {
+            outputStream.writeUTF(this.allCandidatesRunningInElection.get(candidateID).getCandidateName());
+        }
+        this.electionBallots.writeCheckpoint(outputStream);
+        STVCheckpoint.writeInts(outputStream, this.ballotOrder, this.ballotOrder.length());
+        STVCheckpoint.writeInts(outputStream, this.groupBallotOrderNos, this.groupBallotOrderNos.length());
+    }
+
+    /**
+     * Writes the content of the round file of the checkpoint: the round, the size of the report, the ballot units,
+     * the ballot units held by every candidate and the winner and dropped candidates in the order they were declared.
+     * @param outputStream Stream of the round file.
+     * @throws IOException If the content could not be written.
+     */
+    private void writeRoundCheckpoint(DataOutputStream outputStream) throws IOException {
+        outputStream.writeInt(this.roundNo);
+        outputStream.writeBoolean(this.reportGenerateFlag);
+        outputStream.writeBoolean(this.binaryAuditFlag);
+        long reportPosition = -1;
+        if (this.reportWriter != null) {
+            reportPosition = this.reportWriter.flush();
+        } else if (this.auditLogWriter != null) {
+            reportPosition = this.auditLogWriter.flush();
+        }
+        outputStream.writeLong(reportPosition);
+        outputStream.writeInt(this.numOfBallotUnits);
+        STVCheckpoint.writeInts(outputStream, this.unitGroups, this.numOfBallotUnits);
+        STVCheckpoint.writeInts(outputStream, this.unitStarts, this.numOfBallotUnits);
+        STVCheckpoint.writeInts(outputStream, this.unitEnds, this.numOfBallotUnits);
+        STVCheckpoint.writeInts(outputStream, this.unitCursors, this.numOfBallotUnits);
+        for (int candidateID = 0; candidateID < this.numOfCandidatesRunningInElection; candidateID++) {
+            this.candidatesRunningInElection.get(candidateID).writeCheckpoint(outputStream);
+        }
+        outputStream.writeInt(this.winnerCandidates.size());
+        for (STVCandidate winnerCandidate : this.winnerCandidates) {
+            outputStream.writeInt((int) winnerCandidate.getCandidateID());
+        }
+        outputStream.writeInt(this.droppedCandidates.size());
+        for (STVCandidate droppedCandidate : this.droppedCandidates) {
+            outputStream.writeInt((int) droppedCandidate.getCandidateID());
+        }
+    }
+
+    /**
+     * Reads both files of the checkpoint set with setCheckpointFile into the vote counter.
+     * @throws IOException If the checkpoint could not be read, is not valid or its files belong to different counts.
+     */
+    private void readCheckpoint() throws IOException {
+        long ballotsSessionID = STVCheckpoint.readFile(STVCheckpoint.getBallotsFileName(this.checkpointFileName), STVCheckpoint.BALLOTS_FILE, this::readBallotsCheckpoint);
+        long roundSessionID = STVCheckpoint.readFile(this.checkpointFileName, STVCheckpoint.ROUND_FILE, this::readRoundCheckpoint);
+        if (ballotsSessionID != roundSessionID) {
+            throw new IOException("The files of the checkpoint " + this.checkpointFileName + " belong to different counts");
+        }
+        this.checkpointSessionID = roundSessionID;
+        this.checkpointRoundNo = this.roundNo;
+    }
+
+    /**
+     * Reads the content of the ballots file of the checkpoint.
+     * @param inputStream Stream of the ballots file.
+     * @throws IOException If the content could not be read or is not valid.
+     */
+    private void readBallotsCheckpoint(DataInputStream inputStream) throws IOException {
+        this.inputFileName = inputStream.readUTF();
+        this.numOfSeatsToBeFilled = inputStream.readInt();
+        this.droopQuota = inputStream.readInt();
+        int numOfCandidates = STVCheckpoint.readCount(inputStream, Integer.MAX_VALUE);
+        for (int candidateID = 0; candidateID < numOfCandidates; candidateID++) {
+            loadCandidate(candidateID, inputStream.readUTF());
+        }
+        this.electionBallots = STVBallotStore.readCheckpoint(inputStream, numOfCandidates, this.offHeapBallotsFlag);
+        int numOfBallots = this.electionBallots.getNumOfBallots();
+        this.ballotOrder = STVCheckpoint.readInts(inputStream, numOfBallots, this.offHeapBallotsFlag);
+        this.groupBallotOrderNos = STVCheckpoint.readInts(inputStream, numOfBallots, this.offHeapBallotsFlag);
+        if (this.ballotOrder.length() != numOfBallots || this.groupBallotOrderNos.length() != numOfBallots) {
+            throw new IOException("Checkpoint holds an invalid order of the ballots");
+        }
+        for (int orderIndex = 0; orderIndex < numOfBallots; orderIndex++) {
+            if (this.ballotOrder.get(orderIndex) < 0 || this.ballotOrder.get(orderIndex) >= numOfBallots
+                    || this.groupBallotOrderNos.get(orderIndex) < 1 || this.groupBallotOrderNos.get(orderIndex) > numOfBallots) {
+                throw new IOException("Checkpoint holds an invalid order of the ballots");
+            }
+        }
+    }
+
+    /**
+     * Reads the content of the round file of the checkpoint. Must be read after the ballots file.
+     * @param inputStream Stream of the round file.
+     * @throws IOException If the content could not be read or is not valid.
+     */
+    private void readRoundCheckpoint(DataInputStream inputStream) throws IOException {
+        this.roundNo = inputStream.readInt();
+        this.reportGenerateFlag = inputStream.readBoolean();
+        this.binaryAuditFlag = inputStream.readBoolean();
+        this.reportResumePosition = inputStream.readLong();
+        this.numOfBallotUnits = STVCheckpoint.readCount(inputStream, Integer.MAX_VALUE);
+        this.unitGroups = STVCheckpoint.readInts(inputStream, this.numOfBallotUnits, this.offHeapBallotsFlag);
+        this.unitStarts = STVCheckpoint.readInts(inputStream, this.numOfBallotUnits, this.offHeapBallotsFlag);
+        this.unitEnds = STVCheckpoint.readInts(inputStream, this.numOfBallotUnits, this.offHeapBallotsFlag);
+        this.unitCursors = STVCheckpoint.readInts(inputStream, this.numOfBallotUnits, this.offHeapBallotsFlag);
+        if (this.unitGroups.length() != this.numOfBallotUnits || this.unitStarts.length() != this.numOfBallotUnits
+                || this.unitEnds.length() != this.numOfBallotUnits || this.unitCursors.length() != this.numOfBallotUnits) {
+            throw new IOException("Checkpoint holds an invalid number of ballot units");
+        }
+        for (int ballotUnit = 0; ballotUnit < this.numOfBallotUnits; ballotUnit++) {
+            if (this.unitGroups.get(ballotUnit) < 0 || this.unitGroups.get(ballotUnit) >= this.electionBallots.getNumOfGroups() || this.unitStarts.get(ballotUnit) < 0
+                    || this.unitStarts.get(ballotUnit) > this.unitEnds.get(ballotUnit) || this.unitEnds.get(ballotUnit) > this.groupBallotOrderNos.length()
+                    || this.unitCursors.get(ballotUnit) < 0 || this.unitCursors.get(ballotUnit) > this.electionBallots.getNumOfPreferences(this.unitGroups.get(ballotUnit))) {
+                throw new IOException("Checkpoint holds an invalid ballot unit " + ballotUnit);
+            }
+        }
+        for (int candidateID = 0; candidateID < this.numOfCandidatesRunningInElection; candidateID++) {
+            this.candidatesRunningInElection.get(candidateID).readCheckpoint(inputStream, this.numOfBallotUnits);
+        }
+        readDeclaredCandidates(inputStream, this.winnerCandidates);
+        readDeclaredCandidates(inputStream, this.droppedCandidates);
+    }
+
+    /**
+     * Reads the winner or the dropped candidates of the round file of the checkpoint
+     * and removes them from the candidates still running in the election.
+     * @param inputStream Stream of the round file.
+     * @param declaredCandidates List the candidates are added to, in the order they were declared.
+     * @throws IOException If the candidates could not be read or are not valid.
+     */
+    private void readDeclaredCandidates(DataInputStream inputStream, ArrayList<STVCandidate> declaredCandidates) throws IOException {
+        int numOfDeclaredCandidates = STVCheckpoint.readCount(inputStream, this.numOfCandidatesRunningInElection);
+        for (int candidateIndex = 0; candidateIndex < numOfDeclaredCandidates; candidateIndex++) {
+            int candidateID = inputStream.readInt();
+            if (candidateID < 0 || candidateID >= this.numOfCandidatesRunningInElection || !this.candidatesRunningInElection.isActive(candidateID)) {
+                throw new IOException("Checkpoint holds an invalid winner or dropped candidate " + candidateID);
+            }
+            declaredCandidates.add(this.candidatesRunningInElection.get(candidateID));
+            this.candidatesRunningInElection.deactivate(candidateID);
+        }
+    }
+
+    /**
+     * Deletes the checkpoint once the count is complete.
+     */
+    private void deleteCheckpoint() {
+        if (this.checkpointFileName == null) {
+            return;
+        }
+        try {
+            STVCheckpoint.delete(this.checkpointFileName);
+        } catch (IOException e) {
+            System.out.println("IO Exception when deleting the checkpoint");
+            e.printStackTrace();
+        }
     }
 
     /**
@@ -557,59 +1395,116 @@ else if(shuffleFlaginput==2) {
     }
 
     /**
-     * Adds the content to reportcontent member variable about particular
+     * Adds the content to the report about particular
      * ballot that was assigned to a candidate in the voting.
      * @param candidate The candidate to which the ballot was assigned.
-     * @param ballot The current ballot for which the information needs to be added.
+     * @param ballotOrderNo The order number of the current ballot for which the information needs to be added.
      */
-    private void writeBallotReport(STVBallot ballot, STVCandidate candidate)
+    private void writeBallotReport(int ballotOrderNo, STVCandidate candidate)
     {
-        reportContent.append("\nBallot No. ");
-        reportContent.append(ballot.getBallotSerialNo());
-        reportContent.append(" is assigned to Candidate - ");
-        reportContent.append(candidate.getCandidateName());
-        reportContent.append("\n---------------");
+        if (this.auditLogWriter != null) {
+            this.auditLogWriter.writeBallotAssigned(this.roundNo, this.electionBallots.getBallotSerialNo(this.ballotOrder.get(ballotOrderNo - 1)), candidate.getCandidateID());
+        }
+        if (this.reportWriter == null) {
+            return;
+        }
+        this.reportWriter.append("\nBallot No. ");
+        this.reportWriter.append(this.electionBallots.getBallotSerialNo(this.ballotOrder.get(ballotOrderNo - 1)));
+        this.reportWriter.append(" is assigned to Candidate - ");
+        this.reportWriter.append(candidate.getCandidateName());
+        this.reportWriter.append("\n---------------");
     }
 
     /**
-     * Adds the content to reportcontent member variable about particular
+     * Adds the content to the report about particular
      * candidate that was declared as a winner.
      * @param winnerCandidate The candidate which was declared winner.
      */
     private void writeWinnerCandidateReport(STVCandidate winnerCandidate)
     {
-        reportContent.append("\nCandidate - ");
-        reportContent.append(winnerCandidate.getCandidateName());
-        reportContent.append(" is a winner!");
-        reportContent.append("\n---------------");
+        if (this.auditLogWriter != null) {
+            this.auditLogWriter.writeCandidateEvent(AuditLogWriter.CANDIDATE_WON, this.roundNo, winnerCandidate.getCandidateID());
+        }
+        if (this.reportWriter == null) {
+            return;
+        }
+        this.reportWriter.append("\nCandidate - ");
+        this.reportWriter.append(winnerCandidate.getCandidateName());
+        this.reportWriter.append(" is a winner!");
+        this.reportWriter.append("\n---------------");
     }
 
     /**
-     * Adds the content to reportcontent member variable about particular
+     * Adds the content to the report about particular
      * candidate that was declared as a dropped candidate.
      * @param droppedCandidate The candidate which was declared dropped.
      */
     private void writeDroppedCandidateReport(STVCandidate droppedCandidate)
     {
-        reportContent.append("\nCandidate - ");
-        reportContent.append(droppedCandidate.getCandidateName());
-        reportContent.append(" has been dropped!");
-        reportContent.append("\n---------------");
+        if (this.auditLogWriter != null) {
+            this.auditLogWriter.writeCandidateEvent(AuditLogWriter.CANDIDATE_DROPPED, this.roundNo, droppedCandidate.getCandidateID());
+        }
+        if (this.reportWriter == null) {
+            return;
+        }
+        this.reportWriter.append("\nCandidate - ");
+        this.reportWriter.append(droppedCandidate.getCandidateName());
+        this.reportWriter.append(" has been dropped!");
+        this.reportWriter.append("\n---------------");
     }
 
     /**
-     * Function responsible to write all the data of the report to an output file.
+     * Function responsible to open the output file of the report. The content of the report
+     * is streamed to the file while the votes are counted, so it is never held in memory as a whole.
      */
-    private void writeReportToFile()
+    private void openReportFile()
     {
-        File file = new File("Project 1 Waterfall Report.txt");
-        try {
-            PrintWriter writer = new PrintWriter(file);
-            writer.print(reportContent.toString());
-            writer.close();
-        } catch (FileNotFoundException e) {
-            System.out.println("File Not Found");
+        this.reportWriter = new ReportWriter(REPORT_FILE_NAME, this.backgroundReportFlag);
+    }
+
+    /**
+     * Function responsible to open the report (or the binary audit log) of a resumed count. Anything written
+     * after the size the report had when the checkpoint was written is replaced. Nothing more is written if
+     * writing the report had already failed before the checkpoint.
+     */
+    private void resumeReportFile()
+    {
+        if (this.reportResumePosition < 0) {
+            return;
+        }
+        if (this.binaryAuditFlag) {
+            this.auditLogWriter = new AuditLogWriter(AUDIT_LOG_FILE_NAME, this.reportResumePosition);
+        } else {
+            this.reportWriter = new ReportWriter(REPORT_FILE_NAME, this.backgroundReportFlag, this.reportResumePosition);
+        }
+    }
+
+    /**
+     * Function responsible to open the binary audit log file. Must be called after the candidates
+     * have been loaded, because the audit log starts with the names of the candidates.
+     */
+    private void openAuditLogFile()
+    {
+        List<STVCandidate> allCandidates = this.allCandidatesRunningInElection.values();
+        String[] candidateNames = new String[allCandidates.size()];
+        for (STVCandidate candidate : allCandidates) {
+            candidateNames[(int) candidate.getCandidateID()] = candidate.getCandidateName();
         }
+        this.auditLogWriter = new AuditLogWriter(AUDIT_LOG_FILE_NAME, candidateNames);
+    }
 
+    /**
+     * Function responsible to write the rest of the data of the report to the output file and close it.
+     */
+    private void writeReportToFile()
+    {
+        if (this.reportWriter != null) {
+            this.reportWriter.close();
+            this.reportWriter = null;
+        }
+        if (this.auditLogWriter != null) {
+            this.auditLogWriter.close();
+            this.auditLogWriter = null;
+        }
     }
 }
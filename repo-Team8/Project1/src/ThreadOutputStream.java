@@ -0,0 +1,78 @@
+import java.io.*;
+import java.nio.charset.Charset;
+/**
+ * <h1>ThreadOutputStream</h1>
+ * ThreadOutputStream - is a class that collects the bytes written by every thread that is capturing its output
+ * in a buffer of that thread. The bytes written by the other threads are passed on to the standard output.
+ *
+ * The vote counters print the results of an election to the standard output. When many elections are counted
+ * at the same time, the standard output is replaced by a PrintStream over a ThreadOutputStream and every thread
+ * captures the results of the election it counts, so the results of different elections are not mixed up.
+ *
+ * @author  Team 8 (Saksham Goel - goelx029 | Kunal Munjal - munja004 | Abhishek Sairavi - saira005)
+ * @version 1.0
+ * @since   2018-03-13
+ *
+ */
+public class ThreadOutputStream extends OutputStream {
+    /**
+     * Holds the stream which receives the bytes of the threads that are not capturing their output.
+     */
+    private OutputStream standardOutput;
+
+    /**
+     * Holds the buffer of the current thread, null if the thread is not capturing its output.
+     */
+    private ThreadLocal<ByteArrayOutputStream> capturedOutput;
+
+    /**
+     * Creates a new ThreadOutputStream object.
+     * @param standardOutput Stream which receives the bytes of the threads that are not capturing their output.
+     */
+    public ThreadOutputStream(OutputStream standardOutput) {
+        this.standardOutput = standardOutput;
+        this.capturedOutput = new ThreadLocal<>();
+    }
+
+    /**
+     * Starts capturing the output of the current thread.
+     */
+    public void startCapture() {
+        this.capturedOutput.set(new ByteArrayOutputStream());
+    }
+
+    /**
+     * Stops capturing the output of the current thread.
+     * @return String - The output captured since the capture was started.
+     */
+    public String stopCapture() {
+        ByteArrayOutputStream buffer = this.capturedOutput.get();
+        this.capturedOutput.remove();
+        return buffer == null ? "" : new String(buffer.toByteArray(), Charset.defaultCharset());
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ByteArrayOutputStream buffer = this.capturedOutput.get();
+        if (buffer != null) {
+            buffer.write(b);
+        } else {
+            this.standardOutput.write(b);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ByteArrayOutputStream buffer = this.capturedOutput.get();
+        if (buffer != null) {
+            buffer.write(b, off, len);
+        } else {
+            this.standardOutput.write(b, off, len);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.standardOutput.flush();
+    }
+}